@@ -1,6 +1,7 @@
 package com.bumptech.glide.annotation.compiler;
 
 import com.bumptech.glide.annotation.Excludes;
+import com.bumptech.glide.annotation.WarmUpRegistry;
 import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.MethodSpec;
@@ -9,11 +10,15 @@ import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.TypeSpec.Builder;
 import com.squareup.javapoet.WildcardTypeName;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import javax.annotation.Nullable;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
 
 /**
  * Generates a new implementation of a AppGlideModule that calls all included LibraryGlideModules
@@ -64,6 +69,13 @@ import javax.lang.model.element.TypeElement;
  *    public java.util.Set<java.lang.Class<?>> getExcludedModuleClasses() {
  *      return appGlideModule.getExcludedModuleClasses();
  *    }
+ *
+ *    // Only generated if the AppGlideModule is annotated with WarmUpRegistry.
+ *    {@literal @java.lang.Override}
+ *    void warmUpRegistry(com.bumptech.glide.Registry registry) {
+ *      registry.warmUp(java.lang.String.class, java.lang.Object.class,
+ *          android.graphics.drawable.Drawable.class);
+ *    }
  *  }
  * </code>
  * </pre>
@@ -139,9 +151,56 @@ final class AppModuleGenerator {
             .returns(generatedRequestManagerFactoryClassName)
             .addStatement("return new $T()", generatedRequestManagerFactoryClassName)
             .build());
+
+    MethodSpec warmUpRegistry = generateWarmUpRegistry(appGlideModule);
+    if (warmUpRegistry != null) {
+      builder.addMethod(warmUpRegistry);
+    }
     return builder.build();
   }
 
+  // Visible for testing.
+  @Nullable
+  MethodSpec generateWarmUpRegistry(TypeElement appGlideModule) {
+    List<TypeMirror> modelClasses = processorUtil.findClassValuesFromAnnotationAttribute(
+        appGlideModule, WarmUpRegistry.class, "models");
+    List<TypeMirror> transcodeClasses = processorUtil.findClassValuesFromAnnotationAttribute(
+        appGlideModule, WarmUpRegistry.class, "transcodes");
+    if (modelClasses.isEmpty() || transcodeClasses.isEmpty()) {
+      return null;
+    }
+    List<TypeName> resourceTypes = toTypeNames(processorUtil.findClassValuesFromAnnotationAttribute(
+        appGlideModule, WarmUpRegistry.class, "resources"));
+    if (resourceTypes.isEmpty()) {
+      // Matches the default value of WarmUpRegistry#resources, which isn't included in the
+      // annotation's explicit values.
+      resourceTypes = Collections.singletonList(TypeName.OBJECT);
+    }
+
+    MethodSpec.Builder warmUpRegistry =
+        MethodSpec.methodBuilder("warmUpRegistry")
+            .addAnnotation(Override.class)
+            .addParameter(ClassName.get("com.bumptech.glide", "Registry"), "registry");
+    // Models and transcodes may be primitive or array types, like byte[], which have no ClassName.
+    for (TypeName modelType : toTypeNames(modelClasses)) {
+      for (TypeName resourceType : resourceTypes) {
+        for (TypeName transcodeType : toTypeNames(transcodeClasses)) {
+          warmUpRegistry.addStatement("registry.warmUp($T.class, $T.class, $T.class)",
+              modelType, resourceType, transcodeType);
+        }
+      }
+    }
+    return warmUpRegistry.build();
+  }
+
+  private static List<TypeName> toTypeNames(List<TypeMirror> types) {
+    List<TypeName> result = new ArrayList<>(types.size());
+    for (TypeMirror type : types) {
+      result.add(TypeName.get(type));
+    }
+    return result;
+  }
+
   // TODO: When we drop support for parsing GlideModules from AndroidManifests, remove this method.
   private MethodSpec generateGetExcludedModuleClasses(Set<String> excludedClassNames) {
     TypeName wildCardOfObject = WildcardTypeName.subtypeOf(Object.class);
@@ -261,6 +261,42 @@ final class ProcessorUtil {
         .toList();
   }
 
+  /**
+   * Returns the types of the classes in the given attribute of the given annotation on the given
+   * class, in declaration order, or an empty list if the annotation or the attribute is not
+   * present.
+   *
+   * <p>The types may be primitive or array types, for example for {@code byte[].class}, so they
+   * can't always be referred to by name.
+   */
+  List<TypeMirror> findClassValuesFromAnnotationAttribute(
+      Element clazz, Class<? extends Annotation> annotationClass, String attributeName) {
+    String annotationClassName = annotationClass.getName();
+    for (AnnotationMirror annotationMirror : clazz.getAnnotationMirrors()) {
+      if (!annotationClassName.equals(annotationMirror.getAnnotationType().toString())) {
+        continue;
+      }
+      for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+          : annotationMirror.getElementValues().entrySet()) {
+        if (!attributeName.equals(entry.getKey().getSimpleName().toString())) {
+          continue;
+        }
+        Object value = entry.getValue().getValue();
+        if (value instanceof List) {
+          List<?> values = (List<?>) value;
+          List<TypeMirror> result = new ArrayList<>(values.size());
+          for (Object current : values) {
+            result.add((TypeMirror) ((AnnotationValue) current).getValue());
+          }
+          return result;
+        } else {
+          return Collections.singletonList((TypeMirror) value);
+        }
+      }
+    }
+    return Collections.emptyList();
+  }
+
   Set<String> findClassValuesFromAnnotationOnClassAsNames(
       Element clazz, Class<? extends Annotation> annotationClass) {
     String annotationClassName = annotationClass.getName();
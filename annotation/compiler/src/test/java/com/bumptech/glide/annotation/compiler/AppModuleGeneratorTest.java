@@ -0,0 +1,108 @@
+package com.bumptech.glide.annotation.compiler;
+
+import static com.google.testing.compile.Compiler.javac;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.bumptech.glide.annotation.WarmUpRegistry;
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import com.squareup.javapoet.MethodSpec;
+import java.util.Collections;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.JavaFileObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class AppModuleGeneratorTest {
+
+  @Test
+  public void generateWarmUpRegistry_withArrayModel_warmsUpArrayClass() {
+    String warmUpRegistry = generateWarmUpRegistry(
+        "@WarmUpRegistry(models = byte[].class, transcodes = Object.class)");
+
+    assertTrue(warmUpRegistry, warmUpRegistry.contains(
+        "registry.warmUp(byte[].class, java.lang.Object.class, java.lang.Object.class);"));
+  }
+
+  @Test
+  public void generateWarmUpRegistry_withPrimitiveModel_warmsUpPrimitiveClass() {
+    String warmUpRegistry = generateWarmUpRegistry(
+        "@WarmUpRegistry(models = int.class, transcodes = Object.class)");
+
+    assertTrue(warmUpRegistry, warmUpRegistry.contains(
+        "registry.warmUp(int.class, java.lang.Object.class, java.lang.Object.class);"));
+  }
+
+  @Test
+  public void generateWarmUpRegistry_withMultipleClasses_warmsUpEveryCombination() {
+    String warmUpRegistry = generateWarmUpRegistry("@WarmUpRegistry("
+        + "models = {String.class, byte[].class}, "
+        + "resources = Number.class, "
+        + "transcodes = {Object.class, String[].class})");
+
+    assertTrue(warmUpRegistry, warmUpRegistry.contains(
+        "registry.warmUp(java.lang.String.class, java.lang.Number.class, "
+            + "java.lang.Object.class);"));
+    assertTrue(warmUpRegistry, warmUpRegistry.contains(
+        "registry.warmUp(java.lang.String.class, java.lang.Number.class, "
+            + "java.lang.String[].class);"));
+    assertTrue(warmUpRegistry, warmUpRegistry.contains(
+        "registry.warmUp(byte[].class, java.lang.Number.class, java.lang.Object.class);"));
+    assertTrue(warmUpRegistry, warmUpRegistry.contains(
+        "registry.warmUp(byte[].class, java.lang.Number.class, java.lang.String[].class);"));
+  }
+
+  private static String generateWarmUpRegistry(String annotation) {
+    JavaFileObject module = JavaFileObjects.forSourceLines("test.TestModule",
+        "package test;",
+        "",
+        "import com.bumptech.glide.annotation.WarmUpRegistry;",
+        "",
+        annotation,
+        "final class TestModule {}");
+    WarmUpRegistryProcessor processor = new WarmUpRegistryProcessor();
+
+    Compilation compilation = javac().withProcessors(processor).compile(module);
+
+    assertEquals(compilation.diagnostics().toString(),
+        Compilation.Status.SUCCESS, compilation.status());
+    assertNotNull(processor.warmUpRegistry);
+    return processor.warmUpRegistry.toString();
+  }
+
+  /**
+   * Generates the warmUpRegistry method for the class annotated with {@link WarmUpRegistry},
+   * without requiring the rest of Glide to be on the classpath.
+   */
+  private static final class WarmUpRegistryProcessor extends AbstractProcessor {
+    private MethodSpec warmUpRegistry;
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+      return Collections.singleton(WarmUpRegistry.class.getName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+      return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> set, RoundEnvironment env) {
+      AppModuleGenerator generator = new AppModuleGenerator(new ProcessorUtil(processingEnv));
+      for (Element element : env.getElementsAnnotatedWith(WarmUpRegistry.class)) {
+        warmUpRegistry = generator.generateWarmUpRegistry((TypeElement) element);
+      }
+      return true;
+    }
+  }
+}
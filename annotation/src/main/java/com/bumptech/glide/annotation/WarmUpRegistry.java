@@ -0,0 +1,38 @@
+package com.bumptech.glide.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Specifies model and transcode classes whose decode paths should be resolved while Glide is
+ * initialized, rather than lazily during the first load that uses them.
+ *
+ * <p>For every combination of {@link #models()}, {@link #resources()} and {@link #transcodes()},
+ * the generated AppGlideModule will call {@code Registry#warmUp} once all components have been
+ * registered.
+ *
+ * <p>Used only on AppGlideModules. Adding this annotation to other classes will have no affect.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface WarmUpRegistry {
+  /**
+   * The model classes that will be loaded, for example {@code String.class} for urls.
+   */
+  Class[] models();
+
+  /**
+   * The resource classes that will be requested. Most requests don't specify a resource class,
+   * so this defaults to {@code Object.class}.
+   */
+  Class[] resources() default Object.class;
+
+  /**
+   * The transcode classes that will be requested, for example
+   * {@code android.graphics.drawable.Drawable.class} for requests started with
+   * {@code RequestManager#load}.
+   */
+  Class[] transcodes();
+}
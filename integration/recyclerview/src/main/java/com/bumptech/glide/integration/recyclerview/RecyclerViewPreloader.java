@@ -77,12 +77,34 @@ public final class RecyclerViewPreloader<T> extends RecyclerView.OnScrollListene
   public RecyclerViewPreloader(RequestManager requestManager,
       PreloadModelProvider<T> preloadModelProvider,
       PreloadSizeProvider<T> preloadDimensionProvider, int maxPreload) {
+    this(requestManager, preloadModelProvider, preloadDimensionProvider, maxPreload,
+        false /*isAdaptive*/);
+  }
+
+  /**
+   * Constructor that accepts interfaces for providing the dimensions of images to preload, the list
+   * of models to preload for a given position, and the request to use to load images.
+   *
+   * @param preloadModelProvider     Provides models to load and requests capable of loading them.
+   * @param preloadDimensionProvider Provides the dimensions of images to load.
+   * @param maxPreload               Maximum number of items to preload.
+   * @param isAdaptive               {@code true} to adjust the number of items to preload to the
+   *                                 scroll velocity and load latency, see {@link ListPreloader}.
+   */
+  public RecyclerViewPreloader(RequestManager requestManager,
+      PreloadModelProvider<T> preloadModelProvider,
+      PreloadSizeProvider<T> preloadDimensionProvider, int maxPreload, boolean isAdaptive) {
 
     ListPreloader<T> listPreloader = new ListPreloader<>(requestManager, preloadModelProvider,
-        preloadDimensionProvider, maxPreload);
+        preloadDimensionProvider, maxPreload, isAdaptive);
     recyclerScrollListener = new RecyclerToListViewScrollListener(listPreloader);
   }
 
+  @Override
+  public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+    recyclerScrollListener.onScrollStateChanged(recyclerView, newState);
+  }
+
   @Override
   public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
     recyclerScrollListener.onScrolled(recyclerView, dx, dy);
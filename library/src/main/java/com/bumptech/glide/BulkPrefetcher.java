@@ -0,0 +1,249 @@
+package com.bumptech.glide;
+
+import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.Nullable;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.engine.GlideException;
+import com.bumptech.glide.request.RequestListener;
+import com.bumptech.glide.request.target.SimpleTarget;
+import com.bumptech.glide.request.target.Target;
+import com.bumptech.glide.request.transition.Transition;
+import com.bumptech.glide.util.Preconditions;
+import com.bumptech.glide.util.Synthetic;
+import com.bumptech.glide.util.Util;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Downloads the data for a batch of models into the disk cache without decoding it, so that
+ * loads for the models later on don't need to wait for the network.
+ *
+ * <p>Each model is loaded with {@link RequestManager#downloadOnly()}, so the data is fetched at
+ * {@link Priority#LOW} and written to the disk cache with
+ * {@link com.bumptech.glide.load.engine.DiskCacheStrategy#DATA}, nothing is decoded or added to
+ * the memory cache, and models whose data is already in the disk cache complete without being
+ * fetched again. At most a fixed number of models are fetched at once so that a large batch doesn't
+ * delay other loads.
+ *
+ * <p>Obtain instances with {@link RequestManager#prefetch(List, int, PrefetchListener)}. Prefetches
+ * are paused, resumed and cancelled along with the other requests started by the
+ * {@link RequestManager}, so use a {@link RequestManager} whose lifecycle matches how long the
+ * prefetch should run for, for example {@code Glide.with(applicationContext)}.
+ *
+ * <p>This class must be used on the main thread.
+ */
+public final class BulkPrefetcher {
+  private final RequestManager requestManager;
+  private final List<Object> models;
+  private final int maxConcurrent;
+  private final Executor sizeExecutor;
+  @Nullable private final PrefetchListener listener;
+  @Synthetic final Handler mainHandler = new Handler(Looper.getMainLooper());
+  private final List<PrefetchTarget> running = new ArrayList<>();
+
+  private int nextIndex;
+  private int fetchedCount;
+  private int cachedCount;
+  private int failedCount;
+  private long fetchedBytes;
+  private boolean isCancelled;
+
+  /**
+   * Receives progress updates from a {@link BulkPrefetcher}.
+   *
+   * <p>Called on the main thread.
+   */
+  public interface PrefetchListener {
+
+    /**
+     * Called each time the data for a model is in the disk cache or has failed to load.
+     *
+     * @param completed    The number of models that have completed, including failures.
+     * @param total        The number of distinct models in the batch.
+     * @param fetchedBytes The total size of the data written to the disk cache so far.
+     */
+    void onPrefetchProgress(int completed, int total, long fetchedBytes);
+
+    /**
+     * Called once when every model in the batch has completed.
+     *
+     * @param fetched       The number of models whose data was fetched and written to the disk
+     *                      cache.
+     * @param alreadyCached The number of models whose data was already in the disk cache.
+     * @param failed        The number of models that failed to load.
+     * @param fetchedBytes  The total size of the data written to the disk cache.
+     */
+    void onPrefetchComplete(int fetched, int alreadyCached, int failed, long fetchedBytes);
+  }
+
+  /**
+   * @param sizeExecutor Used to read the sizes of fetched files, which requires I/O.
+   */
+  BulkPrefetcher(RequestManager requestManager, List<?> models, int maxConcurrent,
+      Executor sizeExecutor, @Nullable PrefetchListener listener) {
+    Preconditions.checkArgument(maxConcurrent > 0, "maxConcurrent must be greater than 0");
+    this.requestManager = Preconditions.checkNotNull(requestManager);
+    // Duplicate models would share a single load, so only fetch each once.
+    this.models = new ArrayList<Object>(new LinkedHashSet<Object>(models));
+    this.maxConcurrent = maxConcurrent;
+    this.sizeExecutor = Preconditions.checkNotNull(sizeExecutor);
+    this.listener = listener;
+  }
+
+  void start() {
+    Util.assertMainThread();
+    if (models.isEmpty()) {
+      notifyComplete();
+      return;
+    }
+    boolean isStarted = true;
+    while (isStarted && running.size() < maxConcurrent) {
+      isStarted = startNext();
+    }
+  }
+
+  /**
+   * Cancels any running prefetches and doesn't start any more.
+   *
+   * <p>Data that has already been written to the disk cache is kept.
+   */
+  public void cancel() {
+    Util.assertMainThread();
+    isCancelled = true;
+    List<PrefetchTarget> toClear = new ArrayList<>(running);
+    running.clear();
+    for (PrefetchTarget target : toClear) {
+      requestManager.clear(target);
+    }
+  }
+
+  /**
+   * Returns {@code true} if every model in the batch has completed or the prefetch was cancelled.
+   */
+  public boolean isDone() {
+    return isCancelled || getCompletedCount() == models.size();
+  }
+
+  private int getCompletedCount() {
+    return fetchedCount + cachedCount + failedCount;
+  }
+
+  private boolean startNext() {
+    if (isCancelled || nextIndex >= models.size()) {
+      return false;
+    }
+    PrefetchTarget target = new PrefetchTarget(this);
+    running.add(target);
+    requestManager.downloadOnly()
+        .load(models.get(nextIndex++))
+        .listener(target)
+        .into(target);
+    return true;
+  }
+
+  @Synthetic
+  void onPrefetchComplete(final PrefetchTarget target, @Nullable final File file,
+      final boolean wasCached) {
+    // Called while the target's request is notifying it, and the request can't be cleared and
+    // reused for the next prefetch until it has finished doing so.
+    mainHandler.post(new Runnable() {
+      @Override
+      public void run() {
+        finishPrefetch(target, file, wasCached);
+      }
+    });
+  }
+
+  @Synthetic
+  void finishPrefetch(PrefetchTarget target, @Nullable final File file, boolean wasCached) {
+    if (isCancelled || !running.remove(target)) {
+      return;
+    }
+    requestManager.clear(target);
+    if (file == null) {
+      failedCount++;
+      onModelComplete();
+    } else if (wasCached) {
+      cachedCount++;
+      onModelComplete();
+    } else {
+      sizeExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          final long length = file.length();
+          mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+              onFetched(length);
+            }
+          });
+        }
+      });
+    }
+    startNext();
+  }
+
+  @Synthetic
+  void onFetched(long length) {
+    if (isCancelled) {
+      return;
+    }
+    fetchedCount++;
+    fetchedBytes += length;
+    onModelComplete();
+  }
+
+  private void onModelComplete() {
+    if (listener != null) {
+      listener.onPrefetchProgress(getCompletedCount(), models.size(), fetchedBytes);
+    }
+    if (getCompletedCount() == models.size()) {
+      notifyComplete();
+    }
+  }
+
+  private void notifyComplete() {
+    if (listener != null) {
+      listener.onPrefetchComplete(fetchedCount, cachedCount, failedCount, fetchedBytes);
+    }
+  }
+
+  private static final class PrefetchTarget extends SimpleTarget<File>
+      implements RequestListener<File> {
+    private final BulkPrefetcher prefetcher;
+    private boolean wasCached;
+
+    @Synthetic
+    PrefetchTarget(BulkPrefetcher prefetcher) {
+      this.prefetcher = prefetcher;
+    }
+
+    @Override
+    public boolean onLoadFailed(@Nullable GlideException e, Object model, Target<File> target,
+        boolean isFirstResource) {
+      return false;
+    }
+
+    @Override
+    public boolean onResourceReady(File resource, Object model, Target<File> target,
+        DataSource dataSource, boolean isFirstResource) {
+      wasCached = dataSource == DataSource.DATA_DISK_CACHE;
+      return false;
+    }
+
+    @Override
+    public void onResourceReady(File resource, Transition<? super File> transition) {
+      prefetcher.onPrefetchComplete(this, resource, wasCached);
+    }
+
+    @Override
+    public void onLoadFailed(@Nullable Drawable errorDrawable) {
+      prefetcher.onPrefetchComplete(this, null /*file*/, false /*wasCached*/);
+    }
+  }
+}
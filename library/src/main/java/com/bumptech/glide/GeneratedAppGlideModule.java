@@ -24,4 +24,13 @@ abstract class GeneratedAppGlideModule extends AppGlideModule {
   RequestManagerRetriever.RequestManagerFactory getRequestManagerFactory() {
     return null;
   }
+
+  /**
+   * Resolves the decode paths declared with
+   * {@link com.bumptech.glide.annotation.WarmUpRegistry}, called after all components have been
+   * registered.
+   */
+  void warmUpRegistry(Registry registry) {
+    // Do nothing by default.
+  }
 }
@@ -19,11 +19,13 @@ import android.util.Log;
 import android.view.View;
 import com.bumptech.glide.gifdecoder.GifDecoder;
 import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.ImageMetadataCache;
 import com.bumptech.glide.load.data.InputStreamRewinder;
 import com.bumptech.glide.load.engine.Engine;
 import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
 import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
 import com.bumptech.glide.load.engine.cache.MemoryCache;
+import com.bumptech.glide.load.engine.executor.GlideExecutor;
 import com.bumptech.glide.load.engine.prefill.BitmapPreFiller;
 import com.bumptech.glide.load.engine.prefill.PreFillType;
 import com.bumptech.glide.load.model.AssetUriLoader;
@@ -49,9 +51,18 @@ import com.bumptech.glide.load.resource.bitmap.BitmapDrawableDecoder;
 import com.bumptech.glide.load.resource.bitmap.BitmapDrawableEncoder;
 import com.bumptech.glide.load.resource.bitmap.BitmapEncoder;
 import com.bumptech.glide.load.resource.bitmap.ByteBufferBitmapDecoder;
+import com.bumptech.glide.load.resource.bitmap.ByteBufferExifThumbnailDecoder;
+import com.bumptech.glide.load.resource.bitmap.ByteBufferImageTileDecoder;
+import com.bumptech.glide.load.resource.bitmap.ByteBufferRegionBitmapDecoder;
+import com.bumptech.glide.load.resource.bitmap.CenterCropRegionDecoder;
 import com.bumptech.glide.load.resource.bitmap.DefaultImageHeaderParser;
 import com.bumptech.glide.load.resource.bitmap.Downsampler;
+import com.bumptech.glide.load.resource.bitmap.ExifThumbnailDecoder;
+import com.bumptech.glide.load.resource.bitmap.ImageTileDecoder;
 import com.bumptech.glide.load.resource.bitmap.StreamBitmapDecoder;
+import com.bumptech.glide.load.resource.bitmap.StreamExifThumbnailDecoder;
+import com.bumptech.glide.load.resource.bitmap.StreamImageTileDecoder;
+import com.bumptech.glide.load.resource.bitmap.StreamRegionBitmapDecoder;
 import com.bumptech.glide.load.resource.bitmap.VideoBitmapDecoder;
 import com.bumptech.glide.load.resource.bytes.ByteBufferRewinder;
 import com.bumptech.glide.load.resource.file.FileDecoder;
@@ -100,8 +111,11 @@ public class Glide implements ComponentCallbacks2 {
   private final GlideContext glideContext;
   private final Registry registry;
   private final ArrayPool arrayPool;
+  private final ImageTileDecoder imageTileDecoder;
+  private final ImageMetadataCache imageMetadataCache;
   private final RequestManagerRetriever requestManagerRetriever;
   private final ConnectivityMonitorFactory connectivityMonitorFactory;
+  private final GlideExecutor diskCacheExecutor;
   private final List<RequestManager> managers = new ArrayList<>();
   private MemoryCategory memoryCategory = MemoryCategory.NORMAL;
 
@@ -218,6 +232,7 @@ public class Glide implements ComponentCallbacks2 {
     }
     if (annotationGeneratedModule != null) {
       annotationGeneratedModule.registerComponents(applicationContext, glide.registry);
+      annotationGeneratedModule.warmUpRegistry(glide.registry);
     }
   }
 
@@ -258,6 +273,7 @@ public class Glide implements ComponentCallbacks2 {
       ArrayPool arrayPool,
       RequestManagerRetriever requestManagerRetriever,
       ConnectivityMonitorFactory connectivityMonitorFactory,
+      GlideExecutor diskCacheExecutor,
       int logLevel,
       RequestOptions defaultRequestOptions) {
     this.engine = engine;
@@ -266,6 +282,7 @@ public class Glide implements ComponentCallbacks2 {
     this.memoryCache = memoryCache;
     this.requestManagerRetriever = requestManagerRetriever;
     this.connectivityMonitorFactory = connectivityMonitorFactory;
+    this.diskCacheExecutor = diskCacheExecutor;
 
     DecodeFormat decodeFormat = defaultRequestOptions.getOptions().get(Downsampler.DECODE_FORMAT);
     bitmapPreFiller = new BitmapPreFiller(memoryCache, bitmapPool, decodeFormat);
@@ -275,16 +292,36 @@ public class Glide implements ComponentCallbacks2 {
     registry = new Registry();
     registry.register(new DefaultImageHeaderParser());
 
+    // Owned by the engine so that it's cleared whenever the disk cache it describes is cleared.
+    imageMetadataCache = engine.getImageMetadataCache();
     Downsampler downsampler = new Downsampler(registry.getImageHeaderParsers(),
-        resources.getDisplayMetrics(), bitmapPool, arrayPool);
+        resources.getDisplayMetrics(), bitmapPool, arrayPool, imageMetadataCache,
+        registry.getBitmapDecoderBackends());
+    imageTileDecoder = new ImageTileDecoder(
+        registry.getImageHeaderParsers(), resources.getDisplayMetrics(), bitmapPool, arrayPool);
+    ExifThumbnailDecoder exifThumbnailDecoder = new ExifThumbnailDecoder(bitmapPool, arrayPool);
+    CenterCropRegionDecoder regionDecoder = new CenterCropRegionDecoder(
+        registry.getImageHeaderParsers(), resources.getDisplayMetrics(), bitmapPool, arrayPool,
+        imageMetadataCache);
     ByteBufferGifDecoder byteBufferGifDecoder =
-        new ByteBufferGifDecoder(context, registry.getImageHeaderParsers(), bitmapPool, arrayPool);
+        new ByteBufferGifDecoder(context, registry.getImageHeaderParsers(), bitmapPool, arrayPool,
+            imageMetadataCache);
 
     registry.register(ByteBuffer.class, new ByteBufferEncoder())
         .register(InputStream.class, new StreamEncoder(arrayPool))
         /* Bitmaps */
+        .append(ByteBuffer.class, Bitmap.class,
+            new ByteBufferExifThumbnailDecoder(exifThumbnailDecoder))
+        .append(ByteBuffer.class, Bitmap.class, new ByteBufferImageTileDecoder(imageTileDecoder))
+        .append(ByteBuffer.class, Bitmap.class, new ByteBufferRegionBitmapDecoder(regionDecoder))
         .append(ByteBuffer.class, Bitmap.class,
             new ByteBufferBitmapDecoder(downsampler))
+        .append(InputStream.class, Bitmap.class,
+            new StreamExifThumbnailDecoder(exifThumbnailDecoder))
+        .append(InputStream.class, Bitmap.class,
+            new StreamImageTileDecoder(imageTileDecoder, arrayPool))
+        .append(InputStream.class, Bitmap.class,
+            new StreamRegionBitmapDecoder(regionDecoder, arrayPool))
         .append(InputStream.class, Bitmap.class,
             new StreamBitmapDecoder(downsampler, arrayPool))
         .append(ParcelFileDescriptor.class, Bitmap.class, new VideoBitmapDecoder(bitmapPool))
@@ -301,7 +338,8 @@ public class Glide implements ComponentCallbacks2 {
         .register(BitmapDrawable.class, new BitmapDrawableEncoder(bitmapPool, new BitmapEncoder()))
         /* GIFs */
         .prepend(InputStream.class, GifDrawable.class,
-            new StreamGifDecoder(registry.getImageHeaderParsers(), byteBufferGifDecoder, arrayPool))
+            new StreamGifDecoder(registry.getImageHeaderParsers(), byteBufferGifDecoder, arrayPool,
+                imageMetadataCache))
         .prepend(ByteBuffer.class, GifDrawable.class, byteBufferGifDecoder)
         .register(GifDrawable.class, new GifDrawableEncoder())
         /* GIF Frames */
@@ -402,6 +440,14 @@ public class Glide implements ComponentCallbacks2 {
     return glideContext;
   }
 
+  /**
+   * Returns the executor used for disk cache I/O, which can also be used for other short background
+   * work that shouldn't be done on the main thread.
+   */
+  GlideExecutor getDiskCacheExecutor() {
+    return diskCacheExecutor;
+  }
+
   /**
    * Pre-fills the {@link com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool} using the given
    * sizes.
@@ -444,6 +490,9 @@ public class Glide implements ComponentCallbacks2 {
     memoryCache.clearMemory();
     bitmapPool.clearMemory();
     arrayPool.clearMemory();
+    // Recycling decoders waits for in progress decodes, so it's done in the background.
+    imageTileDecoder.clearDecoders(diskCacheExecutor);
+    imageMetadataCache.clear();
   }
 
   /**
@@ -31,6 +31,11 @@ public final class GlideBuilder {
   private MemoryCache memoryCache;
   private GlideExecutor sourceExecutor;
   private GlideExecutor diskCacheExecutor;
+  @Nullable
+  private GlideExecutor decodeExecutor;
+  private boolean preferNewestRequests;
+  private long mainThreadBudgetMillis;
+  private boolean coalesceResultDeliveries;
   private DiskCache.Factory diskCacheFactory;
   private MemorySizeCalculator memorySizeCalculator;
   private ConnectivityMonitorFactory connectivityMonitorFactory;
@@ -142,6 +147,91 @@ public final class GlideBuilder {
     return this;
   }
 
+  /**
+   * Sets the {@link GlideExecutor} to use to decode, transform and encode data once it has been
+   * retrieved.
+   *
+   * <p>By default data is decoded on the same thread it was retrieved on, which means a slow
+   * network request can block a thread that could otherwise be used to decode data that's already
+   * been retrieved and vice versa. If an executor is set here, the source and disk cache executors
+   * are only used to retrieve data and all decoding happens on this executor, so the number of
+   * concurrent network requests and concurrent decodes can be sized independently. The queue
+   * metrics on {@link GlideExecutor} can be used to tune each pool.
+   *
+   * <p>If no source executor is set with {@link #setResizeExecutor(GlideExecutor)}, a larger
+   * source executor suited to I/O bound work is created by default when a decode executor is set.
+   *
+   * @param service The ExecutorService to use, see {@link GlideExecutor#newDecodeExecutor()}.
+   * @return This builder.
+   * @see #setResizeExecutor(GlideExecutor)
+   * @see GlideExecutor#getAverageQueueTimeMillis()
+   */
+  public GlideBuilder setDecodeExecutor(@Nullable GlideExecutor service) {
+    this.decodeExecutor = service;
+    return this;
+  }
+
+  /**
+   * Sets whether the most recently started loads should run before older loads with the same
+   * {@link Priority}.
+   *
+   * <p>By default loads with the same {@link Priority} run in the order they're started. In
+   * quickly scrolling lists, the oldest loads are usually for views that are no longer visible,
+   * so running the newest loads first gets images on screen sooner. Loads for views that are
+   * recycled are cancelled and removed from the executors before they start.
+   *
+   * @param preferNewestRequests {@code true} to run the newest loads first, defaults to
+   *                             {@code false}.
+   * @return This builder.
+   */
+  public GlideBuilder setPreferNewestRequests(boolean preferNewestRequests) {
+    this.preferNewestRequests = preferNewestRequests;
+    return this;
+  }
+
+  /**
+   * Sets the most time to spend starting loads on the main thread in each frame.
+   *
+   * <p>Starting a load builds its cache key, checks the memory cache and active resources and
+   * submits a job. Binding a dense grid can start dozens of loads in a single frame, enough to
+   * cause the frame to be dropped. Once the budget for a frame has been used up, loads started
+   * during the rest of the frame are started in the following frames instead, in the order they
+   * were requested. Loads that are cleared before they're started are dropped.
+   *
+   * <p>Loads whose resources are in memory are always started immediately. Other loads started in
+   * a later frame show their placeholder for at least one frame, so the budget should be large
+   * enough for the loads started in a typical frame.
+   *
+   * @param budgetMillis The budget in milliseconds, or {@code 0} to always start loads immediately,
+   *                     defaults to {@code 0}.
+   * @return This builder.
+   */
+  public GlideBuilder setMainThreadBudget(long budgetMillis) {
+    this.mainThreadBudgetMillis = budgetMillis;
+    return this;
+  }
+
+  /**
+   * Sets whether or not the results of loads that complete in the background are delivered
+   * together at the start of the next frame.
+   *
+   * <p>By default each load posts its own result to the main thread as soon as it completes, so
+   * many loads completing at once, typically from the disk cache, each notify their targets in a
+   * separate dispatch, and each dispatch can trigger another layout pass. Coalesced results are
+   * delivered in one pass per frame, highest {@link Priority} first. If a budget has been set with
+   * {@link #setMainThreadBudget(long)}, results are only delivered until the budget for the frame
+   * has been used up and the remaining results are delivered in the following frames.
+   *
+   * <p>Coalescing can delay each result by up to a frame.
+   *
+   * @param coalesceResultDeliveries {@code true} to coalesce results, defaults to {@code false}.
+   * @return This builder.
+   */
+  public GlideBuilder setCoalesceResultDeliveries(boolean coalesceResultDeliveries) {
+    this.coalesceResultDeliveries = coalesceResultDeliveries;
+    return this;
+  }
+
   /**
    * Sets the default {@link RequestOptions} to use for all loads across the app.
    *
@@ -265,7 +355,8 @@ public final class GlideBuilder {
 
   public Glide build(Context context) {
     if (sourceExecutor == null) {
-      sourceExecutor = GlideExecutor.newSourceExecutor();
+      sourceExecutor = decodeExecutor != null
+          ? GlideExecutor.newIoSourceExecutor() : GlideExecutor.newSourceExecutor();
     }
 
     if (diskCacheExecutor == null) {
@@ -299,7 +390,8 @@ public final class GlideBuilder {
 
     if (engine == null) {
       engine = new Engine(memoryCache, diskCacheFactory, diskCacheExecutor, sourceExecutor,
-          GlideExecutor.newUnlimitedSourceExecutor());
+          GlideExecutor.newUnlimitedSourceExecutor(), decodeExecutor, preferNewestRequests,
+          mainThreadBudgetMillis, coalesceResultDeliveries);
     }
 
     RequestManagerRetriever requestManagerRetriever = new RequestManagerRetriever(
@@ -313,6 +405,7 @@ public final class GlideBuilder {
         arrayPool,
         requestManagerRetriever,
         connectivityMonitorFactory,
+        diskCacheExecutor,
         logLevel,
         defaultRequestOptions.lock());
   }
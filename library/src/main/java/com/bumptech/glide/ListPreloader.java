@@ -1,5 +1,6 @@
 package com.bumptech.glide;
 
+import android.os.SystemClock;
 import android.support.annotation.Nullable;
 import android.widget.AbsListView;
 import com.bumptech.glide.request.target.BaseTarget;
@@ -21,23 +22,45 @@ import java.util.Queue;
  * corresponding methods called from another {@link android.widget.AbsListView.OnScrollListener} to
  * function. </p>
  *
+ * <p> By default a fixed number of items is preloaded. Adaptive preloaders instead preload as many
+ * items as will scroll on to the screen while a preload completes, based on the current scroll
+ * velocity and how long recent preloads have taken, up to the maximum. Adaptive preloaders also
+ * stop preloading during flings that are too fast for preloads to complete before the items are
+ * displayed, and resume as the fling slows down and when it stops, so that the items the fling
+ * settles on are loaded first. Adaptive preloading requires
+ * {@link #onScrollStateChanged(AbsListView, int)} to be called. </p>
+ *
  * @param <T> The type of the model being displayed in the list.
  */
 public class ListPreloader<T> implements AbsListView.OnScrollListener {
 
+  // The weight given to each new sample in the moving averages of scroll velocity and load latency.
+  private static final double SAMPLE_WEIGHT = 0.5;
+
   private final int maxPreload;
+  private final boolean isAdaptive;
+  private final LoadLatencyTracker loadLatencyTracker = new LoadLatencyTracker();
   private final PreloadTargetQueue preloadTargetQueue;
   private final RequestManager requestManager;
   private final PreloadModelProvider<T> preloadModelProvider;
   private final PreloadSizeProvider<T> preloadDimensionProvider;
 
+  // The furthest positions preloaded while scrolling in the current direction, which only ever
+  // move further in that direction so that items aren't preloaded again when the number of items
+  // to preload drops.
   private int lastEnd;
-  private int lastStart;
+  private int lastStart = Integer.MAX_VALUE;
   private int lastFirstVisible;
+  private int lastVisibleCount;
   private int totalItemCount;
 
   private boolean isIncreasing = true;
 
+  private int scrollState = SCROLL_STATE_IDLE;
+  private long lastScrollTimeMs = -1;
+  private double itemsPerMs;
+  private boolean isPreloadSuspended;
+
   /**
    * An implementation of PreloadModelProvider should provide all the models that should be
    * preloaded.
@@ -100,22 +123,57 @@ public class ListPreloader<T> implements AbsListView.OnScrollListener {
    */
   public ListPreloader(RequestManager requestManager, PreloadModelProvider<T> preloadModelProvider,
       PreloadSizeProvider<T> preloadDimensionProvider, int maxPreload) {
+    this(requestManager, preloadModelProvider, preloadDimensionProvider, maxPreload,
+        false /*isAdaptive*/);
+  }
+
+  /**
+   * Constructor for {@link com.bumptech.glide.ListPreloader} that accepts interfaces for providing
+   * the dimensions of images to preload, the list of models to preload for a given position, and
+   * the request to use to load images.
+   *
+   * @param preloadModelProvider     Provides models to load and requests capable of loading them.
+   * @param preloadDimensionProvider Provides the dimensions of images to load.
+   * @param maxPreload               Maximum number of items to preload.
+   * @param isAdaptive               {@code true} to adjust the number of items to preload to the
+   *                                 scroll velocity and load latency, {@code false} to always
+   *                                 preload {@code maxPreload} items.
+   */
+  public ListPreloader(RequestManager requestManager, PreloadModelProvider<T> preloadModelProvider,
+      PreloadSizeProvider<T> preloadDimensionProvider, int maxPreload, boolean isAdaptive) {
     this.requestManager = requestManager;
     this.preloadModelProvider = preloadModelProvider;
     this.preloadDimensionProvider = preloadDimensionProvider;
     this.maxPreload = maxPreload;
-    preloadTargetQueue = new PreloadTargetQueue(maxPreload + 1);
+    this.isAdaptive = isAdaptive;
+    preloadTargetQueue = new PreloadTargetQueue(maxPreload + 1, loadLatencyTracker);
   }
 
   @Override
   public void onScrollStateChanged(AbsListView absListView, int scrollState) {
-    // Do nothing.
+    if (!isAdaptive) {
+      return;
+    }
+    this.scrollState = scrollState;
+    if (scrollState == SCROLL_STATE_IDLE) {
+      lastScrollTimeMs = -1;
+      itemsPerMs = 0;
+      if (isPreloadSuspended) {
+        // The list has stopped, so there's time to finish as many preloads as are allowed.
+        preload(isIncreasing ? lastFirstVisible + lastVisibleCount : lastFirstVisible,
+            isIncreasing, maxPreload);
+      }
+    }
   }
 
   @Override
   public void onScroll(AbsListView absListView, int firstVisible, int visibleCount,
       int totalCount) {
     totalItemCount = totalCount;
+    lastVisibleCount = visibleCount;
+    if (isAdaptive) {
+      updateVelocity(firstVisible);
+    }
     if (firstVisible > lastFirstVisible) {
       preload(firstVisible + visibleCount, true);
     } else if (firstVisible < lastFirstVisible) {
@@ -124,12 +182,43 @@ public class ListPreloader<T> implements AbsListView.OnScrollListener {
     lastFirstVisible = firstVisible;
   }
 
+  private void updateVelocity(int firstVisible) {
+    long now = SystemClock.uptimeMillis();
+    if (lastScrollTimeMs >= 0 && now > lastScrollTimeMs) {
+      double sample = Math.abs(firstVisible - lastFirstVisible) / (double) (now - lastScrollTimeMs);
+      itemsPerMs += (sample - itemsPerMs) * SAMPLE_WEIGHT;
+    }
+    lastScrollTimeMs = now;
+  }
+
   private void preload(int start, boolean increasing) {
+    preload(start, increasing, getNumItemsToPreload());
+  }
+
+  private void preload(int start, boolean increasing, int toPreload) {
     if (isIncreasing != increasing) {
       isIncreasing = increasing;
       cancelAll();
+      lastEnd = 0;
+      lastStart = Integer.MAX_VALUE;
     }
-    preload(start, start + (increasing ? maxPreload : -maxPreload));
+    isPreloadSuspended = toPreload == 0;
+    if (!isPreloadSuspended) {
+      preload(start, start + (increasing ? toPreload : -toPreload));
+    }
+  }
+
+  private int getNumItemsToPreload() {
+    if (!isAdaptive || !loadLatencyTracker.hasLatency()) {
+      return maxPreload;
+    }
+    double itemsPerLoad = itemsPerMs * loadLatencyTracker.getAverageLatencyMs();
+    // Preloads started now wouldn't finish before the items they're for are displayed, so they'd
+    // only delay loads for the items the fling eventually stops on.
+    if (scrollState == SCROLL_STATE_FLING && itemsPerLoad > maxPreload) {
+      return 0;
+    }
+    return (int) Math.min(maxPreload, Math.ceil(itemsPerLoad) + 1);
   }
 
   private void preload(int from, int to) {
@@ -157,8 +246,11 @@ public class ListPreloader<T> implements AbsListView.OnScrollListener {
       }
     }
 
-    lastStart = start;
-    lastEnd = end;
+    if (from < to) {
+      lastEnd = Math.max(lastEnd, end);
+    } else {
+      lastStart = Math.min(lastStart, start);
+    }
   }
 
   private void preloadAdapterPosition(List<T> items, int position, boolean isIncreasing) {
@@ -193,11 +285,11 @@ public class ListPreloader<T> implements AbsListView.OnScrollListener {
   private static final class PreloadTargetQueue {
     private final Queue<PreloadTarget> queue;
 
-    public PreloadTargetQueue(int size) {
+    public PreloadTargetQueue(int size, LoadLatencyTracker loadLatencyTracker) {
       queue = Util.createQueue(size);
 
       for (int i = 0; i < size; i++) {
-        queue.offer(new PreloadTarget());
+        queue.offer(new PreloadTarget(loadLatencyTracker));
       }
     }
 
@@ -206,24 +298,62 @@ public class ListPreloader<T> implements AbsListView.OnScrollListener {
       queue.offer(result);
       result.photoWidth = width;
       result.photoHeight = height;
+      result.startTimeMs = -1;
       return result;
     }
   }
 
+  /**
+   * Keeps a moving average of the time between starting a preload and the preload completing.
+   *
+   * <p>Preloads that hit the memory cache complete immediately, so the average reflects how much
+   * of the list is already cached as well as how long loads that miss the memory cache take.
+   */
+  private static final class LoadLatencyTracker {
+    private double averageLatencyMs = -1;
+
+    @Synthetic
+    LoadLatencyTracker() { }
+
+    void onLoadComplete(long latencyMs) {
+      if (averageLatencyMs < 0) {
+        averageLatencyMs = latencyMs;
+      } else {
+        averageLatencyMs += (latencyMs - averageLatencyMs) * SAMPLE_WEIGHT;
+      }
+    }
+
+    boolean hasLatency() {
+      return averageLatencyMs >= 0;
+    }
+
+    double getAverageLatencyMs() {
+      return averageLatencyMs;
+    }
+  }
+
   private static class PreloadTarget extends BaseTarget<Object> {
+    private final LoadLatencyTracker loadLatencyTracker;
     @Synthetic int photoHeight;
     @Synthetic int photoWidth;
+    @Synthetic long startTimeMs = -1;
 
     @Synthetic
-    PreloadTarget() { }
+    PreloadTarget(LoadLatencyTracker loadLatencyTracker) {
+      this.loadLatencyTracker = loadLatencyTracker;
+    }
 
     @Override
     public void onResourceReady(Object resource, Transition<? super Object> transition) {
-      // Do nothing.
+      if (startTimeMs >= 0) {
+        loadLatencyTracker.onLoadComplete(SystemClock.uptimeMillis() - startTimeMs);
+        startTimeMs = -1;
+      }
     }
 
     @Override
     public void getSize(SizeReadyCallback cb) {
+      startTimeMs = SystemClock.uptimeMillis();
       cb.onSizeReady(photoWidth, photoHeight);
     }
   }
@@ -1,6 +1,7 @@
 package com.bumptech.glide;
 
 import android.support.v4.util.Pools.Pool;
+import com.bumptech.glide.load.BitmapDecoderBackend;
 import com.bumptech.glide.load.Encoder;
 import com.bumptech.glide.load.ImageHeaderParser;
 import com.bumptech.glide.load.ResourceDecoder;
@@ -15,6 +16,7 @@ import com.bumptech.glide.load.model.ModelLoaderFactory;
 import com.bumptech.glide.load.model.ModelLoaderRegistry;
 import com.bumptech.glide.load.resource.transcode.ResourceTranscoder;
 import com.bumptech.glide.load.resource.transcode.TranscoderRegistry;
+import com.bumptech.glide.provider.BitmapDecoderBackendRegistry;
 import com.bumptech.glide.provider.EncoderRegistry;
 import com.bumptech.glide.provider.ImageHeaderParserRegistry;
 import com.bumptech.glide.provider.LoadPathCache;
@@ -37,6 +39,7 @@ public class Registry {
   private final DataRewinderRegistry dataRewinderRegistry;
   private final TranscoderRegistry transcoderRegistry;
   private final ImageHeaderParserRegistry imageHeaderParserRegistry;
+  private final BitmapDecoderBackendRegistry bitmapDecoderBackendRegistry;
 
   private final ModelToResourceClassCache modelToResourceClassCache =
       new ModelToResourceClassCache();
@@ -51,6 +54,7 @@ public class Registry {
     this.dataRewinderRegistry = new DataRewinderRegistry();
     this.transcoderRegistry = new TranscoderRegistry();
     this.imageHeaderParserRegistry = new ImageHeaderParserRegistry();
+    this.bitmapDecoderBackendRegistry = new BitmapDecoderBackendRegistry();
   }
 
   public <Data> Registry register(Class<Data> dataClass, Encoder<Data> encoder) {
@@ -92,6 +96,17 @@ public class Registry {
     return this;
   }
 
+  /**
+   * Registers the given {@link BitmapDecoderBackend} to decode the images it handles instead of
+   * {@link android.graphics.BitmapFactory}.
+   *
+   * <p>Backends are tried in the order they're registered.
+   */
+  public Registry register(BitmapDecoderBackend backend) {
+    bitmapDecoderBackendRegistry.add(backend);
+    return this;
+  }
+
   /**
    * Use the given factory to build a {@link com.bumptech.glide.load.model.ModelLoader} for models
    * of the given class. Generally the best use of this method is to replace one of the default
@@ -195,6 +210,28 @@ public class Registry {
     return result;
   }
 
+  /**
+   * Eagerly resolves and caches the registered resource classes and the
+   * {@link LoadPath}s for the data classes registered for the given model class so that the first
+   * load of the given types doesn't have to.
+   *
+   * <p>{@link LoadPath}s are cached by the runtime class of the data, so loads whose
+   * {@link com.bumptech.glide.load.data.DataFetcher}s return subclasses of the registered data
+   * class will still resolve their {@link LoadPath}s lazily.
+   *
+   * <p>Must be called after all components have been registered, registering additional components
+   * does not invalidate previously cached paths.
+   */
+  public <Model> Registry warmUp(Class<Model> modelClass, Class<?> resourceClass,
+      Class<?> transcodeClass) {
+    getRegisteredResourceClasses(modelClass, resourceClass, transcodeClass);
+    List<Class<?>> dataClasses = modelLoaderRegistry.getDataClasses(modelClass);
+    for (int i = 0, size = dataClasses.size(); i < size; i++) {
+      getLoadPath(dataClasses.get(i), resourceClass, transcodeClass);
+    }
+    return this;
+  }
+
   public boolean isResourceEncoderAvailable(Resource<?> resource) {
     return resourceEncoderRegistry.get(resource.getResourceClass()) != null;
   }
@@ -229,6 +266,13 @@ public class Registry {
     return result;
   }
 
+  /**
+   * Returns the registered {@link BitmapDecoderBackend}s, which may be empty.
+   */
+  public List<BitmapDecoderBackend> getBitmapDecoderBackends() {
+    return bitmapDecoderBackendRegistry.getBackends();
+  }
+
   public List<ImageHeaderParser> getImageHeaderParsers() {
     List<ImageHeaderParser> result = imageHeaderParserRegistry.getParsers();
     if (result.isEmpty()) {
@@ -7,6 +7,7 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.widget.ImageView;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.load.resource.bitmap.ExifThumbnailDecoder;
 import com.bumptech.glide.request.FutureTarget;
 import com.bumptech.glide.request.Request;
 import com.bumptech.glide.request.RequestCoordinator;
@@ -56,6 +57,7 @@ public class RequestBuilder<TranscodeType> implements Cloneable {
   @Nullable private RequestListener<TranscodeType> requestListener;
   @Nullable private RequestBuilder<TranscodeType> thumbnailBuilder;
   @Nullable private Float thumbSizeMultiplier;
+  private boolean isExifThumbnailEnabled;
   private boolean isModelSet;
   private boolean isThumbnailBuilt;
 
@@ -132,6 +134,10 @@ public class RequestBuilder<TranscodeType> implements Cloneable {
    * requests will actually finish. However, if the thumb request completes after the full request,
    * the thumb resource will never replace the full resource.
    *
+   * <p>Takes precedence over {@link #thumbnail(float)} and {@link #exifThumbnail()}, which are
+   * ignored on this request if a thumbnail request is set. Call them on the thumbnail request
+   * instead to combine them.
+   *
    * @param thumbnailRequest The request to use to load the thumbnail.
    * @return This request builder.
    * @see #thumbnail(float)
@@ -180,6 +186,32 @@ public class RequestBuilder<TranscodeType> implements Cloneable {
     return this;
   }
 
+  /**
+   * Loads the small thumbnail that cameras embed in the exif segment of JPEGs as a thumbnail for
+   * this load. Embedded thumbnails can be decoded far more quickly than even a heavily downsampled
+   * version of the full image, so they're usually shown well before the full load completes.
+   *
+   * <p>All options, including {@link com.bumptech.glide.load.Transformation}s, are copied from
+   * this load. If the image doesn't contain an exif thumbnail, the thumbnail load fails quickly
+   * without decoding the image and only the full image is shown.
+   *
+   * <p>Only JPEGs are supported. Can be combined with {@link #thumbnail(float)}, in which case the
+   * exif thumbnail is also loaded with the dimensions of the target multiplied by the given size
+   * multiplier.
+   *
+   * <p>Ignored if a thumbnail request is set with {@link #thumbnail(RequestBuilder)}, which takes
+   * precedence. To load the exif thumbnail first in that case, call this method on the thumbnail
+   * request instead.
+   *
+   * @return This request builder.
+   * @see com.bumptech.glide.load.resource.bitmap.ExifThumbnailDecoder
+   */
+  public RequestBuilder<TranscodeType> exifThumbnail() {
+    this.isExifThumbnailEnabled = true;
+
+    return this;
+  }
+
   /**
    * Sets the specific model to load data for.
    *
@@ -342,6 +374,10 @@ public class RequestBuilder<TranscodeType> implements Cloneable {
   /**
    * Set the target the resource will be loaded into.
    *
+   * <p>If the size has been set with {@link RequestOptions#override(int, int)} and the resource is
+   * in memory, the resource is passed to the target before this method returns, so binding a view
+   * in a list doesn't show the view's placeholder for a frame before showing the resource.
+   *
    * @param target The target to load the resource into.
    * @return The given target.
    * @see RequestManager#clear(Target)
@@ -610,13 +646,19 @@ public class RequestBuilder<TranscodeType> implements Cloneable {
       isThumbnailBuilt = false;
       coordinator.setRequests(fullRequest, thumbRequest);
       return coordinator;
-    } else if (thumbSizeMultiplier != null) {
-      // Base case: thumbnail multiplier generates a thumbnail request, but cannot recurse.
+    } else if (thumbSizeMultiplier != null || isExifThumbnailEnabled) {
+      // Base case: thumbnail multiplier or exif thumbnail generates a thumbnail request, but
+      // cannot recurse.
       ThumbnailRequestCoordinator coordinator = new ThumbnailRequestCoordinator(parentCoordinator);
       Request fullRequest = obtainRequest(target, requestOptions, coordinator, transitionOptions,
           priority, overrideWidth, overrideHeight);
-      RequestOptions thumbnailOptions = requestOptions.clone()
-          .sizeMultiplier(thumbSizeMultiplier);
+      RequestOptions thumbnailOptions = requestOptions.clone();
+      if (thumbSizeMultiplier != null) {
+        thumbnailOptions.sizeMultiplier(thumbSizeMultiplier);
+      }
+      if (isExifThumbnailEnabled) {
+        thumbnailOptions.set(ExifThumbnailDecoder.EXIF_THUMBNAIL, true);
+      }
 
       Request thumbnailRequest = obtainRequest(target, thumbnailOptions, coordinator,
           transitionOptions, getThumbnailPriority(priority), overrideWidth, overrideHeight);
@@ -30,6 +30,7 @@ import com.bumptech.glide.request.transition.Transition;
 import com.bumptech.glide.util.Synthetic;
 import com.bumptech.glide.util.Util;
 import java.io.File;
+import java.util.List;
 
 /**
  * A class for managing and starting requests for Glide. Can use activity, fragment and connectivity
@@ -66,6 +67,7 @@ public class RequestManager implements LifecycleListener {
 
   @NonNull
   private RequestOptions requestOptions;
+  private boolean isPausingLargeDecodes;
 
   public RequestManager(Glide glide, Lifecycle lifecycle, RequestManagerTreeNode treeNode) {
     this(glide, lifecycle, treeNode, new RequestTracker(), glide.getConnectivityMonitorFactory());
@@ -240,6 +242,42 @@ public class RequestManager implements LifecycleListener {
     }
   }
 
+  /**
+   * Defers decoding images larger than the given number of pixels until
+   * {@link #resumeLargeDecodes()} is called, without pausing any other loads.
+   *
+   * <p>Unlike {@link #pauseRequests()}, loads continue to start, memory cache hits are still
+   * displayed immediately and data for large images is still retrieved from the disk cache or
+   * source. Only the decode and transformation of large images is deferred, so that images can be
+   * displayed shortly after {@link #resumeLargeDecodes()} is called. Typically called when a list
+   * starts to fling and resumed when it stops. Loads for views that are recycled in the meantime
+   * are cancelled as usual and are not decoded.
+   *
+   * <p>Affects loads started by any {@link RequestManager} until every {@link RequestManager} that
+   * has paused large decodes resumes them.
+   *
+   * @param maxUndeferredPixels The largest requested width times height to decode while paused.
+   * @see com.bumptech.glide.load.engine.Engine#pauseLargeDecodes(int)
+   */
+  public void pauseLargeDecodes(int maxUndeferredPixels) {
+    Util.assertMainThread();
+    if (!isPausingLargeDecodes) {
+      isPausingLargeDecodes = true;
+      glide.getGlideContext().getEngine().pauseLargeDecodes(maxUndeferredPixels);
+    }
+  }
+
+  /**
+   * Decodes any large images deferred by {@link #pauseLargeDecodes(int)}.
+   */
+  public void resumeLargeDecodes() {
+    Util.assertMainThread();
+    if (isPausingLargeDecodes) {
+      isPausingLargeDecodes = false;
+      glide.getGlideContext().getEngine().resumeLargeDecodes();
+    }
+  }
+
   /**
    * Lifecycle callback that registers for connectivity events (if the
    * android.permission.ACCESS_NETWORK_STATE permission is present) and restarts failed or paused
@@ -273,6 +311,7 @@ public class RequestManager implements LifecycleListener {
     }
     targetTracker.clear();
     requestTracker.clearRequests();
+    resumeLargeDecodes();
     lifecycle.removeListener(this);
     lifecycle.removeListener(connectivityMonitor);
     mainHandler.removeCallbacks(addSelfToLifecycle);
@@ -356,6 +395,27 @@ public class RequestManager implements LifecycleListener {
     return downloadOnly().load(model);
   }
 
+  /**
+   * Downloads the data for each of the given models into the disk cache without decoding it,
+   * fetching at most {@code maxConcurrent} models at once.
+   *
+   * <p>Useful to warm the disk cache in the background, for example while on an unmetered network,
+   * so that later loads of the models don't need to wait for the network.
+   *
+   * @param models        The models to download, duplicates are only downloaded once.
+   * @param maxConcurrent The maximum number of models to download at once.
+   * @param listener      An optional listener for progress updates.
+   * @return The started {@link BulkPrefetcher}, which can be used to cancel the downloads.
+   * @see BulkPrefetcher
+   */
+  public BulkPrefetcher prefetch(List<?> models, int maxConcurrent,
+      @Nullable BulkPrefetcher.PrefetchListener listener) {
+    BulkPrefetcher prefetcher = new BulkPrefetcher(this, models, maxConcurrent,
+        glide.getDiskCacheExecutor(), listener);
+    prefetcher.start();
+    return prefetcher;
+  }
+
   /**
    * Attempts to always load a {@link File} containing the resource, either using a file path
    * obtained from the media store (for local images/videos), or using Glide's disk cache
@@ -0,0 +1,237 @@
+package com.bumptech.glide;
+
+import android.graphics.Bitmap;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.Nullable;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.load.resource.bitmap.ImageTile;
+import com.bumptech.glide.load.resource.bitmap.ImageTileDecoder;
+import com.bumptech.glide.request.RequestOptions;
+import com.bumptech.glide.request.target.SimpleTarget;
+import com.bumptech.glide.request.transition.Transition;
+import com.bumptech.glide.util.Preconditions;
+import com.bumptech.glide.util.Synthetic;
+import com.bumptech.glide.util.Util;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads the tiles of an image that are visible at the current zoom level so that images far
+ * larger than the maximum texture size or available memory can be panned and zoomed.
+ *
+ * <p>Each tile is a normal Glide request for the image with an {@link ImageTile} set as
+ * {@link ImageTileDecoder#IMAGE_TILE}, so tiles are decoded with
+ * {@link android.graphics.BitmapRegionDecoder}, into {@link Bitmap}s from the
+ * {@link com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool}, and are cached in the memory
+ * cache by tile and sample size. Only the image itself is written to the disk cache.
+ *
+ * <p>Callers report the visible region of the image with
+ * {@link #setVisibleRegion(Rect, float)}, typically from their view's scroll and scale
+ * listeners. Tiles that become visible are loaded, tiles within a configurable distance of the
+ * visible region are prefetched at a lower priority and all other tiles are cancelled or released.
+ * Tiles that become visible while they're still being prefetched are restarted at the higher
+ * priority.
+ *
+ * <p>This class must be used on the main thread.
+ */
+public class TiledImageLoader {
+  private static final int DEFAULT_TILE_SIZE = 512;
+
+  private final RequestManager requestManager;
+  private final Object model;
+  private final int imageWidth;
+  private final int imageHeight;
+  private final int tileSize;
+  private final int prefetchDistance;
+  private final TileListener listener;
+  private final Map<ImageTile, TileTarget> targets = new HashMap<>();
+
+  /**
+   * Receives the tiles loaded by a {@link TiledImageLoader}.
+   */
+  public interface TileListener {
+
+    /**
+     * Called when the given tile has loaded and can be drawn.
+     *
+     * <p>The {@link Bitmap} must not be drawn after {@link #onTileCleared(ImageTile)} is called
+     * for the same tile. Tiles are drawn scaled by {@link ImageTile#getSampleSize()} at
+     * {@link ImageTile#getRegion()}.
+     */
+    void onTileReady(ImageTile tile, Bitmap bitmap);
+
+    /**
+     * Called when the given tile is no longer visible or is otherwise released and must no longer
+     * be drawn.
+     */
+    void onTileCleared(ImageTile tile);
+  }
+
+  /**
+   * Constructor using 512 pixel tiles and prefetching one ring of tiles around the visible region.
+   *
+   * @see #TiledImageLoader(RequestManager, Object, int, int, int, int, TileListener)
+   */
+  public TiledImageLoader(RequestManager requestManager, Object model, int imageWidth,
+      int imageHeight, TileListener listener) {
+    this(requestManager, model, imageWidth, imageHeight, DEFAULT_TILE_SIZE, 1 /*prefetchDistance*/,
+        listener);
+  }
+
+  /**
+   * @param model            The model for the image, must be loadable as a {@link Bitmap}.
+   * @param imageWidth       The full resolution width of the image.
+   * @param imageHeight      The full resolution height of the image.
+   * @param tileSize         The width and height in pixels of each decoded tile.
+   * @param prefetchDistance The number of rings of tiles around the visible region to prefetch.
+   * @param listener         Receives loaded and cleared tiles.
+   */
+  public TiledImageLoader(RequestManager requestManager, Object model, int imageWidth,
+      int imageHeight, int tileSize, int prefetchDistance, TileListener listener) {
+    Preconditions.checkArgument(imageWidth > 0 && imageHeight > 0, "Invalid image dimensions");
+    Preconditions.checkArgument(tileSize > 0, "tileSize must be greater than 0");
+    Preconditions.checkArgument(prefetchDistance >= 0, "prefetchDistance must be positive");
+    this.requestManager = Preconditions.checkNotNull(requestManager);
+    this.model = Preconditions.checkNotNull(model);
+    this.imageWidth = imageWidth;
+    this.imageHeight = imageHeight;
+    this.tileSize = tileSize;
+    this.prefetchDistance = prefetchDistance;
+    this.listener = Preconditions.checkNotNull(listener);
+  }
+
+  /**
+   * Loads the tiles covering the given region of the image and releases all others.
+   *
+   * @param visibleRegion The region of the image that's visible, in full resolution image
+   *                      coordinates.
+   * @param scale         The number of displayed pixels per full resolution image pixel.
+   */
+  public void setVisibleRegion(Rect visibleRegion, float scale) {
+    Util.assertMainThread();
+    int sampleSize = getSampleSize(scale);
+    List<ImageTile> visible = getTiles(model, visibleRegion, imageWidth, imageHeight, tileSize,
+        sampleSize, 0 /*border*/);
+    List<ImageTile> prefetch = getTiles(model, visibleRegion, imageWidth, imageHeight, tileSize,
+        sampleSize, prefetchDistance);
+
+    Set<ImageTile> wanted = new HashSet<>(prefetch);
+    Iterator<Map.Entry<ImageTile, TileTarget>> iterator = targets.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<ImageTile, TileTarget> entry = iterator.next();
+      if (!wanted.contains(entry.getKey())) {
+        iterator.remove();
+        requestManager.clear(entry.getValue());
+      }
+    }
+
+    for (int i = 0, size = visible.size(); i < size; i++) {
+      load(visible.get(i), Priority.IMMEDIATE);
+    }
+    for (int i = 0, size = prefetch.size(); i < size; i++) {
+      load(prefetch.get(i), Priority.LOW);
+    }
+  }
+
+  /**
+   * Cancels or releases all tiles.
+   */
+  public void clear() {
+    Util.assertMainThread();
+    List<TileTarget> toClear = new ArrayList<>(targets.values());
+    targets.clear();
+    for (TileTarget target : toClear) {
+      requestManager.clear(target);
+    }
+  }
+
+  private void load(ImageTile tile, Priority priority) {
+    TileTarget existing = targets.get(tile);
+    if (existing != null) {
+      // Priority ordinals increase as priority decreases.
+      if (existing.isReady || existing.priority.ordinal() <= priority.ordinal()) {
+        return;
+      }
+      // A tile that's still being prefetched when it becomes visible is restarted at the higher
+      // priority so that it isn't left waiting behind the remaining prefetches.
+      requestManager.clear(existing);
+    }
+    TileTarget target = new TileTarget(listener, tile, priority);
+    targets.put(tile, target);
+    requestManager.asBitmap()
+        .load(model)
+        .apply(new RequestOptions()
+            .set(ImageTileDecoder.IMAGE_TILE, tile)
+            .dontTransform()
+            .diskCacheStrategy(DiskCacheStrategy.DATA)
+            .priority(priority))
+        .into(target);
+  }
+
+  // Visible for testing.
+  static int getSampleSize(float scale) {
+    if (scale <= 0f || scale >= 1f) {
+      return 1;
+    }
+    // Round down so that tiles are never decoded at a lower resolution than they're displayed.
+    return Math.max(1, Integer.highestOneBit((int) (1f / scale)));
+  }
+
+  // Visible for testing.
+  static List<ImageTile> getTiles(Object model, Rect region, int imageWidth, int imageHeight,
+      int tileSize, int sampleSize, int border) {
+    int sourceTileSize = tileSize * sampleSize;
+    int maxColumn = (imageWidth - 1) / sourceTileSize;
+    int maxRow = (imageHeight - 1) / sourceTileSize;
+    int firstColumn = Math.max(0, Math.max(0, region.left) / sourceTileSize - border);
+    int firstRow = Math.max(0, Math.max(0, region.top) / sourceTileSize - border);
+    int lastColumn = Math.min(maxColumn, (region.right - 1) / sourceTileSize + border);
+    int lastRow = Math.min(maxRow, (region.bottom - 1) / sourceTileSize + border);
+
+    List<ImageTile> result = new ArrayList<>();
+    for (int row = firstRow; row <= lastRow; row++) {
+      for (int column = firstColumn; column <= lastColumn; column++) {
+        int left = column * sourceTileSize;
+        int top = row * sourceTileSize;
+        Rect tileRegion = new Rect(left, top, Math.min(imageWidth, left + sourceTileSize),
+            Math.min(imageHeight, top + sourceTileSize));
+        result.add(new ImageTile(model, tileRegion, sampleSize));
+      }
+    }
+    return result;
+  }
+
+  private static final class TileTarget extends SimpleTarget<Bitmap> {
+    private final TileListener listener;
+    private final ImageTile tile;
+    @Synthetic final Priority priority;
+    @Synthetic boolean isReady;
+
+    @Synthetic
+    TileTarget(TileListener listener, ImageTile tile, Priority priority) {
+      this.listener = listener;
+      this.tile = tile;
+      this.priority = priority;
+    }
+
+    @Override
+    public void onResourceReady(Bitmap resource, Transition<? super Bitmap> transition) {
+      isReady = true;
+      listener.onTileReady(tile, resource);
+    }
+
+    @Override
+    public void onLoadCleared(@Nullable Drawable placeholder) {
+      if (isReady) {
+        isReady = false;
+        listener.onTileCleared(tile);
+      }
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.bumptech.glide.load;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.support.annotation.Nullable;
+import com.bumptech.glide.load.ImageHeaderParser.ImageType;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An alternative to {@link BitmapFactory} used by
+ * {@link com.bumptech.glide.load.resource.bitmap.Downsampler} to decode the pixels of images.
+ *
+ * <p>The {@link com.bumptech.glide.load.resource.bitmap.Downsampler} still reads the image header,
+ * applies the {@link com.bumptech.glide.load.resource.bitmap.DownsampleStrategy}, obtains a
+ * {@link Bitmap} to decode into from the
+ * {@link com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool} and applies the EXIF
+ * orientation. Backends only replace the single call that decodes the pixels, and are given the
+ * same {@link BitmapFactory.Options} that would otherwise be passed to
+ * {@link BitmapFactory#decodeStream(InputStream, android.graphics.Rect, BitmapFactory.Options)}.
+ *
+ * <p>Backends are registered with {@link com.bumptech.glide.Registry#register(BitmapDecoderBackend)}
+ * and the first registered backend that {@link #handles(ImageType, Options)} an image is used to
+ * decode it. Images no backend handles are decoded with {@link BitmapFactory}.
+ */
+public interface BitmapDecoderBackend {
+
+  /**
+   * Returns {@code true} if this backend should decode images of the given type with the given
+   * options.
+   *
+   * <p>Called once per decode, so the decision can be made per format or per request, for example
+   * to compare the decode latency of two backends.
+   */
+  boolean handles(ImageType type, Options options);
+
+  /**
+   * Decodes the image in the given {@link InputStream}.
+   *
+   * <p>Implementations must respect {@link BitmapFactory.Options#inSampleSize},
+   * {@link BitmapFactory.Options#inPreferredConfig} and, if
+   * {@link BitmapFactory.Options#inScaled} is set, {@link BitmapFactory.Options#inDensity} and
+   * {@link BitmapFactory.Options#inTargetDensity}. If {@link BitmapFactory.Options#inBitmap} is
+   * set, the image must be decoded into it, or an {@link IllegalArgumentException} must be thrown
+   * if that's not possible, matching {@link BitmapFactory}.
+   *
+   * @return The decoded {@link Bitmap}, or {@code null} if the image could not be decoded.
+   */
+  @Nullable
+  Bitmap decode(InputStream is, BitmapFactory.Options options) throws IOException;
+}
@@ -0,0 +1,111 @@
+package com.bumptech.glide.load;
+
+import android.support.annotation.Nullable;
+import com.bumptech.glide.load.ImageHeaderParser.ImageType;
+
+/**
+ * Properties of an image read from its header while decoding it that can be reused to skip
+ * reading the header again the next time the same image is decoded.
+ *
+ * <p>Decoders read different parts of the header, so any of the properties may be unknown.
+ *
+ * @see ImageMetadataCache
+ */
+public final class ImageMetadata {
+  private final int width;
+  private final int height;
+  @Nullable private final String mimeType;
+  private final int orientation;
+  private final ImageType type;
+
+  /**
+   * Constructor for metadata where only the {@link ImageType} is known.
+   */
+  public ImageMetadata(ImageType type) {
+    this(-1 /*width*/, -1 /*height*/, null /*mimeType*/, ImageHeaderParser.UNKNOWN_ORIENTATION,
+        type);
+  }
+
+  /**
+   * Constructor for metadata where the {@link ImageType} is unknown.
+   */
+  public ImageMetadata(int width, int height, @Nullable String mimeType, int orientation) {
+    this(width, height, mimeType, orientation, ImageType.UNKNOWN);
+  }
+
+  /**
+   * @param width       The width of the image before any EXIF rotation is applied, or -1 if
+   *                    unknown.
+   * @param height      The height of the image before any EXIF rotation is applied, or -1 if
+   *                    unknown.
+   * @param mimeType    The mime type of the image, or {@code null} if unknown.
+   * @param orientation The EXIF orientation of the image, or
+   *                    {@link ImageHeaderParser#UNKNOWN_ORIENTATION}.
+   * @param type        The {@link ImageType} of the image, or {@link ImageType#UNKNOWN}.
+   */
+  public ImageMetadata(int width, int height, @Nullable String mimeType, int orientation,
+      ImageType type) {
+    this.width = width;
+    this.height = height;
+    this.mimeType = mimeType;
+    this.orientation = orientation;
+    this.type = type;
+  }
+
+  /**
+   * Returns {@code true} if the width, height, mime type and orientation of the image are known.
+   */
+  public boolean hasDimensions() {
+    return width > 0 && height > 0;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  @Nullable
+  public String getMimeType() {
+    return mimeType;
+  }
+
+  public int getOrientation() {
+    return orientation;
+  }
+
+  public ImageType getType() {
+    return type;
+  }
+
+  public boolean hasAlpha() {
+    return type.hasAlpha();
+  }
+
+  /**
+   * Returns {@link ImageMetadata} containing the known properties of this object, replaced by
+   * any known properties of the given {@link ImageMetadata}.
+   */
+  ImageMetadata merge(ImageMetadata other) {
+    boolean useOtherDimensions = other.hasDimensions();
+    return new ImageMetadata(
+        useOtherDimensions ? other.width : width,
+        useOtherDimensions ? other.height : height,
+        useOtherDimensions ? other.mimeType : mimeType,
+        useOtherDimensions ? other.orientation : orientation,
+        other.type != ImageType.UNKNOWN ? other.type : type);
+  }
+
+  @Override
+  public String toString() {
+    return "ImageMetadata{"
+        + "width=" + width
+        + ", height=" + height
+        + ", mimeType=" + mimeType
+        + ", orientation=" + orientation
+        + ", type=" + type
+        + '}';
+  }
+}
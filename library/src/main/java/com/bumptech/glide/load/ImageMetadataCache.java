@@ -0,0 +1,87 @@
+package com.bumptech.glide.load;
+
+import android.support.annotation.Nullable;
+import com.bumptech.glide.load.ImageHeaderParser.ImageType;
+import com.bumptech.glide.util.LruCache;
+
+/**
+ * A bounded, in memory cache of {@link ImageMetadata} for recently decoded images.
+ *
+ * <p>Entries are keyed by the disk cache key of the data the image was decoded from: the data cache
+ * key of the source for source and data cache loads, and the resource cache key for resource cache
+ * loads. The key for the data being decoded is provided to decoders as {@link #METADATA_KEY}.
+ *
+ * <p>Decoders add what they've read about an image with {@link #put(Options, ImageMetadata)},
+ * which is merged with anything other decoders have already added for the same data.
+ */
+public final class ImageMetadataCache {
+  /**
+   * The key identifying the data being decoded, set by the engine for each decode.
+   *
+   * <p>Only ever set on the {@link Options} passed to decoders, never on the {@link Options} used
+   * for cache keys.
+   */
+  public static final Option<Key> METADATA_KEY =
+      Option.memory("com.bumptech.glide.load.ImageMetadataCache.MetadataKey");
+  private static final int DEFAULT_MAX_ENTRIES = 256;
+
+  private final LruCache<Key, ImageMetadata> cache;
+
+  public ImageMetadataCache() {
+    this(DEFAULT_MAX_ENTRIES);
+  }
+
+  public ImageMetadataCache(int maxEntries) {
+    cache = new LruCache<>(maxEntries);
+  }
+
+  /**
+   * Returns the cached {@link ImageMetadata} for the data being decoded with the given
+   * {@link Options}, or {@code null} if none is available.
+   */
+  @Nullable
+  public ImageMetadata get(Options options) {
+    Key key = options.get(METADATA_KEY);
+    return key != null ? cache.get(key) : null;
+  }
+
+  /**
+   * Returns the cached {@link ImageType} for the data being decoded with the given
+   * {@link Options}, or {@code null} if it's unknown.
+   */
+  @Nullable
+  public ImageType getType(Options options) {
+    ImageMetadata metadata = get(options);
+    return metadata != null && metadata.getType() != ImageType.UNKNOWN
+        ? metadata.getType() : null;
+  }
+
+  /**
+   * Caches the given {@link ImageMetadata} for the data being decoded with the given
+   * {@link Options}, if the data has a {@link #METADATA_KEY}.
+   */
+  public void put(Options options, ImageMetadata metadata) {
+    Key key = options.get(METADATA_KEY);
+    if (key == null) {
+      return;
+    }
+    synchronized (cache) {
+      ImageMetadata existing = cache.get(key);
+      cache.put(key, existing != null ? existing.merge(metadata) : metadata);
+    }
+  }
+
+  /**
+   * Caches the given {@link ImageType} for the data being decoded with the given
+   * {@link Options}, if the data has a {@link #METADATA_KEY}.
+   */
+  public void putType(Options options, ImageType type) {
+    if (type != ImageType.UNKNOWN) {
+      put(options, new ImageMetadata(type));
+    }
+  }
+
+  public void clear() {
+    cache.clearMemory();
+  }
+}
@@ -5,6 +5,7 @@ import com.bumptech.glide.load.engine.Resource;
 import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 
 /**
  * A transformation that applies one or more transformations in iteration order to a resource.
@@ -46,6 +47,13 @@ public class MultiTransformation<T> implements Transformation<T> {
     return previous;
   }
 
+  /**
+   * Returns the transformations applied by this transformation, in the order they're applied.
+   */
+  public Collection<? extends Transformation<T>> getTransformations() {
+    return Collections.unmodifiableCollection(transformations);
+  }
+
   @Override
   public boolean equals(Object o) {
     if (o instanceof MultiTransformation) {
@@ -2,6 +2,9 @@ package com.bumptech.glide.load;
 
 import android.support.v4.util.ArrayMap;
 import android.support.v4.util.SimpleArrayMap;
+import com.bumptech.glide.util.CachedHashCodeArrayMap;
+import com.bumptech.glide.util.Interner;
+import java.io.ByteArrayOutputStream;
 import java.security.MessageDigest;
 import java.util.Map;
 
@@ -9,17 +12,53 @@ import java.util.Map;
  * A set of {@link Option Options} to apply to in memory and disk cache keys.
  */
 public final class Options implements Key {
-  private final ArrayMap<Option<?>, Object> values = new ArrayMap<>();
+  private static final int MAX_INTERNED_OPTIONS = 64;
+  private static final Interner<Options> INTERNER = new Interner<>(MAX_INTERNED_OPTIONS);
+
+  private final ArrayMap<Option<?>, Object> values = new CachedHashCodeArrayMap<>();
+  // The bytes written to disk cache keys by our Options, computed once since the same Options are
+  // typically written to both data and resource cache keys for every load.
+  private volatile byte[] diskCacheKeyBytes;
+  private volatile boolean isInterned;
+
+  /**
+   * Returns the canonical instance equal to the given {@link Options}.
+   *
+   * <p>The given {@link Options} and the returned instance can't be modified afterwards, any
+   * attempt to do so throws. Use {@link #putAll(Options)} on a new instance to obtain a modifiable
+   * copy. Keys built from interned {@link Options} compare their {@link Options} by identity and
+   * reuse their cached hash codes.
+   *
+   * <p>Interning {@link Options} that have already been interned returns them without another
+   * lookup.
+   */
+  public static Options intern(Options options) {
+    if (options.isInterned) {
+      return options;
+    }
+    options.isInterned = true;
+    return INTERNER.intern(options);
+  }
 
   public void putAll(Options other) {
+    throwIfInterned();
+    diskCacheKeyBytes = null;
     values.putAll((SimpleArrayMap<Option<?>, Object>) other.values);
   }
 
   public <T> Options set(Option<T> option, T value) {
+    throwIfInterned();
+    diskCacheKeyBytes = null;
     values.put(option, value);
     return this;
   }
 
+  private void throwIfInterned() {
+    if (isInterned) {
+      throw new IllegalStateException("You cannot modify interned Options, copy them first");
+    }
+  }
+
   @SuppressWarnings("unchecked")
   public <T> T get(Option<T> option) {
     return values.containsKey(option) ? (T) values.get(option) : option.getDefaultValue();
@@ -27,6 +66,9 @@ public final class Options implements Key {
 
   @Override
   public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
     if (o instanceof Options) {
       Options other = (Options) o;
       return values.equals(other.values);
@@ -41,8 +83,17 @@ public final class Options implements Key {
 
   @Override
   public void updateDiskCacheKey(MessageDigest messageDigest) {
-    for (Map.Entry<Option<?>, Object> entry : values.entrySet()) {
-      updateDiskCacheKey(entry.getKey(), entry.getValue(), messageDigest);
+    byte[] bytes = diskCacheKeyBytes;
+    if (bytes == null) {
+      RecordingMessageDigest recorder = new RecordingMessageDigest();
+      for (Map.Entry<Option<?>, Object> entry : values.entrySet()) {
+        updateDiskCacheKey(entry.getKey(), entry.getValue(), recorder);
+      }
+      bytes = recorder.digest();
+      diskCacheKeyBytes = bytes;
+    }
+    if (bytes.length > 0) {
+      messageDigest.update(bytes);
     }
   }
 
@@ -57,4 +108,38 @@ public final class Options implements Key {
   private static <T> void updateDiskCacheKey(Option<T> option, Object value, MessageDigest md) {
     option.update((T) value, md);
   }
+
+  /**
+   * A {@link MessageDigest} that returns the bytes it was updated with, rather than a hash of
+   * them, from {@link #digest()}.
+   */
+  private static final class RecordingMessageDigest extends MessageDigest {
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    RecordingMessageDigest() {
+      super("Recording");
+    }
+
+    @Override
+    protected void engineUpdate(byte input) {
+      bytes.write(input);
+    }
+
+    @Override
+    protected void engineUpdate(byte[] input, int offset, int len) {
+      bytes.write(input, offset, len);
+    }
+
+    @Override
+    protected byte[] engineDigest() {
+      byte[] result = bytes.toByteArray();
+      bytes.reset();
+      return result;
+    }
+
+    @Override
+    protected void engineReset() {
+      bytes.reset();
+    }
+  }
 }
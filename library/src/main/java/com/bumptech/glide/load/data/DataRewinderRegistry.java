@@ -1,15 +1,19 @@
 package com.bumptech.glide.load.data;
 
 import com.bumptech.glide.util.Preconditions;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Stores a mapping of data class to {@link com.bumptech.glide.load.data.DataRewinder.Factory} and
  * allows registration of new types and factories.
+ *
+ * <p>Registration replaces an immutable snapshot of the mapping so that
+ * {@link #build(Object)}, which is called for every load, doesn't need to lock.
  */
 public class DataRewinderRegistry {
-  private final Map<Class<?>, DataRewinder.Factory<?>> rewinders = new HashMap<>();
+  private volatile Map<Class<?>, DataRewinder.Factory<?>> rewinders = Collections.emptyMap();
   private static final DataRewinder.Factory<?> DEFAULT_FACTORY =
       new DataRewinder.Factory<Object>() {
         @Override
@@ -24,15 +28,18 @@ public class DataRewinderRegistry {
       };
 
   public synchronized void register(DataRewinder.Factory<?> factory) {
-    rewinders.put(factory.getDataClass(), factory);
+    Map<Class<?>, DataRewinder.Factory<?>> updated = new HashMap<>(rewinders);
+    updated.put(factory.getDataClass(), factory);
+    rewinders = updated;
   }
 
   @SuppressWarnings("unchecked")
-  public synchronized <T> DataRewinder<T> build(T data) {
+  public <T> DataRewinder<T> build(T data) {
     Preconditions.checkNotNull(data);
-    DataRewinder.Factory<T> result = (DataRewinder.Factory<T>) rewinders.get(data.getClass());
+    Map<Class<?>, DataRewinder.Factory<?>> current = rewinders;
+    DataRewinder.Factory<T> result = (DataRewinder.Factory<T>) current.get(data.getClass());
     if (result == null) {
-      for (DataRewinder.Factory<?> registeredFactory : rewinders.values()) {
+      for (DataRewinder.Factory<?> registeredFactory : current.values()) {
         if (registeredFactory.getDataClass().isAssignableFrom(data.getClass())) {
           result = (DataRewinder.Factory<T>) registeredFactory;
           break;
@@ -7,6 +7,7 @@ import com.bumptech.glide.Priority;
 import com.bumptech.glide.Registry;
 import com.bumptech.glide.load.DataSource;
 import com.bumptech.glide.load.EncodeStrategy;
+import com.bumptech.glide.load.ImageMetadataCache;
 import com.bumptech.glide.load.Key;
 import com.bumptech.glide.load.Options;
 import com.bumptech.glide.load.ResourceEncoder;
@@ -14,6 +15,7 @@ import com.bumptech.glide.load.Transformation;
 import com.bumptech.glide.load.data.DataFetcher;
 import com.bumptech.glide.load.data.DataRewinder;
 import com.bumptech.glide.load.engine.cache.DiskCache;
+import com.bumptech.glide.load.resource.bitmap.LazyBitmapDrawableResource;
 import com.bumptech.glide.util.LogTime;
 import com.bumptech.glide.util.Synthetic;
 import com.bumptech.glide.util.pool.FactoryPools.Poolable;
@@ -44,6 +46,8 @@ class DecodeJob<R> implements DataFetcherGenerator.FetcherReadyCallback,
   private final Pools.Pool<DecodeJob<?>> pool;
   @Synthetic final DeferredEncodeManager<?> deferredEncodeManager = new DeferredEncodeManager<>();
   private final ReleaseManager releaseManager = new ReleaseManager();
+  private final boolean decodeOnSeparateExecutor;
+  private final DecodeThrottle decodeThrottle;
 
   private GlideContext glideContext;
   @Synthetic Key signature;
@@ -63,6 +67,9 @@ class DecodeJob<R> implements DataFetcherGenerator.FetcherReadyCallback,
   private Thread currentThread;
   @Synthetic Key currentSourceKey;
   private Key currentAttemptingKey;
+  // A copy of options that also identifies disk cache data for the ImageMetadataCache, created at
+  // most once per load.
+  private Options decodeOptions;
   private Object currentData;
   private DataSource currentDataSource;
   private DataFetcher<?> currentFetcher;
@@ -71,9 +78,19 @@ class DecodeJob<R> implements DataFetcherGenerator.FetcherReadyCallback,
   private volatile boolean isCallbackNotified;
   private volatile boolean isCancelled;
 
-  DecodeJob(DiskCacheProvider diskCacheProvider, Pools.Pool<DecodeJob<?>> pool) {
+  /**
+   * @param decodeOnSeparateExecutor {@code true} to always reschedule this job with
+   *                                 {@link RunReason#DECODE_DATA} once data has been fetched so
+   *                                 that it's decoded on a separate executor from the one used to
+   *                                 fetch data.
+   * @param decodeThrottle           Defers decoding large images while decodes are paused.
+   */
+  DecodeJob(DiskCacheProvider diskCacheProvider, Pools.Pool<DecodeJob<?>> pool,
+      boolean decodeOnSeparateExecutor, DecodeThrottle decodeThrottle) {
     this.diskCacheProvider = diskCacheProvider;
     this.pool = pool;
+    this.decodeOnSeparateExecutor = decodeOnSeparateExecutor;
+    this.decodeThrottle = decodeThrottle;
   }
 
   DecodeJob<R> init(
@@ -131,6 +148,24 @@ class DecodeJob<R> implements DataFetcherGenerator.FetcherReadyCallback,
     return firstStage == Stage.RESOURCE_CACHE || firstStage == Stage.DATA_CACHE;
   }
 
+  /**
+   * Returns true if this job has fetched data and is being rescheduled to decode it.
+   */
+  boolean isDecodingData() {
+    return runReason == RunReason.DECODE_DATA;
+  }
+
+  /**
+   * Called by {@link DecodeThrottle} to decode data once decodes are no longer paused.
+   */
+  void resumeDeferredDecode() {
+    if (isCancelled) {
+      // The job won't be run again, so the data it retrieved has to be released here.
+      currentFetcher.cleanup();
+    }
+    callback.reschedule(this);
+  }
+
   /**
    * Called when this object is no longer in use externally.
    *
@@ -170,6 +205,7 @@ class DecodeJob<R> implements DataFetcherGenerator.FetcherReadyCallback,
     glideContext = null;
     signature = null;
     options = null;
+    decodeOptions = null;
     priority = null;
     loadKey = null;
     callback = null;
@@ -195,7 +231,7 @@ class DecodeJob<R> implements DataFetcherGenerator.FetcherReadyCallback,
     return result;
   }
 
-  private int getPriority() {
+  int getPriority() {
     return priority.ordinal();
   }
 
@@ -205,6 +241,12 @@ class DecodeJob<R> implements DataFetcherGenerator.FetcherReadyCallback,
     if (local != null) {
       local.cancel();
     }
+    // Deferred jobs won't run again until decodes resume, so release their data and notify the
+    // cancellation now.
+    if (decodeThrottle.remove(this)) {
+      currentFetcher.cleanup();
+      notifyFailed();
+    }
   }
 
   @Override
@@ -343,7 +385,16 @@ class DecodeJob<R> implements DataFetcherGenerator.FetcherReadyCallback,
     this.currentFetcher = fetcher;
     this.currentDataSource = dataSource;
     this.currentAttemptingKey = attemptedKey;
-    if (Thread.currentThread() != currentThread) {
+    // Resources from the resource cache are already transformed and usually small, so they're
+    // always decoded.
+    if (dataSource != DataSource.RESOURCE_DISK_CACHE) {
+      // Set before the job is deferred, after which it can be resumed on another thread.
+      runReason = RunReason.DECODE_DATA;
+      if (decodeThrottle.deferIfNeeded(this, width, height)) {
+        return;
+      }
+    }
+    if (decodeOnSeparateExecutor || Thread.currentThread() != currentThread) {
       runReason = RunReason.DECODE_DATA;
       callback.reschedule(this);
     } else {
@@ -382,6 +433,9 @@ class DecodeJob<R> implements DataFetcherGenerator.FetcherReadyCallback,
     }
     if (resource != null) {
       notifyEncodeAndRelease(resource, currentDataSource);
+    } else if (decodeOnSeparateExecutor) {
+      // Any further fetches need to happen on the source executor, not the decode executor.
+      reschedule();
     } else {
       runGenerators();
     }
@@ -391,6 +445,12 @@ class DecodeJob<R> implements DataFetcherGenerator.FetcherReadyCallback,
     if (resource instanceof Initializable) {
       ((Initializable) resource).initialize();
     }
+    // Only loads that opted in to sharing drawables can share this resource, because the option
+    // is part of the key of the resource in memory.
+    if (resource instanceof LazyBitmapDrawableResource
+        && options.get(LazyBitmapDrawableResource.REUSE_DRAWABLE)) {
+      ((LazyBitmapDrawableResource) resource).reuseDrawable();
+    }
 
     Resource<R> result = resource;
     LockedResource<R> lockedResource = null;
@@ -440,15 +500,50 @@ class DecodeJob<R> implements DataFetcherGenerator.FetcherReadyCallback,
 
   private <Data, ResourceType> Resource<R> runLoadPath(Data data, DataSource dataSource,
       LoadPath<Data, ResourceType, R> path) throws GlideException {
+    Options decodeOptions = getDecodeOptions(dataSource);
     DataRewinder<Data> rewinder = glideContext.getRegistry().getRewinder(data);
     try {
-      return path.load(rewinder, options, width, height,
+      return path.load(rewinder, decodeOptions, width, height,
           new DecodeCallback<ResourceType>(dataSource));
     } finally {
       rewinder.cleanup();
     }
   }
 
+  /**
+   * Returns the {@link Options} to decode with, which identify data from the disk cache so that
+   * decoders can look up metadata from previous decodes of the same data in the
+   * {@link ImageMetadataCache}.
+   *
+   * <p>Only disk cache data is identified because a disk cache entry is written once and then only
+   * read. An entry is only written again after it's been evicted or deleted, by which time its
+   * metadata has almost always been evicted from the much smaller metadata cache too, and the
+   * metadata cache is cleared along with the disk cache. Local files and remote data can be
+   * replaced at any time without their keys changing, so their metadata is always read from the
+   * data.
+   */
+  private Options getDecodeOptions(DataSource dataSource) {
+    Key metadataKey;
+    if (dataSource == DataSource.RESOURCE_DISK_CACHE) {
+      metadataKey = currentAttemptingKey;
+    } else if (dataSource == DataSource.DATA_DISK_CACHE) {
+      Key previous = decodeOptions != null ? decodeOptions.get(ImageMetadataCache.METADATA_KEY)
+          : null;
+      metadataKey = previous instanceof DataCacheKey
+          && ((DataCacheKey) previous).getSourceKey().equals(currentSourceKey)
+          ? previous : new DataCacheKey(currentSourceKey, signature);
+    } else {
+      return options;
+    }
+
+    if (decodeOptions == null) {
+      decodeOptions = new Options();
+      decodeOptions.putAll(options);
+    }
+    decodeOptions.set(ImageMetadataCache.METADATA_KEY, metadataKey);
+    return decodeOptions;
+  }
+
   private void logWithTimeAndKey(String message, long startTime) {
     logWithTimeAndKey(message, startTime, null /*extraArgs*/);
   }
@@ -0,0 +1,73 @@
+package com.bumptech.glide.load.engine;
+
+import com.bumptech.glide.request.target.Target;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Defers decoding large images while decodes are paused, typically while a list is scrolling.
+ *
+ * <p>Only decoding is deferred. Data is still retrieved from the disk cache or source, so when
+ * decodes are resumed the deferred jobs can decode immediately without waiting on I/O. Jobs that
+ * are cancelled while deferred, usually because their views were recycled, are removed
+ * immediately so that the data they retrieved isn't held on to until decodes resume.
+ *
+ * <p>Pauses are counted, so decodes are only resumed once every pause has been matched with a
+ * resume.
+ */
+final class DecodeThrottle {
+  private final List<DecodeJob<?>> deferredJobs = new ArrayList<>();
+  private int pauseCount;
+  private long maxUndeferredPixels = Long.MAX_VALUE;
+
+  synchronized void pause(int maxUndeferredPixels) {
+    pauseCount++;
+    this.maxUndeferredPixels = Math.min(this.maxUndeferredPixels, maxUndeferredPixels);
+  }
+
+  void resume() {
+    List<DecodeJob<?>> toResume;
+    synchronized (this) {
+      if (pauseCount == 0 || --pauseCount > 0) {
+        return;
+      }
+      maxUndeferredPixels = Long.MAX_VALUE;
+      toResume = new ArrayList<>(deferredJobs);
+      deferredJobs.clear();
+    }
+    // The most recently deferred jobs are the most likely to still be visible.
+    for (int i = toResume.size() - 1; i >= 0; i--) {
+      toResume.get(i).resumeDeferredDecode();
+    }
+  }
+
+  synchronized boolean isPaused() {
+    return pauseCount > 0;
+  }
+
+  /**
+   * Returns {@code true} and holds on to the given job until decodes are resumed if decodes are
+   * paused and the job will decode an image larger than the limit, or {@code false} if the job
+   * should decode now.
+   */
+  synchronized boolean deferIfNeeded(DecodeJob<?> job, int width, int height) {
+    if (pauseCount == 0 || !isLarge(width, height)) {
+      return false;
+    }
+    deferredJobs.add(job);
+    return true;
+  }
+
+  /**
+   * Returns {@code true} if the given job was deferred and has now been removed, or {@code false}
+   * if the job was never deferred or has already been resumed.
+   */
+  synchronized boolean remove(DecodeJob<?> job) {
+    return deferredJobs.remove(job);
+  }
+
+  private boolean isLarge(int width, int height) {
+    return width == Target.SIZE_ORIGINAL || height == Target.SIZE_ORIGINAL
+        || (long) width * height > maxUndeferredPixels;
+  }
+}
@@ -2,11 +2,13 @@ package com.bumptech.glide.load.engine;
 
 import android.os.Looper;
 import android.os.MessageQueue;
+import android.support.annotation.Nullable;
 import android.support.v4.util.Pools;
 import android.util.Log;
 import com.bumptech.glide.GlideContext;
 import com.bumptech.glide.Priority;
 import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.ImageMetadataCache;
 import com.bumptech.glide.load.Key;
 import com.bumptech.glide.load.Options;
 import com.bumptech.glide.load.Transformation;
@@ -40,6 +42,9 @@ public class Engine implements EngineJobListener,
   private final ResourceRecycler resourceRecycler;
   private final LazyDiskCacheProvider diskCacheProvider;
   private final DecodeJobFactory decodeJobFactory;
+  private final DecodeThrottle decodeThrottle = new DecodeThrottle();
+  private final ImageMetadataCache imageMetadataCache = new ImageMetadataCache();
+  @Nullable private final MainThreadBudget mainThreadBudget;
 
   // Lazily instantiate to avoid exceptions if Glide is initialized on a background thread. See
   // #295.
@@ -49,16 +54,28 @@ public class Engine implements EngineJobListener,
    * Allows a request to indicate it no longer is interested in a given load.
    */
   public static class LoadStatus {
-    private final EngineJob<?> engineJob;
+    @Nullable private final EngineJob<?> engineJob;
     private final ResourceCallback cb;
+    @Nullable private final DeferredLoad deferredLoad;
 
     public LoadStatus(ResourceCallback cb, EngineJob<?> engineJob) {
+      this(cb, engineJob, null /*deferredLoad*/);
+    }
+
+    @Synthetic
+    LoadStatus(ResourceCallback cb, @Nullable EngineJob<?> engineJob,
+        @Nullable DeferredLoad deferredLoad) {
       this.cb = cb;
       this.engineJob = engineJob;
+      this.deferredLoad = deferredLoad;
     }
 
     public void cancel() {
-      engineJob.removeCallback(cb);
+      if (deferredLoad != null) {
+        deferredLoad.cancel();
+      } else if (engineJob != null) {
+        engineJob.removeCallback(cb);
+      }
     }
   }
 
@@ -68,6 +85,111 @@ public class Engine implements EngineJobListener,
       GlideExecutor sourceExecutor,
       GlideExecutor sourceUnlimitedExecutor) {
     this(memoryCache, diskCacheFactory, diskCacheExecutor, sourceExecutor, sourceUnlimitedExecutor,
+        null /*decodeExecutor*/);
+  }
+
+  /**
+   * @param decodeExecutor If non-null, data is always decoded, transformed and encoded on this
+   *                       executor, so that the disk cache and source executors are only used to
+   *                       fetch data.
+   */
+  public Engine(MemoryCache memoryCache,
+      DiskCache.Factory diskCacheFactory,
+      GlideExecutor diskCacheExecutor,
+      GlideExecutor sourceExecutor,
+      GlideExecutor sourceUnlimitedExecutor,
+      @Nullable GlideExecutor decodeExecutor) {
+    this(memoryCache, diskCacheFactory, diskCacheExecutor, sourceExecutor, sourceUnlimitedExecutor,
+        decodeExecutor, false /*preferNewestJobs*/);
+  }
+
+  /**
+   * @param decodeExecutor   If non-null, data is always decoded, transformed and encoded on this
+   *                         executor, so that the disk cache and source executors are only used to
+   *                         fetch data.
+   * @param preferNewestJobs {@code true} to run the most recently started loads first among loads
+   *                         with the same {@link Priority}, {@code false} to run the oldest loads
+   *                         first.
+   */
+  public Engine(MemoryCache memoryCache,
+      DiskCache.Factory diskCacheFactory,
+      GlideExecutor diskCacheExecutor,
+      GlideExecutor sourceExecutor,
+      GlideExecutor sourceUnlimitedExecutor,
+      @Nullable GlideExecutor decodeExecutor,
+      boolean preferNewestJobs) {
+    this(memoryCache, diskCacheFactory, diskCacheExecutor, sourceExecutor, sourceUnlimitedExecutor,
+        decodeExecutor, preferNewestJobs, 0 /*mainThreadBudgetMillis*/);
+  }
+
+  /**
+   * @param decodeExecutor         If non-null, data is always decoded, transformed and encoded on
+   *                               this executor, so that the disk cache and source executors are
+   *                               only used to fetch data.
+   * @param preferNewestJobs       {@code true} to run the most recently started loads first among
+   *                               loads with the same {@link Priority}, {@code false} to run the
+   *                               oldest loads first.
+   * @param mainThreadBudgetMillis The most time to spend starting loads on the main thread in each
+   *                               frame before deferring starts to later frames, or {@code 0} to
+   *                               always start loads immediately.
+   */
+  public Engine(MemoryCache memoryCache,
+      DiskCache.Factory diskCacheFactory,
+      GlideExecutor diskCacheExecutor,
+      GlideExecutor sourceExecutor,
+      GlideExecutor sourceUnlimitedExecutor,
+      @Nullable GlideExecutor decodeExecutor,
+      boolean preferNewestJobs,
+      long mainThreadBudgetMillis) {
+    this(memoryCache, diskCacheFactory, diskCacheExecutor, sourceExecutor, sourceUnlimitedExecutor,
+        decodeExecutor, preferNewestJobs, mainThreadBudgetMillis,
+        false /*coalesceResultDeliveries*/);
+  }
+
+  /**
+   * @param decodeExecutor           If non-null, data is always decoded, transformed and encoded
+   *                                 on this executor, so that the disk cache and source executors
+   *                                 are only used to fetch data.
+   * @param preferNewestJobs         {@code true} to run the most recently started loads first
+   *                                 among loads with the same {@link Priority}, {@code false} to
+   *                                 run the oldest loads first.
+   * @param mainThreadBudgetMillis   The most time to spend starting loads, and delivering results
+   *                                 if deliveries are coalesced, on the main thread in each frame,
+   *                                 or {@code 0} for no limit.
+   * @param coalesceResultDeliveries {@code true} to deliver the results of loads that complete in
+   *                                 the background together at the start of the next frame,
+   *                                 highest {@link Priority} first, {@code false} to deliver each
+   *                                 result as soon as it's available.
+   */
+  public Engine(MemoryCache memoryCache,
+      DiskCache.Factory diskCacheFactory,
+      GlideExecutor diskCacheExecutor,
+      GlideExecutor sourceExecutor,
+      GlideExecutor sourceUnlimitedExecutor,
+      @Nullable GlideExecutor decodeExecutor,
+      boolean preferNewestJobs,
+      long mainThreadBudgetMillis,
+      boolean coalesceResultDeliveries) {
+    this(memoryCache, diskCacheFactory, diskCacheExecutor, sourceExecutor, sourceUnlimitedExecutor,
+        decodeExecutor, preferNewestJobs,
+        mainThreadBudgetMillis > 0 ? new MainThreadBudget(mainThreadBudgetMillis) : null,
+        coalesceResultDeliveries);
+  }
+
+  private Engine(MemoryCache memoryCache,
+      DiskCache.Factory diskCacheFactory,
+      GlideExecutor diskCacheExecutor,
+      GlideExecutor sourceExecutor,
+      GlideExecutor sourceUnlimitedExecutor,
+      @Nullable GlideExecutor decodeExecutor,
+      boolean preferNewestJobs,
+      @Nullable MainThreadBudget mainThreadBudget,
+      boolean coalesceResultDeliveries) {
+    // Results are delivered within the same budget as starting loads so that together they don't
+    // exceed it.
+    this(memoryCache, diskCacheFactory, diskCacheExecutor, sourceExecutor, sourceUnlimitedExecutor,
+        decodeExecutor, preferNewestJobs, mainThreadBudget,
+        coalesceResultDeliveries ? new ResultDeliveryCoalescer(mainThreadBudget) : null,
         null, null, null, null, null, null);
   }
 
@@ -77,6 +199,10 @@ public class Engine implements EngineJobListener,
       GlideExecutor diskCacheExecutor,
       GlideExecutor sourceExecutor,
       GlideExecutor sourceUnlimitedExecutor,
+      @Nullable GlideExecutor decodeExecutor,
+      boolean preferNewestJobs,
+      @Nullable MainThreadBudget mainThreadBudget,
+      @Nullable ResultDeliveryCoalescer deliveryCoalescer,
       Map<Key, EngineJob<?>> jobs,
       EngineKeyFactory keyFactory,
       Map<Key, WeakReference<EngineResource<?>>> activeResources,
@@ -84,6 +210,7 @@ public class Engine implements EngineJobListener,
       DecodeJobFactory decodeJobFactory,
       ResourceRecycler resourceRecycler) {
     this.cache = cache;
+    this.mainThreadBudget = mainThreadBudget;
     this.diskCacheProvider = new LazyDiskCacheProvider(diskCacheFactory);
 
     if (activeResources == null) {
@@ -103,12 +230,13 @@ public class Engine implements EngineJobListener,
 
     if (engineJobFactory == null) {
       engineJobFactory = new EngineJobFactory(diskCacheExecutor, sourceExecutor,
-          sourceUnlimitedExecutor, this);
+          sourceUnlimitedExecutor, decodeExecutor, deliveryCoalescer, this);
     }
     this.engineJobFactory = engineJobFactory;
 
     if (decodeJobFactory == null) {
-      decodeJobFactory = new DecodeJobFactory(diskCacheProvider);
+      decodeJobFactory = new DecodeJobFactory(diskCacheProvider, decodeExecutor != null,
+          preferNewestJobs, decodeThrottle);
     }
     this.decodeJobFactory = decodeJobFactory;
 
@@ -135,6 +263,13 @@ public class Engine implements EngineJobListener,
    * re-used if possible and the resource is discarded. There is no strict requirement that
    * consumers release their resources so active resources are held weakly. </p>
    *
+   * <p>If a main thread budget is set and the budget for the current frame has been used up, the
+   * load is instead started in a later frame, unless the resource is in memory. </p>
+   *
+   * <p>Resources in memory are always passed to the callback before this method returns, so if the
+   * size is known when the load is started, for example because it was overridden, they're shown
+   * without waiting for a layout pass or another frame. </p>
+   *
    * @param width  The target width in pixels of the desired resource.
    * @param height The target height in pixels of the desired resource.
    * @param cb     The callback that will be called when the load completes.
@@ -157,29 +292,75 @@ public class Engine implements EngineJobListener,
       boolean onlyRetrieveFromCache,
       ResourceCallback cb) {
     Util.assertMainThread();
-    long startTime = LogTime.getLogTime();
-
-    EngineKey key = keyFactory.buildKey(model, signature, width, height, transformations,
-        resourceClass, transcodeClass, options);
-
-    EngineResource<?> cached = loadFromCache(key, isMemoryCacheable);
-    if (cached != null) {
-      cb.onResourceReady(cached, DataSource.MEMORY_CACHE);
+    if (mainThreadBudget == null) {
+      return startLoad(glideContext, model, signature, width, height, resourceClass,
+          transcodeClass, priority, diskCacheStrategy, transformations, isTransformationRequired,
+          options, isMemoryCacheable, useUnlimitedSourceExecutorPool, onlyRetrieveFromCache, cb);
+    } else if (!mainThreadBudget.hasRemaining()) {
+      // Resources in memory are cheap to load and deferring them would show their placeholders for
+      // at least a frame.
+      if (isMemoryCacheable) {
+        EngineResource<?> inMemory = loadFromMemory(model, signature, width, height,
+            transformations, resourceClass, transcodeClass, options, LogTime.getLogTime());
+        if (inMemory != null) {
+          cb.onResourceReady(inMemory, DataSource.MEMORY_CACHE);
+          return null;
+        }
+      }
+      DeferredLoad deferredLoad = new DeferredLoad(this, glideContext, model, signature, width,
+          height, resourceClass, transcodeClass, priority, diskCacheStrategy, transformations,
+          isTransformationRequired, options, isMemoryCacheable, useUnlimitedSourceExecutorPool,
+          onlyRetrieveFromCache, cb);
+      mainThreadBudget.defer(deferredLoad);
       if (Log.isLoggable(TAG, Log.VERBOSE)) {
-        logWithTimeAndKey("Loaded resource from cache", startTime, key);
+        Log.v(TAG, "Deferred load to a later frame, model: " + model);
       }
-      return null;
+      return new LoadStatus(cb, null /*engineJob*/, deferredLoad);
     }
 
-    EngineResource<?> active = loadFromActiveResources(key, isMemoryCacheable);
-    if (active != null) {
-      cb.onResourceReady(active, DataSource.MEMORY_CACHE);
-      if (Log.isLoggable(TAG, Log.VERBOSE)) {
-        logWithTimeAndKey("Loaded resource from active resources", startTime, key);
+    long startNanos = mainThreadBudget.startWork();
+    try {
+      return startLoad(glideContext, model, signature, width, height, resourceClass,
+          transcodeClass, priority, diskCacheStrategy, transformations, isTransformationRequired,
+          options, isMemoryCacheable, useUnlimitedSourceExecutorPool, onlyRetrieveFromCache, cb);
+    } finally {
+      mainThreadBudget.finishWork(startNanos);
+    }
+  }
+
+  @Nullable
+  @Synthetic
+  <R> LoadStatus startLoad(
+      GlideContext glideContext,
+      Object model,
+      Key signature,
+      int width,
+      int height,
+      Class<?> resourceClass,
+      Class<R> transcodeClass,
+      Priority priority,
+      DiskCacheStrategy diskCacheStrategy,
+      Map<Class<?>, Transformation<?>> transformations,
+      boolean isTransformationRequired,
+      Options options,
+      boolean isMemoryCacheable,
+      boolean useUnlimitedSourceExecutorPool,
+      boolean onlyRetrieveFromCache,
+      ResourceCallback cb) {
+    long startTime = LogTime.getLogTime();
+
+    if (isMemoryCacheable) {
+      EngineResource<?> inMemory = loadFromMemory(model, signature, width, height,
+          transformations, resourceClass, transcodeClass, options, startTime);
+      if (inMemory != null) {
+        cb.onResourceReady(inMemory, DataSource.MEMORY_CACHE);
+        return null;
       }
-      return null;
     }
 
+    EngineKey key = keyFactory.buildKey(model, signature, width, height, transformations,
+        resourceClass, transcodeClass, options);
+
     EngineJob<?> current = jobs.get(key);
     if (current != null) {
       current.addCallback(cb);
@@ -217,15 +398,47 @@ public class Engine implements EngineJobListener,
     return new LoadStatus(cb, engineJob);
   }
 
-  private static void logWithTimeAndKey(String log, long startTime, Key key) {
-    Log.v(TAG, log + " in " + LogTime.getElapsedMillis(startTime) + "ms, key: " + key);
+  /**
+   * Returns the resource for the given arguments from the memory cache or active resources, if
+   * present, using the reused lookup key, which is cleared before returning.
+   */
+  @Nullable
+  private EngineResource<?> loadFromMemory(Object model, Key signature, int width, int height,
+      Map<Class<?>, Transformation<?>> transformations, Class<?> resourceClass,
+      Class<?> transcodeClass, Options options, long startTime) {
+    // The lookup key is reused so that loading resources in memory doesn't allocate a key.
+    EngineKey lookupKey = keyFactory.buildLookupKey(model, signature, width, height,
+        transformations, resourceClass, transcodeClass, options);
+    try {
+      return loadFromMemory(lookupKey, startTime);
+    } finally {
+      keyFactory.releaseLookupKey();
+    }
   }
 
-  private EngineResource<?> loadFromActiveResources(Key key, boolean isMemoryCacheable) {
-    if (!isMemoryCacheable) {
-      return null;
+  // The key may be the reused lookup key and so is never retained.
+  @Nullable
+  private EngineResource<?> loadFromMemory(EngineKey key, long startTime) {
+    EngineResource<?> cached = loadFromCache(key);
+    if (cached != null) {
+      if (Log.isLoggable(TAG, Log.VERBOSE)) {
+        logWithTimeAndKey("Loaded resource from cache", startTime, key);
+      }
+      return cached;
     }
 
+    EngineResource<?> active = loadFromActiveResources(key);
+    if (active != null && Log.isLoggable(TAG, Log.VERBOSE)) {
+      logWithTimeAndKey("Loaded resource from active resources", startTime, key);
+    }
+    return active;
+  }
+
+  private static void logWithTimeAndKey(String log, long startTime, Key key) {
+    Log.v(TAG, log + " in " + LogTime.getElapsedMillis(startTime) + "ms, key: " + key);
+  }
+
+  private EngineResource<?> loadFromActiveResources(Key key) {
     EngineResource<?> active = null;
     WeakReference<EngineResource<?>> activeRef = activeResources.get(key);
     if (activeRef != null) {
@@ -240,15 +453,16 @@ public class Engine implements EngineJobListener,
     return active;
   }
 
-  private EngineResource<?> loadFromCache(Key key, boolean isMemoryCacheable) {
-    if (!isMemoryCacheable) {
-      return null;
-    }
-
-    EngineResource<?> cached = getEngineResourceFromCache(key);
+  private EngineResource<?> loadFromCache(Key lookupKey) {
+    EngineResource<?> cached = getEngineResourceFromCache(lookupKey);
     if (cached != null) {
       cached.acquire();
-      activeResources.put(key, new ResourceWeakReference(key, cached, getReferenceQueue()));
+      // Resources are cached with the key they were loaded with, which, unlike the lookup key, can
+      // be retained. Resources that weren't loaded by the Engine have no key and aren't tracked.
+      Key key = cached.getKey();
+      if (key != null) {
+        activeResources.put(key, getActiveReference(key, cached));
+      }
     }
     return cached;
   }
@@ -287,7 +501,7 @@ public class Engine implements EngineJobListener,
       resource.setResourceListener(key, this);
 
       if (resource.isCacheable()) {
-        activeResources.put(key, new ResourceWeakReference(key, resource, getReferenceQueue()));
+        activeResources.put(key, getActiveReference(key, resource));
       }
     }
     // TODO: should this check that the engine job is still current?
@@ -322,6 +536,57 @@ public class Engine implements EngineJobListener,
 
   public void clearDiskCache() {
     diskCacheProvider.getDiskCache().clear();
+    // Metadata is keyed by disk cache keys, which may identify different data once rewritten.
+    imageMetadataCache.clear();
+  }
+
+  /**
+   * Returns the cache of metadata for images decoded from this engine's disk cache, which is
+   * cleared along with the disk cache.
+   */
+  public ImageMetadataCache getImageMetadataCache() {
+    return imageMetadataCache;
+  }
+
+  /**
+   * Defers decoding images larger than the given number of pixels until
+   * {@link #resumeLargeDecodes()} is called, while continuing to retrieve their data and to load
+   * smaller images and images from the memory cache.
+   *
+   * <p>Intended to keep scrolling smooth without leaving every new view blank until scrolling
+   * stops. Images loaded at their original size are always considered large. Calls are counted,
+   * so decodes resume once each call has been matched by a call to {@link #resumeLargeDecodes()}.
+   *
+   * @param maxUndeferredPixels The largest requested width times height to decode while paused.
+   */
+  public void pauseLargeDecodes(int maxUndeferredPixels) {
+    decodeThrottle.pause(maxUndeferredPixels);
+  }
+
+  /**
+   * Decodes any images deferred since {@link #pauseLargeDecodes(int)} was called, unless other
+   * calls to {@link #pauseLargeDecodes(int)} have not yet been matched by a call to this method.
+   */
+  public void resumeLargeDecodes() {
+    decodeThrottle.resume();
+  }
+
+  /**
+   * Returns the reference to track the given resource with in active resources, reusing the
+   * reference from the last time the resource was active if possible.
+   *
+   * <p>References are only cleared once their resources are no longer reachable, and resources in
+   * the memory cache are always reachable, so a resource moved back and forth between the memory
+   * cache and active resources can keep using the same reference.
+   */
+  private WeakReference<EngineResource<?>> getActiveReference(Key key,
+      EngineResource<?> resource) {
+    WeakReference<EngineResource<?>> reference = resource.getActiveReference();
+    if (reference == null) {
+      reference = new ResourceWeakReference(key, resource, getReferenceQueue());
+      resource.setActiveReference(reference);
+    }
+    return reference;
   }
 
   private ReferenceQueue<EngineResource<?>> getReferenceQueue() {
@@ -333,6 +598,78 @@ public class Engine implements EngineJobListener,
     return resourceReferenceQueue;
   }
 
+  /**
+   * A load whose start was deferred to a later frame because the {@link MainThreadBudget} for the
+   * frame it was started in had been used up.
+   */
+  private static final class DeferredLoad implements Runnable {
+    private final Engine engine;
+    private final GlideContext glideContext;
+    private final Object model;
+    private final Key signature;
+    private final int width;
+    private final int height;
+    private final Class<?> resourceClass;
+    private final Class<?> transcodeClass;
+    private final Priority priority;
+    private final DiskCacheStrategy diskCacheStrategy;
+    private final Map<Class<?>, Transformation<?>> transformations;
+    private final boolean isTransformationRequired;
+    private final Options options;
+    private final boolean isMemoryCacheable;
+    private final boolean useUnlimitedSourceExecutorPool;
+    private final boolean onlyRetrieveFromCache;
+    private final ResourceCallback cb;
+
+    @Nullable private LoadStatus loadStatus;
+    private boolean isCancelled;
+
+    @Synthetic
+    DeferredLoad(Engine engine, GlideContext glideContext, Object model, Key signature, int width,
+        int height, Class<?> resourceClass, Class<?> transcodeClass, Priority priority,
+        DiskCacheStrategy diskCacheStrategy, Map<Class<?>, Transformation<?>> transformations,
+        boolean isTransformationRequired, Options options, boolean isMemoryCacheable,
+        boolean useUnlimitedSourceExecutorPool, boolean onlyRetrieveFromCache,
+        ResourceCallback cb) {
+      this.engine = engine;
+      this.glideContext = glideContext;
+      this.model = model;
+      this.signature = signature;
+      this.width = width;
+      this.height = height;
+      this.resourceClass = resourceClass;
+      this.transcodeClass = transcodeClass;
+      this.priority = priority;
+      this.diskCacheStrategy = diskCacheStrategy;
+      this.transformations = transformations;
+      this.isTransformationRequired = isTransformationRequired;
+      this.options = options;
+      this.isMemoryCacheable = isMemoryCacheable;
+      this.useUnlimitedSourceExecutorPool = useUnlimitedSourceExecutorPool;
+      this.onlyRetrieveFromCache = onlyRetrieveFromCache;
+      this.cb = cb;
+    }
+
+    @Override
+    public void run() {
+      if (isCancelled) {
+        return;
+      }
+      loadStatus = engine.startLoad(glideContext, model, signature, width, height, resourceClass,
+          transcodeClass, priority, diskCacheStrategy, transformations, isTransformationRequired,
+          options, isMemoryCacheable, useUnlimitedSourceExecutorPool, onlyRetrieveFromCache, cb);
+    }
+
+    @Synthetic
+    void cancel() {
+      isCancelled = true;
+      if (loadStatus != null) {
+        loadStatus.cancel();
+        loadStatus = null;
+      }
+    }
+  }
+
   private static class LazyDiskCacheProvider implements DecodeJob.DiskCacheProvider {
 
     private final DiskCache.Factory factory;
@@ -398,13 +735,22 @@ public class Engine implements EngineJobListener,
         new FactoryPools.Factory<DecodeJob<?>>() {
           @Override
           public DecodeJob<?> create() {
-            return new DecodeJob<Object>(diskCacheProvider, pool);
+            return new DecodeJob<Object>(diskCacheProvider, pool, decodeOnSeparateExecutor,
+                decodeThrottle);
           }
         });
+    @Synthetic final boolean decodeOnSeparateExecutor;
+    @Synthetic final DecodeThrottle decodeThrottle;
+    private final boolean preferNewestJobs;
     private int creationOrder;
 
-    DecodeJobFactory(DecodeJob.DiskCacheProvider diskCacheProvider) {
+    DecodeJobFactory(DecodeJob.DiskCacheProvider diskCacheProvider,
+        boolean decodeOnSeparateExecutor, boolean preferNewestJobs,
+        DecodeThrottle decodeThrottle) {
       this.diskCacheProvider = diskCacheProvider;
+      this.decodeOnSeparateExecutor = decodeOnSeparateExecutor;
+      this.preferNewestJobs = preferNewestJobs;
+      this.decodeThrottle = decodeThrottle;
     }
 
     @SuppressWarnings("unchecked")
@@ -440,7 +786,9 @@ public class Engine implements EngineJobListener,
           onlyRetrieveFromCache,
           options,
           callback,
-          creationOrder++);
+          // Jobs with the same priority run in ascending order, so counting down runs the newest
+          // jobs first.
+          preferNewestJobs ? creationOrder-- : creationOrder++);
     }
   }
 
@@ -449,21 +797,26 @@ public class Engine implements EngineJobListener,
     @Synthetic final GlideExecutor diskCacheExecutor;
     @Synthetic final GlideExecutor sourceExecutor;
     @Synthetic final GlideExecutor sourceUnlimitedExecutor;
+    @Synthetic final GlideExecutor decodeExecutor;
+    @Synthetic final ResultDeliveryCoalescer deliveryCoalescer;
     @Synthetic final EngineJobListener listener;
     @Synthetic final Pools.Pool<EngineJob<?>> pool = FactoryPools.simple(JOB_POOL_SIZE,
         new FactoryPools.Factory<EngineJob<?>>() {
           @Override
           public EngineJob<?> create() {
             return new EngineJob<Object>(diskCacheExecutor, sourceExecutor, sourceUnlimitedExecutor,
-                listener, pool);
+                decodeExecutor, deliveryCoalescer, listener, pool);
           }
         });
 
     EngineJobFactory(GlideExecutor diskCacheExecutor, GlideExecutor sourceExecutor,
-        GlideExecutor sourceUnlimitedExecutor, EngineJobListener listener) {
+        GlideExecutor sourceUnlimitedExecutor, @Nullable GlideExecutor decodeExecutor,
+        @Nullable ResultDeliveryCoalescer deliveryCoalescer, EngineJobListener listener) {
       this.diskCacheExecutor = diskCacheExecutor;
       this.sourceExecutor = sourceExecutor;
       this.sourceUnlimitedExecutor = sourceUnlimitedExecutor;
+      this.decodeExecutor = decodeExecutor;
+      this.deliveryCoalescer = deliveryCoalescer;
       this.listener = listener;
     }
 
@@ -3,6 +3,7 @@ package com.bumptech.glide.load.engine;
 import android.os.Handler;
 import android.os.Looper;
 import android.os.Message;
+import android.support.annotation.Nullable;
 import android.support.v4.util.Pools;
 import com.bumptech.glide.load.DataSource;
 import com.bumptech.glide.load.Key;
@@ -39,6 +40,8 @@ class EngineJob<R> implements DecodeJob.Callback<R>,
   private final GlideExecutor diskCacheExecutor;
   private final GlideExecutor sourceExecutor;
   private final GlideExecutor sourceUnlimitedExecutor;
+  @Nullable private final GlideExecutor decodeExecutor;
+  @Nullable private final ResultDeliveryCoalescer deliveryCoalescer;
 
   private Key key;
   private boolean isCacheable;
@@ -53,15 +56,21 @@ class EngineJob<R> implements DecodeJob.Callback<R>,
   private List<ResourceCallback> ignoredCallbacks;
   private EngineResource<?> engineResource;
   private DecodeJob<R> decodeJob;
+  // The message to handle on the main thread once the result is delivered by the coalescer.
+  private volatile int pendingDelivery;
+  // The executor the decode job was most recently submitted to, written on the main thread in start
+  // and on other threads in reschedule.
+  @Nullable private volatile GlideExecutor currentExecutor;
 
   // Checked primarily on the main thread, but also on other threads in reschedule.
   private volatile boolean isCancelled;
 
   EngineJob(GlideExecutor diskCacheExecutor, GlideExecutor sourceExecutor,
-      GlideExecutor sourceUnlimitedExecutor,
-      EngineJobListener listener, Pools.Pool<EngineJob<?>> pool) {
-    this(diskCacheExecutor, sourceExecutor, sourceUnlimitedExecutor, listener, pool,
-        DEFAULT_FACTORY);
+      GlideExecutor sourceUnlimitedExecutor, @Nullable GlideExecutor decodeExecutor,
+      @Nullable ResultDeliveryCoalescer deliveryCoalescer, EngineJobListener listener,
+      Pools.Pool<EngineJob<?>> pool) {
+    this(diskCacheExecutor, sourceExecutor, sourceUnlimitedExecutor, decodeExecutor,
+        deliveryCoalescer, listener, pool, DEFAULT_FACTORY);
   }
 
   // Visible for testing.
@@ -69,9 +78,29 @@ class EngineJob<R> implements DecodeJob.Callback<R>,
       GlideExecutor sourceUnlimitedExecutor,
       EngineJobListener listener, Pools.Pool<EngineJob<?>> pool,
       EngineResourceFactory engineResourceFactory) {
+    this(diskCacheExecutor, sourceExecutor, sourceUnlimitedExecutor, null /*decodeExecutor*/,
+        listener, pool, engineResourceFactory);
+  }
+
+  // Visible for testing.
+  EngineJob(GlideExecutor diskCacheExecutor, GlideExecutor sourceExecutor,
+      GlideExecutor sourceUnlimitedExecutor, @Nullable GlideExecutor decodeExecutor,
+      EngineJobListener listener, Pools.Pool<EngineJob<?>> pool,
+      EngineResourceFactory engineResourceFactory) {
+    this(diskCacheExecutor, sourceExecutor, sourceUnlimitedExecutor, decodeExecutor,
+        null /*deliveryCoalescer*/, listener, pool, engineResourceFactory);
+  }
+
+  // Visible for testing.
+  EngineJob(GlideExecutor diskCacheExecutor, GlideExecutor sourceExecutor,
+      GlideExecutor sourceUnlimitedExecutor, @Nullable GlideExecutor decodeExecutor,
+      @Nullable ResultDeliveryCoalescer deliveryCoalescer, EngineJobListener listener,
+      Pools.Pool<EngineJob<?>> pool, EngineResourceFactory engineResourceFactory) {
     this.diskCacheExecutor = diskCacheExecutor;
     this.sourceExecutor = sourceExecutor;
     this.sourceUnlimitedExecutor = sourceUnlimitedExecutor;
+    this.decodeExecutor = decodeExecutor;
+    this.deliveryCoalescer = deliveryCoalescer;
     this.listener = listener;
     this.pool = pool;
     this.engineResourceFactory = engineResourceFactory;
@@ -90,7 +119,12 @@ class EngineJob<R> implements DecodeJob.Callback<R>,
     GlideExecutor executor = decodeJob.willDecodeFromCache()
         ? diskCacheExecutor
         : getActiveSourceExecutor();
-    executor.execute(decodeJob);
+    execute(executor, decodeJob);
+  }
+
+  private void execute(GlideExecutor executor, DecodeJob<?> job) {
+    currentExecutor = executor;
+    executor.execute(job);
   }
 
   public void addCallback(ResourceCallback cb) {
@@ -148,9 +182,11 @@ class EngineJob<R> implements DecodeJob.Callback<R>,
 
     isCancelled = true;
     decodeJob.cancel();
-    boolean isPendingJobRemoved = diskCacheExecutor.remove(decodeJob)
-        || sourceExecutor.remove(decodeJob)
-        || sourceUnlimitedExecutor.remove(decodeJob);
+    // Drop the job if it hasn't started yet. Only the executor the job was last submitted to can
+    // contain it, and removing from a queue requires a linear scan while holding the queue's lock,
+    // so avoid contending with the other executors while many loads are cancelled at once.
+    GlideExecutor executor = currentExecutor;
+    boolean isPendingJobRemoved = executor != null && executor.remove(decodeJob);
     listener.onEngineJobCancelled(this, key);
 
     if (isPendingJobRemoved) {
@@ -219,6 +255,8 @@ class EngineJob<R> implements DecodeJob.Callback<R>,
     hasResource = false;
     decodeJob.release(isRemovedFromQueue);
     decodeJob = null;
+    currentExecutor = null;
+    pendingDelivery = 0;
     exception = null;
     dataSource = null;
     pool.release(this);
@@ -228,21 +266,63 @@ class EngineJob<R> implements DecodeJob.Callback<R>,
   public void onResourceReady(Resource<R> resource, DataSource dataSource) {
     this.resource = resource;
     this.dataSource = dataSource;
-    MAIN_THREAD_HANDLER.obtainMessage(MSG_COMPLETE, this).sendToTarget();
+    deliver(MSG_COMPLETE);
   }
 
   @Override
   public void onLoadFailed(GlideException e) {
     this.exception = e;
-    MAIN_THREAD_HANDLER.obtainMessage(MSG_EXCEPTION, this).sendToTarget();
+    deliver(MSG_EXCEPTION);
+  }
+
+  private void deliver(int message) {
+    if (deliveryCoalescer != null) {
+      pendingDelivery = message;
+      deliveryCoalescer.deliver(this);
+    } else {
+      MAIN_THREAD_HANDLER.obtainMessage(message, this).sendToTarget();
+    }
+  }
+
+  /**
+   * Handles the result delivered by the {@link ResultDeliveryCoalescer}.
+   */
+  void deliverOnMainThread() {
+    handleMessageOnMainThread(pendingDelivery);
+  }
+
+  @Synthetic
+  void handleMessageOnMainThread(int message) {
+    switch (message) {
+      case MSG_COMPLETE:
+        handleResultOnMainThread();
+        break;
+      case MSG_EXCEPTION:
+        handleExceptionOnMainThread();
+        break;
+      case MSG_CANCELLED:
+        handleCancelledOnMainThread();
+        break;
+      default:
+        throw new IllegalStateException("Unrecognized message: " + message);
+    }
+  }
+
+  /**
+   * Returns the ordinal of the {@link com.bumptech.glide.Priority} of the load.
+   */
+  int getPriority() {
+    return decodeJob.getPriority();
   }
 
   @Override
   public void reschedule(DecodeJob<?> job) {
     if (isCancelled) {
-      MAIN_THREAD_HANDLER.obtainMessage(MSG_CANCELLED, this).sendToTarget();
+      deliver(MSG_CANCELLED);
+    } else if (decodeExecutor != null && job.isDecodingData()) {
+      execute(decodeExecutor, job);
     } else {
-      getActiveSourceExecutor().execute(job);
+      execute(getActiveSourceExecutor(), job);
     }
   }
 
@@ -290,19 +370,7 @@ class EngineJob<R> implements DecodeJob.Callback<R>,
     @Override
     public boolean handleMessage(Message message) {
       EngineJob<?> job = (EngineJob<?>) message.obj;
-      switch (message.what) {
-        case MSG_COMPLETE:
-          job.handleResultOnMainThread();
-          break;
-        case MSG_EXCEPTION:
-          job.handleExceptionOnMainThread();
-          break;
-        case MSG_CANCELLED:
-          job.handleCancelledOnMainThread();
-          break;
-        default:
-          throw new IllegalStateException("Unrecognized message: " + message.what);
-      }
+      job.handleMessageOnMainThread(message.what);
       return true;
     }
   }
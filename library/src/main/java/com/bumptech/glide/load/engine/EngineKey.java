@@ -9,21 +9,34 @@ import java.util.Map;
 
 /**
  * An in memory only cache key used to multiplex loads.
+ *
+ * <p>Keys are immutable once built, except for the lookup key reused by {@link EngineKeyFactory},
+ * which is re-initialized for each lookup, cleared afterwards and is never retained.
  */
 class EngineKey implements Key {
-  private final Object model;
-  private final int width;
-  private final int height;
-  private final Class<?> resourceClass;
-  private final Class<?> transcodeClass;
-  private final Key signature;
-  private final Map<Class<?>, Transformation<?>> transformations;
-  private final Options options;
+  private Object model;
+  private int width;
+  private int height;
+  private Class<?> resourceClass;
+  private Class<?> transcodeClass;
+  private Key signature;
+  private Map<Class<?>, Transformation<?>> transformations;
+  private Options options;
   private int hashCode;
 
   public EngineKey(Object model, Key signature, int width, int height,
       Map<Class<?>, Transformation<?>> transformations, Class<?> resourceClass,
       Class<?> transcodeClass, Options options) {
+    init(model, signature, width, height, transformations, resourceClass, transcodeClass, options);
+  }
+
+  EngineKey() {
+    // Initialized by init.
+  }
+
+  void init(Object model, Key signature, int width, int height,
+      Map<Class<?>, Transformation<?>> transformations, Class<?> resourceClass,
+      Class<?> transcodeClass, Options options) {
     this.model = Preconditions.checkNotNull(model);
     this.signature = Preconditions.checkNotNull(signature, "Signature must not be null");
     this.width = width;
@@ -34,10 +47,28 @@ class EngineKey implements Key {
     this.transcodeClass =
         Preconditions.checkNotNull(transcodeClass, "Transcode class must not be null");
     this.options = Preconditions.checkNotNull(options);
+    this.hashCode = 0;
+  }
+
+  /**
+   * Drops the references held by a key initialized by {@link #init}, so that a reused key doesn't
+   * keep the model, transformations or options of its last load alive.
+   */
+  void clear() {
+    model = null;
+    signature = null;
+    transformations = null;
+    resourceClass = null;
+    transcodeClass = null;
+    options = null;
+    hashCode = 0;
   }
 
   @Override
   public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
     if (o instanceof EngineKey) {
       EngineKey other = (EngineKey) o;
       return model.equals(other.model)
@@ -6,6 +6,8 @@ import com.bumptech.glide.load.Transformation;
 import java.util.Map;
 
 class EngineKeyFactory {
+  // Only accessed on the main thread.
+  private final EngineKey lookupKey = new EngineKey();
 
   @SuppressWarnings("rawtypes")
   public EngineKey buildKey(Object model, Key signature, int width, int height,
@@ -14,4 +16,28 @@ class EngineKeyFactory {
     return new EngineKey(model, signature, width, height, transformations, resourceClass,
         transcodeClass, options);
   }
+
+  /**
+   * Returns a key equal to the key {@link #buildKey} would return for the given arguments without
+   * allocating, so that resources in memory can be looked up for free. Must be called on the main
+   * thread.
+   *
+   * <p>The same instance is returned by every call, so the key is only valid until
+   * {@link #releaseLookupKey()} is called and must not be retained, for example as a key in a map.
+   */
+  EngineKey buildLookupKey(Object model, Key signature, int width, int height,
+      Map<Class<?>, Transformation<?>> transformations, Class<?> resourceClass,
+      Class<?> transcodeClass, Options options) {
+    lookupKey.init(model, signature, width, height, transformations, resourceClass,
+        transcodeClass, options);
+    return lookupKey;
+  }
+
+  /**
+   * Clears the key returned by {@link #buildLookupKey} once the lookup is finished, so that it
+   * doesn't keep the last looked up model and options alive. Must be called on the main thread.
+   */
+  void releaseLookupKey() {
+    lookupKey.clear();
+  }
 }
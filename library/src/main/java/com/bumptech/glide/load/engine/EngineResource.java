@@ -1,8 +1,10 @@
 package com.bumptech.glide.load.engine;
 
 import android.os.Looper;
+import android.support.annotation.Nullable;
 import com.bumptech.glide.load.Key;
 import com.bumptech.glide.util.Preconditions;
+import java.lang.ref.WeakReference;
 
 /**
  * A wrapper resource that allows reference counting a wrapped {@link
@@ -14,6 +16,7 @@ class EngineResource<Z> implements Resource<Z> {
   private final boolean isCacheable;
   private ResourceListener listener;
   private Key key;
+  @Nullable private WeakReference<EngineResource<?>> activeReference;
   private int acquired;
   private boolean isRecycled;
   private final Resource<Z> resource;
@@ -32,6 +35,24 @@ class EngineResource<Z> implements Resource<Z> {
     this.listener = listener;
   }
 
+  /**
+   * Returns the key the resource was loaded with, or {@code null} if the resource wasn't loaded by
+   * the {@link Engine}.
+   */
+  @Nullable
+  Key getKey() {
+    return key;
+  }
+
+  @Nullable
+  WeakReference<EngineResource<?>> getActiveReference() {
+    return activeReference;
+  }
+
+  void setActiveReference(WeakReference<EngineResource<?>> activeReference) {
+    this.activeReference = activeReference;
+  }
+
   boolean isCacheable() {
     return isCacheable;
   }
@@ -0,0 +1,182 @@
+package com.bumptech.glide.load.engine;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+import com.bumptech.glide.util.Synthetic;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the time the main thread spends on work for loads in each frame, deferring the rest of the
+ * work to later frames.
+ *
+ * <p>Binding a dense grid can start dozens of loads in a single frame, each of which builds a key,
+ * checks the memory cache and active resources and submits a job. Once the budget for a frame is
+ * used up, any more work is deferred and run at the start of the following frames, oldest first,
+ * again only until each frame's budget is used up. At least one piece of deferred work is run each
+ * frame so that work longer than the budget can't stall.
+ *
+ * <p>Work that delivers results, for example from {@link ResultDeliveryCoalescer}, is scheduled
+ * with {@link #runInNextFrame(Runnable)} instead. It's kept apart from deferred loads, so waiting
+ * results never cause new loads to be deferred, and it runs first in each frame. It's expected to
+ * limit itself to {@link #getRemainingNanos()}.
+ *
+ * <p>Frames are tracked with {@link Choreographer} where available. On older versions of Android,
+ * deferred work is instead posted to the main thread.
+ *
+ * <p>Only accessed on the main thread.
+ */
+final class MainThreadBudget implements Runnable {
+  private final long budgetNanos;
+  private final FrameScheduler frameScheduler;
+  private final Queue<Runnable> deferred = new ArrayDeque<>();
+  private final Queue<Runnable> nextFrame = new ArrayDeque<>();
+  private long spentNanos;
+  private boolean isFrameCallbackPosted;
+
+  MainThreadBudget(long budgetMillis) {
+    this(budgetMillis, newFrameScheduler());
+  }
+
+  // Visible for testing.
+  MainThreadBudget(long budgetMillis, FrameScheduler frameScheduler) {
+    this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    this.frameScheduler = frameScheduler;
+  }
+
+  /**
+   * Returns {@code true} if work can be run now, or {@code false} if the budget for this frame has
+   * been used up or work deferred earlier has yet to run and new work should be deferred.
+   */
+  boolean hasRemaining() {
+    return deferred.isEmpty() && spentNanos < budgetNanos;
+  }
+
+  /**
+   * Returns the time left in the budget for this frame, which may be {@code 0}.
+   */
+  long getRemainingNanos() {
+    return Math.max(0, budgetNanos - spentNanos);
+  }
+
+  /**
+   * Returns the start time to pass to {@link #finishWork(long)} once work run now has completed.
+   */
+  long startWork() {
+    return System.nanoTime();
+  }
+
+  /**
+   * Counts the time since the given start time against the budget for this frame.
+   */
+  void finishWork(long startNanos) {
+    spentNanos += System.nanoTime() - startNanos;
+    postFrameCallbackIfNeeded();
+  }
+
+  /**
+   * Runs the given work in a later frame once all of the work deferred before it has run.
+   */
+  void defer(Runnable work) {
+    deferred.add(work);
+    postFrameCallbackIfNeeded();
+  }
+
+  /**
+   * Runs the given work once at the start of the next frame, before any deferred work.
+   *
+   * <p>Unlike {@link #defer(Runnable)}, the work doesn't affect {@link #hasRemaining()} while it
+   * waits, but the time it takes is counted against the budget for the frame it runs in.
+   */
+  void runInNextFrame(Runnable work) {
+    nextFrame.add(work);
+    postFrameCallbackIfNeeded();
+  }
+
+  /**
+   * Starts a new frame, runs the work scheduled for it and then runs deferred work until the budget
+   * for the frame is used up.
+   */
+  @Override
+  public void run() {
+    isFrameCallbackPosted = false;
+    spentNanos = 0;
+    // Work scheduled again while running belongs to the frame after this one.
+    for (int count = nextFrame.size(); count > 0; count--) {
+      Runnable work = nextFrame.poll();
+      long startNanos = startWork();
+      work.run();
+      finishWork(startNanos);
+    }
+
+    Runnable work;
+    do {
+      work = deferred.poll();
+      if (work == null) {
+        break;
+      }
+      long startNanos = startWork();
+      work.run();
+      finishWork(startNanos);
+    } while (spentNanos < budgetNanos);
+
+    if (!deferred.isEmpty()) {
+      postFrameCallbackIfNeeded();
+    }
+  }
+
+  private void postFrameCallbackIfNeeded() {
+    if (!isFrameCallbackPosted) {
+      isFrameCallbackPosted = true;
+      frameScheduler.postFrameCallback(this);
+    }
+  }
+
+  /**
+   * Returns a {@link FrameScheduler} that uses {@link Choreographer} where available.
+   */
+  static FrameScheduler newFrameScheduler() {
+    return Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN
+        ? new ChoreographerFrameScheduler() : new HandlerFrameScheduler();
+  }
+
+  /**
+   * Runs callbacks at the start of the next frame. Must be called on the main thread.
+   */
+  interface FrameScheduler {
+    void postFrameCallback(Runnable callback);
+  }
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+  private static final class ChoreographerFrameScheduler implements FrameScheduler {
+
+    @Synthetic
+    ChoreographerFrameScheduler() { }
+
+    @Override
+    public void postFrameCallback(final Runnable callback) {
+      Choreographer.getInstance().postFrameCallback(new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+          callback.run();
+        }
+      });
+    }
+  }
+
+  private static final class HandlerFrameScheduler implements FrameScheduler {
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    @Synthetic
+    HandlerFrameScheduler() { }
+
+    @Override
+    public void postFrameCallback(Runnable callback) {
+      handler.post(callback);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.bumptech.glide.load.engine;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Message;
+import android.support.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Collects the results of {@link EngineJob}s that complete on background threads and delivers them
+ * together on the main thread at the start of the next frame, highest {@link
+ * com.bumptech.glide.Priority} first.
+ *
+ * <p>Without coalescing, each completed job posts its own message to the main thread and notifies
+ * its targets as soon as the message runs, so many loads completing at once, typically from the
+ * disk cache, cause many small dispatches each of which can trigger another layout pass. Coalesced
+ * results are instead delivered in one pass per frame.
+ *
+ * <p>If a {@link MainThreadBudget} is set, results are delivered at the start of the budget's
+ * frames, so that delivering results and starting loads together stay within a single budget for
+ * each frame. Results are only delivered until the budget for the frame has been used up and the
+ * remaining results are delivered in the following frames, highest priority first. At least one
+ * result is delivered each frame. Results waiting to be delivered don't cause loads, including
+ * loads from memory, to be deferred.
+ */
+final class ResultDeliveryCoalescer implements Handler.Callback, Runnable {
+  private static final int MSG_SCHEDULE = 1;
+  private static final Comparator<EngineJob<?>> PRIORITY_ORDER = new Comparator<EngineJob<?>>() {
+    @Override
+    public int compare(EngineJob<?> lhs, EngineJob<?> rhs) {
+      // Priority ordinals increase as priority decreases.
+      return lhs.getPriority() - rhs.getPriority();
+    }
+  };
+
+  private final Handler mainHandler = new Handler(Looper.getMainLooper(), this);
+  @Nullable private final MainThreadBudget budget;
+  private final MainThreadBudget.FrameScheduler frameScheduler;
+  // Guarded by this, written on any thread.
+  private final List<EngineJob<?>> pending = new ArrayList<>();
+  private boolean isScheduled;
+  // Only accessed on the main thread.
+  private final List<EngineJob<?>> toDeliver = new ArrayList<>();
+  private boolean isFrameCallbackPosted;
+
+  /**
+   * @param budget The budget shared with other work on the main thread, or {@code null} to deliver
+   *               every pending result each frame.
+   */
+  ResultDeliveryCoalescer(@Nullable MainThreadBudget budget) {
+    this(budget, MainThreadBudget.newFrameScheduler());
+  }
+
+  // Visible for testing.
+  ResultDeliveryCoalescer(@Nullable MainThreadBudget budget,
+      MainThreadBudget.FrameScheduler frameScheduler) {
+    this.budget = budget;
+    this.frameScheduler = frameScheduler;
+  }
+
+  /**
+   * Delivers the result of the given job in the next frame. May be called on any thread.
+   */
+  void deliver(EngineJob<?> job) {
+    synchronized (this) {
+      pending.add(job);
+      if (isScheduled) {
+        return;
+      }
+      isScheduled = true;
+    }
+    mainHandler.sendEmptyMessage(MSG_SCHEDULE);
+  }
+
+  @Override
+  public boolean handleMessage(Message message) {
+    if (message.what != MSG_SCHEDULE) {
+      return false;
+    }
+    postFrameCallbackIfNeeded();
+    return true;
+  }
+
+  /**
+   * Delivers pending results at the start of a frame.
+   */
+  @Override
+  public void run() {
+    isFrameCallbackPosted = false;
+    synchronized (this) {
+      toDeliver.addAll(pending);
+      pending.clear();
+      isScheduled = false;
+    }
+    if (toDeliver.isEmpty()) {
+      return;
+    }
+    // Stable, so results with the same priority are delivered in the order they completed.
+    Collections.sort(toDeliver, PRIORITY_ORDER);
+
+    // The budget counts the time spent here once we return, so only its remaining time is used.
+    long remainingNanos = budget != null ? budget.getRemainingNanos() : 0;
+    long startNanos = System.nanoTime();
+    int delivered = 0;
+    do {
+      toDeliver.get(delivered++).deliverOnMainThread();
+    } while (delivered < toDeliver.size()
+        && (budget == null || System.nanoTime() - startNanos < remainingNanos));
+
+    toDeliver.subList(0, delivered).clear();
+    if (!toDeliver.isEmpty()) {
+      postFrameCallbackIfNeeded();
+    }
+  }
+
+  private void postFrameCallbackIfNeeded() {
+    if (!isFrameCallbackPosted) {
+      isFrameCallbackPosted = true;
+      if (budget != null) {
+        budget.runInNextFrame(this);
+      } else {
+        frameScheduler.postFrameCallback(this);
+      }
+    }
+  }
+}
@@ -12,6 +12,7 @@ import java.io.File;
 public class DiskLruCacheFactory implements DiskCache.Factory {
   private final int diskCacheSize;
   private final CacheDirectoryGetter cacheDirectoryGetter;
+  private final SafeKeyGenerator.DigestFactory digestFactory;
 
   /**
    * Interface called out of UI thread to get the cache folder.
@@ -47,8 +48,23 @@ public class DiskLruCacheFactory implements DiskCache.Factory {
    * @param diskCacheSize        Desired max bytes size for the LRU disk cache.
    */
   public DiskLruCacheFactory(CacheDirectoryGetter cacheDirectoryGetter, int diskCacheSize) {
+    this(cacheDirectoryGetter, diskCacheSize, SafeKeyGenerator.SHA_256);
+  }
+
+  /**
+   * When using this constructor {@link CacheDirectoryGetter#getCacheDirectory()} will be called out
+   * of UI thread, allowing to do I/O access without performance impacts.
+   *
+   * @param cacheDirectoryGetter Interface called out of UI thread to get the cache folder.
+   * @param diskCacheSize        Desired max bytes size for the LRU disk cache.
+   * @param digestFactory        Creates the digests used to name entries in the disk cache, for
+   *                             example {@link SafeKeyGenerator#MURMUR3_128}.
+   */
+  public DiskLruCacheFactory(CacheDirectoryGetter cacheDirectoryGetter, int diskCacheSize,
+      SafeKeyGenerator.DigestFactory digestFactory) {
     this.diskCacheSize = diskCacheSize;
     this.cacheDirectoryGetter = cacheDirectoryGetter;
+    this.digestFactory = digestFactory;
   }
 
   @Override
@@ -63,6 +79,6 @@ public class DiskLruCacheFactory implements DiskCache.Factory {
       return null;
     }
 
-    return DiskLruCacheWrapper.get(cacheDir, diskCacheSize);
+    return DiskLruCacheWrapper.get(cacheDir, diskCacheSize, digestFactory);
   }
 }
@@ -4,6 +4,7 @@
 
 package com.bumptech.glide.load.engine.cache;
 
+import android.support.annotation.Nullable;
 import android.util.Log;
 import com.bumptech.glide.disklrucache.DiskLruCache;
 import com.bumptech.glide.disklrucache.DiskLruCache.Value;
@@ -15,6 +16,14 @@ import java.io.IOException;
  * The default DiskCache implementation. There must be no more than one active instance for a given
  * directory at a time.
  *
+ * <p>If a {@link SafeKeyGenerator.DigestFactory} other than {@link SafeKeyGenerator#SHA_256} is
+ * used, entries written by previous versions with {@link SafeKeyGenerator#SHA_256} names are still
+ * returned by {@link #get(Key)}, so changing the digest doesn't invalidate an existing cache
+ * directory all at once. New entries are always written with the new names. Looking up the old
+ * names costs a second digest and lookup for each miss, so when the cache is opened its directory
+ * is scanned once and old names are only looked up if entries with old names still exist. Old
+ * names are always removed by {@link #delete(Key)}.
+ *
  * @see #get(java.io.File, int)
  */
 public class DiskLruCacheWrapper implements DiskCache {
@@ -22,13 +31,21 @@ public class DiskLruCacheWrapper implements DiskCache {
 
   private static final int APP_VERSION = 1;
   private static final int VALUE_COUNT = 1;
+  // Entries are stored in files named with the entry's name followed by a '.' and an index.
+  private static final char ENTRY_FILE_SEPARATOR = '.';
+  // Names generated by SafeKeyGenerator.SHA_256 are 32 bytes written as hex.
+  private static final int LEGACY_SAFE_KEY_LENGTH = 64;
   private static DiskLruCacheWrapper wrapper = null;
 
   private final SafeKeyGenerator safeKeyGenerator;
+  @Nullable private final SafeKeyGenerator legacySafeKeyGenerator;
   private final File directory;
   private final int maxSize;
   private final DiskCacheWriteLocker writeLocker = new DiskCacheWriteLocker();
+  // The length of names generated by the digest factory, or 0 if it isn't known.
+  private final int safeKeyLength;
   private DiskLruCache diskLruCache;
+  private volatile boolean hasLegacyEntries;
 
   /**
    * Get a DiskCache in the given directory and size. If a disk cache has already been created with
@@ -40,30 +57,98 @@ public class DiskLruCacheWrapper implements DiskCache {
    * @return The new disk cache with the given arguments, or the current cache if one already exists
    */
   public static synchronized DiskCache get(File directory, int maxSize) {
+    return get(directory, maxSize, SafeKeyGenerator.SHA_256);
+  }
+
+  /**
+   * Get a DiskCache in the given directory and size that names entries using digests from the
+   * given factory. If a disk cache has already been created with different arguments, it will be
+   * returned instead and the new arguments will be ignored.
+   *
+   * @param directory     The directory for the disk cache
+   * @param maxSize       The max size for the disk cache
+   * @param digestFactory The factory for the digests used to name entries in the disk cache
+   * @return The new disk cache with the given arguments, or the current cache if one already exists
+   */
+  public static synchronized DiskCache get(File directory, int maxSize,
+      SafeKeyGenerator.DigestFactory digestFactory) {
     // TODO calling twice with different arguments makes it return the cache for the same
     // directory, it's public!
     if (wrapper == null) {
-      wrapper = new DiskLruCacheWrapper(directory, maxSize);
+      wrapper = new DiskLruCacheWrapper(directory, maxSize, digestFactory);
     }
     return wrapper;
   }
 
   protected DiskLruCacheWrapper(File directory, int maxSize) {
+    this(directory, maxSize, SafeKeyGenerator.SHA_256);
+  }
+
+  protected DiskLruCacheWrapper(File directory, int maxSize,
+      SafeKeyGenerator.DigestFactory digestFactory) {
     this.directory = directory;
     this.maxSize = maxSize;
-    this.safeKeyGenerator = new SafeKeyGenerator();
+    this.safeKeyGenerator = new SafeKeyGenerator(digestFactory);
+    if (digestFactory != SafeKeyGenerator.SHA_256) {
+      this.legacySafeKeyGenerator = new SafeKeyGenerator(SafeKeyGenerator.SHA_256);
+      // Each byte of the digest is written as two hex characters.
+      this.safeKeyLength = 2 * digestFactory.create().getDigestLength();
+    } else {
+      this.legacySafeKeyGenerator = null;
+      this.safeKeyLength = LEGACY_SAFE_KEY_LENGTH;
+    }
   }
 
   private synchronized DiskLruCache getDiskCache() throws IOException {
     if (diskLruCache == null) {
       diskLruCache = DiskLruCache.open(directory, APP_VERSION, VALUE_COUNT, maxSize);
+      hasLegacyEntries = legacySafeKeyGenerator != null && containsLegacyEntries();
     }
     return diskLruCache;
   }
 
+  /**
+   * Returns {@code true} if any file in the cache directory may belong to an entry written with a
+   * legacy name.
+   *
+   * <p>Entries are only ever written with new names, so if none exist when the cache is opened,
+   * none can appear until the cache is opened again.
+   */
+  private boolean containsLegacyEntries() {
+    if (safeKeyLength == LEGACY_SAFE_KEY_LENGTH || safeKeyLength == 0) {
+      // Legacy names can't be told apart from new names, so they have to be looked up.
+      return true;
+    }
+    String[] fileNames = directory.list();
+    if (fileNames == null) {
+      return false;
+    }
+    for (String fileName : fileNames) {
+      if (fileName.length() > LEGACY_SAFE_KEY_LENGTH
+          && fileName.charAt(LEGACY_SAFE_KEY_LENGTH) == ENTRY_FILE_SEPARATOR) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Visible for testing.
+  boolean isReadingLegacyEntries() {
+    return hasLegacyEntries;
+  }
+
   @Override
   public File get(Key key) {
-    String safeKey = safeKeyGenerator.getSafeKey(key);
+    File result = get(safeKeyGenerator, key);
+    if (result == null && hasLegacyEntries) {
+      result = get(legacySafeKeyGenerator, key);
+    }
+    return result;
+  }
+
+  @Nullable
+  private File get(SafeKeyGenerator keyGenerator, Key key) {
+    String safeKey = keyGenerator.getSafeKey(key);
     if (Log.isLoggable(TAG, Log.VERBOSE)) {
       Log.v(TAG, "Get: Obtained: " + safeKey + " for for Key: " + key);
     }
@@ -127,7 +212,16 @@ public class DiskLruCacheWrapper implements DiskCache {
 
   @Override
   public void delete(Key key) {
-    String safeKey = safeKeyGenerator.getSafeKey(key);
+    delete(safeKeyGenerator, key);
+    // Always remove the legacy name so that a deleted entry can't be returned by a later lookup,
+    // even if legacy entries aren't currently being read.
+    if (legacySafeKeyGenerator != null) {
+      delete(legacySafeKeyGenerator, key);
+    }
+  }
+
+  private void delete(SafeKeyGenerator keyGenerator, Key key) {
+    String safeKey = keyGenerator.getSafeKey(key);
     try {
       getDiskCache().remove(safeKey);
     } catch (IOException e) {
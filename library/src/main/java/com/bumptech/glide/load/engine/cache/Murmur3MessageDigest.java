@@ -0,0 +1,170 @@
+package com.bumptech.glide.load.engine.cache;
+
+import java.security.MessageDigest;
+
+/**
+ * A {@link MessageDigest} that produces the 128 bit x64 variant of MurmurHash3, a fast
+ * non-cryptographic hash, so that existing {@link com.bumptech.glide.load.Key}s can be hashed
+ * without changing {@link com.bumptech.glide.load.Key#updateDiskCacheKey(MessageDigest)}.
+ *
+ * <p>Input is processed in 16 byte blocks as it's written, so no more than one block is ever
+ * buffered.
+ *
+ * @see <a href="https://github.com/aappleby/smhasher/wiki/MurmurHash3">MurmurHash3</a>
+ */
+final class Murmur3MessageDigest extends MessageDigest {
+  static final String ALGORITHM = "Murmur3-128";
+  private static final int BLOCK_SIZE = 16;
+  private static final int DIGEST_LENGTH = 16;
+  private static final long C1 = 0x87c37b91114253d5L;
+  private static final long C2 = 0x4cf5ad432745937fL;
+
+  private final byte[] block = new byte[BLOCK_SIZE];
+  private int blockLength;
+  private long totalLength;
+  private long h1;
+  private long h2;
+
+  Murmur3MessageDigest() {
+    super(ALGORITHM);
+  }
+
+  @Override
+  protected int engineGetDigestLength() {
+    return DIGEST_LENGTH;
+  }
+
+  @Override
+  protected void engineUpdate(byte input) {
+    block[blockLength++] = input;
+    totalLength++;
+    if (blockLength == BLOCK_SIZE) {
+      processBlock(block, 0);
+      blockLength = 0;
+    }
+  }
+
+  @Override
+  protected void engineUpdate(byte[] input, int offset, int len) {
+    totalLength += len;
+    int end = offset + len;
+    // Fill a partially written block first.
+    if (blockLength > 0) {
+      int toCopy = Math.min(BLOCK_SIZE - blockLength, len);
+      System.arraycopy(input, offset, block, blockLength, toCopy);
+      blockLength += toCopy;
+      offset += toCopy;
+      if (blockLength < BLOCK_SIZE) {
+        return;
+      }
+      processBlock(block, 0);
+      blockLength = 0;
+    }
+    // Then process whole blocks directly from the input without copying them.
+    while (end - offset >= BLOCK_SIZE) {
+      processBlock(input, offset);
+      offset += BLOCK_SIZE;
+    }
+    blockLength = end - offset;
+    System.arraycopy(input, offset, block, 0, blockLength);
+  }
+
+  @Override
+  protected byte[] engineDigest() {
+    processTail();
+    h1 ^= totalLength;
+    h2 ^= totalLength;
+    h1 += h2;
+    h2 += h1;
+    h1 = fmix64(h1);
+    h2 = fmix64(h2);
+    h1 += h2;
+    h2 += h1;
+
+    byte[] result = new byte[DIGEST_LENGTH];
+    writeLongLittleEndian(h1, result, 0);
+    writeLongLittleEndian(h2, result, 8);
+    engineReset();
+    return result;
+  }
+
+  @Override
+  protected void engineReset() {
+    blockLength = 0;
+    totalLength = 0;
+    h1 = 0;
+    h2 = 0;
+  }
+
+  private void processBlock(byte[] bytes, int offset) {
+    long k1 = readLongLittleEndian(bytes, offset);
+    long k2 = readLongLittleEndian(bytes, offset + 8);
+
+    h1 ^= mixK1(k1);
+    h1 = Long.rotateLeft(h1, 27);
+    h1 += h2;
+    h1 = h1 * 5 + 0x52dce729;
+
+    h2 ^= mixK2(k2);
+    h2 = Long.rotateLeft(h2, 31);
+    h2 += h1;
+    h2 = h2 * 5 + 0x38495ab5;
+  }
+
+  private void processTail() {
+    long k1 = 0;
+    long k2 = 0;
+    for (int i = blockLength - 1; i >= 8; i--) {
+      k2 ^= (block[i] & 0xFFL) << ((i - 8) * 8);
+    }
+    for (int i = Math.min(blockLength, 8) - 1; i >= 0; i--) {
+      k1 ^= (block[i] & 0xFFL) << (i * 8);
+    }
+    if (blockLength > 8) {
+      h2 ^= mixK2(k2);
+    }
+    if (blockLength > 0) {
+      h1 ^= mixK1(k1);
+    }
+  }
+
+  private static long mixK1(long k1) {
+    k1 *= C1;
+    k1 = Long.rotateLeft(k1, 31);
+    k1 *= C2;
+    return k1;
+  }
+
+  private static long mixK2(long k2) {
+    k2 *= C2;
+    k2 = Long.rotateLeft(k2, 33);
+    k2 *= C1;
+    return k2;
+  }
+
+  private static long fmix64(long k) {
+    k ^= k >>> 33;
+    k *= 0xff51afd7ed558ccdL;
+    k ^= k >>> 33;
+    k *= 0xc4ceb9fe1a85ec53L;
+    k ^= k >>> 33;
+    return k;
+  }
+
+  private static long readLongLittleEndian(byte[] bytes, int offset) {
+    return (bytes[offset] & 0xFFL)
+        | (bytes[offset + 1] & 0xFFL) << 8
+        | (bytes[offset + 2] & 0xFFL) << 16
+        | (bytes[offset + 3] & 0xFFL) << 24
+        | (bytes[offset + 4] & 0xFFL) << 32
+        | (bytes[offset + 5] & 0xFFL) << 40
+        | (bytes[offset + 6] & 0xFFL) << 48
+        | (bytes[offset + 7] & 0xFFL) << 56;
+  }
+
+  private static void writeLongLittleEndian(long value, byte[] bytes, int offset) {
+    for (int i = 0; i < 8; i++) {
+      bytes[offset + i] = (byte) (value >>> (i * 8));
+    }
+  }
+}
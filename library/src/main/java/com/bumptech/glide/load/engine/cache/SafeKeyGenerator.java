@@ -2,43 +2,82 @@ package com.bumptech.glide.load.engine.cache;
 
 import android.support.v4.util.Pools;
 import com.bumptech.glide.load.Key;
-import com.bumptech.glide.util.LruCache;
 import com.bumptech.glide.util.Synthetic;
 import com.bumptech.glide.util.Util;
 import com.bumptech.glide.util.pool.FactoryPools;
 import com.bumptech.glide.util.pool.StateVerifier;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * A class that generates and caches safe and unique string file names from {@link
  * com.bumptech.glide.load.Key}s.
+ *
+ * <p>Recently generated names are memoized in a fixed size, direct mapped table indexed by the
+ * {@link Key}'s hash code, which can be read and written concurrently without locking. Colliding
+ * keys simply replace each other.
  */
 public class SafeKeyGenerator {
-  private final LruCache<Key, String> loadIdToSafeHash = new LruCache<>(1000);
-  private final Pools.Pool<PoolableDigestContainer> digestPool = FactoryPools.threadSafe(10,
-      new FactoryPools.Factory<PoolableDigestContainer>() {
-        @Override
-        public PoolableDigestContainer create() {
-          try {
-            return new PoolableDigestContainer(MessageDigest.getInstance("SHA-256"));
-          } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
+  /**
+   * Generates 64 character names from SHA-256 digests, the default and the format used by all
+   * previous versions of Glide.
+   */
+  public static final DigestFactory SHA_256 = new DigestFactory() {
+    @Override
+    public MessageDigest create() {
+      try {
+        return MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  };
+
+  /**
+   * Generates 32 character names from the 128 bit variant of MurmurHash3, which is substantially
+   * cheaper to compute than SHA-256 but isn't cryptographically secure.
+   *
+   * <p>Names generated by this factory don't match names generated by {@link #SHA_256}, so
+   * switching an existing cache directory to this factory will orphan entries written previously
+   * unless they're migrated, see {@link DiskLruCacheWrapper}.
+   */
+  public static final DigestFactory MURMUR3_128 = new DigestFactory() {
+    @Override
+    public MessageDigest create() {
+      return new Murmur3MessageDigest();
+    }
+  };
+
+  // Must be a power of two.
+  private static final int MEMO_CACHE_SIZE = 1024;
+
+  private final AtomicReferenceArray<MemoEntry> loadIdToSafeHash =
+      new AtomicReferenceArray<>(MEMO_CACHE_SIZE);
+  private final Pools.Pool<PoolableDigestContainer> digestPool;
+
+  public SafeKeyGenerator() {
+    this(SHA_256);
+  }
+
+  public SafeKeyGenerator(final DigestFactory digestFactory) {
+    digestPool = FactoryPools.threadSafe(10,
+        new FactoryPools.Factory<PoolableDigestContainer>() {
+          @Override
+          public PoolableDigestContainer create() {
+            return new PoolableDigestContainer(digestFactory.create());
           }
-        }
-      });
+        });
+  }
 
   public String getSafeKey(Key key) {
-    String safeKey;
-    synchronized (loadIdToSafeHash) {
-      safeKey = loadIdToSafeHash.get(key);
-    }
-    if (safeKey == null) {
-      safeKey = calculateHexStringDigest(key);
-    }
-    synchronized (loadIdToSafeHash) {
-      loadIdToSafeHash.put(key, safeKey);
+    int index = getIndex(key);
+    MemoEntry entry = loadIdToSafeHash.get(index);
+    if (entry != null && entry.key.equals(key)) {
+      return entry.safeKey;
     }
+    String safeKey = calculateHexStringDigest(key);
+    loadIdToSafeHash.set(index, new MemoEntry(key, safeKey));
     return safeKey;
   }
 
@@ -47,12 +86,38 @@ public class SafeKeyGenerator {
     try {
       key.updateDiskCacheKey(container.messageDigest);
       // calling digest() will automatically reset()
-      return Util.sha256BytesToHex(container.messageDigest.digest());
+      return Util.bytesToHex(container.messageDigest.digest());
     } finally {
       digestPool.release(container);
     }
   }
 
+  private static int getIndex(Key key) {
+    int hash = key.hashCode();
+    // Spread the higher bits into the lower bits used to index into the table.
+    return (hash ^ (hash >>> 16)) & (MEMO_CACHE_SIZE - 1);
+  }
+
+  /**
+   * Creates the {@link MessageDigest}s used to generate names.
+   *
+   * <p>Digests must produce output that is stable across process restarts, and all digests created
+   * by a given factory must produce the same output for the same input.
+   */
+  public interface DigestFactory {
+    MessageDigest create();
+  }
+
+  private static final class MemoEntry {
+    @Synthetic final Key key;
+    @Synthetic final String safeKey;
+
+    MemoEntry(Key key, String safeKey) {
+      this.key = key;
+      this.safeKey = safeKey;
+    }
+  }
+
   private static final class PoolableDigestContainer implements FactoryPools.Poolable {
 
     @Synthetic final MessageDigest messageDigest;
@@ -7,15 +7,20 @@ import android.util.Log;
 import com.bumptech.glide.util.Synthetic;
 import java.io.File;
 import java.io.FilenameFilter;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 /**
@@ -38,6 +43,11 @@ public final class GlideExecutor extends ThreadPoolExecutor {
    * cache.
    */
   public static final int DEFAULT_DISK_CACHE_EXECUTOR_THREADS = 1;
+  /**
+   * The default thread name prefix for executors used to decode/transform/encode data once it has
+   * been fetched.
+   */
+  public static final String DEFAULT_DECODE_EXECUTOR_NAME = "decode";
 
   private static final String TAG = "GlideExecutor";
   private static final String CPU_NAME_REGEX = "cpu[0-9]+";
@@ -45,6 +55,10 @@ public final class GlideExecutor extends ThreadPoolExecutor {
   // Don't use more than four threads when automatically determining thread count..
   private static final int MAXIMUM_AUTOMATIC_THREAD_COUNT = 4;
   private final boolean executeSynchronously;
+  private final Map<Runnable, Long> enqueueTimesNanos = new ConcurrentHashMap<>();
+  private final AtomicInteger peakQueuedTaskCount = new AtomicInteger();
+  private final AtomicLong dequeuedTaskCount = new AtomicLong();
+  private final AtomicLong totalQueueTimeNanos = new AtomicLong();
 
   /**
    * The default thread name prefix for executors from unlimited thread pool used to
@@ -121,6 +135,56 @@ public final class GlideExecutor extends ThreadPoolExecutor {
         false /*preventNetworkOperations*/, false /*executeSynchronously*/);
   }
 
+  /**
+   * Returns a new fixed thread pool for fetching data not found in cache for use with a decode
+   * executor from {@link #newDecodeExecutor()}, with twice the default thread count returned from
+   * {@link #calculateBestThreadCount()}, the {@link #DEFAULT_SOURCE_EXECUTOR_NAME} thread name
+   * prefix, and the
+   * {@link com.bumptech.glide.load.engine.executor.GlideExecutor.UncaughtThrowableStrategy#DEFAULT}
+   * uncaught throwable strategy.
+   *
+   * <p>When data is decoded on a separate executor, threads in the source executor spend most of
+   * their time waiting on I/O, so more of them can run without oversubscribing the CPU.
+   */
+  public static GlideExecutor newIoSourceExecutor() {
+    return newSourceExecutor(2 * calculateBestThreadCount(), DEFAULT_SOURCE_EXECUTOR_NAME,
+        UncaughtThrowableStrategy.DEFAULT);
+  }
+
+  /**
+   * Returns a new fixed thread pool with the default thread count returned from
+   * {@link #calculateBestThreadCount()}, the {@link #DEFAULT_DECODE_EXECUTOR_NAME} thread name
+   * prefix, and the
+   * {@link com.bumptech.glide.load.engine.executor.GlideExecutor.UncaughtThrowableStrategy#DEFAULT}
+   * uncaught throwable strategy.
+   *
+   * <p>Decode executors decode, transform and encode data once it's been fetched, so their
+   * thread count is limited by the number of cores rather than by I/O latency.
+   */
+  public static GlideExecutor newDecodeExecutor() {
+    return newDecodeExecutor(calculateBestThreadCount(), DEFAULT_DECODE_EXECUTOR_NAME,
+        UncaughtThrowableStrategy.DEFAULT);
+  }
+
+  /**
+   * Returns a new fixed thread pool with the given thread count, thread name prefix,
+   * and {@link com.bumptech.glide.load.engine.executor.GlideExecutor.UncaughtThrowableStrategy}.
+   *
+   * <p>Decode executors allow network operations on their threads because data that isn't cached
+   * may still be streamed from the network while it's decoded.
+   *
+   * @param threadCount The number of threads.
+   * @param name The prefix for each thread name.
+   * @param uncaughtThrowableStrategy The {@link
+   * com.bumptech.glide.load.engine.executor.GlideExecutor.UncaughtThrowableStrategy} to use to
+   *                                  handle uncaught exceptions.
+   */
+  public static GlideExecutor newDecodeExecutor(int threadCount, String name,
+      UncaughtThrowableStrategy uncaughtThrowableStrategy) {
+    return new GlideExecutor(threadCount, name, uncaughtThrowableStrategy,
+        false /*preventNetworkOperations*/, false /*executeSynchronously*/);
+  }
+
   /**
    * Returns a new unlimited thread pool with zero core thread count to make sure no threads are
    * created by default, {@link #SOURCE_UNLIMITED_EXECUTOR_KEEP_ALIVE_TIME_MS} keep alive
@@ -192,10 +256,63 @@ public final class GlideExecutor extends ThreadPoolExecutor {
     if (executeSynchronously) {
       command.run();
     } else {
-      super.execute(command);
+      enqueueTimesNanos.put(command, System.nanoTime());
+      try {
+        super.execute(command);
+      } catch (RejectedExecutionException e) {
+        enqueueTimesNanos.remove(command);
+        throw e;
+      }
+      updatePeakQueuedTaskCount(getQueue().size());
+    }
+  }
+
+  @Override
+  public boolean remove(Runnable task) {
+    enqueueTimesNanos.remove(task);
+    return super.remove(task);
+  }
+
+  @Override
+  protected void beforeExecute(Thread t, Runnable r) {
+    super.beforeExecute(t, r);
+    Long enqueueTimeNanos = enqueueTimesNanos.remove(r);
+    if (enqueueTimeNanos != null) {
+      totalQueueTimeNanos.addAndGet(System.nanoTime() - enqueueTimeNanos);
+      dequeuedTaskCount.incrementAndGet();
     }
   }
 
+  private void updatePeakQueuedTaskCount(int queuedTaskCount) {
+    int peak;
+    do {
+      peak = peakQueuedTaskCount.get();
+    } while (queuedTaskCount > peak && !peakQueuedTaskCount.compareAndSet(peak, queuedTaskCount));
+  }
+
+  /**
+   * Returns the number of tasks currently waiting for a thread.
+   */
+  public int getQueuedTaskCount() {
+    return getQueue().size();
+  }
+
+  /**
+   * Returns the largest number of tasks that have been waiting for a thread at once.
+   */
+  public int getPeakQueuedTaskCount() {
+    return peakQueuedTaskCount.get();
+  }
+
+  /**
+   * Returns the average time in milliseconds that tasks have waited for a thread before starting,
+   * or 0 if no tasks have started.
+   */
+  public double getAverageQueueTimeMillis() {
+    long count = dequeuedTaskCount.get();
+    return count == 0 ? 0 : totalQueueTimeNanos.get() / (count * 1e6);
+  }
+
   @NonNull
   @Override
   public Future<?> submit(Runnable task) {
@@ -11,6 +11,10 @@ import java.util.Map;
 /**
  * Maintains an ordered put of {@link ModelLoader}s and the model and data types they handle in
  * order from highest priority to lowest.
+ *
+ * <p>Registration is synchronized, but once the {@link ModelLoader}s or data classes for a given
+ * model class have been resolved they're read from immutable snapshots without locking, so
+ * concurrent loads don't contend with each other after the first load of each model class.
  */
 public class ModelLoaderRegistry {
 
@@ -55,17 +59,29 @@ public class ModelLoaderRegistry {
     }
   }
 
-  public synchronized <A> List<ModelLoader<A, ?>> getModelLoaders(A model) {
+  /**
+   * Returns the {@link ModelLoader}s that handle the given model, which must not be modified.
+   *
+   * <p>Called at least once for every load that misses the memory cache, so if every loader
+   * registered for the model's class handles the model, the cached list is returned rather than a
+   * copy.
+   */
+  public <A> List<ModelLoader<A, ?>> getModelLoaders(A model) {
     List<ModelLoader<A, ?>> modelLoaders = getModelLoadersForClass(getClass(model));
     int size = modelLoaders.size();
-    List<ModelLoader<A, ?>> filteredLoaders = new ArrayList<>(size);
+    List<ModelLoader<A, ?>> filteredLoaders = null;
     for (int i = 0; i < size; i++) {
       ModelLoader<A, ?> loader = modelLoaders.get(i);
       if (loader.handles(model)) {
-        filteredLoaders.add(loader);
+        if (filteredLoaders != null) {
+          filteredLoaders.add(loader);
+        }
+      } else if (filteredLoaders == null) {
+        filteredLoaders = new ArrayList<>(size - 1);
+        filteredLoaders.addAll(modelLoaders.subList(0, i));
       }
     }
-    return filteredLoaders;
+    return filteredLoaders != null ? filteredLoaders : modelLoaders;
   }
 
   public synchronized <Model, Data> ModelLoader<Model, Data> build(Class<Model> modelClass,
@@ -73,15 +89,31 @@ public class ModelLoaderRegistry {
     return multiModelLoaderFactory.build(modelClass, dataClass);
   }
 
-  public synchronized List<Class<?>> getDataClasses(Class<?> modelClass) {
-    return multiModelLoaderFactory.getDataClasses(modelClass);
+  public List<Class<?>> getDataClasses(Class<?> modelClass) {
+    List<Class<?>> dataClasses = cache.getDataClasses(modelClass);
+    if (dataClasses == null) {
+      synchronized (this) {
+        dataClasses = cache.getDataClasses(modelClass);
+        if (dataClasses == null) {
+          dataClasses =
+              Collections.unmodifiableList(multiModelLoaderFactory.getDataClasses(modelClass));
+          cache.putDataClasses(modelClass, dataClasses);
+        }
+      }
+    }
+    return dataClasses;
   }
 
   private <A> List<ModelLoader<A, ?>> getModelLoadersForClass(Class<A> modelClass) {
     List<ModelLoader<A, ?>> loaders = cache.get(modelClass);
     if (loaders == null) {
-      loaders = Collections.unmodifiableList(multiModelLoaderFactory.build(modelClass));
-      cache.put(modelClass, loaders);
+      synchronized (this) {
+        loaders = cache.get(modelClass);
+        if (loaders == null) {
+          loaders = Collections.unmodifiableList(multiModelLoaderFactory.build(modelClass));
+          cache.put(modelClass, loaders);
+        }
+      }
     }
     return loaders;
   }
@@ -91,21 +123,29 @@ public class ModelLoaderRegistry {
     return (Class<A>) model.getClass();
   }
 
+  /**
+   * A copy on write cache that can be read from any thread without locking, but must only be
+   * written to while holding the {@link ModelLoaderRegistry}'s lock.
+   */
   private static class ModelLoaderCache {
-    private final Map<Class<?>, Entry<?>> cachedModelLoaders = new HashMap<>();
+    private volatile Map<Class<?>, Entry<?>> cachedModelLoaders = Collections.emptyMap();
+    private volatile Map<Class<?>, List<Class<?>>> cachedDataClasses = Collections.emptyMap();
 
     @Synthetic
     ModelLoaderCache() { }
 
     public void clear() {
-      cachedModelLoaders.clear();
+      cachedModelLoaders = Collections.emptyMap();
+      cachedDataClasses = Collections.emptyMap();
     }
 
     public <Model> void put(Class<Model> modelClass, List<ModelLoader<Model, ?>> loaders) {
-      Entry<?> previous = cachedModelLoaders.put(modelClass, new Entry<>(loaders));
+      Map<Class<?>, Entry<?>> updated = new HashMap<>(cachedModelLoaders);
+      Entry<?> previous = updated.put(modelClass, new Entry<>(loaders));
       if (previous != null) {
         throw new IllegalStateException("Already cached loaders for model: " + modelClass);
       }
+      cachedModelLoaders = updated;
     }
 
     @SuppressWarnings("unchecked")
@@ -114,6 +154,16 @@ public class ModelLoaderRegistry {
       return entry == null ? null : entry.loaders;
     }
 
+    public void putDataClasses(Class<?> modelClass, List<Class<?>> dataClasses) {
+      Map<Class<?>, List<Class<?>>> updated = new HashMap<>(cachedDataClasses);
+      updated.put(modelClass, dataClasses);
+      cachedDataClasses = updated;
+    }
+
+    public List<Class<?>> getDataClasses(Class<?> modelClass) {
+      return cachedDataClasses.get(modelClass);
+    }
+
     private static class Entry<Model> {
       @Synthetic final List<ModelLoader<Model, ?>> loaders;
 
@@ -37,20 +37,36 @@ class MultiModelLoader<Model, Data> implements ModelLoader<Model, Data> {
   public LoadData<Data> buildLoadData(Model model, int width, int height,
       Options options) {
     Key sourceKey = null;
+    LoadData<Data> first = null;
+    // Typically only one of the loaders handles the model, so the list of fetchers is only
+    // allocated if a second loader does too.
+    List<DataFetcher<Data>> fetchers = null;
     int size = modelLoaders.size();
-    List<DataFetcher<Data>> fetchers = new ArrayList<>(size);
     for (int i = 0; i < size; i++) {
       ModelLoader<Model, Data> modelLoader = modelLoaders.get(i);
       if (modelLoader.handles(model)) {
         LoadData<Data> loadData = modelLoader.buildLoadData(model, width, height, options);
-        if (loadData != null) {
-          sourceKey = loadData.sourceKey;
+        if (loadData == null) {
+          continue;
+        }
+        sourceKey = loadData.sourceKey;
+        if (first == null) {
+          first = loadData;
+        } else {
+          if (fetchers == null) {
+            fetchers = new ArrayList<>(size);
+            fetchers.add(first.fetcher);
+          }
           fetchers.add(loadData.fetcher);
         }
       }
     }
-    return !fetchers.isEmpty()
-        ? new LoadData<>(sourceKey, new MultiFetcher<>(fetchers, exceptionListPool)) : null;
+    if (first == null) {
+      return null;
+    } else if (fetchers == null) {
+      return first.alternateKeys.isEmpty() ? first : new LoadData<>(sourceKey, first.fetcher);
+    }
+    return new LoadData<>(sourceKey, new MultiFetcher<>(fetchers, exceptionListPool));
   }
 
   @Override
@@ -21,7 +21,8 @@ public class ByteBufferBitmapDecoder implements ResourceDecoder<ByteBuffer, Bitm
 
   @Override
   public boolean handles(ByteBuffer source, Options options) throws IOException {
-    return downsampler.handles(source);
+    // Exif thumbnail loads fail rather than falling back to decoding the full image.
+    return !options.get(ExifThumbnailDecoder.EXIF_THUMBNAIL) && downsampler.handles(source);
   }
 
   @Override
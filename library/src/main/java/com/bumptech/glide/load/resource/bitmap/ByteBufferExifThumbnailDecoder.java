@@ -0,0 +1,32 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import android.graphics.Bitmap;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceDecoder;
+import com.bumptech.glide.load.engine.Resource;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes exif thumbnails from {@link java.nio.ByteBuffer ByteBuffers}.
+ *
+ * @see ExifThumbnailDecoder
+ */
+public class ByteBufferExifThumbnailDecoder implements ResourceDecoder<ByteBuffer, Bitmap> {
+  private final ExifThumbnailDecoder thumbnailDecoder;
+
+  public ByteBufferExifThumbnailDecoder(ExifThumbnailDecoder thumbnailDecoder) {
+    this.thumbnailDecoder = thumbnailDecoder;
+  }
+
+  @Override
+  public boolean handles(ByteBuffer source, Options options) {
+    return thumbnailDecoder.handles(options);
+  }
+
+  @Override
+  public Resource<Bitmap> decode(ByteBuffer source, int width, int height, Options options)
+      throws IOException {
+    return thumbnailDecoder.decode(source, options);
+  }
+}
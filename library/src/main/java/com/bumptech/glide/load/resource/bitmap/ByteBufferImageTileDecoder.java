@@ -0,0 +1,32 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import android.graphics.Bitmap;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceDecoder;
+import com.bumptech.glide.load.engine.Resource;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes {@link ImageTile}s from {@link java.nio.ByteBuffer ByteBuffers}.
+ *
+ * @see ImageTileDecoder
+ */
+public class ByteBufferImageTileDecoder implements ResourceDecoder<ByteBuffer, Bitmap> {
+  private final ImageTileDecoder tileDecoder;
+
+  public ByteBufferImageTileDecoder(ImageTileDecoder tileDecoder) {
+    this.tileDecoder = tileDecoder;
+  }
+
+  @Override
+  public boolean handles(ByteBuffer source, Options options) {
+    return tileDecoder.handles(options);
+  }
+
+  @Override
+  public Resource<Bitmap> decode(ByteBuffer source, int width, int height, Options options)
+      throws IOException {
+    return tileDecoder.decode(source, options);
+  }
+}
@@ -0,0 +1,33 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import android.graphics.Bitmap;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceDecoder;
+import com.bumptech.glide.load.engine.Resource;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes only the visible region of center cropped {@link android.graphics.Bitmap Bitmaps} from
+ * {@link java.nio.ByteBuffer ByteBuffers}.
+ *
+ * @see CenterCropRegionDecoder
+ */
+public class ByteBufferRegionBitmapDecoder implements ResourceDecoder<ByteBuffer, Bitmap> {
+  private final CenterCropRegionDecoder regionDecoder;
+
+  public ByteBufferRegionBitmapDecoder(CenterCropRegionDecoder regionDecoder) {
+    this.regionDecoder = regionDecoder;
+  }
+
+  @Override
+  public boolean handles(ByteBuffer source, Options options) throws IOException {
+    return regionDecoder.handles(source, options);
+  }
+
+  @Override
+  public Resource<Bitmap> decode(ByteBuffer source, int width, int height, Options options)
+      throws IOException {
+    return regionDecoder.decode(source, width, height, options);
+  }
+}
@@ -0,0 +1,338 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.Rect;
+import android.os.Build;
+import android.support.annotation.Nullable;
+import android.util.DisplayMetrics;
+import android.util.Log;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.ImageHeaderParser;
+import com.bumptech.glide.load.ImageHeaderParser.ImageType;
+import com.bumptech.glide.load.ImageHeaderParserUtils;
+import com.bumptech.glide.load.ImageMetadata;
+import com.bumptech.glide.load.ImageMetadataCache;
+import com.bumptech.glide.load.Option;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.engine.Resource;
+import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
+import com.bumptech.glide.request.target.Target;
+import com.bumptech.glide.util.ByteBufferUtil;
+import com.bumptech.glide.util.Preconditions;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decodes only the centered region of an image that will be visible after {@link CenterCrop} is
+ * applied, using {@link BitmapRegionDecoder}.
+ *
+ * <p>{@link Downsampler} decodes the entire image and {@link CenterCrop} then discards the parts
+ * that don't match the requested aspect ratio. For wide panoramas or tall screenshots displayed in
+ * square views most of the decoded pixels are thrown away. Decoding only the visible region avoids
+ * both the decode time and the memory for those pixels.
+ *
+ * <p>This class only decodes images when {@link #DECODE_CENTER_CROP_REGION} is {@code true}, the
+ * image is a JPEG, PNG or WebP and cropping would discard a meaningful portion of the image.
+ * Otherwise {@link #decode(InputStream, int, int, Options)} returns {@code null} without consuming
+ * the stream past its mark so that the next decoder, typically one using {@link Downsampler}, can
+ * decode the image instead. The image's dimensions and orientation are added to the
+ * {@link ImageMetadataCache} either way, so that {@link Downsampler} doesn't need to read them
+ * again.
+ */
+public final class CenterCropRegionDecoder {
+  private static final String TAG = "CenterCropRegion";
+  /**
+   * Indicates that the decoded image will be center cropped to the aspect ratio of the requested
+   * dimensions, so only the centered region matching that aspect ratio needs to be decoded.
+   *
+   * <p>Set automatically by {@link com.bumptech.glide.request.RequestOptions} when
+   * {@link CenterCrop} is the {@link Bitmap} transformation.
+   */
+  public static final Option<Boolean> DECODE_CENTER_CROP_REGION = Option.memory(
+      "com.bumptech.glide.load.resource.bitmap.CenterCropRegionDecoder.DecodeCenterCropRegion",
+      false);
+
+  // Below this fraction of the source area, it's cheaper to decode the region than to decode and
+  // then crop the full image. Above it, Downsampler's use of the BitmapPool wins.
+  private static final float MAX_REGION_AREA_FRACTION = 0.75f;
+  // 5MB. This is the max image header size we can handle, we preallocate a much smaller buffer but
+  // will resize up to this amount if necessary.
+  private static final int MARK_POSITION = 5 * 1024 * 1024;
+  private static final Set<ImageType> SUPPORTED_TYPES =
+      Collections.unmodifiableSet(
+          EnumSet.of(
+              ImageType.JPEG,
+              ImageType.PNG_A,
+              ImageType.PNG,
+              ImageType.WEBP_A,
+              ImageType.WEBP
+          )
+      );
+
+  private final List<ImageHeaderParser> parsers;
+  private final DisplayMetrics displayMetrics;
+  private final BitmapPool bitmapPool;
+  private final ArrayPool byteArrayPool;
+  private final ImageMetadataCache metadataCache;
+
+  public CenterCropRegionDecoder(List<ImageHeaderParser> parsers, DisplayMetrics displayMetrics,
+      BitmapPool bitmapPool, ArrayPool byteArrayPool) {
+    this(parsers, displayMetrics, bitmapPool, byteArrayPool, new ImageMetadataCache());
+  }
+
+  /**
+   * @param metadataCache Caches the dimensions and orientation of decoded images, shared with
+   *                      {@link Downsampler}.
+   */
+  public CenterCropRegionDecoder(List<ImageHeaderParser> parsers, DisplayMetrics displayMetrics,
+      BitmapPool bitmapPool, ArrayPool byteArrayPool, ImageMetadataCache metadataCache) {
+    this.parsers = parsers;
+    this.displayMetrics = Preconditions.checkNotNull(displayMetrics);
+    this.bitmapPool = Preconditions.checkNotNull(bitmapPool);
+    this.byteArrayPool = Preconditions.checkNotNull(byteArrayPool);
+    this.metadataCache = Preconditions.checkNotNull(metadataCache);
+  }
+
+  public boolean handles(InputStream is, Options options) throws IOException {
+    return options.get(DECODE_CENTER_CROP_REGION)
+        && !options.get(ExifThumbnailDecoder.EXIF_THUMBNAIL)
+        && SUPPORTED_TYPES.contains(ImageHeaderParserUtils.getType(parsers, is, byteArrayPool));
+  }
+
+  public boolean handles(ByteBuffer byteBuffer, Options options) throws IOException {
+    return options.get(DECODE_CENTER_CROP_REGION)
+        && !options.get(ExifThumbnailDecoder.EXIF_THUMBNAIL)
+        && SUPPORTED_TYPES.contains(ImageHeaderParserUtils.getType(parsers, byteBuffer));
+  }
+
+  /**
+   * Returns a {@link Bitmap} containing the centered region of the image in the given
+   * {@link ByteBuffer} with the aspect ratio of the requested dimensions, or {@code null} if the
+   * image should be decoded in full instead.
+   */
+  @Nullable
+  public Resource<Bitmap> decode(ByteBuffer byteBuffer, int requestedWidth, int requestedHeight,
+      Options options) throws IOException {
+    if (!byteBuffer.hasArray()) {
+      return decode(ByteBufferUtil.toStream(byteBuffer), requestedWidth, requestedHeight, options);
+    }
+    byte[] data = byteBuffer.array();
+    int offset = byteBuffer.arrayOffset() + byteBuffer.position();
+    int length = byteBuffer.remaining();
+
+    ImageMetadata metadata = metadataCache.get(options);
+    if (metadata == null || !metadata.hasDimensions()) {
+      BitmapFactory.Options boundsOptions = new BitmapFactory.Options();
+      boundsOptions.inJustDecodeBounds = true;
+      BitmapFactory.decodeByteArray(data, offset, length, boundsOptions);
+      int orientation = ImageHeaderParserUtils.getOrientation(
+          parsers, ByteBufferUtil.toStream(byteBuffer), byteArrayPool);
+      metadata = putMetadata(options, boundsOptions, orientation);
+    }
+    Rect region = getRegion(metadata.getWidth(), metadata.getHeight(), metadata.getOrientation(),
+        requestedWidth, requestedHeight);
+    if (region == null) {
+      return null;
+    }
+
+    ImageType type = metadataCache.getType(options);
+    if (type == null) {
+      type = ImageHeaderParserUtils.getType(parsers, byteBuffer);
+      metadataCache.putType(options, type);
+    }
+    BitmapRegionDecoder decoder =
+        BitmapRegionDecoder.newInstance(data, offset, length, false /*isShareable*/);
+    return decodeRegion(decoder, region, type, metadata.getOrientation(), requestedWidth,
+        requestedHeight, options);
+  }
+
+  /**
+   * Returns a {@link Bitmap} containing the centered region of the image in the given
+   * {@link InputStream} with the aspect ratio of the requested dimensions, or {@code null} if the
+   * image should be decoded in full instead.
+   *
+   * <p>The given {@link InputStream} must support {@link InputStream#mark(int)}. If {@code null} is
+   * returned, the stream is reset to its position when this method was called.
+   */
+  @Nullable
+  public Resource<Bitmap> decode(InputStream is, int requestedWidth, int requestedHeight,
+      Options options) throws IOException {
+    Preconditions.checkArgument(is.markSupported(), "You must provide an InputStream that supports"
+        + " mark()");
+
+    ImageMetadata metadata = metadataCache.get(options);
+    if (metadata == null || !metadata.hasDimensions()) {
+      BitmapFactory.Options boundsOptions = new BitmapFactory.Options();
+      boundsOptions.inJustDecodeBounds = true;
+      is.mark(MARK_POSITION);
+      BitmapFactory.decodeStream(is, null, boundsOptions);
+      is.reset();
+      int orientation = ImageHeaderParserUtils.getOrientation(parsers, is, byteArrayPool);
+      metadata = putMetadata(options, boundsOptions, orientation);
+    }
+    Rect region = getRegion(metadata.getWidth(), metadata.getHeight(), metadata.getOrientation(),
+        requestedWidth, requestedHeight);
+    if (region == null) {
+      return null;
+    }
+
+    ImageType type = metadataCache.getType(options);
+    if (type == null) {
+      type = ImageHeaderParserUtils.getType(parsers, is, byteArrayPool);
+      metadataCache.putType(options, type);
+    }
+    BitmapRegionDecoder decoder = BitmapRegionDecoder.newInstance(is, false /*isShareable*/);
+    return decodeRegion(decoder, region, type, metadata.getOrientation(), requestedWidth,
+        requestedHeight, options);
+  }
+
+  private ImageMetadata putMetadata(Options options, BitmapFactory.Options boundsOptions,
+      int orientation) {
+    ImageMetadata metadata = new ImageMetadata(boundsOptions.outWidth, boundsOptions.outHeight,
+        boundsOptions.outMimeType, orientation);
+    // If BitmapFactory was unable to parse the size, there's nothing worth caching.
+    if (boundsOptions.outWidth > 0 && boundsOptions.outHeight > 0) {
+      metadataCache.put(options, metadata);
+    }
+    return metadata;
+  }
+
+  private Resource<Bitmap> decodeRegion(BitmapRegionDecoder decoder, Rect region, ImageType type,
+      int orientation, int requestedWidth, int requestedHeight, Options options)
+      throws IOException {
+    int[] target = getTarget(region.width(), region.height(), orientation, requestedWidth,
+        requestedHeight);
+    BitmapFactory.Options decodeOptions = new BitmapFactory.Options();
+    decodeOptions.inSampleSize = getSampleSize(region.width(), region.height(), target[0],
+        target[1]);
+    decodeOptions.inPreferredConfig = getConfig(type, options.get(Downsampler.DECODE_FORMAT));
+    if (decodeOptions.inPreferredConfig != Bitmap.Config.ARGB_8888) {
+      decodeOptions.inDither = true;
+    }
+    // BitmapRegionDecoder draws into inBitmap without changing its size, clipping anything that
+    // doesn't fit. Rounding down means at most a row or column is clipped, and every pixel of the
+    // Bitmap is overwritten because the region is always within the image, so getDirty is safe.
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+      int sampledWidth = Math.max(1, region.width() / decodeOptions.inSampleSize);
+      int sampledHeight = Math.max(1, region.height() / decodeOptions.inSampleSize);
+      decodeOptions.inBitmap =
+          bitmapPool.getDirty(sampledWidth, sampledHeight, decodeOptions.inPreferredConfig);
+    }
+
+    Bitmap decoded;
+    TransformationUtils.getBitmapDrawableLock().lock();
+    try {
+      try {
+        decoded = decoder.decodeRegion(region, decodeOptions);
+      } catch (IllegalArgumentException e) {
+        if (decodeOptions.inBitmap == null) {
+          throw e;
+        }
+        // The pooled Bitmap couldn't be reused, so decode into a new Bitmap instead.
+        bitmapPool.put(decodeOptions.inBitmap);
+        decodeOptions.inBitmap = null;
+        decoded = decoder.decodeRegion(region, decodeOptions);
+      }
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Exception decoding region: " + region, e);
+    } finally {
+      TransformationUtils.getBitmapDrawableLock().unlock();
+      decoder.recycle();
+    }
+    if (decoded == null) {
+      if (decodeOptions.inBitmap != null) {
+        bitmapPool.put(decodeOptions.inBitmap);
+      }
+      throw new IOException("Failed to decode region: " + region);
+    }
+
+    if (Log.isLoggable(TAG, Log.VERBOSE)) {
+      Log.v(TAG, "Decoded [" + decoded.getWidth() + "x" + decoded.getHeight() + "]"
+          + " from region " + region
+          + " for [" + requestedWidth + "x" + requestedHeight + "]"
+          + ", sample size: " + decodeOptions.inSampleSize);
+    }
+
+    decoded.setDensity(displayMetrics.densityDpi);
+    Bitmap rotated = TransformationUtils.rotateImageExif(bitmapPool, decoded, orientation);
+    if (!decoded.equals(rotated)) {
+      bitmapPool.put(decoded);
+    }
+    return BitmapResource.obtain(rotated, bitmapPool);
+  }
+
+  /**
+   * Returns the centered region, in the coordinates of the image before any EXIF rotation, that
+   * matches the aspect ratio of the requested dimensions, or {@code null} if the region isn't
+   * small enough to be worth decoding separately.
+   */
+  // Visible for testing.
+  @Nullable
+  static Rect getRegion(int sourceWidth, int sourceHeight, int orientation, int requestedWidth,
+      int requestedHeight) {
+    if (sourceWidth <= 0 || sourceHeight <= 0) {
+      return null;
+    }
+    int[] target =
+        getTarget(sourceWidth, sourceHeight, orientation, requestedWidth, requestedHeight);
+    int targetWidth = target[0];
+    int targetHeight = target[1];
+
+    // Matches the scale TransformationUtils#centerCrop will apply.
+    final float scale;
+    if (sourceWidth * (long) targetHeight > targetWidth * (long) sourceHeight) {
+      scale = targetHeight / (float) sourceHeight;
+    } else {
+      scale = targetWidth / (float) sourceWidth;
+    }
+    int regionWidth = Math.min(sourceWidth, Math.round(targetWidth / scale));
+    int regionHeight = Math.min(sourceHeight, Math.round(targetHeight / scale));
+    if (regionWidth * (long) regionHeight
+        > MAX_REGION_AREA_FRACTION * sourceWidth * (long) sourceHeight) {
+      return null;
+    }
+
+    int left = (sourceWidth - regionWidth) / 2;
+    int top = (sourceHeight - regionHeight) / 2;
+    return new Rect(left, top, left + regionWidth, top + regionHeight);
+  }
+
+  // Returns the requested dimensions in the coordinates of the image before any EXIF rotation.
+  private static int[] getTarget(int sourceWidth, int sourceHeight, int orientation,
+      int requestedWidth, int requestedHeight) {
+    int targetWidth = requestedWidth == Target.SIZE_ORIGINAL ? sourceWidth : requestedWidth;
+    int targetHeight = requestedHeight == Target.SIZE_ORIGINAL ? sourceHeight : requestedHeight;
+    int degreesToRotate = TransformationUtils.getExifOrientationDegrees(orientation);
+    if (degreesToRotate == 90 || degreesToRotate == 270) {
+      //noinspection SuspiciousNameCombination
+      return new int[] { targetHeight, targetWidth };
+    }
+    return new int[] { targetWidth, targetHeight };
+  }
+
+  // Visible for testing.
+  static int getSampleSize(int regionWidth, int regionHeight, int targetWidth,
+      int targetHeight) {
+    // Never decode fewer pixels than we need to fill the target, CenterCrop will scale down.
+    int scaleFactor = Math.min(regionWidth / targetWidth, regionHeight / targetHeight);
+    return Math.max(1, Integer.highestOneBit(scaleFactor));
+  }
+
+  private static Bitmap.Config getConfig(ImageType type, DecodeFormat format) {
+    // Changing configs can cause skewing on 4.1, see issue #128.
+    if (format == DecodeFormat.PREFER_ARGB_8888
+        || Build.VERSION.SDK_INT == Build.VERSION_CODES.JELLY_BEAN
+        || type.hasAlpha()) {
+      return Bitmap.Config.ARGB_8888;
+    }
+    return Bitmap.Config.RGB_565;
+  }
+}
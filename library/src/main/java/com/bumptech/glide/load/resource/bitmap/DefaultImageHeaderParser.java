@@ -6,6 +6,7 @@ import static com.bumptech.glide.load.ImageHeaderParser.ImageType.PNG;
 import static com.bumptech.glide.load.ImageHeaderParser.ImageType.PNG_A;
 import static com.bumptech.glide.load.ImageHeaderParser.ImageType.UNKNOWN;
 
+import android.support.annotation.Nullable;
 import android.util.Log;
 import com.bumptech.glide.load.ImageHeaderParser;
 import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
@@ -18,6 +19,9 @@ import java.nio.charset.Charset;
 
 /**
  * A class for parsing the exif orientation and other data from an image header.
+ *
+ * <p>{@link ByteBuffer}s, including direct and memory mapped buffers, are parsed in place using
+ * absolute reads without copying their contents or modifying their position, limit or byte order.
  */
 public final class DefaultImageHeaderParser implements ImageHeaderParser {
   // Due to https://code.google.com/p/android/issues/detail?id=97751.
@@ -36,9 +40,12 @@ public final class DefaultImageHeaderParser implements ImageHeaderParser {
       JPEG_EXIF_SEGMENT_PREAMBLE.getBytes(Charset.forName("UTF-8"));
   private static final int SEGMENT_SOS = 0xDA;
   private static final int MARKER_EOI = 0xD9;
+  private static final int MARKER_SOI = 0xD8;
   static final int SEGMENT_START_ID = 0xFF;
   static final int EXIF_SEGMENT_TYPE = 0xE1;
   private static final int ORIENTATION_TAG_TYPE = 0x0112;
+  private static final int JPEG_INTERCHANGE_FORMAT_TAG_TYPE = 0x0201;
+  private static final int JPEG_INTERCHANGE_FORMAT_LENGTH_TAG_TYPE = 0x0202;
   private static final int[] BYTES_PER_FORMAT = { 0, 1, 1, 2, 4, 8, 1, 1, 2, 4, 8, 4, 8 };
   // WebP-related
   // "RIFF"
@@ -63,7 +70,7 @@ public final class DefaultImageHeaderParser implements ImageHeaderParser {
 
   @Override
   public ImageType getType(ByteBuffer byteBuffer) throws IOException {
-    return getType(new ByteBufferReader(Preconditions.checkNotNull(byteBuffer)));
+    return getType(new RandomAccessReader(Preconditions.checkNotNull(byteBuffer)));
   }
 
   @Override
@@ -74,8 +81,8 @@ public final class DefaultImageHeaderParser implements ImageHeaderParser {
 
   @Override
   public int getOrientation(ByteBuffer byteBuffer, ArrayPool byteArrayPool) throws IOException {
-    return getOrientation(new ByteBufferReader(Preconditions.checkNotNull(byteBuffer)),
-        Preconditions.checkNotNull(byteArrayPool));
+    Preconditions.checkNotNull(byteArrayPool);
+    return getOrientation(new RandomAccessReader(Preconditions.checkNotNull(byteBuffer)));
   }
 
   private ImageType getType(Reader reader) throws IOException {
@@ -131,6 +138,200 @@ public final class DefaultImageHeaderParser implements ImageHeaderParser {
     return ImageType.WEBP;
   }
 
+  /**
+   * Equivalent to {@link #getType(Reader)}, but reads the header directly from the given
+   * {@link RandomAccessReader} rather than one byte at a time.
+   */
+  private static ImageType getType(RandomAccessReader reader) {
+    int firstTwoBytes = reader.getUInt16(0);
+
+    // JPEG.
+    if (firstTwoBytes == EXIF_MAGIC_NUMBER) {
+      return JPEG;
+    }
+
+    final int firstFourBytes = reader.getUInt32(0);
+    // PNG.
+    if (firstFourBytes == PNG_HEADER) {
+      // The color type immediately follows the bit depth in the IHDR chunk.
+      int alpha = reader.getByte(25);
+      // A RGB indexed PNG can also have transparency. Better safe than sorry!
+      return alpha >= 3 ? PNG_A : PNG;
+    }
+
+    // GIF from first 3 bytes.
+    if (firstFourBytes >> 8 == GIF_HEADER) {
+      return GIF;
+    }
+
+    // WebP (reads up to 21 bytes). Bytes 4 - 7 contain length information.
+    if (firstFourBytes != RIFF_HEADER || reader.getUInt32(8) != WEBP_HEADER) {
+      return UNKNOWN;
+    }
+    final int fourthFourBytes = reader.getUInt32(12);
+    if ((fourthFourBytes & VP8_HEADER_MASK) != VP8_HEADER) {
+      return UNKNOWN;
+    }
+    if ((fourthFourBytes & VP8_HEADER_TYPE_MASK) == VP8_HEADER_TYPE_EXTENDED) {
+      return (reader.getByte(20) & WEBP_EXTENDED_ALPHA_FLAG) != 0
+          ? ImageType.WEBP_A : ImageType.WEBP;
+    }
+    if ((fourthFourBytes & VP8_HEADER_TYPE_MASK) == VP8_HEADER_TYPE_LOSSLESS) {
+      return (reader.getByte(20) & WEBP_LOSSLESS_ALPHA_FLAG) != 0
+          ? ImageType.WEBP_A : ImageType.WEBP;
+    }
+    return ImageType.WEBP;
+  }
+
+  /**
+   * Equivalent to {@link #getOrientation(Reader, ArrayPool)}, but walks the segments in the given
+   * {@link RandomAccessReader} by offset and parses the exif segment in place rather than copying
+   * it into a temporary array.
+   */
+  private static int getOrientation(RandomAccessReader reader) {
+    RandomAccessReader segmentData = findExifSegment(reader);
+    return segmentData != null ? parseExifSegment(segmentData) : UNKNOWN_ORIENTATION;
+  }
+
+  /**
+   * Returns the JPEG thumbnail embedded in the exif segment of the JPEG in the given
+   * {@link ByteBuffer}, or {@code null} if the image doesn't contain one.
+   *
+   * <p>The thumbnail is stored in the second IFD of the exif segment, so it's found by skipping
+   * over the entries in the first IFD rather than parsing them. The returned {@link ByteBuffer}
+   * shares its contents with the given {@link ByteBuffer}.
+   */
+  @Nullable
+  static ByteBuffer getExifThumbnail(ByteBuffer byteBuffer) {
+    RandomAccessReader reader = new RandomAccessReader(Preconditions.checkNotNull(byteBuffer));
+    if (reader.getUInt16(0) != EXIF_MAGIC_NUMBER) {
+      return null;
+    }
+    RandomAccessReader segmentData = findExifSegment(reader);
+    if (segmentData == null) {
+      return null;
+    }
+    final int headerOffsetSize = JPEG_EXIF_SEGMENT_PREAMBLE.length();
+    segmentData.order(getTiffByteOrder(segmentData, headerOffsetSize));
+
+    int firstIfdOffset = segmentData.getInt32(headerOffsetSize + 4) + headerOffsetSize;
+    int firstIfdTagCount = segmentData.getInt16(firstIfdOffset);
+    if (firstIfdTagCount < 0) {
+      return null;
+    }
+    // The offset of the next IFD immediately follows the last entry in the current IFD.
+    int secondIfdOffset = segmentData.getInt32(calcTagOffset(firstIfdOffset, firstIfdTagCount));
+    if (secondIfdOffset <= 0) {
+      return null;
+    }
+    secondIfdOffset += headerOffsetSize;
+    int secondIfdTagCount = segmentData.getInt16(secondIfdOffset);
+
+    int thumbnailOffset = -1;
+    int thumbnailLength = -1;
+    int tagOffset, tagType;
+    for (int i = 0; i < secondIfdTagCount; i++) {
+      tagOffset = calcTagOffset(secondIfdOffset, i);
+      tagType = segmentData.getInt16(tagOffset);
+      if (tagType == JPEG_INTERCHANGE_FORMAT_TAG_TYPE) {
+        thumbnailOffset = segmentData.getInt32(tagOffset + 8);
+      } else if (tagType == JPEG_INTERCHANGE_FORMAT_LENGTH_TAG_TYPE) {
+        thumbnailLength = segmentData.getInt32(tagOffset + 8);
+      }
+    }
+    if (thumbnailOffset <= 0 || thumbnailLength <= 0) {
+      return null;
+    }
+    int thumbnailStart = thumbnailOffset + headerOffsetSize;
+    if (!segmentData.isAvailable(thumbnailStart, thumbnailLength)
+        // The marker is read byte by byte because the reader uses the exif segment's byte order.
+        || (segmentData.getByte(thumbnailStart) & 0xFF) != SEGMENT_START_ID
+        || (segmentData.getByte(thumbnailStart + 1) & 0xFF) != MARKER_SOI) {
+      if (Log.isLoggable(TAG, Log.DEBUG)) {
+        Log.d(TAG, "Invalid exif thumbnail"
+            + ", offset: " + thumbnailOffset
+            + ", length: " + thumbnailLength);
+      }
+      return null;
+    }
+    return segmentData.getBytes(thumbnailStart, thumbnailLength);
+  }
+
+  /**
+   * Returns a {@link RandomAccessReader} for the exif segment, including the exif preamble, in the
+   * given {@link RandomAccessReader}, or {@code null} if the image doesn't contain one.
+   */
+  @Nullable
+  private static RandomAccessReader findExifSegment(RandomAccessReader reader) {
+    final int magicNumber = reader.getUInt16(0);
+    if (!handles(magicNumber)) {
+      if (Log.isLoggable(TAG, Log.DEBUG)) {
+        Log.d(TAG, "Parser doesn't handle magic number: " + magicNumber);
+      }
+      return null;
+    }
+
+    int offset = 2;
+    while (true) {
+      // Each segment starts with a segment id, a type and a two byte length.
+      if (!reader.isAvailable(offset, 4)) {
+        if (Log.isLoggable(TAG, Log.DEBUG)) {
+          Log.d(TAG, "Failed to parse exif segment length, or exif segment not found");
+        }
+        return null;
+      }
+      int segmentId = reader.getByte(offset) & 0xFF;
+      if (segmentId != SEGMENT_START_ID) {
+        if (Log.isLoggable(TAG, Log.DEBUG)) {
+          Log.d(TAG, "Unknown segmentId=" + segmentId);
+        }
+        return null;
+      }
+      int segmentType = reader.getByte(offset + 1) & 0xFF;
+      if (segmentType == SEGMENT_SOS || segmentType == MARKER_EOI) {
+        return null;
+      }
+
+      // Segment length includes bytes for segment length.
+      int segmentLength = reader.getUInt16(offset + 2) - 2;
+      int segmentStart = offset + 4;
+      if (segmentLength < 0 || !reader.isAvailable(segmentStart, segmentLength)) {
+        if (Log.isLoggable(TAG, Log.DEBUG)) {
+          Log.d(TAG, "Segment extends beyond available data"
+              + ", type: " + segmentType
+              + ", length: " + segmentLength
+              + ", available: " + (reader.length() - segmentStart));
+        }
+        return null;
+      }
+
+      if (segmentType != EXIF_SEGMENT_TYPE) {
+        offset = segmentStart + segmentLength;
+      } else {
+        RandomAccessReader segmentData = reader.slice(segmentStart, segmentLength);
+        if (!hasJpegExifPreamble(segmentData)) {
+          if (Log.isLoggable(TAG, Log.DEBUG)) {
+            Log.d(TAG, "Missing jpeg exif preamble");
+          }
+          return null;
+        }
+        return segmentData;
+      }
+    }
+  }
+
+  private static boolean hasJpegExifPreamble(RandomAccessReader segmentData) {
+    if (segmentData.length() <= JPEG_EXIF_SEGMENT_PREAMBLE_BYTES.length) {
+      return false;
+    }
+    for (int i = 0; i < JPEG_EXIF_SEGMENT_PREAMBLE_BYTES.length; i++) {
+      if (segmentData.getByte(i) != JPEG_EXIF_SEGMENT_PREAMBLE_BYTES[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Parse the orientation from the image header. If it doesn't handle this image type (or this is
    * not an image) it will return a default value rather than throwing an exception.
@@ -251,21 +452,7 @@ public final class DefaultImageHeaderParser implements ImageHeaderParser {
 
   private static int parseExifSegment(RandomAccessReader segmentData) {
     final int headerOffsetSize = JPEG_EXIF_SEGMENT_PREAMBLE.length();
-
-    short byteOrderIdentifier = segmentData.getInt16(headerOffsetSize);
-    final ByteOrder byteOrder;
-    if (byteOrderIdentifier == MOTOROLA_TIFF_MAGIC_NUMBER) {
-      byteOrder = ByteOrder.BIG_ENDIAN;
-    } else if (byteOrderIdentifier == INTEL_TIFF_MAGIC_NUMBER) {
-      byteOrder = ByteOrder.LITTLE_ENDIAN;
-    } else {
-      if (Log.isLoggable(TAG, Log.DEBUG)) {
-        Log.d(TAG, "Unknown endianness = " + byteOrderIdentifier);
-      }
-      byteOrder = ByteOrder.BIG_ENDIAN;
-    }
-
-    segmentData.order(byteOrder);
+    segmentData.order(getTiffByteOrder(segmentData, headerOffsetSize));
 
     int firstIfdOffset = segmentData.getInt32(headerOffsetSize + 4) + headerOffsetSize;
     int tagCount = segmentData.getInt16(firstIfdOffset);
@@ -336,6 +523,20 @@ public final class DefaultImageHeaderParser implements ImageHeaderParser {
     return -1;
   }
 
+  private static ByteOrder getTiffByteOrder(RandomAccessReader segmentData, int headerOffsetSize) {
+    short byteOrderIdentifier = segmentData.getInt16(headerOffsetSize);
+    if (byteOrderIdentifier == MOTOROLA_TIFF_MAGIC_NUMBER) {
+      return ByteOrder.BIG_ENDIAN;
+    } else if (byteOrderIdentifier == INTEL_TIFF_MAGIC_NUMBER) {
+      return ByteOrder.LITTLE_ENDIAN;
+    } else {
+      if (Log.isLoggable(TAG, Log.DEBUG)) {
+        Log.d(TAG, "Unknown endianness = " + byteOrderIdentifier);
+      }
+      return ByteOrder.BIG_ENDIAN;
+    }
+  }
+
   private static int calcTagOffset(int ifdOffset, int tagIndex) {
     return ifdOffset + 2 + 12 * tagIndex;
   }
@@ -355,6 +556,14 @@ public final class DefaultImageHeaderParser implements ImageHeaderParser {
           .limit(length);
     }
 
+    /**
+     * Reads the remaining bytes in the given {@link ByteBuffer} without copying them or modifying
+     * the given {@link ByteBuffer}.
+     */
+    RandomAccessReader(ByteBuffer data) {
+      this.data = data.slice().order(ByteOrder.BIG_ENDIAN);
+    }
+
     void order(ByteOrder byteOrder) {
       this.data.order(byteOrder);
     }
@@ -371,62 +580,62 @@ public final class DefaultImageHeaderParser implements ImageHeaderParser {
       return isAvailable(offset, 2) ? data.getShort(offset) : -1;
     }
 
-    private boolean isAvailable(int offset, int byteSize) {
-      return data.remaining() - offset >= byteSize;
+    /**
+     * Returns the signed byte at the given offset, or -1 if the offset is out of bounds.
+     */
+    int getByte(int offset) {
+      return isAvailable(offset, 1) ? data.get(offset) : -1;
     }
-  }
-
-  private interface Reader {
-    int getUInt16() throws IOException;
-    short getUInt8() throws IOException;
-    long skip(long total) throws IOException;
-    int read(byte[] buffer, int byteCount) throws IOException;
-    int getByte() throws IOException;
-  }
-
-  private static final class ByteBufferReader implements Reader {
-
-    private final ByteBuffer byteBuffer;
 
-    ByteBufferReader(ByteBuffer byteBuffer) {
-      this.byteBuffer = byteBuffer;
-      byteBuffer.order(ByteOrder.BIG_ENDIAN);
+    /**
+     * Returns the big endian unsigned short at the given offset, reading any out of bounds bytes
+     * as 0xFF to match {@link Reader#getUInt16()}.
+     */
+    int getUInt16(int offset) {
+      return isAvailable(offset, 2) ? data.getShort(offset) & 0xFFFF
+          : (getByte(offset) << 8 & 0xFF00) | (getByte(offset + 1) & 0xFF);
     }
 
-    @Override
-    public int getUInt16() throws IOException {
-      return (getByte() << 8 & 0xFF00) | (getByte() & 0xFF);
+    /**
+     * Returns the big endian int at the given offset, reading any out of bounds bytes as 0xFF.
+     */
+    int getUInt32(int offset) {
+      return isAvailable(offset, 4) ? data.getInt(offset)
+          : getUInt16(offset) << 16 & 0xFFFF0000 | getUInt16(offset + 2) & 0xFFFF;
     }
 
-    @Override
-    public short getUInt8() throws IOException {
-      return (short) (getByte() & 0xFF);
+    /**
+     * Returns a {@link RandomAccessReader} for the given range of this reader that shares its
+     * data.
+     */
+    RandomAccessReader slice(int offset, int length) {
+      ByteBuffer range = data.duplicate();
+      range.limit(offset + length);
+      range.position(offset);
+      return new RandomAccessReader(range);
     }
 
-    @Override
-    public long skip(long total) throws IOException {
-      int toSkip = (int) Math.min(byteBuffer.remaining(), total);
-      byteBuffer.position(byteBuffer.position() + toSkip);
-      return toSkip;
+    /**
+     * Returns a {@link ByteBuffer} for the given range of this reader that shares its data.
+     */
+    ByteBuffer getBytes(int offset, int length) {
+      ByteBuffer range = data.duplicate();
+      range.limit(offset + length);
+      range.position(offset);
+      return range.slice();
     }
 
-    @Override
-    public int read(byte[] buffer, int byteCount) throws IOException {
-      int toRead = Math.min(byteCount, byteBuffer.remaining());
-      if (toRead == 0) {
-        return -1;
-      }
-      byteBuffer.get(buffer, 0 /*dstOffset*/, toRead);
-      return toRead;
+    boolean isAvailable(int offset, int byteSize) {
+      return offset >= 0 && data.remaining() - offset >= byteSize;
     }
+  }
 
-    @Override
-    public int getByte() throws IOException {
-      if (byteBuffer.remaining() < 1) {
-        return -1;
-      }
-      return byteBuffer.get();
-    }
+  private interface Reader {
+    int getUInt16() throws IOException;
+    short getUInt8() throws IOException;
+    long skip(long total) throws IOException;
+    int read(byte[] buffer, int byteCount) throws IOException;
+    int getByte() throws IOException;
   }
 
   private static final class StreamReader implements Reader {
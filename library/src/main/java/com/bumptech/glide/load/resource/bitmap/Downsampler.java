@@ -7,9 +7,12 @@ import android.os.Build;
 import android.support.annotation.Nullable;
 import android.util.DisplayMetrics;
 import android.util.Log;
+import com.bumptech.glide.load.BitmapDecoderBackend;
 import com.bumptech.glide.load.DecodeFormat;
 import com.bumptech.glide.load.ImageHeaderParser;
 import com.bumptech.glide.load.ImageHeaderParserUtils;
+import com.bumptech.glide.load.ImageMetadata;
+import com.bumptech.glide.load.ImageMetadataCache;
 import com.bumptech.glide.load.Option;
 import com.bumptech.glide.load.Options;
 import com.bumptech.glide.load.engine.Resource;
@@ -17,6 +20,7 @@ import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
 import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
 import com.bumptech.glide.load.resource.bitmap.DownsampleStrategy.SampleSizeRounding;
 import com.bumptech.glide.request.target.Target;
+import com.bumptech.glide.util.LogTime;
 import com.bumptech.glide.util.Preconditions;
 import com.bumptech.glide.util.Util;
 import java.io.IOException;
@@ -103,13 +107,35 @@ public final class Downsampler {
   private final DisplayMetrics displayMetrics;
   private final ArrayPool byteArrayPool;
   private final List<ImageHeaderParser> parsers;
+  private final ImageMetadataCache metadataCache;
+  private final List<BitmapDecoderBackend> backends;
 
   public Downsampler(List<ImageHeaderParser> parsers, DisplayMetrics displayMetrics,
       BitmapPool bitmapPool, ArrayPool byteArrayPool) {
+    this(parsers, displayMetrics, bitmapPool, byteArrayPool, new ImageMetadataCache());
+  }
+
+  public Downsampler(List<ImageHeaderParser> parsers, DisplayMetrics displayMetrics,
+      BitmapPool bitmapPool, ArrayPool byteArrayPool, ImageMetadataCache metadataCache) {
+    this(parsers, displayMetrics, bitmapPool, byteArrayPool, metadataCache,
+        Collections.<BitmapDecoderBackend>emptyList());
+  }
+
+  /**
+   * @param metadataCache Caches the dimensions, mime type, orientation and type of decoded images
+   *                      so that decoding the same data again can skip reading the image header.
+   * @param backends      {@link BitmapDecoderBackend}s to try, in order, before falling back to
+   *                      {@link BitmapFactory} to decode the pixels of each image.
+   */
+  public Downsampler(List<ImageHeaderParser> parsers, DisplayMetrics displayMetrics,
+      BitmapPool bitmapPool, ArrayPool byteArrayPool, ImageMetadataCache metadataCache,
+      List<BitmapDecoderBackend> backends) {
     this.parsers = parsers;
     this.displayMetrics = Preconditions.checkNotNull(displayMetrics);
     this.bitmapPool = Preconditions.checkNotNull(bitmapPool);
     this.byteArrayPool = Preconditions.checkNotNull(byteArrayPool);
+    this.metadataCache = Preconditions.checkNotNull(metadataCache);
+    this.backends = Preconditions.checkNotNull(backends);
   }
 
   public boolean handles(InputStream is) {
@@ -173,7 +199,7 @@ public final class Downsampler {
     boolean fixBitmapToRequestedDimensions = options.get(FIX_BITMAP_SIZE_TO_REQUESTED_DIMENSIONS);
 
     try {
-      Bitmap result = decodeFromWrappedStreams(is, bitmapFactoryOptions,
+      Bitmap result = decodeFromWrappedStreams(is, options, bitmapFactoryOptions,
           downsampleStrategy, decodeFormat, requestedWidth, requestedHeight,
           fixBitmapToRequestedDimensions, callbacks);
       return BitmapResource.obtain(result, bitmapPool);
@@ -183,20 +209,40 @@ public final class Downsampler {
     }
   }
 
-  private Bitmap decodeFromWrappedStreams(InputStream is,
+  private Bitmap decodeFromWrappedStreams(InputStream is, Options glideOptions,
       BitmapFactory.Options options, DownsampleStrategy downsampleStrategy,
       DecodeFormat decodeFormat, int requestedWidth, int requestedHeight,
       boolean fixBitmapToRequestedDimensions, DecodeCallbacks callbacks) throws IOException {
 
-    int[] sourceDimensions = getDimensions(is, options, callbacks);
-    int sourceWidth = sourceDimensions[0];
-    int sourceHeight = sourceDimensions[1];
-    String sourceMimeType = options.outMimeType;
-
-    int orientation = ImageHeaderParserUtils.getOrientation(parsers, is, byteArrayPool);
+    final int sourceWidth;
+    final int sourceHeight;
+    final String sourceMimeType;
+    final int orientation;
+    ImageMetadata metadata = metadataCache.get(glideOptions);
+    if (metadata != null && metadata.hasDimensions()) {
+      // We've decoded this data before, so we can skip the bounds decode and the EXIF walk.
+      sourceWidth = metadata.getWidth();
+      sourceHeight = metadata.getHeight();
+      sourceMimeType = metadata.getMimeType();
+      orientation = metadata.getOrientation();
+      options.outWidth = sourceWidth;
+      options.outHeight = sourceHeight;
+      options.outMimeType = sourceMimeType;
+    } else {
+      int[] sourceDimensions = getDimensions(is, options, callbacks);
+      sourceWidth = sourceDimensions[0];
+      sourceHeight = sourceDimensions[1];
+      sourceMimeType = options.outMimeType;
+      orientation = ImageHeaderParserUtils.getOrientation(parsers, is, byteArrayPool);
+      // If BitmapFactory was unable to parse the size, there's nothing worth caching.
+      if (sourceWidth > 0 && sourceHeight > 0) {
+        metadataCache.put(glideOptions,
+            new ImageMetadata(sourceWidth, sourceHeight, sourceMimeType, orientation));
+      }
+    }
     int degreesToRotate = TransformationUtils.getExifOrientationDegrees(orientation);
 
-    options.inPreferredConfig = getConfig(is, decodeFormat);
+    options.inPreferredConfig = getConfig(is, glideOptions, decodeFormat);
     if (options.inPreferredConfig != Bitmap.Config.ARGB_8888) {
       options.inDither = true;
     }
@@ -210,7 +256,7 @@ public final class Downsampler {
     boolean isKitKatOrGreater = Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT;
     // Prior to KitKat, the inBitmap size must exactly match the size of the bitmap we're decoding.
     if ((options.inSampleSize == 1 || isKitKatOrGreater)
-        && shouldUsePool(is)) {
+        && shouldUsePool(is, glideOptions)) {
       int expectedWidth;
       int expectedHeight;
       if (fixBitmapToRequestedDimensions && isKitKatOrGreater) {
@@ -240,12 +286,14 @@ public final class Downsampler {
         setInBitmap(options, bitmapPool, expectedWidth, expectedHeight);
       }
     }
-    Bitmap downsampled = decodeStream(is, options, callbacks);
+    BitmapDecoderBackend backend = getBackend(is, glideOptions);
+    long startTime = LogTime.getLogTime();
+    Bitmap downsampled = decodeStream(is, options, callbacks, backend);
     callbacks.onDecodeComplete(bitmapPool, downsampled);
 
     if (Log.isLoggable(TAG, Log.VERBOSE)) {
       logDecode(sourceWidth, sourceHeight, sourceMimeType, options, downsampled,
-          requestedWidth, requestedHeight);
+          requestedWidth, requestedHeight, backend, startTime);
     }
 
     Bitmap rotated = null;
@@ -345,7 +393,7 @@ public final class Downsampler {
     }
   }
 
-  private boolean shouldUsePool(InputStream is) throws IOException {
+  private boolean shouldUsePool(InputStream is, Options glideOptions) throws IOException {
     // On KitKat+, any bitmap (of a given config) can be used to decode any other bitmap
     // (with the same config).
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
@@ -353,7 +401,7 @@ public final class Downsampler {
     }
 
     try {
-      ImageHeaderParser.ImageType type = ImageHeaderParserUtils.getType(parsers, is, byteArrayPool);
+      ImageHeaderParser.ImageType type = getType(is, glideOptions);
       // We cannot reuse bitmaps when decoding images that are not PNG or JPG prior to KitKat.
       // See: https://groups.google.com/forum/#!msg/android-developers/Mp0MFVFi1Fo/e8ZQ9FGdWdEJ
       return TYPES_THAT_USE_POOL_PRE_KITKAT.contains(type);
@@ -365,7 +413,8 @@ public final class Downsampler {
     return false;
   }
 
-  private Bitmap.Config getConfig(InputStream is, DecodeFormat format) throws IOException {
+  private Bitmap.Config getConfig(InputStream is, Options glideOptions, DecodeFormat format)
+      throws IOException {
     // Changing configs can cause skewing on 4.1, see issue #128.
     if (format == DecodeFormat.PREFER_ARGB_8888
         || Build.VERSION.SDK_INT == Build.VERSION_CODES.JELLY_BEAN) {
@@ -374,7 +423,7 @@ public final class Downsampler {
 
     boolean hasAlpha = false;
     try {
-      hasAlpha = ImageHeaderParserUtils.getType(parsers, is, byteArrayPool).hasAlpha();
+      hasAlpha = getType(is, glideOptions).hasAlpha();
     } catch (IOException e) {
       if (Log.isLoggable(TAG, Log.DEBUG)) {
         Log.d(TAG, "Cannot determine whether the image has alpha or not from header"
@@ -385,6 +434,43 @@ public final class Downsampler {
     return hasAlpha ? Bitmap.Config.ARGB_8888 : Bitmap.Config.RGB_565;
   }
 
+  /**
+   * Returns the first {@link BitmapDecoderBackend} that handles the image in the given
+   * {@link InputStream}, or {@code null} if the image should be decoded with
+   * {@link BitmapFactory}.
+   */
+  @Nullable
+  private BitmapDecoderBackend getBackend(InputStream is, Options glideOptions) {
+    if (backends.isEmpty()) {
+      return null;
+    }
+    ImageHeaderParser.ImageType type;
+    try {
+      type = getType(is, glideOptions);
+    } catch (IOException e) {
+      if (Log.isLoggable(TAG, Log.DEBUG)) {
+        Log.d(TAG, "Cannot determine the image type from header, using BitmapFactory", e);
+      }
+      return null;
+    }
+    for (BitmapDecoderBackend backend : backends) {
+      if (backend.handles(type, glideOptions)) {
+        return backend;
+      }
+    }
+    return null;
+  }
+
+  private ImageHeaderParser.ImageType getType(InputStream is, Options glideOptions)
+      throws IOException {
+    ImageHeaderParser.ImageType type = metadataCache.getType(glideOptions);
+    if (type == null) {
+      type = ImageHeaderParserUtils.getType(parsers, is, byteArrayPool);
+      metadataCache.putType(glideOptions, type);
+    }
+    return type;
+  }
+
   /**
    * A method for getting the dimensions of an image from the given InputStream.
    *
@@ -396,13 +482,19 @@ public final class Downsampler {
   private static int[] getDimensions(InputStream is, BitmapFactory.Options options,
       DecodeCallbacks decodeCallbacks) throws IOException {
     options.inJustDecodeBounds = true;
-    decodeStream(is, options, decodeCallbacks);
+    decodeStream(is, options, decodeCallbacks, null /*backend*/);
     options.inJustDecodeBounds = false;
     return new int[] { options.outWidth, options.outHeight };
   }
 
+  /**
+   * Decodes the given {@link InputStream} with the given {@link BitmapDecoderBackend}, or with
+   * {@link BitmapFactory} if the backend is {@code null}.
+   *
+   * <p>Bounds are always decoded with {@link BitmapFactory}.
+   */
   private static Bitmap decodeStream(InputStream is, BitmapFactory.Options options,
-      DecodeCallbacks callbacks) throws IOException {
+      DecodeCallbacks callbacks, @Nullable BitmapDecoderBackend backend) throws IOException {
     if (options.inJustDecodeBounds) {
       is.mark(MARK_POSITION);
     } else {
@@ -421,7 +513,11 @@ public final class Downsampler {
     final Bitmap result;
     TransformationUtils.getBitmapDrawableLock().lock();
     try {
-      result = BitmapFactory.decodeStream(is, null, options);
+      if (backend != null && !options.inJustDecodeBounds) {
+        result = backend.decode(is, options);
+      } else {
+        result = BitmapFactory.decodeStream(is, null, options);
+      }
     } catch (IllegalArgumentException e) {
       throw newIoExceptionForInBitmapAssertion(e, sourceWidth, sourceHeight, outMimeType, options);
     } finally {
@@ -441,7 +537,8 @@ public final class Downsampler {
   }
 
   private static void logDecode(int sourceWidth, int sourceHeight, String outMimeType,
-      BitmapFactory.Options options, Bitmap result, int requestedWidth, int requestedHeight) {
+      BitmapFactory.Options options, Bitmap result, int requestedWidth, int requestedHeight,
+      @Nullable BitmapDecoderBackend backend, long startTime) {
     Log.v(TAG, "Decoded " + getBitmapString(result)
         + " from [" + sourceWidth + "x" + sourceHeight + "] " + outMimeType
         + " with inBitmap " + getInBitmapString(options)
@@ -449,6 +546,8 @@ public final class Downsampler {
         + ", sample size: " + options.inSampleSize
         + ", density: " + options.inDensity
         + ", target density: " + options.inTargetDensity
+        + ", backend: " + (backend != null ? backend : "BitmapFactory")
+        + ", decode time: " + LogTime.getElapsedMillis(startTime)
         + ", thread: " + Thread.currentThread().getName());
   }
 
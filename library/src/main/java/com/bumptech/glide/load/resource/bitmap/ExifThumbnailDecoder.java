@@ -0,0 +1,137 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.support.annotation.Nullable;
+import android.util.Log;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.ImageHeaderParser;
+import com.bumptech.glide.load.Option;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.engine.Resource;
+import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
+import com.bumptech.glide.util.Preconditions;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+
+/**
+ * Decodes the small JPEG thumbnail that cameras embed in the exif segment of JPEGs instead of the
+ * image itself.
+ *
+ * <p>Embedded thumbnails are typically 160x120 and are stored in the first 64kb of the file, so
+ * they can be found and decoded in a small fraction of the time it takes to decode even a heavily
+ * downsampled version of the full image. They're intended to be shown while the full image loads,
+ * see {@link com.bumptech.glide.RequestBuilder#exifThumbnail()}.
+ *
+ * <p>Only used when {@link #EXIF_THUMBNAIL} is set. If the image doesn't contain a thumbnail, the
+ * load fails quickly rather than falling back to decoding the full image.
+ */
+public final class ExifThumbnailDecoder {
+  private static final String TAG = "ExifThumbnailDecoder";
+  /**
+   * {@code true} to decode only the thumbnail embedded in the exif segment of JPEGs and to fail if
+   * there isn't one, defaults to {@code false}.
+   */
+  public static final Option<Boolean> EXIF_THUMBNAIL = Option.disk(
+      "com.bumptech.glide.load.resource.bitmap.ExifThumbnailDecoder.ExifThumbnail", false,
+      new Option.CacheKeyUpdater<Boolean>() {
+        @Override
+        public void update(byte[] keyBytes, Boolean value, MessageDigest messageDigest) {
+          // Leaves the keys of all other loads unchanged.
+          if (value) {
+            messageDigest.update(keyBytes);
+          }
+        }
+      });
+  // The exif segment is limited to 64kb, but may be preceded by other application segments.
+  private static final int MAX_HEADER_SIZE = 128 * 1024;
+
+  private final ImageHeaderParser headerParser = new DefaultImageHeaderParser();
+  private final BitmapPool bitmapPool;
+  private final ArrayPool byteArrayPool;
+
+  public ExifThumbnailDecoder(BitmapPool bitmapPool, ArrayPool byteArrayPool) {
+    this.bitmapPool = Preconditions.checkNotNull(bitmapPool);
+    this.byteArrayPool = Preconditions.checkNotNull(byteArrayPool);
+  }
+
+  public boolean handles(Options options) {
+    return options.get(EXIF_THUMBNAIL);
+  }
+
+  /**
+   * Returns the thumbnail embedded in the JPEG in the given {@link ByteBuffer}, or {@code null} if
+   * there isn't one.
+   */
+  @Nullable
+  public Resource<Bitmap> decode(ByteBuffer byteBuffer, Options options) throws IOException {
+    ByteBuffer thumbnail = DefaultImageHeaderParser.getExifThumbnail(byteBuffer);
+    if (thumbnail == null) {
+      if (Log.isLoggable(TAG, Log.VERBOSE)) {
+        Log.v(TAG, "No exif thumbnail found");
+      }
+      return null;
+    }
+
+    BitmapFactory.Options bitmapOptions = new BitmapFactory.Options();
+    // JPEGs are always opaque.
+    bitmapOptions.inPreferredConfig =
+        options.get(Downsampler.DECODE_FORMAT) == DecodeFormat.PREFER_ARGB_8888
+            ? Bitmap.Config.ARGB_8888 : Bitmap.Config.RGB_565;
+    final Bitmap decoded;
+    if (thumbnail.hasArray()) {
+      decoded = BitmapFactory.decodeByteArray(thumbnail.array(),
+          thumbnail.arrayOffset() + thumbnail.position(), thumbnail.remaining(), bitmapOptions);
+    } else {
+      byte[] bytes = byteArrayPool.get(thumbnail.remaining(), byte[].class);
+      try {
+        int length = thumbnail.remaining();
+        thumbnail.get(bytes, 0, length);
+        decoded = BitmapFactory.decodeByteArray(bytes, 0, length, bitmapOptions);
+      } finally {
+        byteArrayPool.put(bytes, byte[].class);
+      }
+    }
+    if (decoded == null) {
+      throw new IOException("Failed to decode exif thumbnail");
+    }
+
+    // The thumbnail shares the orientation of the full image.
+    int orientation = headerParser.getOrientation(byteBuffer, byteArrayPool);
+    Bitmap rotated = TransformationUtils.rotateImageExif(bitmapPool, decoded, orientation);
+    if (rotated != decoded) {
+      bitmapPool.put(decoded);
+    }
+
+    if (Log.isLoggable(TAG, Log.VERBOSE)) {
+      Log.v(TAG, "Decoded exif thumbnail [" + rotated.getWidth() + "x" + rotated.getHeight()
+          + "], thread: " + Thread.currentThread().getName());
+    }
+    return BitmapResource.obtain(rotated, bitmapPool);
+  }
+
+  /**
+   * Returns the thumbnail embedded in the JPEG in the given {@link InputStream}, or {@code null}
+   * if there isn't one.
+   *
+   * <p>Only the start of the image is read from the given {@link InputStream}.
+   */
+  @Nullable
+  public Resource<Bitmap> decode(InputStream is, Options options) throws IOException {
+    byte[] header = byteArrayPool.get(MAX_HEADER_SIZE, byte[].class);
+    try {
+      int length = 0;
+      int read;
+      while (length < MAX_HEADER_SIZE
+          && (read = is.read(header, length, MAX_HEADER_SIZE - length)) != -1) {
+        length += read;
+      }
+      return decode(ByteBuffer.wrap(header, 0, length), options);
+    } finally {
+      byteArrayPool.put(header, byte[].class);
+    }
+  }
+}
@@ -0,0 +1,255 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.RectF;
+import android.graphics.Shader;
+import android.support.annotation.NonNull;
+import com.bumptech.glide.load.MultiTransformation;
+import com.bumptech.glide.load.Transformation;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Applies a chain of Glide's built in {@link BitmapTransformation}s with a single draw into a
+ * single {@link Bitmap}.
+ *
+ * <p>A {@link MultiTransformation} of, for example, {@link CenterCrop} and {@link RoundedCorners}
+ * obtains and draws into one {@link Bitmap} per transformation. The scaling and cropping applied by
+ * {@link CenterCrop}, {@link FitCenter} and {@link CenterInside} can instead be accumulated into a
+ * single {@link Matrix}, and the shape drawn by a trailing {@link CircleCrop} or
+ * {@link RoundedCorners} can use that {@link Matrix} in a {@link BitmapShader}, so the source
+ * {@link Bitmap} is only sampled once.
+ *
+ * <p>Instances compare equal to each other and write the same disk cache keys as the
+ * {@link MultiTransformation}s they replace, so fused and unfused loads share cached resources.
+ */
+public final class FusedBitmapTransformation extends BitmapTransformation {
+  private static final int CENTER_CROP = 0;
+  private static final int FIT_CENTER = 1;
+  private static final int CENTER_INSIDE = 2;
+  private static final int CIRCLE_CROP = 3;
+  private static final int ROUNDED_CORNERS = 4;
+  private static final int SHAPE_PAINT_FLAGS =
+      TransformationUtils.PAINT_FLAGS | Paint.ANTI_ALIAS_FLAG;
+
+  private final Transformation<Bitmap> source;
+  private final int[] steps;
+  private final int roundingRadius;
+
+  /**
+   * Returns a {@link FusedBitmapTransformation} equivalent to the given {@link Transformation} if
+   * it's a {@link MultiTransformation} containing only transformations that can be fused, or the
+   * given {@link Transformation} otherwise.
+   *
+   * <p>{@link CenterCrop}, {@link FitCenter} and {@link CenterInside} can be fused in any order.
+   * {@link CircleCrop} and {@link RoundedCorners} can only be fused as the last transformation in
+   * the chain. Subclasses of any of these transformations are never fused.
+   */
+  @SuppressWarnings("unchecked")
+  public static Transformation<Bitmap> fuse(@NonNull Transformation<Bitmap> transformation) {
+    if (!(transformation instanceof MultiTransformation)) {
+      return transformation;
+    }
+    Collection<? extends Transformation<Bitmap>> chain =
+        ((MultiTransformation<Bitmap>) transformation).getTransformations();
+    if (chain.size() < 2) {
+      return transformation;
+    }
+
+    int[] steps = new int[chain.size()];
+    int roundingRadius = 0;
+    int i = 0;
+    for (Transformation<Bitmap> current : chain) {
+      boolean isLast = i == steps.length - 1;
+      Class<?> currentClass = current.getClass();
+      if (currentClass == CenterCrop.class) {
+        steps[i] = CENTER_CROP;
+      } else if (currentClass == FitCenter.class) {
+        steps[i] = FIT_CENTER;
+      } else if (currentClass == CenterInside.class) {
+        steps[i] = CENTER_INSIDE;
+      } else if (isLast && currentClass == CircleCrop.class) {
+        steps[i] = CIRCLE_CROP;
+      } else if (isLast && currentClass == RoundedCorners.class) {
+        steps[i] = ROUNDED_CORNERS;
+        roundingRadius = ((RoundedCorners) current).getRoundingRadius();
+      } else {
+        return transformation;
+      }
+      i++;
+    }
+    return new FusedBitmapTransformation(transformation, steps, roundingRadius);
+  }
+
+  private FusedBitmapTransformation(
+      Transformation<Bitmap> source, int[] steps, int roundingRadius) {
+    this.source = source;
+    this.steps = steps;
+    this.roundingRadius = roundingRadius;
+  }
+
+  @Override
+  protected Bitmap transform(
+      @NonNull BitmapPool pool, @NonNull Bitmap toTransform, int outWidth, int outHeight) {
+    Matrix matrix = new Matrix();
+    // The width and height of the result of the steps applied so far.
+    int[] size = new int[] { toTransform.getWidth(), toTransform.getHeight() };
+    for (int step : steps) {
+      switch (step) {
+        case CENTER_CROP:
+          centerCrop(matrix, size, outWidth, outHeight);
+          break;
+        case FIT_CENTER:
+          fitCenter(matrix, size, outWidth, outHeight);
+          break;
+        case CENTER_INSIDE:
+          if (size[0] > outWidth || size[1] > outHeight) {
+            fitCenter(matrix, size, outWidth, outHeight);
+          }
+          break;
+        case CIRCLE_CROP:
+          return circleCrop(pool, toTransform, matrix, size, outWidth, outHeight);
+        case ROUNDED_CORNERS:
+          return roundedCorners(pool, toTransform, matrix, outWidth, outHeight);
+        default:
+          throw new IllegalStateException("Unrecognized step: " + step);
+      }
+    }
+
+    if (matrix.isIdentity()
+        && size[0] == toTransform.getWidth() && size[1] == toTransform.getHeight()) {
+      return toTransform;
+    }
+    Bitmap result = pool.get(size[0], size[1], TransformationUtils.getSafeConfig(toTransform));
+    // We don't add or remove alpha, so keep the alpha setting of the Bitmap we were given.
+    TransformationUtils.setAlpha(toTransform, result);
+    TransformationUtils.applyMatrix(toTransform, result, matrix);
+    return result;
+  }
+
+  // Matches TransformationUtils#centerCrop.
+  private static void centerCrop(Matrix matrix, int[] size, int width, int height) {
+    if (size[0] == width && size[1] == height) {
+      return;
+    }
+    final float scale;
+    float dx = 0;
+    float dy = 0;
+    if (size[0] * height > width * size[1]) {
+      scale = (float) height / (float) size[1];
+      dx = (width - size[0] * scale) * 0.5f;
+    } else {
+      scale = (float) width / (float) size[0];
+      dy = (height - size[1] * scale) * 0.5f;
+    }
+    matrix.postScale(scale, scale);
+    matrix.postTranslate((int) (dx + 0.5f), (int) (dy + 0.5f));
+    size[0] = width;
+    size[1] = height;
+  }
+
+  // Matches TransformationUtils#fitCenter.
+  private static void fitCenter(Matrix matrix, int[] size, int width, int height) {
+    if (size[0] == width && size[1] == height) {
+      return;
+    }
+    final float minPercentage = Math.min(width / (float) size[0], height / (float) size[1]);
+    final int targetWidth = (int) (minPercentage * size[0]);
+    final int targetHeight = (int) (minPercentage * size[1]);
+    if (size[0] == targetWidth && size[1] == targetHeight) {
+      return;
+    }
+    matrix.postScale(minPercentage, minPercentage);
+    size[0] = targetWidth;
+    size[1] = targetHeight;
+  }
+
+  // Matches TransformationUtils#circleCrop.
+  private static Bitmap circleCrop(BitmapPool pool, Bitmap toTransform, Matrix matrix, int[] size,
+      int width, int height) {
+    int destMinEdge = Math.min(width, height);
+    float radius = destMinEdge / 2f;
+    float maxScale = Math.max(destMinEdge / (float) size[0], destMinEdge / (float) size[1]);
+    matrix.postScale(maxScale, maxScale);
+    matrix.postTranslate(
+        (destMinEdge - maxScale * size[0]) / 2f, (destMinEdge - maxScale * size[1]) / 2f);
+
+    Bitmap result = pool.get(destMinEdge, destMinEdge, Bitmap.Config.ARGB_8888);
+    result.setHasAlpha(true);
+    Paint paint = newShaderPaint(toTransform, matrix);
+    Lock lock = TransformationUtils.getBitmapDrawableLock();
+    lock.lock();
+    try {
+      Canvas canvas = new Canvas(result);
+      canvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+      canvas.drawCircle(radius, radius, radius, paint);
+      canvas.setBitmap(null);
+    } finally {
+      lock.unlock();
+    }
+    return result;
+  }
+
+  // Matches TransformationUtils#roundedCorners.
+  private Bitmap roundedCorners(BitmapPool pool, Bitmap toTransform, Matrix matrix, int width,
+      int height) {
+    Bitmap result = pool.get(width, height, Bitmap.Config.ARGB_8888);
+    result.setHasAlpha(true);
+    Paint paint = newShaderPaint(toTransform, matrix);
+    RectF rect = new RectF(0, 0, result.getWidth(), result.getHeight());
+    Lock lock = TransformationUtils.getBitmapDrawableLock();
+    lock.lock();
+    try {
+      Canvas canvas = new Canvas(result);
+      canvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+      canvas.drawRoundRect(rect, roundingRadius, roundingRadius, paint);
+      canvas.setBitmap(null);
+    } finally {
+      lock.unlock();
+    }
+    return result;
+  }
+
+  private static Paint newShaderPaint(Bitmap toTransform, Matrix matrix) {
+    BitmapShader shader =
+        new BitmapShader(toTransform, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP);
+    shader.setLocalMatrix(matrix);
+    Paint paint = new Paint(SHAPE_PAINT_FLAGS);
+    paint.setShader(shader);
+    return paint;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o instanceof FusedBitmapTransformation) {
+      FusedBitmapTransformation other = (FusedBitmapTransformation) o;
+      return source.equals(other.source);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return source.hashCode();
+  }
+
+  @Override
+  public void updateDiskCacheKey(MessageDigest messageDigest) {
+    source.updateDiskCacheKey(messageDigest);
+  }
+
+  @Override
+  public String toString() {
+    return "FusedBitmapTransformation{"
+        + "source=" + source
+        + '}';
+  }
+}
@@ -0,0 +1,104 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import android.graphics.Rect;
+import android.support.annotation.NonNull;
+import com.bumptech.glide.util.Preconditions;
+
+/**
+ * Identifies a rectangular region of an image decoded at a given sample size.
+ *
+ * <p>Set as {@link ImageTileDecoder#IMAGE_TILE} to decode only the given region of an image. Since
+ * the tile is part of the request's {@link com.bumptech.glide.load.Options}, each tile at each
+ * sample size is cached separately in Glide's memory cache.
+ */
+public final class ImageTile {
+  private final Object source;
+  private final int left;
+  private final int top;
+  private final int right;
+  private final int bottom;
+  private final int sampleSize;
+
+  /**
+   * @param source     An object that identifies the image the tile belongs to, typically the
+   *                   model the tile is loaded from. Tiles with equal sources are assumed to come
+   *                   from the same image so that their decoders can be shared.
+   * @param region     The region of the image to decode, in the image's full resolution
+   *                   coordinates before any EXIF rotation is applied.
+   * @param sampleSize The sample size to decode the region at, must be a power of two.
+   */
+  public ImageTile(@NonNull Object source, @NonNull Rect region, int sampleSize) {
+    Preconditions.checkArgument(!region.isEmpty(), "region must not be empty");
+    Preconditions.checkArgument(sampleSize > 0 && Integer.bitCount(sampleSize) == 1,
+        "sampleSize must be a power of two");
+    this.source = Preconditions.checkNotNull(source);
+    this.left = region.left;
+    this.top = region.top;
+    this.right = region.right;
+    this.bottom = region.bottom;
+    this.sampleSize = sampleSize;
+  }
+
+  public Object getSource() {
+    return source;
+  }
+
+  /**
+   * Returns a new {@link Rect} containing the region of the image this tile covers.
+   */
+  public Rect getRegion() {
+    return new Rect(left, top, right, bottom);
+  }
+
+  public int getSampleSize() {
+    return sampleSize;
+  }
+
+  /**
+   * Returns the width in pixels of the decoded tile.
+   */
+  public int getDecodedWidth() {
+    return (right - left + sampleSize - 1) / sampleSize;
+  }
+
+  /**
+   * Returns the height in pixels of the decoded tile.
+   */
+  public int getDecodedHeight() {
+    return (bottom - top + sampleSize - 1) / sampleSize;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o instanceof ImageTile) {
+      ImageTile other = (ImageTile) o;
+      return left == other.left
+          && top == other.top
+          && right == other.right
+          && bottom == other.bottom
+          && sampleSize == other.sampleSize
+          && source.equals(other.source);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = source.hashCode();
+    result = 31 * result + left;
+    result = 31 * result + top;
+    result = 31 * result + right;
+    result = 31 * result + bottom;
+    result = 31 * result + sampleSize;
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "ImageTile{"
+        + "source=" + source
+        + ", region=[" + left + ", " + top + ", " + right + ", " + bottom + "]"
+        + ", sampleSize=" + sampleSize
+        + '}';
+  }
+}
@@ -0,0 +1,291 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.Rect;
+import android.os.Build;
+import android.support.annotation.Nullable;
+import android.util.DisplayMetrics;
+import android.util.Log;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.ImageHeaderParser;
+import com.bumptech.glide.load.ImageHeaderParserUtils;
+import com.bumptech.glide.load.Option;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.engine.Resource;
+import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
+import com.bumptech.glide.util.ByteBufferUtil;
+import com.bumptech.glide.util.Preconditions;
+import com.bumptech.glide.util.Synthetic;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Decodes {@link ImageTile}s from images using {@link BitmapRegionDecoder}.
+ *
+ * <p>Creating a {@link BitmapRegionDecoder} requires reading and, for JPEGs, indexing the entire
+ * image, which is far more expensive than decoding any single tile. Decoders for the most recently
+ * used images are kept and reused for subsequent tiles with an equal
+ * {@link ImageTile#getSource()}.
+ *
+ * <p>Tiles are decoded into {@link Bitmap}s obtained from the {@link BitmapPool} where the
+ * platform allows it. Since most tiles share the same size, tiles scrolled out of view are
+ * efficiently reused for the tiles scrolled into view.
+ */
+public final class ImageTileDecoder {
+  private static final String TAG = "ImageTileDecoder";
+  /**
+   * The {@link ImageTile} to decode, or {@code null} to decode the entire image normally.
+   */
+  public static final Option<ImageTile> IMAGE_TILE = Option.disk(
+      "com.bumptech.glide.load.resource.bitmap.ImageTileDecoder.ImageTile",
+      new Option.CacheKeyUpdater<ImageTile>() {
+        private final ByteBuffer buffer = ByteBuffer.allocate(5 * 4);
+
+        @Override
+        public void update(byte[] keyBytes, ImageTile value, MessageDigest messageDigest) {
+          Rect region = value.getRegion();
+          messageDigest.update(keyBytes);
+          synchronized (buffer) {
+            buffer.position(0);
+            messageDigest.update(buffer
+                .putInt(region.left)
+                .putInt(region.top)
+                .putInt(region.right)
+                .putInt(region.bottom)
+                .putInt(value.getSampleSize())
+                .array());
+          }
+        }
+      });
+  private static final int MAX_CACHED_DECODERS = 2;
+  // 5MB. This is the max image header size we can handle, we preallocate a much smaller buffer but
+  // will resize up to this amount if necessary.
+  private static final int MARK_POSITION = 5 * 1024 * 1024;
+
+  private final Map<Object, BitmapRegionDecoder> decoders =
+      new LinkedHashMap<>(MAX_CACHED_DECODERS, 0.75f, true /*accessOrder*/);
+  private final List<ImageHeaderParser> parsers;
+  private final DisplayMetrics displayMetrics;
+  private final BitmapPool bitmapPool;
+  private final ArrayPool byteArrayPool;
+
+  public ImageTileDecoder(List<ImageHeaderParser> parsers, DisplayMetrics displayMetrics,
+      BitmapPool bitmapPool, ArrayPool byteArrayPool) {
+    this.parsers = parsers;
+    this.displayMetrics = Preconditions.checkNotNull(displayMetrics);
+    this.bitmapPool = Preconditions.checkNotNull(bitmapPool);
+    this.byteArrayPool = Preconditions.checkNotNull(byteArrayPool);
+  }
+
+  public boolean handles(Options options) {
+    return options.get(IMAGE_TILE) != null;
+  }
+
+  /**
+   * Returns the {@link ImageTile} in the given {@link Options} decoded from the image in the given
+   * {@link ByteBuffer}.
+   */
+  public Resource<Bitmap> decode(ByteBuffer byteBuffer, Options options) throws IOException {
+    ImageTile tile = Preconditions.checkNotNull(options.get(IMAGE_TILE));
+    Bitmap.Config config = getConfig(options, byteBuffer);
+    Resource<Bitmap> result = decodeWithCachedDecoder(tile, config);
+    if (result != null) {
+      return result;
+    }
+
+    final BitmapRegionDecoder decoder;
+    if (byteBuffer.hasArray()) {
+      decoder = BitmapRegionDecoder.newInstance(byteBuffer.array(),
+          byteBuffer.arrayOffset() + byteBuffer.position(), byteBuffer.remaining(),
+          false /*isShareable*/);
+    } else {
+      decoder = BitmapRegionDecoder.newInstance(ByteBufferUtil.toStream(byteBuffer),
+          false /*isShareable*/);
+    }
+    putDecoder(tile.getSource(), decoder);
+    return decodeTile(decoder, tile, config);
+  }
+
+  /**
+   * Returns the {@link ImageTile} in the given {@link Options} decoded from the image in the given
+   * {@link InputStream}.
+   *
+   * <p>The given {@link InputStream} must support {@link InputStream#mark(int)}.
+   */
+  public Resource<Bitmap> decode(InputStream is, Options options) throws IOException {
+    Preconditions.checkArgument(is.markSupported(), "You must provide an InputStream that supports"
+        + " mark()");
+    ImageTile tile = Preconditions.checkNotNull(options.get(IMAGE_TILE));
+    Bitmap.Config config = getConfig(options, is);
+    Resource<Bitmap> result = decodeWithCachedDecoder(tile, config);
+    if (result != null) {
+      return result;
+    }
+
+    BitmapRegionDecoder decoder = BitmapRegionDecoder.newInstance(is, false /*isShareable*/);
+    putDecoder(tile.getSource(), decoder);
+    return decodeTile(decoder, tile, config);
+  }
+
+  /**
+   * Removes all cached {@link BitmapRegionDecoder}s and recycles them on the given
+   * {@link Executor}.
+   *
+   * <p>Recycling a {@link BitmapRegionDecoder} blocks until any tile it's decoding has been decoded,
+   * so it's never done on the calling thread, which may be the main thread.
+   */
+  public void clearDecoders(Executor recycleExecutor) {
+    final List<BitmapRegionDecoder> toRecycle;
+    synchronized (decoders) {
+      if (decoders.isEmpty()) {
+        return;
+      }
+      toRecycle = new ArrayList<>(decoders.values());
+      decoders.clear();
+    }
+    recycleExecutor.execute(new Runnable() {
+      @Override
+      public void run() {
+        recycle(toRecycle);
+      }
+    });
+  }
+
+  @Nullable
+  private Resource<Bitmap> decodeWithCachedDecoder(ImageTile tile, Bitmap.Config config)
+      throws IOException {
+    BitmapRegionDecoder decoder = getCachedDecoder(tile.getSource());
+    if (decoder == null) {
+      return null;
+    }
+    try {
+      return decodeTile(decoder, tile, config);
+    } catch (IllegalStateException e) {
+      // The decoder was evicted and recycled by another thread after we obtained it.
+      if (Log.isLoggable(TAG, Log.DEBUG)) {
+        Log.d(TAG, "Cached decoder was recycled, creating a new one", e);
+      }
+      return null;
+    }
+  }
+
+  private Resource<Bitmap> decodeTile(BitmapRegionDecoder decoder, ImageTile tile,
+      Bitmap.Config config) throws IOException {
+    Rect region = tile.getRegion();
+    if (!region.intersect(0, 0, decoder.getWidth(), decoder.getHeight())) {
+      throw new IOException("Tile outside of image bounds"
+          + ", tile: " + tile
+          + ", image: [" + decoder.getWidth() + "x" + decoder.getHeight() + "]");
+    }
+
+    BitmapFactory.Options options = new BitmapFactory.Options();
+    options.inSampleSize = tile.getSampleSize();
+    options.inPreferredConfig = config;
+    // Prior to KitKat, the inBitmap size must exactly match the size of the bitmap we're decoding.
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+      int width = (region.width() + tile.getSampleSize() - 1) / tile.getSampleSize();
+      int height = (region.height() + tile.getSampleSize() - 1) / tile.getSampleSize();
+      // BitmapRegionDecoder will clear out the Bitmap before writing to it, so getDirty is safe.
+      options.inBitmap = bitmapPool.getDirty(width, height, config);
+    }
+
+    Bitmap result;
+    TransformationUtils.getBitmapDrawableLock().lock();
+    try {
+      result = decoder.decodeRegion(region, options);
+    } catch (IllegalArgumentException e) {
+      if (options.inBitmap == null) {
+        throw new IOException("Failed to decode tile: " + tile, e);
+      }
+      if (Log.isLoggable(TAG, Log.DEBUG)) {
+        Log.d(TAG, "Failed to decode tile into inBitmap, trying without", e);
+      }
+      bitmapPool.put(options.inBitmap);
+      options.inBitmap = null;
+      result = decoder.decodeRegion(region, options);
+    } finally {
+      TransformationUtils.getBitmapDrawableLock().unlock();
+    }
+    if (result == null) {
+      throw new IOException("Failed to decode tile: " + tile);
+    }
+    result.setDensity(displayMetrics.densityDpi);
+
+    if (Log.isLoggable(TAG, Log.VERBOSE)) {
+      Log.v(TAG, "Decoded [" + result.getWidth() + "x" + result.getHeight() + "] " + tile
+          + ", thread: " + Thread.currentThread().getName());
+    }
+    return BitmapResource.obtain(result, bitmapPool);
+  }
+
+  private Bitmap.Config getConfig(Options options, ByteBuffer byteBuffer) throws IOException {
+    if (options.get(Downsampler.DECODE_FORMAT) == DecodeFormat.PREFER_ARGB_8888
+        || Build.VERSION.SDK_INT == Build.VERSION_CODES.JELLY_BEAN) {
+      return Bitmap.Config.ARGB_8888;
+    }
+    return ImageHeaderParserUtils.getType(parsers, byteBuffer).hasAlpha()
+        ? Bitmap.Config.ARGB_8888 : Bitmap.Config.RGB_565;
+  }
+
+  private Bitmap.Config getConfig(Options options, InputStream is) throws IOException {
+    // Changing configs can cause skewing on 4.1, see issue #128.
+    if (options.get(Downsampler.DECODE_FORMAT) == DecodeFormat.PREFER_ARGB_8888
+        || Build.VERSION.SDK_INT == Build.VERSION_CODES.JELLY_BEAN) {
+      return Bitmap.Config.ARGB_8888;
+    }
+    is.mark(MARK_POSITION);
+    try {
+      return ImageHeaderParserUtils.getType(parsers, is, byteArrayPool).hasAlpha()
+          ? Bitmap.Config.ARGB_8888 : Bitmap.Config.RGB_565;
+    } finally {
+      is.reset();
+    }
+  }
+
+  private BitmapRegionDecoder getCachedDecoder(Object source) {
+    synchronized (decoders) {
+      BitmapRegionDecoder decoder = decoders.get(source);
+      if (decoder != null && decoder.isRecycled()) {
+        decoders.remove(source);
+        decoder = null;
+      }
+      return decoder;
+    }
+  }
+
+  private void putDecoder(Object source, BitmapRegionDecoder decoder) {
+    List<BitmapRegionDecoder> toRecycle = new ArrayList<>();
+    synchronized (decoders) {
+      BitmapRegionDecoder previous = decoders.put(source, decoder);
+      if (previous != null && previous != decoder) {
+        toRecycle.add(previous);
+      }
+      Iterator<BitmapRegionDecoder> iterator = decoders.values().iterator();
+      while (decoders.size() > MAX_CACHED_DECODERS && iterator.hasNext()) {
+        toRecycle.add(iterator.next());
+        iterator.remove();
+      }
+    }
+    // Recycled outside of the lock so that other threads can keep using the remaining decoders
+    // while we wait for any in progress decodes to finish.
+    recycle(toRecycle);
+  }
+
+  @Synthetic
+  static void recycle(List<BitmapRegionDecoder> decoders) {
+    for (int i = 0, size = decoders.size(); i < size; i++) {
+      decoders.get(i).recycle();
+    }
+  }
+}
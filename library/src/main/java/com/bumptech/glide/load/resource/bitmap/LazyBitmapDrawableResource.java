@@ -1,10 +1,14 @@
 package com.bumptech.glide.load.resource.bitmap;
 
+import android.annotation.TargetApi;
 import android.content.Context;
 import android.content.res.Resources;
 import android.graphics.Bitmap;
 import android.graphics.drawable.BitmapDrawable;
+import android.os.Build;
+import android.support.annotation.Nullable;
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.Option;
 import com.bumptech.glide.load.engine.Initializable;
 import com.bumptech.glide.load.engine.Resource;
 import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
@@ -14,13 +18,32 @@ import com.bumptech.glide.util.Util;
 /**
  * Lazily allocates a {@link android.graphics.drawable.BitmapDrawable} from a given
  * {@link android.graphics.Bitmap} on the first call to {@link #get()}.
+ *
+ * <p>By default every call to {@link #get()} returns a new drawable. See {@link #REUSE_DRAWABLE}
+ * to reuse drawables across loads from the memory cache instead.
  */
 public class LazyBitmapDrawableResource implements Resource<BitmapDrawable>,
     Initializable {
+  /**
+   * If set to {@code true}, the {@link android.graphics.drawable.BitmapDrawable} returned for a
+   * previous load of the same image from memory is returned again, with its alpha, color filter
+   * and tint reset, as long as no {@link android.view.View} is showing it. Defaults to
+   * {@code false}.
+   *
+   * <p>Drawables are mutable and a drawable is only known to be unused once a view stops showing
+   * it, so this should only be set by callers whose targets are views, or who otherwise accept
+   * that a drawable they were given may be returned to, and changed for, another load of the same
+   * image with this option set. Loads without this option never share drawables.
+   */
+  public static final Option<Boolean> REUSE_DRAWABLE = Option.memory(
+      "com.bumptech.glide.load.resource.bitmap.LazyBitmapDrawableResource.ReuseDrawable", false);
+  private static final int MAX_ALPHA = 255;
 
   private final Bitmap bitmap;
   private final Resources resources;
   private final BitmapPool bitmapPool;
+  private boolean isDrawableReused;
+  @Nullable private BitmapDrawable drawable;
 
   public static LazyBitmapDrawableResource obtain(Context context, Bitmap bitmap) {
     return obtain(context.getResources(), Glide.get(context).getBitmapPool(), bitmap);
@@ -42,9 +65,43 @@ public class LazyBitmapDrawableResource implements Resource<BitmapDrawable>,
     return BitmapDrawable.class;
   }
 
+  /**
+   * Allows later calls to {@link #get()} to return a previously returned drawable.
+   *
+   * @see #REUSE_DRAWABLE
+   */
+  public synchronized void reuseDrawable() {
+    isDrawableReused = true;
+  }
+
   @Override
-  public BitmapDrawable get() {
-    return new BitmapDrawable(resources, bitmap);
+  public synchronized BitmapDrawable get() {
+    if (!isDrawableReused) {
+      return new BitmapDrawable(resources, bitmap);
+    }
+    BitmapDrawable result = drawable;
+    // Views set themselves as the callbacks of the drawables they show and clear the callbacks
+    // when they stop showing them, so a drawable without a callback isn't shown anywhere.
+    if (result == null || result.getCallback() != null) {
+      result = new BitmapDrawable(resources, bitmap);
+      drawable = result;
+    } else {
+      resetState(result);
+    }
+    return result;
+  }
+
+  /**
+   * Undoes the changes views make to the drawables they show, so that a reused drawable looks the
+   * same as a new one.
+   */
+  @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+  private static void resetState(BitmapDrawable drawable) {
+    drawable.setAlpha(MAX_ALPHA);
+    drawable.setColorFilter(null);
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+      drawable.setTintList(null);
+    }
   }
 
   @Override
@@ -48,6 +48,10 @@ public final class RoundedCorners extends BitmapTransformation {
     this(roundingRadius);
   }
 
+  int getRoundingRadius() {
+    return roundingRadius;
+  }
+
   @Override
   protected Bitmap transform(
       @NonNull BitmapPool pool, @NonNull Bitmap toTransform, int outWidth, int outHeight) {
@@ -26,7 +26,8 @@ public class StreamBitmapDecoder implements ResourceDecoder<InputStream, Bitmap>
 
   @Override
   public boolean handles(InputStream source, Options options) throws IOException {
-    return downsampler.handles(source);
+    // Exif thumbnail loads fail rather than falling back to decoding the full image.
+    return !options.get(ExifThumbnailDecoder.EXIF_THUMBNAIL) && downsampler.handles(source);
   }
 
   @Override
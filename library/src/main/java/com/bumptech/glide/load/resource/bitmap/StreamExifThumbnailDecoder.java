@@ -0,0 +1,32 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import android.graphics.Bitmap;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceDecoder;
+import com.bumptech.glide.load.engine.Resource;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decodes exif thumbnails from {@link java.io.InputStream InputStreams}.
+ *
+ * @see ExifThumbnailDecoder
+ */
+public class StreamExifThumbnailDecoder implements ResourceDecoder<InputStream, Bitmap> {
+  private final ExifThumbnailDecoder thumbnailDecoder;
+
+  public StreamExifThumbnailDecoder(ExifThumbnailDecoder thumbnailDecoder) {
+    this.thumbnailDecoder = thumbnailDecoder;
+  }
+
+  @Override
+  public boolean handles(InputStream source, Options options) {
+    return thumbnailDecoder.handles(options);
+  }
+
+  @Override
+  public Resource<Bitmap> decode(InputStream source, int width, int height, Options options)
+      throws IOException {
+    return thumbnailDecoder.decode(source, options);
+  }
+}
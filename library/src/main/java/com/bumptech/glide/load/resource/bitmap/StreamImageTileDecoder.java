@@ -0,0 +1,50 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import android.graphics.Bitmap;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceDecoder;
+import com.bumptech.glide.load.engine.Resource;
+import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decodes {@link ImageTile}s from {@link java.io.InputStream InputStreams}.
+ *
+ * @see ImageTileDecoder
+ */
+public class StreamImageTileDecoder implements ResourceDecoder<InputStream, Bitmap> {
+  private final ImageTileDecoder tileDecoder;
+  private final ArrayPool byteArrayPool;
+
+  public StreamImageTileDecoder(ImageTileDecoder tileDecoder, ArrayPool byteArrayPool) {
+    this.tileDecoder = tileDecoder;
+    this.byteArrayPool = byteArrayPool;
+  }
+
+  @Override
+  public boolean handles(InputStream source, Options options) {
+    return tileDecoder.handles(options);
+  }
+
+  @Override
+  public Resource<Bitmap> decode(InputStream source, int width, int height, Options options)
+      throws IOException {
+    final RecyclableBufferedInputStream bufferedStream;
+    final boolean ownsBufferedStream;
+    if (source instanceof RecyclableBufferedInputStream) {
+      bufferedStream = (RecyclableBufferedInputStream) source;
+      ownsBufferedStream = false;
+    } else {
+      bufferedStream = new RecyclableBufferedInputStream(source, byteArrayPool);
+      ownsBufferedStream = true;
+    }
+    try {
+      return tileDecoder.decode(bufferedStream, options);
+    } finally {
+      if (ownsBufferedStream) {
+        bufferedStream.release();
+      }
+    }
+  }
+}
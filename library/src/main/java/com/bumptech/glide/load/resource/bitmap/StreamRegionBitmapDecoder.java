@@ -0,0 +1,52 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import android.graphics.Bitmap;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceDecoder;
+import com.bumptech.glide.load.engine.Resource;
+import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decodes only the visible region of center cropped {@link android.graphics.Bitmap Bitmaps} from
+ * {@link java.io.InputStream InputStreams}.
+ *
+ * @see CenterCropRegionDecoder
+ */
+public class StreamRegionBitmapDecoder implements ResourceDecoder<InputStream, Bitmap> {
+  private final CenterCropRegionDecoder regionDecoder;
+  private final ArrayPool byteArrayPool;
+
+  public StreamRegionBitmapDecoder(CenterCropRegionDecoder regionDecoder,
+      ArrayPool byteArrayPool) {
+    this.regionDecoder = regionDecoder;
+    this.byteArrayPool = byteArrayPool;
+  }
+
+  @Override
+  public boolean handles(InputStream source, Options options) throws IOException {
+    return regionDecoder.handles(source, options);
+  }
+
+  @Override
+  public Resource<Bitmap> decode(InputStream source, int width, int height, Options options)
+      throws IOException {
+    final RecyclableBufferedInputStream bufferedStream;
+    final boolean ownsBufferedStream;
+    if (source instanceof RecyclableBufferedInputStream) {
+      bufferedStream = (RecyclableBufferedInputStream) source;
+      ownsBufferedStream = false;
+    } else {
+      bufferedStream = new RecyclableBufferedInputStream(source, byteArrayPool);
+      ownsBufferedStream = true;
+    }
+    try {
+      return regionDecoder.decode(bufferedStream, width, height, options);
+    } finally {
+      if (ownsBufferedStream) {
+        bufferedStream.release();
+      }
+    }
+  }
+}
@@ -405,11 +405,11 @@ public final class TransformationUtils {
     canvas.setBitmap(null);
   }
 
-  private static Bitmap.Config getSafeConfig(Bitmap bitmap) {
+  static Bitmap.Config getSafeConfig(Bitmap bitmap) {
     return bitmap.getConfig() != null ? bitmap.getConfig() : Bitmap.Config.ARGB_8888;
   }
 
-  private static void applyMatrix(@NonNull Bitmap inBitmap, @NonNull Bitmap targetBitmap,
+  static void applyMatrix(@NonNull Bitmap inBitmap, @NonNull Bitmap targetBitmap,
       Matrix matrix) {
     BITMAP_DRAWABLE_LOCK.lock();
     try {
@@ -11,6 +11,8 @@ import com.bumptech.glide.gifdecoder.StandardGifDecoder;
 import com.bumptech.glide.load.ImageHeaderParser;
 import com.bumptech.glide.load.ImageHeaderParser.ImageType;
 import com.bumptech.glide.load.ImageHeaderParserUtils;
+import com.bumptech.glide.load.ImageMetadata;
+import com.bumptech.glide.load.ImageMetadataCache;
 import com.bumptech.glide.load.Option;
 import com.bumptech.glide.load.Options;
 import com.bumptech.glide.load.ResourceDecoder;
@@ -18,6 +20,7 @@ import com.bumptech.glide.load.Transformation;
 import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
 import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
 import com.bumptech.glide.load.resource.UnitTransformation;
+import com.bumptech.glide.load.resource.bitmap.ExifThumbnailDecoder;
 import com.bumptech.glide.util.LogTime;
 import com.bumptech.glide.util.Util;
 import java.io.IOException;
@@ -42,6 +45,7 @@ public class ByteBufferGifDecoder implements ResourceDecoder<ByteBuffer, GifDraw
       "com.bumptech.glide.load.resource.gif.ByteBufferGifDecoder.DisableAnimation", false);
 
   private static final GifHeaderParserPool PARSER_POOL = new GifHeaderParserPool();
+  private static final String GIF_MIME_TYPE = "image/gif";
 
   private final Context context;
   private final List<ImageHeaderParser> parsers;
@@ -49,6 +53,7 @@ public class ByteBufferGifDecoder implements ResourceDecoder<ByteBuffer, GifDraw
   private final BitmapPool bitmapPool;
   private final GifDecoderFactory gifDecoderFactory;
   private final GifBitmapProvider provider;
+  private final ImageMetadataCache metadataCache;
 
   public ByteBufferGifDecoder(Context context) {
     this(context, Glide.get(context).getRegistry().getImageHeaderParsers(),
@@ -58,7 +63,26 @@ public class ByteBufferGifDecoder implements ResourceDecoder<ByteBuffer, GifDraw
   public ByteBufferGifDecoder(
       Context context, List<ImageHeaderParser> parsers, BitmapPool bitmapPool,
       ArrayPool arrayPool) {
-    this(context, parsers, bitmapPool, arrayPool, PARSER_POOL, GIF_DECODER_FACTORY);
+    this(context, parsers, bitmapPool, arrayPool, new ImageMetadataCache());
+  }
+
+  public ByteBufferGifDecoder(
+      Context context, List<ImageHeaderParser> parsers, BitmapPool bitmapPool,
+      ArrayPool arrayPool, ImageMetadataCache metadataCache) {
+    this(context, parsers, bitmapPool, arrayPool, metadataCache, PARSER_POOL,
+        GIF_DECODER_FACTORY);
+  }
+
+  // Visible for testing.
+  ByteBufferGifDecoder(
+      Context context,
+      List<ImageHeaderParser> parsers,
+      BitmapPool bitmapPool,
+      ArrayPool arrayPool,
+      GifHeaderParserPool parserPool,
+      GifDecoderFactory gifDecoderFactory) {
+    this(context, parsers, bitmapPool, arrayPool, new ImageMetadataCache(), parserPool,
+        gifDecoderFactory);
   }
 
   // Visible for testing.
@@ -67,10 +91,12 @@ public class ByteBufferGifDecoder implements ResourceDecoder<ByteBuffer, GifDraw
       List<ImageHeaderParser> parsers,
       BitmapPool bitmapPool,
       ArrayPool arrayPool,
+      ImageMetadataCache metadataCache,
       GifHeaderParserPool parserPool,
       GifDecoderFactory gifDecoderFactory) {
     this.context = context.getApplicationContext();
     this.parsers = parsers;
+    this.metadataCache = metadataCache;
     this.bitmapPool = bitmapPool;
     this.gifDecoderFactory = gifDecoderFactory;
     this.provider = new GifBitmapProvider(bitmapPool, arrayPool);
@@ -79,28 +105,43 @@ public class ByteBufferGifDecoder implements ResourceDecoder<ByteBuffer, GifDraw
 
   @Override
   public boolean handles(ByteBuffer source, Options options) throws IOException {
-    return !options.get(DISABLE_ANIMATION)
-        && ImageHeaderParserUtils.getType(parsers, source) == ImageType.GIF;
+    // Exif thumbnail loads must fail quickly for images without thumbnails, including GIFs,
+    // rather than decoding the full image.
+    if (options.get(DISABLE_ANIMATION) || options.get(ExifThumbnailDecoder.EXIF_THUMBNAIL)) {
+      return false;
+    }
+    ImageType type = metadataCache.getType(options);
+    if (type == null) {
+      type = ImageHeaderParserUtils.getType(parsers, source);
+      metadataCache.putType(options, type);
+    }
+    return type == ImageType.GIF;
   }
 
   @Override
   public GifDrawableResource decode(ByteBuffer source, int width, int height, Options options) {
     final GifHeaderParser parser = parserPool.obtain(source);
+    // Color tables are borrowed from the ArrayPool and returned when the header is recycled or the
+    // GifDecoder using it is cleared.
+    parser.setArrayProvider(provider);
     try {
-      return decode(source, width, height, parser);
+      return decode(source, width, height, parser, options);
     } finally {
       parserPool.release(parser);
     }
   }
 
   private GifDrawableResource decode(ByteBuffer byteBuffer, int width, int height,
-      GifHeaderParser parser) {
+      GifHeaderParser parser, Options options) {
     long startTime = LogTime.getLogTime();
     final GifHeader header = parser.parseHeader();
     if (header.getNumFrames() <= 0 || header.getStatus() != GifDecoder.STATUS_OK) {
       // If we couldn't decode the GIF, we will end up with a frame count of 0.
+      parser.recycle(header);
       return null;
     }
+    metadataCache.put(options, new ImageMetadata(header.getWidth(), header.getHeight(),
+        GIF_MIME_TYPE, ImageHeaderParser.UNKNOWN_ORIENTATION, ImageType.GIF));
 
 
     int sampleSize = getSampleSize(header, width, height);
@@ -108,6 +149,8 @@ public class ByteBufferGifDecoder implements ResourceDecoder<ByteBuffer, GifDraw
     gifDecoder.advance();
     Bitmap firstFrame = gifDecoder.getNextFrame();
     if (firstFrame == null) {
+      gifDecoder.clear();
+      parser.recycle(header);
       return null;
     }
 
@@ -4,11 +4,13 @@ import android.util.Log;
 import com.bumptech.glide.load.ImageHeaderParser;
 import com.bumptech.glide.load.ImageHeaderParser.ImageType;
 import com.bumptech.glide.load.ImageHeaderParserUtils;
+import com.bumptech.glide.load.ImageMetadataCache;
 import com.bumptech.glide.load.Option;
 import com.bumptech.glide.load.Options;
 import com.bumptech.glide.load.ResourceDecoder;
 import com.bumptech.glide.load.engine.Resource;
 import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
+import com.bumptech.glide.load.resource.bitmap.ExifThumbnailDecoder;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -33,18 +35,34 @@ public class StreamGifDecoder implements ResourceDecoder<InputStream, GifDrawabl
   private final List<ImageHeaderParser> parsers;
   private final ResourceDecoder<ByteBuffer, GifDrawable> byteBufferDecoder;
   private final ArrayPool byteArrayPool;
+  private final ImageMetadataCache metadataCache;
 
   public StreamGifDecoder(List<ImageHeaderParser> parsers, ResourceDecoder<ByteBuffer,
       GifDrawable> byteBufferDecoder, ArrayPool byteArrayPool) {
+    this(parsers, byteBufferDecoder, byteArrayPool, new ImageMetadataCache());
+  }
+
+  public StreamGifDecoder(List<ImageHeaderParser> parsers, ResourceDecoder<ByteBuffer,
+      GifDrawable> byteBufferDecoder, ArrayPool byteArrayPool, ImageMetadataCache metadataCache) {
     this.parsers = parsers;
     this.byteBufferDecoder = byteBufferDecoder;
     this.byteArrayPool = byteArrayPool;
+    this.metadataCache = metadataCache;
   }
 
   @Override
   public boolean handles(InputStream source, Options options) throws IOException {
-    return !options.get(DISABLE_ANIMATION)
-        && ImageHeaderParserUtils.getType(parsers, source, byteArrayPool) == ImageType.GIF;
+    // Exif thumbnail loads must fail quickly for images without thumbnails, including GIFs,
+    // rather than decoding the full image.
+    if (options.get(DISABLE_ANIMATION) || options.get(ExifThumbnailDecoder.EXIF_THUMBNAIL)) {
+      return false;
+    }
+    ImageType type = metadataCache.getType(options);
+    if (type == null) {
+      type = ImageHeaderParserUtils.getType(parsers, source, byteArrayPool);
+      metadataCache.putType(options, type);
+    }
+    return type == ImageType.GIF;
   }
 
   @Override
@@ -0,0 +1,23 @@
+package com.bumptech.glide.provider;
+
+import com.bumptech.glide.load.BitmapDecoderBackend;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Contains an ordered list of {@link BitmapDecoderBackend}s.
+ *
+ * <p>The returned list is shared with decoders that iterate over it for every decode, so it's a
+ * copy on write list that can be iterated without locking.
+ */
+public final class BitmapDecoderBackendRegistry {
+  private final List<BitmapDecoderBackend> backends = new CopyOnWriteArrayList<>();
+
+  public List<BitmapDecoderBackend> getBackends() {
+    return backends;
+  }
+
+  public void add(BitmapDecoderBackend backend) {
+    backends.add(backend);
+  }
+}
@@ -3,19 +3,22 @@ package com.bumptech.glide.provider;
 import android.support.annotation.Nullable;
 import com.bumptech.glide.load.Encoder;
 import com.bumptech.glide.util.Synthetic;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Contains an unordered list of {@link Encoder}s capable of encoding arbitrary data types.
+ *
+ * <p>Encoders are added rarely and looked up for every load, so lookups iterate over a copy on
+ * write list without locking.
  */
 public class EncoderRegistry {
   // TODO: This registry should probably contain a put, rather than a list.
-  private final List<Entry<?>> encoders = new ArrayList<>();
+  private final List<Entry<?>> encoders = new CopyOnWriteArrayList<>();
 
   @SuppressWarnings("unchecked")
   @Nullable
-  public synchronized <T> Encoder<T> getEncoder(Class<T> dataClass) {
+  public <T> Encoder<T> getEncoder(Class<T> dataClass) {
     for (Entry<?> entry : encoders) {
       if (entry.handles(dataClass)) {
         return (Encoder<T>) entry.encoder;
@@ -24,7 +27,7 @@ public class EncoderRegistry {
     return null;
   }
 
-  public synchronized <T> void add(Class<T> dataClass, Encoder<T> encoder) {
+  public <T> void add(Class<T> dataClass, Encoder<T> encoder) {
     encoders.add(new Entry<>(dataClass, encoder));
   }
 
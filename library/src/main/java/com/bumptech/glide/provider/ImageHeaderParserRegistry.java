@@ -1,20 +1,23 @@
 package com.bumptech.glide.provider;
 
 import com.bumptech.glide.load.ImageHeaderParser;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Contains an unordered list of {@link ImageHeaderParser}s capable of parsing image headers.
+ *
+ * <p>The returned list is shared with decoders that iterate over it for every decode, so it's a
+ * copy on write list that can be iterated without locking.
  */
 public final class ImageHeaderParserRegistry {
-  private final List<ImageHeaderParser> parsers = new ArrayList<>();
+  private final List<ImageHeaderParser> parsers = new CopyOnWriteArrayList<>();
 
-  public synchronized List<ImageHeaderParser> getParsers() {
+  public List<ImageHeaderParser> getParsers() {
     return parsers;
   }
 
-  public synchronized void add(ImageHeaderParser parser) {
+  public void add(ImageHeaderParser parser) {
     parsers.add(parser);
   }
 }
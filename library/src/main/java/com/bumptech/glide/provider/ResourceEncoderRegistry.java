@@ -3,27 +3,28 @@ package com.bumptech.glide.provider;
 import android.support.annotation.Nullable;
 import com.bumptech.glide.load.ResourceEncoder;
 import com.bumptech.glide.util.Synthetic;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Contains an unordered list of {@link ResourceEncoder}s capable of encoding arbitrary resource
  * types.
+ *
+ * <p>Encoders are added rarely and looked up for every load, so lookups iterate over a copy on
+ * write list without locking.
  */
 public class ResourceEncoderRegistry {
   // TODO: this should probably be a put.
-  final List<Entry<?>> encoders = new ArrayList<>();
+  final List<Entry<?>> encoders = new CopyOnWriteArrayList<>();
 
-  public synchronized <Z> void add(Class<Z> resourceClass, ResourceEncoder<Z> encoder) {
+  public <Z> void add(Class<Z> resourceClass, ResourceEncoder<Z> encoder) {
     encoders.add(new Entry<>(resourceClass, encoder));
   }
 
   @SuppressWarnings("unchecked")
   @Nullable
-  public synchronized <Z> ResourceEncoder<Z> get(Class<Z> resourceClass) {
-    int size = encoders.size();
-    for (int i = 0; i < size; i++) {
-      Entry<?> entry = encoders.get(i);
+  public <Z> ResourceEncoder<Z> get(Class<Z> resourceClass) {
+    for (Entry<?> entry : encoders) {
       if (entry.handles(resourceClass)) {
         return (ResourceEncoder<Z>) entry.encoder;
       }
@@ -17,20 +17,24 @@ import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.bumptech.glide.load.resource.bitmap.BitmapDrawableTransformation;
 import com.bumptech.glide.load.resource.bitmap.BitmapEncoder;
 import com.bumptech.glide.load.resource.bitmap.CenterCrop;
+import com.bumptech.glide.load.resource.bitmap.CenterCropRegionDecoder;
 import com.bumptech.glide.load.resource.bitmap.CenterInside;
 import com.bumptech.glide.load.resource.bitmap.CircleCrop;
 import com.bumptech.glide.load.resource.bitmap.DownsampleStrategy;
 import com.bumptech.glide.load.resource.bitmap.Downsampler;
 import com.bumptech.glide.load.resource.bitmap.FitCenter;
+import com.bumptech.glide.load.resource.bitmap.FusedBitmapTransformation;
 import com.bumptech.glide.load.resource.bitmap.VideoBitmapDecoder;
 import com.bumptech.glide.load.resource.gif.ByteBufferGifDecoder;
 import com.bumptech.glide.load.resource.gif.GifDrawable;
 import com.bumptech.glide.load.resource.gif.GifDrawableTransformation;
 import com.bumptech.glide.load.resource.gif.StreamGifDecoder;
 import com.bumptech.glide.signature.EmptySignature;
+import com.bumptech.glide.util.CachedHashCodeArrayMap;
+import com.bumptech.glide.util.Interner;
 import com.bumptech.glide.util.Preconditions;
 import com.bumptech.glide.util.Util;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -58,6 +62,9 @@ public class RequestOptions implements Cloneable {
   private static final int TRANSFORMATION_REQUIRED = 1 << 17;
   private static final int USE_UNLIMITED_SOURCE_GENERATORS_POOL = 1 << 18;
   private static final int ONLY_RETRIEVE_FROM_CACHE = 1 << 19;
+  private static final int MAX_INTERNED_TRANSFORMATIONS = 64;
+  private static final Interner<Map<Class<?>, Transformation<?>>> TRANSFORMATIONS_INTERNER =
+      new Interner<>(MAX_INTERNED_TRANSFORMATIONS);
 
   private static RequestOptions skipMemoryCacheTrueOptions;
   private static RequestOptions skipMemoryCacheFalseOptions;
@@ -85,7 +92,11 @@ public class RequestOptions implements Cloneable {
   private Drawable fallbackDrawable;
   private int fallbackId;
   private Options options = new Options();
-  private Map<Class<?>, Transformation<?>> transformations = new HashMap<>();
+  private Map<Class<?>, Transformation<?>> transformations = new CachedHashCodeArrayMap<>();
+  // Set once our options or transformations are shared canonical instances that must be copied
+  // before they're modified, see lock().
+  private boolean isOptionsShared;
+  private boolean areTransformationsShared;
   private Class<?> resourceClass = Object.class;
   private boolean isLocked;
   private Resources.Theme theme;
@@ -646,17 +657,20 @@ public class RequestOptions implements Cloneable {
    * builders. </p>
    *
    * <p> Even if this object was locked, the cloned object returned from this method will not be
-   * locked. </p>
+   * locked. Clones of locked objects share our {@link Options} and transformations until either
+   * is modified. </p>
    */
   @SuppressWarnings("unchecked")
   @Override
   public RequestOptions clone() {
     try {
       RequestOptions result = (RequestOptions) super.clone();
-      result.options = new Options();
-      result.options.putAll(options);
-      result.transformations = new HashMap<>();
-      result.transformations.putAll(transformations);
+      if (!isOptionsShared) {
+        result.options = copyOf(options);
+      }
+      if (!areTransformationsShared) {
+        result.transformations = copyOf(transformations);
+      }
       result.isLocked = false;
       result.isAutoCloneEnabled = false;
       return (RequestOptions) result;
@@ -672,7 +686,7 @@ public class RequestOptions implements Cloneable {
 
     Preconditions.checkNotNull(option);
     Preconditions.checkNotNull(value);
-    options.set(option, value);
+    getMutableOptions().set(option, value);
     return selfOrThrowIfLocked();
   }
 
@@ -987,11 +1001,12 @@ public class RequestOptions implements Cloneable {
       return clone().optionalTransform(transformation);
     }
 
-    optionalTransform(Bitmap.class, transformation);
+    // Chains of built in transformations can be applied in a single pass.
+    Transformation<Bitmap> fused = FusedBitmapTransformation.fuse(transformation);
+    optionalTransform(Bitmap.class, fused);
     // TODO: remove BitmapDrawable decoder and this transformation.
-    optionalTransform(BitmapDrawable.class,
-        new BitmapDrawableTransformation(transformation));
-    optionalTransform(GifDrawable.class, new GifDrawableTransformation(transformation));
+    optionalTransform(BitmapDrawable.class, new BitmapDrawableTransformation(fused));
+    optionalTransform(GifDrawable.class, new GifDrawableTransformation(fused));
     return selfOrThrowIfLocked();
   }
 
@@ -1020,7 +1035,7 @@ public class RequestOptions implements Cloneable {
 
     Preconditions.checkNotNull(resourceClass);
     Preconditions.checkNotNull(transformation);
-    transformations.put(resourceClass, transformation);
+    getMutableTransformations().put(resourceClass, transformation);
     fields |= TRANSFORMATION;
     isTransformationAllowed = true;
     fields |= TRANSFORMATION_ALLOWED;
@@ -1059,7 +1074,7 @@ public class RequestOptions implements Cloneable {
       return clone().dontTransform();
     }
 
-    transformations.clear();
+    getMutableTransformations().clear();
     fields &= ~TRANSFORMATION;
     isTransformationRequired = false;
     fields &= ~TRANSFORMATION_REQUIRED;
@@ -1143,7 +1158,7 @@ public class RequestOptions implements Cloneable {
       isTransformationRequired = other.isTransformationRequired;
     }
     if (isSet(other.fields, TRANSFORMATION)) {
-      transformations.putAll(other.transformations);
+      getMutableTransformations().putAll(other.transformations);
     }
     if (isSet(other.fields, ONLY_RETRIEVE_FROM_CACHE)) {
       onlyRetrieveFromCache = other.onlyRetrieveFromCache;
@@ -1151,14 +1166,14 @@ public class RequestOptions implements Cloneable {
 
     // Applying options with dontTransform() is expected to clear our transformations.
     if (!isTransformationAllowed) {
-      transformations.clear();
+      getMutableTransformations().clear();
       fields &= ~TRANSFORMATION;
       isTransformationRequired = false;
       fields &= ~TRANSFORMATION_REQUIRED;
     }
 
     fields |= other.fields;
-    options.putAll(other.options);
+    getMutableOptions().putAll(other.options);
 
     return selfOrThrowIfLocked();
   }
@@ -1167,9 +1182,26 @@ public class RequestOptions implements Cloneable {
    * Throws if any further mutations are attempted.
    *
    * <p> Once locked, the only way to unlock is to use {@link #clone()} </p>
+   *
+   * <p> Locking also replaces our {@link Options} and transformations with shared canonical
+   * instances so that the memory cache keys built from equal locked options compare and hash
+   * without iterating over either. The shared instances can't be modified and are only looked up
+   * once, clones share them until they're modified. </p>
    */
   @SuppressWarnings("unchecked")
   public RequestOptions lock() {
+    if (!isLocked) {
+      updateCenterCropRegionOption();
+      if (!isOptionsShared) {
+        options = Options.intern(options);
+        isOptionsShared = true;
+      }
+      if (!areTransformationsShared) {
+        transformations =
+            TRANSFORMATIONS_INTERNER.intern(Collections.unmodifiableMap(transformations));
+        areTransformationsShared = true;
+      }
+    }
     isLocked = true;
     // This is the only place we should not check locked.
     return (RequestOptions) this;
@@ -1192,6 +1224,47 @@ public class RequestOptions implements Cloneable {
     return lock();
   }
 
+  // Lets decoders skip the parts of the image CenterCrop would discard. Derived when we're locked
+  // rather than when CenterCrop is applied so that later changes to our transformations, directly
+  // or via apply(), are always reflected.
+  private void updateCenterCropRegionOption() {
+    Transformation<?> bitmapTransformation = transformations.get(Bitmap.class);
+    boolean isCenterCrop = isTransformationAllowed && bitmapTransformation != null
+        && bitmapTransformation.getClass() == CenterCrop.class;
+    if (isCenterCrop != options.get(CenterCropRegionDecoder.DECODE_CENTER_CROP_REGION)) {
+      getMutableOptions().set(CenterCropRegionDecoder.DECODE_CENTER_CROP_REGION, isCenterCrop);
+    }
+  }
+
+  private Options getMutableOptions() {
+    if (isOptionsShared) {
+      options = copyOf(options);
+      isOptionsShared = false;
+    }
+    return options;
+  }
+
+  private Map<Class<?>, Transformation<?>> getMutableTransformations() {
+    if (areTransformationsShared) {
+      transformations = copyOf(transformations);
+      areTransformationsShared = false;
+    }
+    return transformations;
+  }
+
+  private static Options copyOf(Options options) {
+    Options result = new Options();
+    result.putAll(options);
+    return result;
+  }
+
+  private static Map<Class<?>, Transformation<?>> copyOf(
+      Map<Class<?>, Transformation<?>> transformations) {
+    Map<Class<?>, Transformation<?>> result = new CachedHashCodeArrayMap<>();
+    result.putAll(transformations);
+    return result;
+  }
+
   @SuppressWarnings("unchecked")
   private RequestOptions selfOrThrowIfLocked() {
     if (isLocked) {
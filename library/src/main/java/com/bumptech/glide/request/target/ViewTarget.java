@@ -13,6 +13,8 @@ import com.bumptech.glide.util.Synthetic;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * A base {@link Target} for loading {@link android.graphics.Bitmap}s into {@link View}s that
@@ -160,13 +162,14 @@ public abstract class ViewTarget<T extends View, Z> extends BaseTarget<Z> {
       ViewTarget.tagId = tagId;
   }
 
-  private static class SizeDeterminer {
+  private static class SizeDeterminer implements View.OnAttachStateChangeListener {
     // Some negative sizes (Target.SIZE_ORIGINAL) are valid, 0 is never valid.
     private static final int PENDING_SIZE = 0;
     private final View view;
     private final List<SizeReadyCallback> cbs = new ArrayList<>();
 
-    @Nullable private SizeDeterminerLayoutListener layoutListener;
+    @Nullable private SizeDeterminerBatch batch;
+    private boolean isWaitingForAttach;
 
     SizeDeterminer(View view) {
       this.view = view;
@@ -178,6 +181,11 @@ public abstract class ViewTarget<T extends View, Z> extends BaseTarget<Z> {
       }
     }
 
+    @Synthetic
+    boolean isSizeReady() {
+      return !cbs.isEmpty() && isViewStateAndSizeValid(getTargetWidth(), getTargetHeight());
+    }
+
     @Synthetic
     void checkCurrentDimens() {
       if (cbs.isEmpty()) {
@@ -207,25 +215,53 @@ public abstract class ViewTarget<T extends View, Z> extends BaseTarget<Z> {
       if (!cbs.contains(cb)) {
         cbs.add(cb);
       }
-      if (layoutListener == null) {
-        ViewTreeObserver observer = view.getViewTreeObserver();
-        layoutListener = new SizeDeterminerLayoutListener(this);
-        observer.addOnPreDrawListener(layoutListener);
+      if (batch != null || isWaitingForAttach) {
+        return;
+      }
+      if (isAttachedToWindow()) {
+        joinBatch();
+      } else {
+        // Views that aren't attached each have their own ViewTreeObserver, so wait to join the
+        // batch for the window's ViewTreeObserver. Lists bind most of their views before they're
+        // attached.
+        isWaitingForAttach = true;
+        view.addOnAttachStateChangeListener(this);
+      }
+    }
+
+    private void joinBatch() {
+      batch = SizeDeterminerBatch.obtain(view.getViewTreeObserver());
+      batch.add(this);
+    }
+
+    private boolean isAttachedToWindow() {
+      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+        return view.isAttachedToWindow();
       }
+      return view.getWindowToken() != null;
+    }
+
+    @Override
+    public void onViewAttachedToWindow(View v) {
+      view.removeOnAttachStateChangeListener(this);
+      isWaitingForAttach = false;
+      joinBatch();
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(View v) {
+      // Do nothing, views that are detached while pending are still waiting for their sizes.
     }
 
     void clearCallbacksAndListener() {
-      // Keep a reference to the layout listener and remove it here
-      // rather than having the observer remove itself because the observer
-      // we add the listener to will be almost immediately merged into
-      // another observer and will therefore never be alive. If we instead
-      // keep a reference to the listener and remove it here, we get the
-      // current view tree observer and should succeed.
-      ViewTreeObserver observer = view.getViewTreeObserver();
-      if (observer.isAlive()) {
-        observer.removeOnPreDrawListener(layoutListener);
+      if (isWaitingForAttach) {
+        view.removeOnAttachStateChangeListener(this);
+        isWaitingForAttach = false;
+      }
+      if (batch != null) {
+        batch.remove(this, view);
       }
-      layoutListener = null;
+      batch = null;
       cbs.clear();
     }
 
@@ -285,23 +321,93 @@ public abstract class ViewTarget<T extends View, Z> extends BaseTarget<Z> {
       return size > 0 || size == SIZE_ORIGINAL;
     }
 
-    private static class SizeDeterminerLayoutListener implements ViewTreeObserver
-        .OnPreDrawListener {
-      private final WeakReference<SizeDeterminer> sizeDeterminerRef;
+    /**
+     * Waits for the sizes of all {@link SizeDeterminer}s for views that share a
+     * {@link ViewTreeObserver} using a single {@link ViewTreeObserver.OnPreDrawListener}.
+     *
+     * <p>Lists and grids often bind many views before their first layout. Sharing one listener
+     * avoids a listener and a callback per view on every frame until the views are laid out. When
+     * they are, the sizes of all of the views are checked before any callbacks are notified, so the
+     * requests for all of the views are started together.
+     *
+     * <p>Views that aren't yet attached to a window each have their own {@link ViewTreeObserver}
+     * that's merged into the window's when they're attached, so they join the batch for their
+     * window once they're attached.
+     *
+     * <p>Only accessed on the main thread.
+     */
+    private static final class SizeDeterminerBatch implements ViewTreeObserver.OnPreDrawListener {
+      private static final Map<ViewTreeObserver, SizeDeterminerBatch> BATCHES =
+          new WeakHashMap<>();
+
+      private final WeakReference<ViewTreeObserver> observerRef;
+      // Weak so that views whose loads are never cleared aren't leaked by their view tree.
+      private final List<WeakReference<SizeDeterminer>> sizeDeterminerRefs = new ArrayList<>();
+      private final List<SizeDeterminer> ready = new ArrayList<>();
+
+      private SizeDeterminerBatch(ViewTreeObserver observer) {
+        observerRef = new WeakReference<>(observer);
+      }
+
+      static SizeDeterminerBatch obtain(ViewTreeObserver observer) {
+        SizeDeterminerBatch batch = BATCHES.get(observer);
+        if (batch == null) {
+          batch = new SizeDeterminerBatch(observer);
+          BATCHES.put(observer, batch);
+          observer.addOnPreDrawListener(batch);
+        }
+        return batch;
+      }
 
-      SizeDeterminerLayoutListener(SizeDeterminer sizeDeterminer) {
-        sizeDeterminerRef = new WeakReference<>(sizeDeterminer);
+      void add(SizeDeterminer sizeDeterminer) {
+        sizeDeterminerRefs.add(new WeakReference<>(sizeDeterminer));
+      }
+
+      void remove(SizeDeterminer sizeDeterminer, View view) {
+        for (int i = sizeDeterminerRefs.size() - 1; i >= 0; i--) {
+          SizeDeterminer current = sizeDeterminerRefs.get(i).get();
+          if (current == null || current == sizeDeterminer) {
+            sizeDeterminerRefs.remove(i);
+          }
+        }
+        if (!sizeDeterminerRefs.isEmpty()) {
+          return;
+        }
+
+        ViewTreeObserver originalObserver = observerRef.get();
+        if (originalObserver != null && BATCHES.get(originalObserver) == this) {
+          BATCHES.remove(originalObserver);
+        }
+        // Keep a reference to the layout listener and remove it here
+        // rather than having the observer remove itself because the observer
+        // we add the listener to will be almost immediately merged into
+        // another observer and will therefore never be alive. If we instead
+        // keep a reference to the listener and remove it here, we get the
+        // current view tree observer and should succeed.
+        ViewTreeObserver observer = view.getViewTreeObserver();
+        if (observer.isAlive()) {
+          observer.removeOnPreDrawListener(this);
+        }
       }
 
       @Override
       public boolean onPreDraw() {
         if (Log.isLoggable(TAG, Log.VERBOSE)) {
-          Log.v(TAG, "OnGlobalLayoutListener called listener=" + this);
+          Log.v(TAG, "OnGlobalLayoutListener called listener=" + this
+              + ", pending: " + sizeDeterminerRefs.size());
+        }
+        // Check every view before notifying any callbacks, starting a request may add or remove
+        // size determiners.
+        for (int i = 0, size = sizeDeterminerRefs.size(); i < size; i++) {
+          SizeDeterminer sizeDeterminer = sizeDeterminerRefs.get(i).get();
+          if (sizeDeterminer != null && sizeDeterminer.isSizeReady()) {
+            ready.add(sizeDeterminer);
+          }
         }
-        SizeDeterminer sizeDeterminer = sizeDeterminerRef.get();
-        if (sizeDeterminer != null) {
-          sizeDeterminer.checkCurrentDimens();
+        for (int i = 0, size = ready.size(); i < size; i++) {
+          ready.get(i).checkCurrentDimens();
         }
+        ready.clear();
         return true;
       }
     }
@@ -24,6 +24,10 @@ public abstract class BitmapContainerTransitionFactory<R> implements TransitionF
   @Override
   public Transition<R> build(DataSource dataSource, boolean isFirstResource) {
     Transition<Drawable> transition = realFactory.build(dataSource, isFirstResource);
+    // Avoid allocating a wrapper for loads that aren't animated, typically memory cache hits.
+    if (transition instanceof NoTransition) {
+      return NoTransition.get();
+    }
     return new BitmapGlideAnimation(transition);
   }
 
@@ -0,0 +1,55 @@
+package com.bumptech.glide.util;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A fixed size, thread safe pool of canonical instances.
+ *
+ * <p>Values passed to {@link #intern(Object)} must not be modified afterwards. Equal values
+ * interned from different places usually resolve to the same instance, so later
+ * {@link Object#equals(Object)} calls between them can short circuit on identity.
+ *
+ * <p>Values are held in a direct mapped table indexed by their hash code, which can be read and
+ * written concurrently without locking. Colliding values simply replace each other, which only
+ * costs a few missed identity comparisons. The set of distinct values used by an application is
+ * usually small, so collisions are rare.
+ *
+ * <p>Values are only held weakly, so interning a value that references a {@link
+ * android.content.Context} or a {@link android.view.View}, for example a custom
+ * {@link com.bumptech.glide.load.Transformation}, doesn't keep it alive once it's no longer used.
+ *
+ * @param <T> The type of the interned values.
+ */
+public final class Interner<T> {
+  private final AtomicReferenceArray<WeakReference<T>> pool;
+
+  /**
+   * @param size The number of values that can be held at once, which must be a power of two.
+   */
+  public Interner(int size) {
+    Preconditions.checkArgument(Integer.bitCount(size) == 1, "size must be a power of two");
+    pool = new AtomicReferenceArray<>(size);
+  }
+
+  /**
+   * Returns the canonical instance equal to the given value, making the given value the canonical
+   * instance if no such instance exists yet.
+   */
+  public T intern(T value) {
+    int index = getIndex(value);
+    WeakReference<T> ref = pool.get(index);
+    T canonical = ref != null ? ref.get() : null;
+    if (canonical != null && canonical.equals(value)) {
+      return canonical;
+    }
+    pool.set(index, new WeakReference<>(value));
+    return value;
+  }
+
+  private int getIndex(T value) {
+    int hash = value.hashCode();
+    // Spread the higher bits into the lower bits used to index into the table.
+    return (hash ^ (hash >>> 16)) & (pool.length() - 1);
+  }
+}
@@ -0,0 +1,176 @@
+package com.bumptech.glide.util;
+
+import android.support.annotation.Nullable;
+
+/**
+ * A map keyed on up to three {@link Class}es that can be read from any thread without locking or
+ * allocating.
+ *
+ * <p>Classes are compared by identity and hashed with {@link System#identityHashCode(Object)}, so
+ * lookups don't need a temporary key object. Entries are held in immutable chains inside a table
+ * that is replaced, never modified, when entries are added. Writes are synchronized and copy the
+ * table, so this map is only appropriate for small sets of keys that are written rarely and read
+ * often, like the caches of resolved paths in {@link com.bumptech.glide.Registry}.
+ *
+ * @param <V> The type of the values.
+ */
+public final class MultiClassKeyMap<V> {
+  private static final int INITIAL_CAPACITY = 16;
+  private static final float LOAD_FACTOR = 0.75f;
+
+  private volatile Table<V> table = emptyTable();
+
+  /**
+   * Returns the value for the given pair of classes, or {@code null} if the key is not present or
+   * was put with a {@code null} value.
+   */
+  @Nullable
+  public V get(Class<?> first, Class<?> second) {
+    return get(first, second, null);
+  }
+
+  /**
+   * Returns the value for the given classes, or {@code null} if the key is not present or was put
+   * with a {@code null} value.
+   */
+  @Nullable
+  public V get(Class<?> first, Class<?> second, @Nullable Class<?> third) {
+    Node<V> node = findNode(table, first, second, third);
+    return node == null ? null : node.value;
+  }
+
+  /**
+   * Returns {@code true} if a value, including {@code null}, has been put for the given classes.
+   */
+  public boolean containsKey(Class<?> first, Class<?> second, @Nullable Class<?> third) {
+    return findNode(table, first, second, third) != null;
+  }
+
+  public void put(Class<?> first, Class<?> second, @Nullable V value) {
+    put(first, second, null, value);
+  }
+
+  /**
+   * Puts the given value, which may be {@code null}, for the given classes, replacing any existing
+   * value.
+   */
+  public synchronized void put(
+      Class<?> first, Class<?> second, @Nullable Class<?> third, @Nullable V value) {
+    Table<V> current = table;
+    int size = current.size;
+    Node<V>[] buckets;
+    if (findNode(current, first, second, third) != null) {
+      buckets = copyWithout(current.buckets, first, second, third);
+    } else {
+      size++;
+      int capacity = current.buckets.length;
+      if (size > capacity * LOAD_FACTOR) {
+        buckets = resize(current.buckets, capacity * 2);
+      } else {
+        // Nodes are immutable, so existing chains can be shared with the new table.
+        buckets = current.buckets.clone();
+      }
+    }
+    int index = indexFor(hash(first, second, third), buckets.length);
+    buckets[index] = new Node<>(first, second, third, value, buckets[index]);
+    table = new Table<>(buckets, size);
+  }
+
+  public synchronized void clear() {
+    table = emptyTable();
+  }
+
+  public int size() {
+    return table.size;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> Table<V> emptyTable() {
+    return new Table<>((Node<V>[]) new Node[INITIAL_CAPACITY], 0);
+  }
+
+  @Nullable
+  private static <V> Node<V> findNode(
+      Table<V> table, Class<?> first, Class<?> second, @Nullable Class<?> third) {
+    Node<V>[] buckets = table.buckets;
+    int hash = hash(first, second, third);
+    Node<V> node = buckets[indexFor(hash, buckets.length)];
+    while (node != null) {
+      if (node.hash == hash && node.first == first && node.second == second && node.third == third) {
+        return node;
+      }
+      node = node.next;
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> Node<V>[] resize(Node<V>[] buckets, int capacity) {
+    Node<V>[] result = (Node<V>[]) new Node[capacity];
+    for (Node<V> bucket : buckets) {
+      for (Node<V> node = bucket; node != null; node = node.next) {
+        int index = indexFor(node.hash, capacity);
+        result[index] = new Node<>(node.first, node.second, node.third, node.value, result[index]);
+      }
+    }
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> Node<V>[] copyWithout(
+      Node<V>[] buckets, Class<?> first, Class<?> second, @Nullable Class<?> third) {
+    Node<V>[] result = buckets.clone();
+    int index = indexFor(hash(first, second, third), result.length);
+    Node<V> chain = null;
+    for (Node<V> node = buckets[index]; node != null; node = node.next) {
+      if (node.first != first || node.second != second || node.third != third) {
+        chain = new Node<>(node.first, node.second, node.third, node.value, chain);
+      }
+    }
+    result[index] = chain;
+    return result;
+  }
+
+  private static int hash(Class<?> first, Class<?> second, @Nullable Class<?> third) {
+    int result = System.identityHashCode(first);
+    result = 31 * result + System.identityHashCode(second);
+    result = 31 * result + System.identityHashCode(third);
+    // Spread the higher bits into the lower bits used to index into the table.
+    return result ^ (result >>> 16);
+  }
+
+  private static int indexFor(int hash, int capacity) {
+    // Capacity is always a power of two.
+    return hash & (capacity - 1);
+  }
+
+  private static final class Table<V> {
+    @Synthetic final Node<V>[] buckets;
+    @Synthetic final int size;
+
+    @Synthetic
+    Table(Node<V>[] buckets, int size) {
+      this.buckets = buckets;
+      this.size = size;
+    }
+  }
+
+  private static final class Node<V> {
+    @Synthetic final Class<?> first;
+    @Synthetic final Class<?> second;
+    @Synthetic final Class<?> third;
+    @Synthetic final int hash;
+    @Synthetic final V value;
+    @Synthetic final Node<V> next;
+
+    @Synthetic
+    Node(Class<?> first, Class<?> second, Class<?> third, V value, Node<V> next) {
+      this.first = first;
+      this.second = second;
+      this.third = third;
+      this.hash = hash(first, second, third);
+      this.value = value;
+      this.next = next;
+    }
+  }
+}
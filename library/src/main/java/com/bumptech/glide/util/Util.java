@@ -32,6 +32,17 @@ public final class Util {
     }
   }
 
+  /**
+   * Returns the lower case hex string of the given byte array.
+   *
+   * <p>Unlike {@link #sha256BytesToHex(byte[])}, this method accepts arrays of any length and
+   * doesn't synchronize on a shared buffer.
+   */
+  @SuppressWarnings("PMD.UseVarargs")
+  public static String bytesToHex(byte[] bytes) {
+    return bytesToHex(bytes, new char[bytes.length * 2]);
+  }
+
   // Taken from:
   // http://stackoverflow.com/questions/9655181/convert-from-byte-array-to-hex-string-in-java
   // /9655275#9655275
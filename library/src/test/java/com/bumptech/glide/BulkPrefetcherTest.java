@@ -0,0 +1,197 @@
+package com.bumptech.glide;
+
+import static com.bumptech.glide.tests.Util.cast;
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.request.RequestListener;
+import com.bumptech.glide.request.target.Target;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 18)
+public class BulkPrefetcherTest {
+  @Mock private RequestManager requestManager;
+  @Mock private RequestBuilder<File> requestBuilder;
+  @Mock private BulkPrefetcher.PrefetchListener listener;
+  @Mock private Executor sizeExecutor;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    when(requestManager.downloadOnly()).thenReturn(requestBuilder);
+    when(requestBuilder.load(any())).thenReturn(requestBuilder);
+    when(requestBuilder.listener(any(RequestListener.class))).thenReturn(requestBuilder);
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        ((Runnable) invocation.getArguments()[0]).run();
+        return null;
+      }
+    }).when(sizeExecutor).execute(any(Runnable.class));
+  }
+
+  @Test
+  public void start_startsAtMostMaxConcurrentPrefetches() {
+    prefetch(Arrays.<Object>asList("1", "2", "3", "4"), 2);
+
+    verify(requestBuilder, times(2)).into(any(Target.class));
+  }
+
+  @Test
+  public void onPrefetchComplete_startsNextPrefetch() throws IOException {
+    prefetch(Arrays.<Object>asList("1", "2", "3", "4"), 2);
+
+    getTargets().get(0).onResourceReady(newFile(10), null /*transition*/);
+    ShadowLooper.runUiThreadTasks();
+
+    verify(requestBuilder, times(3)).into(any(Target.class));
+    verify(requestBuilder).load(eq((Object) "3"));
+  }
+
+  @Test
+  public void onPrefetchComplete_doesNotClearOrStartNextUntilCallbackReturns() throws IOException {
+    prefetch(Arrays.<Object>asList("1", "2"), 1);
+    ShadowLooper.pauseMainLooper();
+
+    getTargets().get(0).onResourceReady(newFile(10), null /*transition*/);
+    verify(requestManager, never()).clear(any(Target.class));
+    verify(requestBuilder, times(1)).into(any(Target.class));
+
+    ShadowLooper.unPauseMainLooper();
+    verify(requestManager).clear(any(Target.class));
+    verify(requestBuilder, times(2)).into(any(Target.class));
+  }
+
+  @Test
+  public void onPrefetchComplete_withFetchedFile_readsSizeOnSizeExecutor() throws IOException {
+    reset(sizeExecutor);
+    prefetch(Arrays.<Object>asList("1"), 1);
+
+    getTargets().get(0).onResourceReady(newFile(10), null /*transition*/);
+    ShadowLooper.runUiThreadTasks();
+    ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+    verify(sizeExecutor).execute(captor.capture());
+    verify(listener, never()).onPrefetchProgress(anyInt(), anyInt(), anyLong());
+
+    captor.getValue().run();
+    ShadowLooper.runUiThreadTasks();
+    verify(listener).onPrefetchProgress(1, 1, 10);
+    verify(listener).onPrefetchComplete(1 /*fetched*/, 0 /*alreadyCached*/, 0 /*failed*/, 10);
+  }
+
+  @Test
+  public void start_withDuplicateModels_loadsEachModelOnce() {
+    prefetch(Arrays.<Object>asList("1", "1", "2"), 5);
+
+    verify(requestBuilder).load(eq((Object) "1"));
+    verify(requestBuilder).load(eq((Object) "2"));
+    verify(requestBuilder, times(2)).into(any(Target.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void onPrefetchComplete_reportsProgressAndTotals() throws IOException {
+    prefetch(Arrays.<Object>asList("1", "2", "3"), 3);
+    List<Target<File>> targets = getTargets();
+
+    File cached = newFile(5);
+    RequestListener<File> cachedListener = (RequestListener<File>) targets.get(0);
+    cachedListener.onResourceReady(cached, "1", targets.get(0), DataSource.DATA_DISK_CACHE,
+        true /*isFirstResource*/);
+    targets.get(0).onResourceReady(cached, null /*transition*/);
+    ShadowLooper.runUiThreadTasks();
+    verify(listener).onPrefetchProgress(1, 3, 0);
+
+    File fetched = newFile(20);
+    RequestListener<File> fetchedListener = (RequestListener<File>) targets.get(1);
+    fetchedListener.onResourceReady(fetched, "2", targets.get(1), DataSource.REMOTE,
+        true /*isFirstResource*/);
+    targets.get(1).onResourceReady(fetched, null /*transition*/);
+    ShadowLooper.runUiThreadTasks();
+    verify(listener).onPrefetchProgress(2, 3, 20);
+
+    targets.get(2).onLoadFailed(null /*errorDrawable*/);
+    ShadowLooper.runUiThreadTasks();
+    verify(listener).onPrefetchProgress(3, 3, 20);
+    verify(listener).onPrefetchComplete(1 /*fetched*/, 1 /*alreadyCached*/, 1 /*failed*/, 20);
+    verify(requestManager, times(3)).clear(any(Target.class));
+  }
+
+  @Test
+  public void cancel_clearsRunningPrefetches_andDoesNotStartMore() throws IOException {
+    BulkPrefetcher prefetcher = prefetch(Arrays.<Object>asList("1", "2", "3"), 2);
+    List<Target<File>> targets = getTargets();
+
+    prefetcher.cancel();
+    targets.get(0).onResourceReady(newFile(10), null /*transition*/);
+    ShadowLooper.runUiThreadTasks();
+
+    assertThat(prefetcher.isDone()).isTrue();
+    verify(requestManager, times(2)).clear(any(Target.class));
+    verify(requestBuilder, times(2)).into(any(Target.class));
+    verify(listener, never()).onPrefetchProgress(anyInt(), anyInt(), anyLong());
+  }
+
+  @Test
+  public void start_withNoModels_completesImmediately() {
+    BulkPrefetcher prefetcher = prefetch(Collections.<Object>emptyList(), 2);
+
+    assertThat(prefetcher.isDone()).isTrue();
+    verify(listener).onPrefetchComplete(0, 0, 0, 0);
+  }
+
+  private BulkPrefetcher prefetch(List<Object> models, int maxConcurrent) {
+    BulkPrefetcher prefetcher =
+        new BulkPrefetcher(requestManager, models, maxConcurrent, sizeExecutor, listener);
+    prefetcher.start();
+    return prefetcher;
+  }
+
+  private List<Target<File>> getTargets() {
+    ArgumentCaptor<Target<File>> captor = cast(ArgumentCaptor.forClass(Target.class));
+    verify(requestBuilder, atLeastOnce()).into(captor.capture());
+    return captor.getAllValues();
+  }
+
+  private static File newFile(int length) throws IOException {
+    File file =
+        File.createTempFile("prefetch", "data", RuntimeEnvironment.application.getCacheDir());
+    FileOutputStream os = new FileOutputStream(file);
+    try {
+      os.write(new byte[length]);
+    } finally {
+      os.close();
+    }
+    return file;
+  }
+}
@@ -4,10 +4,13 @@ import static com.bumptech.glide.tests.Util.cast;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import android.os.SystemClock;
+import android.widget.AbsListView;
 import com.bumptech.glide.request.target.SizeReadyCallback;
 import com.bumptech.glide.request.target.Target;
 import java.util.ArrayList;
@@ -352,6 +355,113 @@ public class ListPreloaderTest {
     assertThat(loadedObjects).containsAllIn(objects);
   }
 
+  @Test
+  public void testAdaptive_suspendsPreloadsDuringFastFling_andResumesWhenIdle() {
+    RecordingAdapter adapter = new RecordingAdapter(request);
+    ListPreloader<Object> preloader =
+        new ListPreloader<>(requestManager, adapter, adapter, 5, true /*isAdaptive*/);
+
+    preloader.onScroll(null, 1, 10, 1000);
+    assertThat(adapter.positions).containsExactly(11, 12, 13, 14, 15).inOrder();
+    completePreloadAfter(100 /*latencyMs*/);
+
+    preloader.onScrollStateChanged(null, AbsListView.OnScrollListener.SCROLL_STATE_FLING);
+    SystemClock.sleep(10);
+    preloader.onScroll(null, 21, 10, 1000);
+    assertThat(adapter.positions).containsExactly(11, 12, 13, 14, 15).inOrder();
+
+    preloader.onScrollStateChanged(null, AbsListView.OnScrollListener.SCROLL_STATE_IDLE);
+    assertThat(adapter.positions)
+        .containsExactly(11, 12, 13, 14, 15, 31, 32, 33, 34, 35).inOrder();
+  }
+
+  @Test
+  public void testAdaptive_preloadsFewerItemsWhenScrollingSlowly() {
+    RecordingAdapter adapter = new RecordingAdapter(request);
+    ListPreloader<Object> preloader =
+        new ListPreloader<>(requestManager, adapter, adapter, 5, true /*isAdaptive*/);
+
+    preloader.onScroll(null, 1, 10, 1000);
+    completePreloadAfter(100 /*latencyMs*/);
+    adapter.positions.clear();
+
+    preloader.onScrollStateChanged(null, AbsListView.OnScrollListener.SCROLL_STATE_TOUCH_SCROLL);
+    SystemClock.sleep(1000);
+    preloader.onScroll(null, 6, 10, 1000);
+
+    assertThat(adapter.positions).containsExactly(16, 17).inOrder();
+  }
+
+  @Test
+  public void testAdaptive_whenNumberToPreloadDrops_doesNotPreloadItemsAgain() {
+    RecordingAdapter adapter = new RecordingAdapter(request);
+    ListPreloader<Object> preloader =
+        new ListPreloader<>(requestManager, adapter, adapter, 5, true /*isAdaptive*/);
+
+    preloader.onScroll(null, 1, 10, 1000);
+    completePreloadAfter(100 /*latencyMs*/);
+
+    preloader.onScrollStateChanged(null, AbsListView.OnScrollListener.SCROLL_STATE_TOUCH_SCROLL);
+    for (int firstVisible = 2; firstVisible <= 6; firstVisible++) {
+      SystemClock.sleep(1000);
+      preloader.onScroll(null, firstVisible, 10, 1000);
+    }
+
+    assertThat(adapter.positions).containsExactly(11, 12, 13, 14, 15, 16, 17).inOrder();
+  }
+
+  @Test
+  public void testNotAdaptive_preloadsDuringFastFling() {
+    RecordingAdapter adapter = new RecordingAdapter(request);
+    ListPreloader<Object> preloader = new ListPreloader<>(requestManager, adapter, adapter, 5);
+
+    preloader.onScroll(null, 1, 10, 1000);
+    completePreloadAfter(100 /*latencyMs*/);
+
+    preloader.onScrollStateChanged(null, AbsListView.OnScrollListener.SCROLL_STATE_FLING);
+    SystemClock.sleep(10);
+    preloader.onScroll(null, 21, 10, 1000);
+
+    assertThat(adapter.positions)
+        .containsExactly(11, 12, 13, 14, 15, 31, 32, 33, 34, 35).inOrder();
+  }
+
+  private void completePreloadAfter(long latencyMs) {
+    ArgumentCaptor<Target<Object>> targetCaptor = cast(ArgumentCaptor.forClass(Target.class));
+    verify(request, atLeastOnce()).into(targetCaptor.capture());
+    Target<Object> target = targetCaptor.getValue();
+    target.getSize(mock(SizeReadyCallback.class));
+    SystemClock.sleep(latencyMs);
+    target.onResourceReady(new Object(), null /*transition*/);
+  }
+
+  private static final class RecordingAdapter
+      implements ListPreloader.PreloadModelProvider<Object>,
+      ListPreloader.PreloadSizeProvider<Object> {
+    private final RequestBuilder<Object> request;
+    final List<Integer> positions = new ArrayList<>();
+
+    RecordingAdapter(RequestBuilder<Object> request) {
+      this.request = request;
+    }
+
+    @Override
+    public List<Object> getPreloadItems(int position) {
+      positions.add(position);
+      return Collections.<Object>singletonList(position);
+    }
+
+    @Override
+    public RequestBuilder<Object> getPreloadRequestBuilder(Object item) {
+      return request;
+    }
+
+    @Override
+    public int[] getPreloadSize(Object item, int adapterPosition, int itemPosition) {
+      return new int[] { 100, 100 };
+    }
+  }
+
   private static class ListPreloaderAdapter implements ListPreloader.PreloadModelProvider<Object>,
       ListPreloader.PreloadSizeProvider<Object> {
 
@@ -0,0 +1,64 @@
+package com.bumptech.glide;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.bumptech.glide.load.ResourceDecoder;
+import com.bumptech.glide.load.engine.LoadPath;
+import com.bumptech.glide.load.model.ModelLoaderFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 18)
+public class RegistryTest {
+
+  @Mock ModelLoaderFactory<Integer, String> modelLoaderFactory;
+  @Mock ResourceDecoder<String, Integer> integerDecoder;
+  @Mock ResourceDecoder<String, Long> longDecoder;
+
+  private Registry registry;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    registry = new Registry()
+        .append(Integer.class, String.class, modelLoaderFactory)
+        .append(String.class, Integer.class, integerDecoder);
+  }
+
+  @Test
+  public void testWarmUp_resolvesLoadPathForRegisteredDataClass() {
+    registry.warmUp(Integer.class, Object.class, Object.class);
+    // Components registered after warming up aren't included in already resolved paths.
+    registry.append(String.class, Long.class, longDecoder);
+
+    LoadPath<String, Object, Object> loadPath =
+        registry.getLoadPath(String.class, Object.class, Object.class);
+    assertThat(loadPath).isNotNull();
+    // Mocks are named after their fields.
+    assertThat(loadPath.toString()).contains("integerDecoder");
+    assertThat(loadPath.toString()).doesNotContain("longDecoder");
+  }
+
+  @Test
+  public void testWarmUp_resolvesRegisteredResourceClasses() {
+    registry.warmUp(Integer.class, Object.class, Object.class);
+    registry.append(String.class, Long.class, longDecoder);
+
+    assertThat(registry.getRegisteredResourceClasses(Integer.class, Object.class, Object.class))
+        .containsExactly(Integer.class);
+  }
+
+  @Test
+  public void testGetRegisteredResourceClasses_withoutWarmUp_includesAllDecoders() {
+    registry.append(String.class, Long.class, longDecoder);
+
+    assertThat(registry.getRegisteredResourceClasses(Integer.class, Object.class, Object.class))
+        .containsExactly(Integer.class, Long.class);
+  }
+}
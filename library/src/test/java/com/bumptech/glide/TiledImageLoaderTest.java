@@ -0,0 +1,148 @@
+package com.bumptech.glide;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.graphics.Bitmap;
+import android.graphics.Rect;
+import com.bumptech.glide.load.resource.bitmap.ImageTile;
+import com.bumptech.glide.load.resource.bitmap.ImageTileDecoder;
+import com.bumptech.glide.request.RequestOptions;
+import com.bumptech.glide.request.target.Target;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 18)
+public class TiledImageLoaderTest {
+  private static final Object MODEL = "model";
+  private RequestManager requestManager;
+  private RequestBuilder<Bitmap> requestBuilder;
+  private TiledImageLoader loader;
+
+  @SuppressWarnings("unchecked")
+  @Before
+  public void setUp() {
+    requestManager = mock(RequestManager.class);
+    requestBuilder = mock(RequestBuilder.class);
+    when(requestManager.asBitmap()).thenReturn(requestBuilder);
+    when(requestBuilder.load(MODEL)).thenReturn(requestBuilder);
+    when(requestBuilder.apply(any(RequestOptions.class))).thenReturn(requestBuilder);
+    loader = new TiledImageLoader(requestManager, MODEL, 1000 /*imageWidth*/,
+        1000 /*imageHeight*/, 256 /*tileSize*/, 1 /*prefetchDistance*/,
+        mock(TiledImageLoader.TileListener.class));
+  }
+
+  @Test
+  public void setVisibleRegion_withPrefetchingTileBecomingVisible_restartsTileAtHigherPriority() {
+    ImageTile tile = new ImageTile(MODEL, new Rect(256, 0, 512, 256), 1);
+    loader.setVisibleRegion(new Rect(0, 0, 100, 100), 1f);
+    assertThat(getRequestedPriorities(tile)).containsExactly(Priority.LOW);
+
+    loader.setVisibleRegion(new Rect(300, 0, 400, 100), 1f);
+
+    assertThat(getRequestedPriorities(tile))
+        .containsExactly(Priority.LOW, Priority.IMMEDIATE).inOrder();
+    verify(requestManager, times(1)).clear(any(Target.class));
+  }
+
+  @Test
+  public void setVisibleRegion_withVisibleTileStillVisible_doesNotRestartTile() {
+    ImageTile tile = new ImageTile(MODEL, new Rect(0, 0, 256, 256), 1);
+    loader.setVisibleRegion(new Rect(0, 0, 100, 100), 1f);
+
+    loader.setVisibleRegion(new Rect(10, 10, 110, 110), 1f);
+
+    assertThat(getRequestedPriorities(tile)).containsExactly(Priority.IMMEDIATE);
+    verify(requestManager, never()).clear(any(Target.class));
+  }
+
+  private List<Priority> getRequestedPriorities(ImageTile tile) {
+    ArgumentCaptor<RequestOptions> captor = ArgumentCaptor.forClass(RequestOptions.class);
+    verify(requestBuilder, atLeastOnce()).apply(captor.capture());
+    List<Priority> result = new ArrayList<>();
+    for (RequestOptions options : captor.getAllValues()) {
+      if (tile.equals(options.getOptions().get(ImageTileDecoder.IMAGE_TILE))) {
+        result.add(options.getPriority());
+      }
+    }
+    return result;
+  }
+
+  @Test
+  public void getSampleSize_withFullScale_returnsOne() {
+    assertThat(TiledImageLoader.getSampleSize(1f)).isEqualTo(1);
+    assertThat(TiledImageLoader.getSampleSize(2f)).isEqualTo(1);
+  }
+
+  @Test
+  public void getSampleSize_withReducedScale_roundsDownToPowerOfTwo() {
+    assertThat(TiledImageLoader.getSampleSize(0.5f)).isEqualTo(2);
+    assertThat(TiledImageLoader.getSampleSize(0.3f)).isEqualTo(2);
+    assertThat(TiledImageLoader.getSampleSize(0.1f)).isEqualTo(8);
+  }
+
+  @Test
+  public void getTiles_withRegionInsideSingleTile_returnsTile() {
+    List<ImageTile> tiles = TiledImageLoader.getTiles(MODEL, new Rect(10, 10, 100, 100),
+        1000, 1000, 256 /*tileSize*/, 1 /*sampleSize*/, 0 /*border*/);
+
+    assertThat(tiles).containsExactly(new ImageTile(MODEL, new Rect(0, 0, 256, 256), 1));
+  }
+
+  @Test
+  public void getTiles_withRegionSpanningTiles_returnsAllTiles() {
+    List<ImageTile> tiles = TiledImageLoader.getTiles(MODEL, new Rect(200, 0, 300, 100),
+        1000, 1000, 256 /*tileSize*/, 1 /*sampleSize*/, 0 /*border*/);
+
+    assertThat(tiles).containsExactly(
+        new ImageTile(MODEL, new Rect(0, 0, 256, 256), 1),
+        new ImageTile(MODEL, new Rect(256, 0, 512, 256), 1));
+  }
+
+  @Test
+  public void getTiles_atImageEdge_clampsTiles() {
+    List<ImageTile> tiles = TiledImageLoader.getTiles(MODEL, new Rect(900, 900, 1200, 1200),
+        1000, 1000, 256 /*tileSize*/, 1 /*sampleSize*/, 0 /*border*/);
+
+    assertThat(tiles).containsExactly(new ImageTile(MODEL, new Rect(768, 768, 1000, 1000), 1));
+  }
+
+  @Test
+  public void getTiles_withSampleSize_coversLargerSourceRegions() {
+    List<ImageTile> tiles = TiledImageLoader.getTiles(MODEL, new Rect(0, 0, 1000, 400),
+        1000, 1000, 256 /*tileSize*/, 4 /*sampleSize*/, 0 /*border*/);
+
+    assertThat(tiles).containsExactly(new ImageTile(MODEL, new Rect(0, 0, 1000, 1000), 4));
+  }
+
+  @Test
+  public void getTiles_withBorder_includesSurroundingTiles() {
+    List<ImageTile> tiles = TiledImageLoader.getTiles(MODEL, new Rect(300, 300, 400, 400),
+        1000, 1000, 256 /*tileSize*/, 1 /*sampleSize*/, 1 /*border*/);
+
+    assertThat(tiles).hasSize(9);
+    assertThat(tiles).contains(new ImageTile(MODEL, new Rect(0, 0, 256, 256), 1));
+    assertThat(tiles).contains(new ImageTile(MODEL, new Rect(512, 512, 768, 768), 1));
+  }
+
+  @Test
+  public void imageTile_decodedSize_roundsUp() {
+    ImageTile tile = new ImageTile(MODEL, new Rect(768, 768, 1000, 1000), 4);
+
+    assertThat(tile.getDecodedWidth()).isEqualTo(58);
+    assertThat(tile.getDecodedHeight()).isEqualTo(58);
+  }
+}
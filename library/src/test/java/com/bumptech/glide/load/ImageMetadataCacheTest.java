@@ -0,0 +1,91 @@
+package com.bumptech.glide.load;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.bumptech.glide.load.ImageHeaderParser.ImageType;
+import com.bumptech.glide.signature.ObjectKey;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 18)
+public class ImageMetadataCacheTest {
+  private ImageMetadataCache cache;
+  private Options options;
+
+  @Before
+  public void setUp() {
+    cache = new ImageMetadataCache();
+    options = new Options();
+    options.set(ImageMetadataCache.METADATA_KEY, new ObjectKey("data"));
+  }
+
+  @Test
+  public void get_withoutMetadataKey_returnsNull() {
+    Options noKey = new Options();
+    cache.put(noKey, new ImageMetadata(100, 50, "image/jpeg", 1));
+
+    assertThat(cache.get(noKey)).isNull();
+  }
+
+  @Test
+  public void get_withEqualKey_returnsMetadata() {
+    ImageMetadata metadata = new ImageMetadata(100, 50, "image/jpeg", 1);
+    cache.put(options, metadata);
+
+    Options other = new Options();
+    other.set(ImageMetadataCache.METADATA_KEY, new ObjectKey("data"));
+    assertThat(cache.get(other)).isSameAs(metadata);
+  }
+
+  @Test
+  public void getType_withOnlyDimensions_returnsNull() {
+    cache.put(options, new ImageMetadata(100, 50, "image/jpeg", 1));
+
+    assertThat(cache.getType(options)).isNull();
+  }
+
+  @Test
+  public void putType_afterDimensions_keepsDimensions() {
+    cache.put(options, new ImageMetadata(100, 50, "image/png", 1));
+    cache.putType(options, ImageType.PNG_A);
+
+    ImageMetadata metadata = cache.get(options);
+    assertThat(metadata.getWidth()).isEqualTo(100);
+    assertThat(metadata.getHeight()).isEqualTo(50);
+    assertThat(metadata.getMimeType()).isEqualTo("image/png");
+    assertThat(metadata.getType()).isEqualTo(ImageType.PNG_A);
+    assertThat(metadata.hasAlpha()).isTrue();
+  }
+
+  @Test
+  public void put_afterType_keepsType() {
+    cache.putType(options, ImageType.JPEG);
+    assertThat(cache.get(options).hasDimensions()).isFalse();
+
+    cache.put(options, new ImageMetadata(100, 50, "image/jpeg", 6));
+
+    ImageMetadata metadata = cache.get(options);
+    assertThat(metadata.hasDimensions()).isTrue();
+    assertThat(metadata.getOrientation()).isEqualTo(6);
+    assertThat(cache.getType(options)).isEqualTo(ImageType.JPEG);
+  }
+
+  @Test
+  public void putType_withUnknownType_doesNotAddEntry() {
+    cache.putType(options, ImageType.UNKNOWN);
+
+    assertThat(cache.get(options)).isNull();
+  }
+
+  @Test
+  public void clear_removesEntries() {
+    cache.putType(options, ImageType.GIF);
+    cache.clear();
+
+    assertThat(cache.get(options)).isNull();
+  }
+}
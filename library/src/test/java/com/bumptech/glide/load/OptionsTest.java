@@ -1,6 +1,11 @@
 package com.bumptech.glide.load;
 
+import static com.google.common.truth.Truth.assertThat;
+
 import com.google.common.testing.EqualsTester;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
@@ -32,4 +37,70 @@ public class OptionsTest {
         ).testEquals();
   }
 
+  @Test
+  public void testHashCode_afterSet_isUpdated() {
+    Option<Object> option = Option.memory("key");
+    Options options = new Options();
+    int emptyHashCode = options.hashCode();
+
+    options.set(option, "value");
+
+    assertThat(options.hashCode()).isNotEqualTo(emptyHashCode);
+    assertThat(options.hashCode()).isEqualTo(new Options().set(option, "value").hashCode());
+  }
+
+  @Test
+  public void testUpdateDiskCacheKey_matchesUpdatingEachOption() throws NoSuchAlgorithmException {
+    Option<Integer> option = Option.disk("key", new Option.CacheKeyUpdater<Integer>() {
+      @Override
+      public void update(byte[] keyBytes, Integer value, MessageDigest messageDigest) {
+        messageDigest.update(keyBytes);
+        messageDigest.update(ByteBuffer.allocate(4).putInt(value).array());
+      }
+    });
+    Options options = new Options().set(option, 1);
+
+    MessageDigest expected = MessageDigest.getInstance("SHA-256");
+    option.update(1, expected);
+    MessageDigest actual = MessageDigest.getInstance("SHA-256");
+    options.updateDiskCacheKey(actual);
+
+    assertThat(actual.digest()).isEqualTo(expected.digest());
+  }
+
+  @Test
+  public void testUpdateDiskCacheKey_afterSet_usesNewValue() throws NoSuchAlgorithmException {
+    Option<Integer> option = Option.disk("key", new Option.CacheKeyUpdater<Integer>() {
+      @Override
+      public void update(byte[] keyBytes, Integer value, MessageDigest messageDigest) {
+        messageDigest.update(ByteBuffer.allocate(4).putInt(value).array());
+      }
+    });
+    Options options = new Options().set(option, 1);
+    MessageDigest first = MessageDigest.getInstance("SHA-256");
+    options.updateDiskCacheKey(first);
+
+    options.set(option, 2);
+    MessageDigest second = MessageDigest.getInstance("SHA-256");
+    options.updateDiskCacheKey(second);
+
+    assertThat(second.digest()).isNotEqualTo(first.digest());
+  }
+
+  @Test
+  public void testIntern_withEqualOptions_returnsSameInstance() {
+    Option<Object> option = Option.memory("internKey");
+    Options first = Options.intern(new Options().set(option, "value"));
+    Options second = Options.intern(new Options().set(option, "value"));
+
+    assertThat(second).isSameAs(first);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testSet_afterIntern_throws() {
+    Option<Object> option = Option.memory("internKey");
+    Options interned = Options.intern(new Options().set(option, "value"));
+
+    interned.set(option, "other");
+  }
 }
@@ -0,0 +1,124 @@
+package com.bumptech.glide.load.engine;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import android.support.v4.util.Pools;
+import com.bumptech.glide.GlideContext;
+import com.bumptech.glide.Priority;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.Key;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.Transformation;
+import com.bumptech.glide.load.data.DataFetcher;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 18)
+@SuppressWarnings("unchecked")
+public class DecodeJobTest {
+  private static final int SIZE = 200;
+
+  private DecodeThrottle throttle;
+  private DecodeJob<Object> job;
+  private DecodeJob.Callback<Object> callback;
+  private DataFetcher<Object> fetcher;
+
+  @Before
+  public void setUp() {
+    throttle = new DecodeThrottle();
+    callback = mock(DecodeJob.Callback.class);
+    fetcher = mock(DataFetcher.class);
+    job = new DecodeJob<>(mock(DecodeJob.DiskCacheProvider.class), mock(Pools.Pool.class),
+        false /*decodeOnSeparateExecutor*/, throttle);
+    job.init(
+        mock(GlideContext.class),
+        new Object() /*model*/,
+        mock(EngineKey.class),
+        mock(Key.class) /*signature*/,
+        SIZE,
+        SIZE,
+        Object.class,
+        Object.class,
+        Priority.NORMAL,
+        DiskCacheStrategy.AUTOMATIC,
+        Collections.<Class<?>, Transformation<?>>emptyMap(),
+        false /*isTransformationRequired*/,
+        false /*onlyRetrieveFromCache*/,
+        new Options(),
+        callback,
+        0 /*order*/);
+  }
+
+  @Test
+  public void onDataFetcherReady_whenPaused_withLargeImage_defersDecode() {
+    throttle.pause(100 * 100);
+
+    retrieveData();
+
+    verify(callback, never()).reschedule(any(DecodeJob.class));
+  }
+
+  @Test
+  public void onDataFetcherReady_whenNotPaused_reschedulesDecode() {
+    retrieveData();
+
+    verify(callback).reschedule(job);
+  }
+
+  @Test
+  public void resume_withDeferredJob_reschedulesDecode() {
+    throttle.pause(100 * 100);
+    retrieveData();
+
+    throttle.resume();
+
+    verify(callback).reschedule(job);
+    verify(fetcher, never()).cleanup();
+  }
+
+  @Test
+  public void cancel_withDeferredJob_releasesDataAndNotifiesImmediately() {
+    throttle.pause(100 * 100);
+    retrieveData();
+
+    job.cancel();
+
+    verify(fetcher).cleanup();
+    verify(callback).onLoadFailed(any(GlideException.class));
+  }
+
+  @Test
+  public void cancel_withDeferredJob_doesNotRescheduleOnResume() {
+    throttle.pause(100 * 100);
+    retrieveData();
+    job.cancel();
+
+    throttle.resume();
+
+    verify(callback, never()).reschedule(any(DecodeJob.class));
+  }
+
+  @Test
+  public void cancel_withResumedJob_doesNotNotify() {
+    throttle.pause(100 * 100);
+    retrieveData();
+    throttle.resume();
+
+    job.cancel();
+
+    verify(callback, never()).onLoadFailed(any(GlideException.class));
+  }
+
+  private void retrieveData() {
+    job.onDataFetcherReady(mock(Key.class), new Object() /*data*/, fetcher, DataSource.REMOTE,
+        mock(Key.class) /*attemptedKey*/);
+  }
+}
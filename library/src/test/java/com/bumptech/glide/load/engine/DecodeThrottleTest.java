@@ -0,0 +1,114 @@
+package com.bumptech.glide.load.engine;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.bumptech.glide.request.target.Target;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 18)
+@SuppressWarnings("unchecked")
+public class DecodeThrottleTest {
+  private DecodeThrottle throttle;
+  private DecodeJob<Object> job;
+
+  @Before
+  public void setUp() {
+    throttle = new DecodeThrottle();
+    job = mock(DecodeJob.class);
+  }
+
+  @Test
+  public void deferIfNeeded_whenNotPaused_returnsFalse() {
+    assertThat(throttle.deferIfNeeded(job, 4000, 4000)).isFalse();
+  }
+
+  @Test
+  public void deferIfNeeded_whenPaused_withSmallImage_returnsFalse() {
+    throttle.pause(100 * 100);
+
+    assertThat(throttle.deferIfNeeded(job, 100, 100)).isFalse();
+  }
+
+  @Test
+  public void deferIfNeeded_whenPaused_withLargeImage_returnsTrue() {
+    throttle.pause(100 * 100);
+
+    assertThat(throttle.deferIfNeeded(job, 100, 101)).isTrue();
+    verify(job, never()).resumeDeferredDecode();
+  }
+
+  @Test
+  public void deferIfNeeded_whenPaused_withOriginalSize_returnsTrue() {
+    throttle.pause(100 * 100);
+
+    assertThat(throttle.deferIfNeeded(job, Target.SIZE_ORIGINAL, Target.SIZE_ORIGINAL)).isTrue();
+  }
+
+  @Test
+  public void resume_resumesDeferredJobs_newestFirst() {
+    DecodeJob<Object> newer = mock(DecodeJob.class);
+    throttle.pause(100 * 100);
+    throttle.deferIfNeeded(job, 200, 200);
+    throttle.deferIfNeeded(newer, 200, 200);
+
+    throttle.resume();
+
+    InOrder order = inOrder(newer, job);
+    order.verify(newer).resumeDeferredDecode();
+    order.verify(job).resumeDeferredDecode();
+    assertThat(throttle.isPaused()).isFalse();
+    assertThat(throttle.deferIfNeeded(job, 200, 200)).isFalse();
+  }
+
+  @Test
+  public void resume_withOutstandingPause_doesNotResumeJobs() {
+    throttle.pause(100 * 100);
+    throttle.pause(100 * 100);
+    throttle.deferIfNeeded(job, 200, 200);
+
+    throttle.resume();
+    verify(job, never()).resumeDeferredDecode();
+    assertThat(throttle.isPaused()).isTrue();
+
+    throttle.resume();
+    verify(job).resumeDeferredDecode();
+  }
+
+  @Test
+  public void remove_withDeferredJob_returnsTrueAndDoesNotResumeJob() {
+    throttle.pause(100 * 100);
+    throttle.deferIfNeeded(job, 200, 200);
+
+    assertThat(throttle.remove(job)).isTrue();
+    throttle.resume();
+
+    verify(job, never()).resumeDeferredDecode();
+  }
+
+  @Test
+  public void remove_withResumedJob_returnsFalse() {
+    throttle.pause(100 * 100);
+    throttle.deferIfNeeded(job, 200, 200);
+    throttle.resume();
+
+    assertThat(throttle.remove(job)).isFalse();
+  }
+
+  @Test
+  public void resume_withoutPause_doesNothing() {
+    throttle.resume();
+    throttle.pause(100 * 100);
+
+    assertThat(throttle.isPaused()).isTrue();
+  }
+}
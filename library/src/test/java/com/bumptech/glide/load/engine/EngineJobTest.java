@@ -3,6 +3,7 @@ package com.bumptech.glide.load.engine;
 import static com.bumptech.glide.tests.Util.anyResource;
 import static com.bumptech.glide.tests.Util.isADataSource;
 import static com.bumptech.glide.tests.Util.mockResource;
+import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
@@ -56,6 +57,41 @@ public class EngineJobTest {
     verify(harness.cb).onResourceReady(eq(harness.engineResource), eq(harness.dataSource));
   }
 
+  @Test
+  public void testOnResourceReady_withDeliveryCoalescer_isDeliveredInNextFrame() {
+    List<Runnable> frameCallbacks = new ArrayList<>();
+    harness.deliveryCoalescer =
+        new ResultDeliveryCoalescer(null /*budget*/, new ListFrameScheduler(frameCallbacks));
+    EngineJob<Object> job = harness.getJob();
+    job.start(harness.decodeJob);
+    job.onResourceReady(harness.resource, harness.dataSource);
+
+    ShadowLooper.runUiThreadTasks();
+    verify(harness.cb, never()).onResourceReady(anyResource(), isADataSource());
+    assertThat(frameCallbacks).hasSize(1);
+
+    frameCallbacks.get(0).run();
+    verify(harness.cb).onResourceReady(eq(harness.engineResource), eq(harness.dataSource));
+    verify(harness.listener).onEngineJobComplete(eq(harness.key), eq(harness.engineResource));
+  }
+
+  @Test
+  public void testOnLoadFailed_withDeliveryCoalescer_isDeliveredInNextFrame() {
+    List<Runnable> frameCallbacks = new ArrayList<>();
+    harness.deliveryCoalescer =
+        new ResultDeliveryCoalescer(null /*budget*/, new ListFrameScheduler(frameCallbacks));
+    EngineJob<Object> job = harness.getJob();
+    job.start(harness.decodeJob);
+    GlideException exception = new GlideException("test");
+    job.onLoadFailed(exception);
+
+    ShadowLooper.runUiThreadTasks();
+    verify(harness.cb, never()).onLoadFailed(any(GlideException.class));
+
+    frameCallbacks.get(0).run();
+    verify(harness.cb).onLoadFailed(eq(exception));
+  }
+
   @Test
   public void testListenerNotifiedJobCompleteOnOnResourceReady() {
     EngineJob<Object> job = harness.getJob();
@@ -419,6 +455,28 @@ public class EngineJobTest {
     verify(harness.decodeJob).run();
   }
 
+  @Test
+  public void testSubmitsDecodeJobToDecodeServiceOnRescheduleWhenDecodingData() {
+    harness.decodeService = MockGlideExecutor.newMainThreadExecutor();
+    EngineJob<Object> job = harness.getJob();
+    when(harness.decodeJob.isDecodingData()).thenReturn(true);
+    harness.sourceService.shutdownNow();
+    job.reschedule(harness.decodeJob);
+
+    verify(harness.decodeJob).run();
+  }
+
+  @Test
+  public void testSubmitsDecodeJobToSourceServiceOnRescheduleWhenNotDecodingData() {
+    harness.decodeService = MockGlideExecutor.newMainThreadExecutor();
+    EngineJob<Object> job = harness.getJob();
+    when(harness.decodeJob.isDecodingData()).thenReturn(false);
+    harness.decodeService.shutdownNow();
+    job.reschedule(harness.decodeJob);
+
+    verify(harness.decodeJob).run();
+  }
+
   @Test
   public void testSubmitsDecodeJobToDiskCacheServiceWhenDecodingFromCacheOnStart() {
     EngineJob<Object> job = harness.getJob();
@@ -483,6 +541,19 @@ public class EngineJobTest {
     }
   }
 
+  private static final class ListFrameScheduler implements MainThreadBudget.FrameScheduler {
+    private final List<Runnable> callbacks;
+
+    ListFrameScheduler(List<Runnable> callbacks) {
+      this.callbacks = callbacks;
+    }
+
+    @Override
+    public void postFrameCallback(Runnable callback) {
+      callbacks.add(callback);
+    }
+  }
+
   @SuppressWarnings("unchecked")
   private static class EngineJobHarness {
     EngineJob.EngineResourceFactory factory = mock(EngineJob.EngineResourceFactory.class);
@@ -495,6 +566,8 @@ public class EngineJobTest {
     GlideExecutor diskCacheService = MockGlideExecutor.newMainThreadExecutor();
     GlideExecutor sourceService = MockGlideExecutor.newMainThreadExecutor();
     GlideExecutor sourceUnlimitedService = MockGlideExecutor.newMainThreadUnlimitedExecutor();
+    GlideExecutor decodeService = null;
+    ResultDeliveryCoalescer deliveryCoalescer = null;
     boolean isCacheable = true;
     boolean useUnlimitedSourceGeneratorPool = false;
     DecodeJob<Object> decodeJob = mock(DecodeJob.class);
@@ -503,8 +576,8 @@ public class EngineJobTest {
 
     public EngineJob<Object> getJob() {
       when(factory.build(eq(resource), eq(isCacheable))).thenReturn(engineResource);
-      EngineJob<Object> result = new EngineJob<>(
-          diskCacheService, sourceService, sourceUnlimitedService, listener, pool, factory)
+      EngineJob<Object> result = new EngineJob<>(diskCacheService, sourceService,
+          sourceUnlimitedService, decodeService, deliveryCoalescer, listener, pool, factory)
           .init(key, isCacheable, useUnlimitedSourceGeneratorPool);
       result.addCallback(cb);
       return result;
@@ -1,6 +1,9 @@
 package com.bumptech.glide.load.engine;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
@@ -59,6 +62,12 @@ public class EngineKeyTest {
           Collections.<Class<?>, Transformation<?>>singletonMap(Object.class, transformation),
           resourceClass, transcodeClass, options);
     }
+
+    public EngineKey buildLookupKey(EngineKeyFactory factory) {
+      return factory.buildLookupKey(id, signature, width, height,
+          Collections.<Class<?>, Transformation<?>>singletonMap(Object.class, transformation),
+          resourceClass, transcodeClass, options);
+    }
   }
 
   @Test
@@ -66,6 +75,48 @@ public class EngineKeyTest {
     assertEquals(harness.build(), harness.build());
   }
 
+  @Test
+  public void testLookupKey_isIdenticalToBuiltKey_afterReinitializing() {
+    EngineKeyFactory factory = new EngineKeyFactory();
+    EngineKey expected = harness.build();
+    EngineKey lookupKey = harness.buildLookupKey(factory);
+    lookupKey.hashCode();
+
+    harness.id = harness.id + "2";
+    EngineKey reinitialized = harness.buildLookupKey(factory);
+
+    assertSame(lookupKey, reinitialized);
+    assertNotEquals(expected, reinitialized);
+    assertEquals(harness.build(), reinitialized);
+    assertEquals(harness.build().hashCode(), reinitialized.hashCode());
+  }
+
+  @Test
+  public void testLookupKey_doesNotReferenceArguments_afterRelease() {
+    EngineKeyFactory factory = new EngineKeyFactory();
+    EngineKey lookupKey = harness.buildLookupKey(factory);
+
+    factory.releaseLookupKey();
+
+    String description = lookupKey.toString();
+    assertTrue(description.contains("model=null"));
+    assertTrue(description.contains("signature=null"));
+    assertTrue(description.contains("transformations=null"));
+    assertTrue(description.contains("options=null"));
+  }
+
+  @Test
+  public void testLookupKey_isIdenticalToBuiltKey_afterRelease() {
+    EngineKeyFactory factory = new EngineKeyFactory();
+    harness.buildLookupKey(factory).hashCode();
+    factory.releaseLookupKey();
+
+    EngineKey lookupKey = harness.buildLookupKey(factory);
+
+    assertEquals(harness.build(), lookupKey);
+    assertEquals(harness.build().hashCode(), lookupKey.hashCode());
+  }
+
   @Test
   public void testDiffersIfIdDiffers() throws Exception {
     EngineKey first = harness.build();
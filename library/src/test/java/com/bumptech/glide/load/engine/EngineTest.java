@@ -22,6 +22,8 @@ import static org.mockito.Mockito.when;
 import com.bumptech.glide.GlideContext;
 import com.bumptech.glide.Priority;
 import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.ImageHeaderParser.ImageType;
+import com.bumptech.glide.load.ImageMetadataCache;
 import com.bumptech.glide.load.Key;
 import com.bumptech.glide.load.Options;
 import com.bumptech.glide.load.Transformation;
@@ -81,6 +83,80 @@ public class EngineTest {
     verify(harness.job).removeCallback(eq(harness.cb));
   }
 
+  @Test
+  public void load_withMainThreadBudgetUsedUp_startsLoadInNextFrame() {
+    MainThreadBudget budget =
+        new MainThreadBudget(0 /*budgetMillis*/, mock(MainThreadBudget.FrameScheduler.class));
+    harness.engine = harness.newEngine(budget);
+
+    assertNotNull(harness.doLoad());
+    verify(harness.job, never()).start(any(DecodeJob.class));
+
+    budget.run();
+    verify(harness.job).start(any(DecodeJob.class));
+  }
+
+  @Test
+  public void load_withMainThreadBudgetUsedUp_cancelledBeforeNextFrame_doesNotStartLoad() {
+    MainThreadBudget budget =
+        new MainThreadBudget(0 /*budgetMillis*/, mock(MainThreadBudget.FrameScheduler.class));
+    harness.engine = harness.newEngine(budget);
+
+    harness.doLoad().cancel();
+    budget.run();
+
+    verify(harness.job, never()).start(any(DecodeJob.class));
+    assertThat(harness.jobs).isEmpty();
+  }
+
+  @Test
+  public void load_withMainThreadBudgetUsedUp_withResourceInCache_returnsResourceImmediately() {
+    when(harness.cache.remove(eq(harness.cacheKey))).thenReturn(harness.resource);
+    MainThreadBudget budget =
+        new MainThreadBudget(0 /*budgetMillis*/, mock(MainThreadBudget.FrameScheduler.class));
+    harness.engine = harness.newEngine(budget);
+
+    assertNull(harness.doLoad());
+    verify(harness.cb).onResourceReady(eq(harness.resource), eq(DataSource.MEMORY_CACHE));
+  }
+
+  @Test
+  public void load_withMainThreadBudgetUsedUp_withActiveResource_returnsResourceImmediately() {
+    harness.activeResources
+        .put(harness.cacheKey, new WeakReference<EngineResource<?>>(harness.resource));
+    MainThreadBudget budget =
+        new MainThreadBudget(0 /*budgetMillis*/, mock(MainThreadBudget.FrameScheduler.class));
+    harness.engine = harness.newEngine(budget);
+
+    assertNull(harness.doLoad());
+    verify(harness.cb).onResourceReady(eq(harness.resource), eq(DataSource.MEMORY_CACHE));
+  }
+
+  @Test
+  public void load_withMainThreadBudgetUsedUp_notMemoryCacheable_defersLoad() {
+    harness.activeResources
+        .put(harness.cacheKey, new WeakReference<EngineResource<?>>(harness.resource));
+    harness.isMemoryCacheable = false;
+    MainThreadBudget budget =
+        new MainThreadBudget(0 /*budgetMillis*/, mock(MainThreadBudget.FrameScheduler.class));
+    harness.engine = harness.newEngine(budget);
+
+    harness.doLoad();
+
+    verify(harness.resource, never()).acquire();
+    verify(harness.job, never()).start(any(DecodeJob.class));
+  }
+
+  @Test
+  public void load_withMainThreadBudgetRemaining_startsLoadImmediately() {
+    harness.engine = harness.newEngine(
+        new MainThreadBudget(1000 /*budgetMillis*/, mock(MainThreadBudget.FrameScheduler.class)));
+
+    harness.doLoad();
+
+    verify(harness.job).start(any(DecodeJob.class));
+  }
+
   @Test
   public void testNewRunnerIsAddedToRunnersMap() {
     harness.doLoad();
@@ -223,6 +299,34 @@ public class EngineTest {
     verify(harness.cb).onResourceReady(eq(harness.resource), eq(DataSource.MEMORY_CACHE));
   }
 
+  @Test
+  public void testClearDiskCache_clearsImageMetadataCache() {
+    Options decodeOptions = new Options();
+    decodeOptions.set(ImageMetadataCache.METADATA_KEY, mock(Key.class));
+    ImageMetadataCache metadataCache = harness.engine.getImageMetadataCache();
+    metadataCache.putType(decodeOptions, ImageType.PNG);
+
+    harness.engine.clearDiskCache();
+
+    assertNull(metadataCache.get(decodeOptions));
+  }
+
+  @Test
+  public void testLookupKeyIsReleased_afterResourceIsReturnedFromCache() {
+    when(harness.cache.remove(eq(harness.cacheKey))).thenReturn(harness.resource);
+
+    harness.doLoad();
+
+    verify(harness.keyFactory).releaseLookupKey();
+  }
+
+  @Test
+  public void testLookupKeyIsReleased_afterMemoryCacheMiss() {
+    harness.doLoad();
+
+    verify(harness.keyFactory).releaseLookupKey();
+  }
+
   @Test
   public void testHandlesNonEngineResourcesFromCacheIfPresent() {
     final Object expected = new Object();
@@ -253,6 +357,33 @@ public class EngineTest {
     assertEquals(harness.resource, harness.activeResources.get(harness.cacheKey).get());
   }
 
+  @Test
+  public void testKeyIsNotBuiltIfResourceIsCached() {
+    when(harness.cache.remove(eq(harness.cacheKey))).thenReturn(harness.resource);
+
+    harness.doLoad();
+
+    verify(harness.keyFactory, never()).buildKey(eq(harness.model), eq(harness.signature),
+        anyInt(), anyInt(), eq(harness.transformations), eq(Object.class), eq(Object.class),
+        eq(harness.options));
+  }
+
+  @Test
+  public void testActiveReferenceIsReusedIfResourceIsReturnedFromCacheAgain() {
+    Resource<Object> wrapped = mockResource();
+    EngineResource<Object> resource = new EngineResource<>(wrapped, true /*isMemoryCacheable*/);
+    resource.setResourceListener(harness.cacheKey, harness.engine);
+    when(harness.cache.remove(eq(harness.cacheKey))).thenReturn(resource);
+
+    harness.doLoad();
+    WeakReference<EngineResource<?>> first = harness.activeResources.get(harness.cacheKey);
+    harness.activeResources.clear();
+    harness.doLoad();
+
+    assertThat(harness.activeResources.get(harness.cacheKey)).isSameAs(first);
+    assertEquals(resource, first.get());
+  }
+
   @Test
   public void testResourceIsAcquiredIfReturnedFromCache() {
     when(harness.cache.remove(eq(harness.cacheKey))).thenReturn(harness.resource);
@@ -458,6 +589,48 @@ public class EngineTest {
     });
   }
 
+  @Test
+  public void testDecodeJobFactory_byDefault_runsOldestJobsFirst() {
+    Engine.DecodeJobFactory factory = new Engine.DecodeJobFactory(
+        mock(DecodeJob.DiskCacheProvider.class), false /*decodeOnSeparateExecutor*/,
+        false /*preferNewestJobs*/, new DecodeThrottle());
+    DecodeJob<Object> first = buildDecodeJob(factory, Priority.NORMAL);
+    DecodeJob<Object> second = buildDecodeJob(factory, Priority.NORMAL);
+
+    assertThat(first.compareTo(second)).isLessThan(0);
+  }
+
+  @Test
+  public void testDecodeJobFactory_preferringNewestJobs_runsNewestJobsFirst() {
+    Engine.DecodeJobFactory factory = new Engine.DecodeJobFactory(
+        mock(DecodeJob.DiskCacheProvider.class), false /*decodeOnSeparateExecutor*/,
+        true /*preferNewestJobs*/, new DecodeThrottle());
+    DecodeJob<Object> first = buildDecodeJob(factory, Priority.NORMAL);
+    DecodeJob<Object> second = buildDecodeJob(factory, Priority.NORMAL);
+
+    assertThat(second.compareTo(first)).isLessThan(0);
+  }
+
+  @Test
+  public void testDecodeJobFactory_preferringNewestJobs_runsHigherPriorityJobsFirst() {
+    Engine.DecodeJobFactory factory = new Engine.DecodeJobFactory(
+        mock(DecodeJob.DiskCacheProvider.class), false /*decodeOnSeparateExecutor*/,
+        true /*preferNewestJobs*/, new DecodeThrottle());
+    DecodeJob<Object> first = buildDecodeJob(factory, Priority.HIGH);
+    DecodeJob<Object> second = buildDecodeJob(factory, Priority.NORMAL);
+
+    assertThat(first.compareTo(second)).isLessThan(0);
+  }
+
+  private static DecodeJob<Object> buildDecodeJob(Engine.DecodeJobFactory factory,
+      Priority priority) {
+    return factory.build(mock(GlideContext.class), new Object(), mock(EngineKey.class),
+        mock(Key.class), 100 /*width*/, 100 /*height*/, Object.class, Object.class, priority,
+        DiskCacheStrategy.ALL, new HashMap<Class<?>, Transformation<?>>(),
+        false /*isTransformationRequired*/, false /*onlyRetrieveFromCache*/, new Options(),
+        mock(DecodeJob.Callback.class));
+  }
+
   private static class EngineTestHarness {
     EngineKey cacheKey = mock(EngineKey.class);
     EngineKeyFactory keyFactory = mock(EngineKeyFactory.class);
@@ -488,13 +661,25 @@ public class EngineTest {
     public EngineTestHarness() {
       when(keyFactory.buildKey(eq(model), eq(signature), anyInt(), anyInt(), eq(transformations),
           eq(Object.class), eq(Object.class), eq(options))).thenReturn(cacheKey);
+      when(keyFactory.buildLookupKey(eq(model), eq(signature), anyInt(), anyInt(),
+          eq(transformations), eq(Object.class), eq(Object.class), eq(options)))
+          .thenReturn(cacheKey);
+      when(resource.getKey()).thenReturn(cacheKey);
 
       job = mock(EngineJob.class);
 
-      engine = new Engine(cache, mock(DiskCache.Factory.class),
+      engine = newEngine(null /*mainThreadBudget*/);
+    }
+
+    Engine newEngine(MainThreadBudget mainThreadBudget) {
+      return new Engine(cache, mock(DiskCache.Factory.class),
           GlideExecutor.newDiskCacheExecutor(),
           MockGlideExecutor.newMainThreadExecutor(),
           MockGlideExecutor.newMainThreadUnlimitedExecutor(),
+          null /*decodeExecutor*/,
+          false /*preferNewestJobs*/,
+          mainThreadBudget,
+          null /*deliveryCoalescer*/,
           jobs, keyFactory, activeResources,
           engineJobFactory, decodeJobFactory, resourceRecycler);
     }
@@ -0,0 +1,147 @@
+package com.bumptech.glide.load.engine;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 18)
+public class MainThreadBudgetTest {
+  @Mock private MainThreadBudget.FrameScheduler frameScheduler;
+  @Mock private Runnable first;
+  @Mock private Runnable second;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+  }
+
+  @Test
+  public void hasRemaining_withUnusedBudget_returnsTrue() {
+    MainThreadBudget budget = new MainThreadBudget(1000 /*budgetMillis*/, frameScheduler);
+
+    assertThat(budget.hasRemaining()).isTrue();
+  }
+
+  @Test
+  public void hasRemaining_afterBudgetIsUsedUp_returnsFalseUntilNextFrame()
+      throws InterruptedException {
+    MainThreadBudget budget = new MainThreadBudget(1 /*budgetMillis*/, frameScheduler);
+
+    long startNanos = budget.startWork();
+    Thread.sleep(2);
+    budget.finishWork(startNanos);
+
+    assertThat(budget.hasRemaining()).isFalse();
+    verify(frameScheduler).postFrameCallback(budget);
+
+    budget.run();
+    assertThat(budget.hasRemaining()).isTrue();
+  }
+
+  @Test
+  public void hasRemaining_withDeferredWork_returnsFalse() {
+    MainThreadBudget budget = new MainThreadBudget(1000 /*budgetMillis*/, frameScheduler);
+
+    budget.defer(first);
+
+    assertThat(budget.hasRemaining()).isFalse();
+    verify(first, never()).run();
+  }
+
+  @Test
+  public void run_runsDeferredWorkInOrder() {
+    MainThreadBudget budget = new MainThreadBudget(1000 /*budgetMillis*/, frameScheduler);
+    budget.defer(first);
+    budget.defer(second);
+
+    budget.run();
+
+    InOrder order = inOrder(first, second);
+    order.verify(first).run();
+    order.verify(second).run();
+    assertThat(budget.hasRemaining()).isTrue();
+  }
+
+  @Test
+  public void run_withBudgetUsedUp_runsOneDeferredWorkPerFrame() {
+    MainThreadBudget budget = new MainThreadBudget(0 /*budgetMillis*/, frameScheduler);
+    budget.defer(first);
+    budget.defer(second);
+
+    budget.run();
+    verify(first).run();
+    verify(second, never()).run();
+
+    budget.run();
+    verify(second).run();
+  }
+
+  @Test
+  public void hasRemaining_withWorkForNextFrame_returnsTrue() {
+    MainThreadBudget budget = new MainThreadBudget(1000 /*budgetMillis*/, frameScheduler);
+
+    budget.runInNextFrame(first);
+
+    assertThat(budget.hasRemaining()).isTrue();
+    verify(first, never()).run();
+    verify(frameScheduler).postFrameCallback(budget);
+  }
+
+  @Test
+  public void run_runsWorkForNextFrameBeforeDeferredWork() {
+    MainThreadBudget budget = new MainThreadBudget(1000 /*budgetMillis*/, frameScheduler);
+    budget.defer(first);
+    budget.runInNextFrame(second);
+
+    budget.run();
+
+    InOrder order = inOrder(first, second);
+    order.verify(second).run();
+    order.verify(first).run();
+  }
+
+  @Test
+  public void run_withWorkForNextFrameScheduledAgainWhileRunning_runsItInNextFrame() {
+    final MainThreadBudget budget = new MainThreadBudget(1000 /*budgetMillis*/, frameScheduler);
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        budget.runInNextFrame(first);
+        return null;
+      }
+    }).when(first).run();
+    budget.runInNextFrame(first);
+
+    budget.run();
+    verify(first, times(1)).run();
+    verify(frameScheduler, times(2)).postFrameCallback(budget);
+
+    budget.run();
+    verify(first, times(2)).run();
+  }
+
+  @Test
+  public void defer_postsSingleFrameCallback() {
+    MainThreadBudget budget = new MainThreadBudget(0 /*budgetMillis*/, frameScheduler);
+
+    budget.defer(first);
+    budget.defer(second);
+
+    verify(frameScheduler, times(1)).postFrameCallback(budget);
+  }
+}
@@ -0,0 +1,141 @@
+package com.bumptech.glide.load.engine;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bumptech.glide.Priority;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 18)
+public class ResultDeliveryCoalescerTest {
+  @Mock private MainThreadBudget.FrameScheduler frameScheduler;
+  private EngineJob<?> low;
+  private EngineJob<?> high;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    low = mockJob(Priority.LOW);
+    high = mockJob(Priority.HIGH);
+  }
+
+  @Test
+  public void deliver_doesNotDeliverUntilNextFrame() {
+    ResultDeliveryCoalescer coalescer =
+        new ResultDeliveryCoalescer(null /*budget*/, frameScheduler);
+
+    coalescer.deliver(low);
+    ShadowLooper.runUiThreadTasks();
+
+    verify(low, never()).deliverOnMainThread();
+    verify(frameScheduler).postFrameCallback(coalescer);
+
+    coalescer.run();
+    verify(low).deliverOnMainThread();
+  }
+
+  @Test
+  public void deliver_withMultipleJobs_postsSingleFrameCallback() {
+    ResultDeliveryCoalescer coalescer =
+        new ResultDeliveryCoalescer(null /*budget*/, frameScheduler);
+
+    coalescer.deliver(low);
+    coalescer.deliver(high);
+    ShadowLooper.runUiThreadTasks();
+
+    verify(frameScheduler, times(1)).postFrameCallback(coalescer);
+  }
+
+  @Test
+  public void run_deliversHighestPriorityFirst() {
+    EngineJob<?> otherLow = mockJob(Priority.LOW);
+    ResultDeliveryCoalescer coalescer =
+        new ResultDeliveryCoalescer(null /*budget*/, frameScheduler);
+    coalescer.deliver(low);
+    coalescer.deliver(high);
+    coalescer.deliver(otherLow);
+    ShadowLooper.runUiThreadTasks();
+
+    coalescer.run();
+
+    InOrder order = inOrder(high, low, otherLow);
+    order.verify(high).deliverOnMainThread();
+    order.verify(low).deliverOnMainThread();
+    order.verify(otherLow).deliverOnMainThread();
+  }
+
+  @Test
+  public void run_withBudgetUsedUp_deliversRemainingResultsInNextFrame() {
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        Thread.sleep(2);
+        return null;
+      }
+    }).when(high).deliverOnMainThread();
+    MainThreadBudget budget = new MainThreadBudget(1 /*budgetMillis*/, frameScheduler);
+    ResultDeliveryCoalescer coalescer = new ResultDeliveryCoalescer(budget, frameScheduler);
+    coalescer.deliver(low);
+    coalescer.deliver(high);
+    ShadowLooper.runUiThreadTasks();
+    verify(frameScheduler).postFrameCallback(budget);
+
+    budget.run();
+    verify(high).deliverOnMainThread();
+    verify(low, never()).deliverOnMainThread();
+    verify(frameScheduler, times(2)).postFrameCallback(budget);
+
+    budget.run();
+    verify(low).deliverOnMainThread();
+  }
+
+  @Test
+  public void deliver_withBudget_doesNotDeferNewLoads() {
+    MainThreadBudget budget = new MainThreadBudget(1000 /*budgetMillis*/, frameScheduler);
+    ResultDeliveryCoalescer coalescer = new ResultDeliveryCoalescer(budget, frameScheduler);
+    coalescer.deliver(low);
+    ShadowLooper.runUiThreadTasks();
+
+    assertThat(budget.hasRemaining()).isTrue();
+  }
+
+  @Test
+  public void run_withDeferredLoads_deliversResultsBeforeStartingLoads() {
+    MainThreadBudget budget = new MainThreadBudget(1000 /*budgetMillis*/, frameScheduler);
+    ResultDeliveryCoalescer coalescer = new ResultDeliveryCoalescer(budget, frameScheduler);
+    Runnable load = mock(Runnable.class);
+    budget.defer(load);
+    coalescer.deliver(low);
+    ShadowLooper.runUiThreadTasks();
+
+    budget.run();
+
+    InOrder order = inOrder(low, load);
+    order.verify(low).deliverOnMainThread();
+    order.verify(load).run();
+    verify(frameScheduler, never()).postFrameCallback(coalescer);
+  }
+
+  private static EngineJob<?> mockJob(Priority priority) {
+    EngineJob<?> job = mock(EngineJob.class);
+    when(job.getPriority()).thenReturn(priority.ordinal());
+    return job;
+  }
+}
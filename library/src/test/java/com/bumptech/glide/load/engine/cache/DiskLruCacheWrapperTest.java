@@ -1,7 +1,10 @@
 package com.bumptech.glide.load.engine.cache;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import com.bumptech.glide.load.Key;
@@ -109,6 +112,135 @@ public class DiskLruCacheWrapperTest {
     assertArrayEquals(data, received);
   }
 
+  @Test
+  public void testGet_withNonDefaultDigest_returnsEntryWrittenWithLegacyDigest()
+      throws IOException {
+    File dir = new File(RuntimeEnvironment.application.getCacheDir(), "legacy" + Math.random());
+    DiskLruCacheWrapper legacyCache = new DiskLruCacheWrapper(dir, 10 * 1024 * 1024);
+    legacyCache.put(key, new DiskCache.Writer() {
+      @Override
+      public boolean write(File file) {
+        try {
+          Util.writeFile(file, data);
+        } catch (IOException e) {
+          fail(e.toString());
+        }
+        return true;
+      }
+    });
+
+    DiskLruCacheWrapper murmurCache =
+        new DiskLruCacheWrapper(dir, 10 * 1024 * 1024, SafeKeyGenerator.MURMUR3_128);
+    byte[] received = Util.readFile(murmurCache.get(key), data.length);
+
+    assertArrayEquals(data, received);
+  }
+
+  @Test
+  public void testDelete_withNonDefaultDigest_deletesEntryWrittenWithLegacyDigest() {
+    File dir = new File(RuntimeEnvironment.application.getCacheDir(), "legacy" + Math.random());
+    DiskLruCacheWrapper legacyCache = new DiskLruCacheWrapper(dir, 10 * 1024 * 1024);
+    legacyCache.put(key, new DiskCache.Writer() {
+      @Override
+      public boolean write(File file) {
+        try {
+          Util.writeFile(file, data);
+        } catch (IOException e) {
+          fail(e.toString());
+        }
+        return true;
+      }
+    });
+
+    DiskLruCacheWrapper murmurCache =
+        new DiskLruCacheWrapper(dir, 10 * 1024 * 1024, SafeKeyGenerator.MURMUR3_128);
+    murmurCache.delete(key);
+
+    assertNull(murmurCache.get(key));
+  }
+
+  @Test
+  public void testGet_withNonDefaultDigest_afterManyMisses_stillReturnsLegacyEntry()
+      throws IOException {
+    File dir = new File(RuntimeEnvironment.application.getCacheDir(), "legacy" + Math.random());
+    putLegacyEntry(dir);
+
+    DiskLruCacheWrapper murmurCache =
+        new DiskLruCacheWrapper(dir, 10 * 1024 * 1024, SafeKeyGenerator.MURMUR3_128);
+    for (int i = 0; i < 100; i++) {
+      assertNull(murmurCache.get(new StringKey("missing" + i)));
+    }
+
+    byte[] received = Util.readFile(murmurCache.get(key), data.length);
+    assertArrayEquals(data, received);
+  }
+
+  @Test
+  public void testGet_withNonDefaultDigest_andNoLegacyEntries_doesNotReadLegacyEntries() {
+    File dir = new File(RuntimeEnvironment.application.getCacheDir(), "legacy" + Math.random());
+    DiskLruCacheWrapper murmurCache =
+        new DiskLruCacheWrapper(dir, 10 * 1024 * 1024, SafeKeyGenerator.MURMUR3_128);
+    murmurCache.put(key, new DiskCache.Writer() {
+      @Override
+      public boolean write(File file) {
+        try {
+          Util.writeFile(file, data);
+        } catch (IOException e) {
+          fail(e.toString());
+        }
+        return true;
+      }
+    });
+
+    DiskLruCacheWrapper reopened =
+        new DiskLruCacheWrapper(dir, 10 * 1024 * 1024, SafeKeyGenerator.MURMUR3_128);
+    assertNotNull(reopened.get(key));
+    assertFalse(reopened.isReadingLegacyEntries());
+  }
+
+  @Test
+  public void testGet_withNonDefaultDigest_andLegacyEntries_readsLegacyEntries() {
+    File dir = new File(RuntimeEnvironment.application.getCacheDir(), "legacy" + Math.random());
+    putLegacyEntry(dir);
+
+    DiskLruCacheWrapper murmurCache =
+        new DiskLruCacheWrapper(dir, 10 * 1024 * 1024, SafeKeyGenerator.MURMUR3_128);
+    assertNull(murmurCache.get(new StringKey("missing")));
+    assertTrue(murmurCache.isReadingLegacyEntries());
+  }
+
+  @Test
+  public void testDelete_withNonDefaultDigest_afterManyMisses_deletesLegacyEntry() {
+    File dir = new File(RuntimeEnvironment.application.getCacheDir(), "legacy" + Math.random());
+    putLegacyEntry(dir);
+
+    DiskLruCacheWrapper murmurCache =
+        new DiskLruCacheWrapper(dir, 10 * 1024 * 1024, SafeKeyGenerator.MURMUR3_128);
+    for (int i = 0; i < 100; i++) {
+      murmurCache.get(new StringKey("missing" + i));
+    }
+    murmurCache.delete(key);
+
+    DiskLruCacheWrapper reopened =
+        new DiskLruCacheWrapper(dir, 10 * 1024 * 1024, SafeKeyGenerator.MURMUR3_128);
+    assertNull(reopened.get(key));
+  }
+
+  private void putLegacyEntry(File dir) {
+    DiskLruCacheWrapper legacyCache = new DiskLruCacheWrapper(dir, 10 * 1024 * 1024);
+    legacyCache.put(key, new DiskCache.Writer() {
+      @Override
+      public boolean write(File file) {
+        try {
+          Util.writeFile(file, data);
+        } catch (IOException e) {
+          fail(e.toString());
+        }
+        return true;
+      }
+    });
+  }
+
   private static class StringKey implements Key {
     private final String key;
 
@@ -1,9 +1,12 @@
 package com.bumptech.glide.load.engine.cache;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import com.bumptech.glide.load.Key;
 import java.security.MessageDigest;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.junit.Before;
@@ -34,6 +37,43 @@ public class SafeKeyGeneratorTest {
     }
   }
 
+  @Test
+  public void testMurmurKeysAreValidForDiskCache() {
+    keyGenerator = new SafeKeyGenerator(SafeKeyGenerator.MURMUR3_128);
+    final Pattern diskCacheRegex = Pattern.compile("[a-z0-9_-]{32}");
+    for (int i = 0; i < 1000; i++) {
+      String key = getRandomKeyFromGenerator();
+      Matcher matcher = diskCacheRegex.matcher(key);
+      assertTrue(key, matcher.matches());
+    }
+  }
+
+  @Test
+  public void testMurmurKeysMatchReferenceImplementation() {
+    keyGenerator = new SafeKeyGenerator(SafeKeyGenerator.MURMUR3_128);
+    assertEquals("6145f501578671e2877dba2be487af7e", keyGenerator.getSafeKey(new MockKey("foo")));
+  }
+
+  @Test
+  public void testReturnsSameKeyForEqualKeys() {
+    Key key = new MockKey("id");
+    String first = keyGenerator.getSafeKey(key);
+    String second = keyGenerator.getSafeKey(key);
+    String fresh = new SafeKeyGenerator().getSafeKey(key);
+
+    assertEquals(first, second);
+    assertEquals(first, fresh);
+  }
+
+  @Test
+  public void testReturnsDifferentKeysForDifferentKeys() {
+    Set<String> safeKeys = new HashSet<>();
+    for (int i = 0; i < 5000; i++) {
+      safeKeys.add(getRandomKeyFromGenerator());
+    }
+    assertEquals(5000, safeKeys.size());
+  }
+
   private String getRandomKeyFromGenerator() {
     return keyGenerator.getSafeKey(new MockKey(getNextId()));
   }
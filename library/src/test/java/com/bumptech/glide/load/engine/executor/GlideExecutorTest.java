@@ -5,6 +5,7 @@ import static com.google.common.truth.Truth.assertThat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -36,6 +37,42 @@ public class GlideExecutorTest {
     assertThat(resultPriorities).containsExactly(5, 1, 2, 3, 4).inOrder();
   }
 
+  @Test
+  public void testRecordsQueueMetrics() throws InterruptedException {
+    GlideExecutor executor = GlideExecutor.newDiskCacheExecutor();
+    final CountDownLatch blockLatch = new CountDownLatch(1);
+    executor.execute(new MockRunnable(0, new MockRunnable.OnRun() {
+      @Override
+      public void onRun(int priority) {
+        try {
+          blockLatch.await();
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    }));
+    MockRunnable.OnRun noOp = new MockRunnable.OnRun() {
+      @Override
+      public void onRun(int priority) {
+        // Do nothing.
+      }
+    };
+    for (int i = 1; i <= 3; i++) {
+      executor.execute(new MockRunnable(i, noOp));
+    }
+
+    assertThat(executor.getQueuedTaskCount()).isEqualTo(3);
+    assertThat(executor.getPeakQueuedTaskCount()).isEqualTo(3);
+
+    blockLatch.countDown();
+    executor.shutdown();
+    executor.awaitTermination(500, TimeUnit.MILLISECONDS);
+
+    assertThat(executor.getQueuedTaskCount()).isEqualTo(0);
+    assertThat(executor.getPeakQueuedTaskCount()).isEqualTo(3);
+    assertThat(executor.getAverageQueueTimeMillis()).isAtLeast(0d);
+  }
+
   private static class MockRunnable implements Runnable,
       Comparable<MockRunnable> {
     private final int priority;
@@ -0,0 +1,62 @@
+package com.bumptech.glide.load.model;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.bumptech.glide.util.pool.FactoryPools;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 18)
+@SuppressWarnings("unchecked")
+public class ModelLoaderRegistryTest {
+  @Mock ModelLoader<String, Object> firstModelLoader;
+  @Mock ModelLoader<String, Object> secondModelLoader;
+  private ModelLoaderRegistry registry;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    registry = new ModelLoaderRegistry(FactoryPools.<Exception>threadSafeList());
+    registry.append(String.class, Object.class, factoryFor(firstModelLoader));
+    registry.append(String.class, Object.class, factoryFor(secondModelLoader));
+  }
+
+  @Test
+  public void getModelLoaders_whenAllLoadersHandleModel_returnsSameList() {
+    when(firstModelLoader.handles(anyString())).thenReturn(true);
+    when(secondModelLoader.handles(anyString())).thenReturn(true);
+
+    List<ModelLoader<String, ?>> first = registry.getModelLoaders("model");
+    List<ModelLoader<String, ?>> second = registry.getModelLoaders("model");
+
+    assertThat(first).containsExactly(firstModelLoader, secondModelLoader).inOrder();
+    assertThat(second).isSameAs(first);
+  }
+
+  @Test
+  public void getModelLoaders_omitsLoadersThatDoNotHandleModel() {
+    when(firstModelLoader.handles(eq("first"))).thenReturn(true);
+    when(secondModelLoader.handles(eq("second"))).thenReturn(true);
+
+    assertThat(registry.getModelLoaders("first")).containsExactly(firstModelLoader);
+    assertThat(registry.getModelLoaders("second")).containsExactly(secondModelLoader);
+  }
+
+  private static ModelLoaderFactory<String, Object> factoryFor(ModelLoader<String, Object> loader) {
+    ModelLoaderFactory<String, Object> factory = mock(ModelLoaderFactory.class);
+    when(factory.build(any(MultiModelLoaderFactory.class))).thenReturn(loader);
+    return factory;
+  }
+}
@@ -0,0 +1,92 @@
+package com.bumptech.glide.load.model;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.bumptech.glide.load.Key;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.data.DataFetcher;
+import com.bumptech.glide.util.pool.FactoryPools;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 18)
+@SuppressWarnings("unchecked")
+public class MultiModelLoaderTest {
+  @Mock ModelLoader<String, Object> firstModelLoader;
+  @Mock ModelLoader<String, Object> secondModelLoader;
+  @Mock DataFetcher<Object> firstFetcher;
+  @Mock DataFetcher<Object> secondFetcher;
+  private MultiModelLoader<String, Object> multiLoader;
+  private Options options;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    options = new Options();
+    multiLoader = new MultiModelLoader<>(
+        Arrays.asList(firstModelLoader, secondModelLoader),
+        FactoryPools.<Exception>threadSafeList());
+  }
+
+  @Test
+  public void buildLoadData_withSingleLoaderHandlingModel_returnsLoadDataUnwrapped() {
+    ModelLoader.LoadData<Object> loadData =
+        new ModelLoader.LoadData<>(mock(Key.class), firstFetcher);
+    when(firstModelLoader.handles(anyString())).thenReturn(true);
+    when(firstModelLoader.buildLoadData(eq("model"), anyInt(), anyInt(), eq(options)))
+        .thenReturn(loadData);
+
+    assertThat(multiLoader.buildLoadData("model", 100, 100, options)).isSameAs(loadData);
+  }
+
+  @Test
+  public void buildLoadData_withSingleLoaderWithAlternateKeys_dropsAlternateKeys() {
+    Key sourceKey = mock(Key.class);
+    when(secondModelLoader.handles(anyString())).thenReturn(true);
+    when(secondModelLoader.buildLoadData(eq("model"), anyInt(), anyInt(), eq(options)))
+        .thenReturn(new ModelLoader.LoadData<>(
+            sourceKey, Collections.singletonList(mock(Key.class)), secondFetcher));
+
+    ModelLoader.LoadData<Object> result = multiLoader.buildLoadData("model", 100, 100, options);
+
+    assertThat(result.sourceKey).isEqualTo(sourceKey);
+    assertThat(result.alternateKeys).isEmpty();
+    assertThat(result.fetcher).isSameAs(secondFetcher);
+  }
+
+  @Test
+  public void buildLoadData_withMultipleLoadersHandlingModel_returnsMultiFetcher() {
+    Key secondKey = mock(Key.class);
+    when(firstModelLoader.handles(anyString())).thenReturn(true);
+    when(secondModelLoader.handles(anyString())).thenReturn(true);
+    when(firstModelLoader.buildLoadData(eq("model"), anyInt(), anyInt(), eq(options)))
+        .thenReturn(new ModelLoader.LoadData<>(mock(Key.class), firstFetcher));
+    when(secondModelLoader.buildLoadData(eq("model"), anyInt(), anyInt(), eq(options)))
+        .thenReturn(new ModelLoader.LoadData<>(secondKey, secondFetcher));
+
+    ModelLoader.LoadData<Object> result = multiLoader.buildLoadData("model", 100, 100, options);
+
+    assertThat(result.sourceKey).isEqualTo(secondKey);
+    assertThat(result.fetcher).isInstanceOf(MultiModelLoader.MultiFetcher.class);
+  }
+
+  @Test
+  public void buildLoadData_withNoLoadData_returnsNull() {
+    when(firstModelLoader.handles(anyString())).thenReturn(true);
+
+    assertThat(multiLoader.buildLoadData("model", 100, 100, options)).isNull();
+  }
+}
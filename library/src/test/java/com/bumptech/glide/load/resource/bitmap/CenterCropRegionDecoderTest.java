@@ -0,0 +1,110 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+import android.graphics.Bitmap;
+import android.graphics.Rect;
+import android.media.ExifInterface;
+import com.bumptech.glide.load.ImageHeaderParser;
+import com.bumptech.glide.load.ImageMetadata;
+import com.bumptech.glide.load.ImageMetadataCache;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruArrayPool;
+import com.bumptech.glide.request.target.Target;
+import com.bumptech.glide.signature.ObjectKey;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 18)
+public class CenterCropRegionDecoderTest {
+
+  @Test
+  public void getRegion_withWideSourceAndSquareTarget_returnsCenteredSquare() {
+    Rect region = CenterCropRegionDecoder.getRegion(4000, 1000,
+        ImageHeaderParser.UNKNOWN_ORIENTATION, 100, 100);
+
+    assertThat(region).isEqualTo(new Rect(1500, 0, 2500, 1000));
+  }
+
+  @Test
+  public void getRegion_withTallSourceAndSquareTarget_returnsCenteredSquare() {
+    Rect region = CenterCropRegionDecoder.getRegion(1000, 4000,
+        ImageHeaderParser.UNKNOWN_ORIENTATION, 100, 100);
+
+    assertThat(region).isEqualTo(new Rect(0, 1500, 1000, 2500));
+  }
+
+  @Test
+  public void getRegion_withMatchingAspectRatio_returnsNull() {
+    assertThat(CenterCropRegionDecoder.getRegion(2000, 1000,
+        ImageHeaderParser.UNKNOWN_ORIENTATION, 200, 100)).isNull();
+  }
+
+  @Test
+  public void getRegion_withSmallCrop_returnsNull() {
+    assertThat(CenterCropRegionDecoder.getRegion(1100, 1000,
+        ImageHeaderParser.UNKNOWN_ORIENTATION, 100, 100)).isNull();
+  }
+
+  @Test
+  public void getRegion_withOriginalSize_returnsNull() {
+    assertThat(CenterCropRegionDecoder.getRegion(4000, 1000,
+        ImageHeaderParser.UNKNOWN_ORIENTATION, Target.SIZE_ORIGINAL, Target.SIZE_ORIGINAL))
+        .isNull();
+  }
+
+  @Test
+  public void getRegion_withRotatedSource_usesRotatedTarget() {
+    // The target is 400x100 after rotation, so 100x400 in the source's coordinates.
+    Rect region = CenterCropRegionDecoder.getRegion(1000, 1000,
+        ExifInterface.ORIENTATION_ROTATE_90, 400, 100);
+
+    assertThat(region).isEqualTo(new Rect(375, 0, 625, 1000));
+  }
+
+  @Test
+  public void getRegion_withInvalidDimensions_returnsNull() {
+    assertThat(CenterCropRegionDecoder.getRegion(-1, -1,
+        ImageHeaderParser.UNKNOWN_ORIENTATION, 100, 100)).isNull();
+  }
+
+  @Test
+  public void decode_withRegionNotWorthDecoding_cachesMetadataForDownsampler()
+      throws IOException {
+    ImageMetadataCache metadataCache = new ImageMetadataCache();
+    CenterCropRegionDecoder decoder = new CenterCropRegionDecoder(
+        Collections.<ImageHeaderParser>singletonList(new DefaultImageHeaderParser()),
+        RuntimeEnvironment.application.getResources().getDisplayMetrics(),
+        mock(BitmapPool.class), new LruArrayPool(), metadataCache);
+    Options options = new Options();
+    options.set(ImageMetadataCache.METADATA_KEY, new ObjectKey("data"));
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    Bitmap.createBitmap(100, 50, Bitmap.Config.ARGB_8888)
+        .compress(Bitmap.CompressFormat.JPEG, 100, os);
+
+    assertThat(decoder.decode(new ByteArrayInputStream(os.toByteArray()), Target.SIZE_ORIGINAL,
+        Target.SIZE_ORIGINAL, options)).isNull();
+
+    ImageMetadata metadata = metadataCache.get(options);
+    assertThat(metadata).isNotNull();
+    assertThat(metadata.hasDimensions()).isTrue();
+  }
+
+  @Test
+  public void getSampleSize_neverDecodesSmallerThanTarget() {
+    assertThat(CenterCropRegionDecoder.getSampleSize(1000, 1000, 100, 100)).isEqualTo(8);
+    assertThat(CenterCropRegionDecoder.getSampleSize(1000, 1000, 300, 300)).isEqualTo(2);
+    assertThat(CenterCropRegionDecoder.getSampleSize(1000, 1000, 1000, 1000)).isEqualTo(1);
+    assertThat(CenterCropRegionDecoder.getSampleSize(1000, 1000, 2000, 2000)).isEqualTo(1);
+  }
+}
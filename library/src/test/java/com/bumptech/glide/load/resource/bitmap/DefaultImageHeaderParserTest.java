@@ -13,6 +13,7 @@ import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -24,6 +25,9 @@ import org.robolectric.util.Util;
 @Config(manifest = Config.NONE, sdk = 18)
 public class DefaultImageHeaderParserTest {
 
+  // A start of image marker immediately followed by an end of image marker.
+  private static final byte[] THUMBNAIL =
+      new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xD9 };
   private static final byte[] PNG_HEADER_WITH_IHDR_CHUNK =
       new byte[] { (byte) 0x89, 0x50, 0x4e, 0x47, 0xd, 0xa, 0x1a, 0xa, 0x0, 0x0, 0x0, 0xd, 0x49,
           0x48, 0x44, 0x52, 0x0, 0x0, 0x1, (byte) 0x90, 0x0, 0x0, 0x1, 0x2c, 0x8, 0x6 };
@@ -215,6 +219,29 @@ public class DefaultImageHeaderParserTest {
     });
   }
 
+  @Test
+  public void getOrientation_withByteBuffer_matchesInputStream() throws IOException {
+    byte[] data = Util.readBytes(
+        TestResourceUtil.openResource(getClass(), "issue387_rotated_jpeg.jpg"));
+    DefaultImageHeaderParser parser = new DefaultImageHeaderParser();
+    ByteBuffer byteBuffer = ByteBuffer.wrap(data);
+
+    assertThat(parser.getOrientation(byteBuffer, byteArrayPool)).isEqualTo(
+        parser.getOrientation(new ByteArrayInputStream(data), byteArrayPool));
+    assertThat(parser.getOrientation(byteBuffer, byteArrayPool)).isEqualTo(6);
+    assertThat(byteBuffer.position()).isEqualTo(0);
+  }
+
+  @Test
+  public void getType_withByteBuffer_doesNotChangeByteOrder() throws IOException {
+    ByteBuffer byteBuffer = ByteBuffer.wrap(PNG_HEADER_WITH_IHDR_CHUNK)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    DefaultImageHeaderParser parser = new DefaultImageHeaderParser();
+
+    assertThat(parser.getType(byteBuffer)).isEqualTo(ImageType.PNG_A);
+    assertThat(byteBuffer.order()).isEqualTo(ByteOrder.LITTLE_ENDIAN);
+  }
+
   // Test for #387.
   @Test
   public void testHandlesPartialReads() throws IOException {
@@ -317,6 +344,108 @@ public class DefaultImageHeaderParserTest {
     assertEquals(ImageHeaderParser.UNKNOWN_ORIENTATION, parser.getOrientation(data, byteArrayPool));
   }
 
+  @Test
+  public void getExifThumbnail_withIntelByteOrder_returnsThumbnailData() {
+    assertReturnsThumbnailData(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  @Test
+  public void getExifThumbnail_withMotorolaByteOrder_returnsThumbnailData() {
+    assertReturnsThumbnailData(ByteOrder.BIG_ENDIAN);
+  }
+
+  private static void assertReturnsThumbnailData(ByteOrder byteOrder) {
+    ByteBuffer data =
+        generateJpegWithExifThumbnail(byteOrder, true /*hasSecondIfd*/, THUMBNAIL.length);
+
+    ByteBuffer thumbnail = DefaultImageHeaderParser.getExifThumbnail(data);
+
+    assertThat(thumbnail).isNotNull();
+    byte[] thumbnailBytes = new byte[thumbnail.remaining()];
+    thumbnail.get(thumbnailBytes);
+    assertThat(thumbnailBytes).isEqualTo(THUMBNAIL);
+    assertThat(data.position()).isEqualTo(0);
+  }
+
+  @Test
+  public void getExifThumbnail_withIntelByteOrder_readsOrientationFromFirstIfd()
+      throws IOException {
+    ByteBuffer data = generateJpegWithExifThumbnail(
+        ByteOrder.LITTLE_ENDIAN, true /*hasSecondIfd*/, THUMBNAIL.length);
+
+    assertEquals(6, new DefaultImageHeaderParser().getOrientation(data, byteArrayPool));
+  }
+
+  @Test
+  public void getExifThumbnail_withMotorolaByteOrder_readsOrientationFromFirstIfd()
+      throws IOException {
+    ByteBuffer data = generateJpegWithExifThumbnail(
+        ByteOrder.BIG_ENDIAN, true /*hasSecondIfd*/, THUMBNAIL.length);
+
+    assertEquals(6, new DefaultImageHeaderParser().getOrientation(data, byteArrayPool));
+  }
+
+  @Test
+  public void getExifThumbnail_withoutSecondIfd_returnsNull() {
+    ByteBuffer data = generateJpegWithExifThumbnail(
+        ByteOrder.LITTLE_ENDIAN, false /*hasSecondIfd*/, THUMBNAIL.length);
+
+    assertThat(DefaultImageHeaderParser.getExifThumbnail(data)).isNull();
+  }
+
+  @Test
+  public void getExifThumbnail_withThumbnailBeyondSegment_returnsNull() {
+    ByteBuffer data = generateJpegWithExifThumbnail(
+        ByteOrder.LITTLE_ENDIAN, true /*hasSecondIfd*/, THUMBNAIL.length + 1);
+
+    assertThat(DefaultImageHeaderParser.getExifThumbnail(data)).isNull();
+  }
+
+  @Test
+  public void getExifThumbnail_withPng_returnsNull() {
+    assertThat(DefaultImageHeaderParser.getExifThumbnail(
+        ByteBuffer.wrap(generatePngHeaderWithIhdr(8)))).isNull();
+  }
+
+  /**
+   * Returns a JPEG header with an exif segment in the given byte order containing an orientation in
+   * the first IFD and a {@link #THUMBNAIL} described by the second IFD.
+   */
+  private static ByteBuffer generateJpegWithExifThumbnail(ByteOrder byteOrder,
+      boolean hasSecondIfd, int thumbnailLength) {
+    byte byteOrderMarker = (byte) (byteOrder == ByteOrder.LITTLE_ENDIAN ? 0x49 : 0x4D);
+    int firstIfdOffset = 8;
+    int secondIfdOffset = firstIfdOffset + 2 + 12 + 4;
+    int thumbnailOffset = secondIfdOffset + 2 + 2 * 12 + 4;
+    int tiffLength = thumbnailOffset + THUMBNAIL.length;
+    int segmentLength = DefaultImageHeaderParser.JPEG_EXIF_SEGMENT_PREAMBLE_BYTES.length
+        + tiffLength;
+
+    ByteBuffer data = ByteBuffer.allocate(2 + 2 + 2 + segmentLength);
+    data.put(getExifMagicNumber())
+        .put((byte) DefaultImageHeaderParser.SEGMENT_START_ID)
+        .put((byte) DefaultImageHeaderParser.EXIF_SEGMENT_TYPE)
+        // Segment length includes the two bytes of the length itself.
+        .putShort((short) (segmentLength + 2))
+        .put(DefaultImageHeaderParser.JPEG_EXIF_SEGMENT_PREAMBLE_BYTES)
+        .order(byteOrder)
+        // "II" or "MM", then the TIFF magic number and the offset of the first IFD.
+        .put(byteOrderMarker).put(byteOrderMarker).putShort((short) 0x2A).putInt(firstIfdOffset)
+        // First IFD, orientation tag with one short value.
+        .putShort((short) 1)
+        .putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) 6)
+        .putShort((short) 0)
+        .putInt(hasSecondIfd ? secondIfdOffset : 0)
+        // Second IFD, thumbnail offset and length tags with one long value each.
+        .putShort((short) 2)
+        .putShort((short) 0x0201).putShort((short) 4).putInt(1).putInt(thumbnailOffset)
+        .putShort((short) 0x0202).putShort((short) 4).putInt(1).putInt(thumbnailLength)
+        .putInt(0)
+        .put(THUMBNAIL);
+    data.position(0);
+    return data.order(ByteOrder.BIG_ENDIAN);
+  }
+
   private static ByteBuffer getExifMagicNumber() {
     ByteBuffer jpegHeaderBytes = ByteBuffer.allocate(2);
     jpegHeaderBytes.putShort((short) DefaultImageHeaderParser.EXIF_MAGIC_NUMBER);
@@ -339,6 +468,13 @@ public class DefaultImageHeaderParserTest {
     ByteBuffer buffer = ByteBuffer.wrap(data);
     parser = new DefaultImageHeaderParser();
     test.run(parser, buffer, new LruArrayPool());
+
+    // Direct buffers with data that doesn't start at position 0 are parsed in place.
+    ByteBuffer directBuffer = ByteBuffer.allocateDirect(data.length + 1);
+    directBuffer.put((byte) 0).put(data).position(1);
+    parser = new DefaultImageHeaderParser();
+    test.run(parser, directBuffer, new LruArrayPool());
+    assertThat(directBuffer.position()).isEqualTo(1);
   }
 
   private static byte[] generatePngHeaderWithIhdr(int bitDepth) {
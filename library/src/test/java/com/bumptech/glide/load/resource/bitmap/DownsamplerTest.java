@@ -3,20 +3,29 @@ package com.bumptech.glide.load.resource.bitmap;
 import static com.google.common.collect.Range.closed;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
 import android.os.Build;
 import android.util.DisplayMetrics;
+import com.bumptech.glide.load.BitmapDecoderBackend;
 import com.bumptech.glide.load.DecodeFormat;
 import com.bumptech.glide.load.ImageHeaderParser;
+import com.bumptech.glide.load.ImageHeaderParser.ImageType;
+import com.bumptech.glide.load.ImageMetadata;
+import com.bumptech.glide.load.ImageMetadataCache;
 import com.bumptech.glide.load.Options;
 import com.bumptech.glide.load.engine.Resource;
 import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
 import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
 import com.bumptech.glide.load.resource.bitmap.DownsamplerTest.AllocationSizeBitmap;
+import com.bumptech.glide.signature.ObjectKey;
 import com.bumptech.glide.tests.Util;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -24,6 +33,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.junit.After;
 import org.junit.Before;
@@ -46,18 +56,20 @@ public class DownsamplerTest {
   @Mock private ArrayPool byteArrayPool;
   private Downsampler downsampler;
   private Options options;
+  private List<ImageHeaderParser> parsers;
+  private DisplayMetrics displayMetrics;
   private int initialSdkVersion;
 
   @Before
   public void setUp() throws Exception {
     MockitoAnnotations.initMocks(this);
     options = new Options();
-    DisplayMetrics displayMetrics =
+    displayMetrics =
         RuntimeEnvironment.application.getResources().getDisplayMetrics();
     when(byteArrayPool.get(anyInt(), Matchers.eq(byte[].class)))
         .thenReturn(new byte[ArrayPool.STANDARD_BUFFER_SIZE_BYTES]);
 
-    List<ImageHeaderParser> parsers = new ArrayList<ImageHeaderParser>();
+    parsers = new ArrayList<ImageHeaderParser>();
     parsers.add(new DefaultImageHeaderParser());
 
     downsampler = new Downsampler(parsers, displayMetrics, bitmapPool, byteArrayPool);
@@ -90,6 +102,84 @@ public class DownsamplerTest {
     assertEquals(Bitmap.Config.RGB_565, result.get().getConfig());
   }
 
+  @Test
+  public void decode_withMetadataKey_cachesMetadata() throws IOException {
+    ImageMetadataCache metadataCache = new ImageMetadataCache();
+    downsampler = new Downsampler(parsers, displayMetrics, bitmapPool, byteArrayPool,
+        metadataCache);
+    Bitmap bitmap = Bitmap.createBitmap(100, 50, Bitmap.Config.ARGB_8888);
+    options.set(ImageMetadataCache.METADATA_KEY, new ObjectKey("data"));
+
+    downsampler.decode(compressBitmap(bitmap, Bitmap.CompressFormat.JPEG), 100, 100, options);
+
+    ImageMetadata metadata = metadataCache.get(options);
+    assertThat(metadata).isNotNull();
+    assertThat(metadata.getWidth()).isGreaterThan(0);
+    assertThat(metadata.getHeight()).isGreaterThan(0);
+  }
+
+  @Test
+  public void decode_withoutMetadataKey_doesNotCacheMetadata() throws IOException {
+    ImageMetadataCache metadataCache = new ImageMetadataCache();
+    downsampler = new Downsampler(parsers, displayMetrics, bitmapPool, byteArrayPool,
+        metadataCache);
+    Bitmap bitmap = Bitmap.createBitmap(100, 50, Bitmap.Config.ARGB_8888);
+
+    downsampler.decode(compressBitmap(bitmap, Bitmap.CompressFormat.JPEG), 100, 100, options);
+
+    options.set(ImageMetadataCache.METADATA_KEY, new ObjectKey("data"));
+    assertThat(metadataCache.get(options)).isNull();
+  }
+
+  @Test
+  public void decode_withCachedMetadata_usesCachedMetadata() throws IOException {
+    ImageMetadataCache metadataCache = new ImageMetadataCache();
+    downsampler = new Downsampler(parsers, displayMetrics, bitmapPool, byteArrayPool,
+        metadataCache);
+    Bitmap bitmap = Bitmap.createBitmap(100, 50, Bitmap.Config.ARGB_8888);
+    options.set(ImageMetadataCache.METADATA_KEY, new ObjectKey("data"));
+    ImageMetadata metadata =
+        new ImageMetadata(100, 50, "image/jpeg", ImageHeaderParser.UNKNOWN_ORIENTATION);
+    metadataCache.put(options, metadata);
+
+    Resource<Bitmap> result = downsampler.decode(
+        compressBitmap(bitmap, Bitmap.CompressFormat.JPEG), 100, 100, options);
+
+    assertThat(result).isNotNull();
+    assertThat(metadataCache.get(options)).isSameAs(metadata);
+  }
+
+  @Test
+  public void decode_withBackendThatHandlesImage_decodesWithBackend() throws IOException {
+    Bitmap expected = Bitmap.createBitmap(100, 50, Bitmap.Config.ARGB_8888);
+    BitmapDecoderBackend backend = mock(BitmapDecoderBackend.class);
+    when(backend.handles(any(ImageType.class), any(Options.class))).thenReturn(true);
+    when(backend.decode(any(InputStream.class), any(BitmapFactory.Options.class)))
+        .thenReturn(expected);
+    downsampler = new Downsampler(parsers, displayMetrics, bitmapPool, byteArrayPool,
+        new ImageMetadataCache(), Collections.singletonList(backend));
+
+    Resource<Bitmap> result = downsampler.decode(
+        compressBitmap(expected, Bitmap.CompressFormat.PNG), 100, 100, options);
+
+    assertThat(result.get()).isSameAs(expected);
+  }
+
+  @Test
+  public void decode_withBackendThatDoesNotHandleImage_doesNotUseBackend() throws IOException {
+    Bitmap bitmap = Bitmap.createBitmap(100, 50, Bitmap.Config.ARGB_8888);
+    BitmapDecoderBackend backend = mock(BitmapDecoderBackend.class);
+    when(backend.handles(any(ImageType.class), any(Options.class))).thenReturn(false);
+    downsampler = new Downsampler(parsers, displayMetrics, bitmapPool, byteArrayPool,
+        new ImageMetadataCache(), Collections.singletonList(backend));
+
+    Resource<Bitmap> result = downsampler.decode(
+        compressBitmap(bitmap, Bitmap.CompressFormat.PNG), 100, 100, options);
+
+    assertThat(result).isNotNull();
+    verify(backend, never()).decode(any(InputStream.class), any(BitmapFactory.Options.class));
+  }
+
   @Test
   public void testCalculateScaling_withInvalidSourceSizes_doesNotCrash() {
     runScaleTest(0, 0, 100, 100, DownsampleStrategy.AT_MOST, 0, 0);
@@ -0,0 +1,128 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.graphics.Bitmap;
+import com.bumptech.glide.load.MultiTransformation;
+import com.bumptech.glide.load.Transformation;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
+import com.bumptech.glide.tests.Util;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 18)
+public class FusedBitmapTransformationTest {
+  @Mock private BitmapPool pool;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    when(pool.get(anyInt(), anyInt(), any(Bitmap.Config.class)))
+        .thenAnswer(new Util.CreateBitmap());
+  }
+
+  @Test
+  public void fuse_withSingleTransformation_returnsTransformation() {
+    Transformation<Bitmap> transformation = new CenterCrop();
+    assertThat(FusedBitmapTransformation.fuse(transformation)).isSameAs(transformation);
+  }
+
+  @Test
+  public void fuse_withCenterCropAndRoundedCorners_returnsFused() {
+    Transformation<Bitmap> transformation =
+        new MultiTransformation<>(new CenterCrop(), new RoundedCorners(10));
+    assertThat(FusedBitmapTransformation.fuse(transformation))
+        .isInstanceOf(FusedBitmapTransformation.class);
+  }
+
+  @Test
+  public void fuse_withShapeBeforeLastTransformation_returnsTransformation() {
+    Transformation<Bitmap> transformation =
+        new MultiTransformation<>(new CircleCrop(), new CenterCrop());
+    assertThat(FusedBitmapTransformation.fuse(transformation)).isSameAs(transformation);
+  }
+
+  @Test
+  public void fuse_withUnknownTransformation_returnsTransformation() {
+    Transformation<Bitmap> transformation =
+        new MultiTransformation<>(new CenterCrop(), new CenterCrop() { });
+    assertThat(FusedBitmapTransformation.fuse(transformation)).isSameAs(transformation);
+  }
+
+  @Test
+  public void updateDiskCacheKey_matchesSource() throws NoSuchAlgorithmException {
+    Transformation<Bitmap> source =
+        new MultiTransformation<>(new FitCenter(), new RoundedCorners(10));
+    Transformation<Bitmap> fused = FusedBitmapTransformation.fuse(source);
+
+    MessageDigest expected = MessageDigest.getInstance("SHA-256");
+    source.updateDiskCacheKey(expected);
+    MessageDigest actual = MessageDigest.getInstance("SHA-256");
+    fused.updateDiskCacheKey(actual);
+
+    assertThat(actual.digest()).isEqualTo(expected.digest());
+  }
+
+  @Test
+  public void equals_withEqualSources_isTrue() {
+    Transformation<Bitmap> first = FusedBitmapTransformation.fuse(
+        new MultiTransformation<>(new CenterCrop(), new RoundedCorners(10)));
+    Transformation<Bitmap> second = FusedBitmapTransformation.fuse(
+        new MultiTransformation<>(new CenterCrop(), new RoundedCorners(10)));
+    Transformation<Bitmap> different = FusedBitmapTransformation.fuse(
+        new MultiTransformation<>(new CenterCrop(), new RoundedCorners(20)));
+
+    assertThat(first).isEqualTo(second);
+    assertThat(first.hashCode()).isEqualTo(second.hashCode());
+    assertThat(first).isNotEqualTo(different);
+  }
+
+  @Test
+  public void transform_withCenterCropAndRoundedCorners_obtainsSingleBitmap() {
+    FusedBitmapTransformation fused = (FusedBitmapTransformation) FusedBitmapTransformation.fuse(
+        new MultiTransformation<>(new CenterCrop(), new RoundedCorners(10)));
+    Bitmap toTransform = Bitmap.createBitmap(200, 100, Bitmap.Config.RGB_565);
+
+    Bitmap result = fused.transform(pool, toTransform, 50, 50);
+
+    assertThat(result.getWidth()).isEqualTo(50);
+    assertThat(result.getHeight()).isEqualTo(50);
+    verify(pool, times(1)).get(anyInt(), anyInt(), any(Bitmap.Config.class));
+  }
+
+  @Test
+  public void transform_withFitCenterAndCenterInside_matchesUnfusedSize() {
+    FusedBitmapTransformation fused = (FusedBitmapTransformation) FusedBitmapTransformation.fuse(
+        new MultiTransformation<>(new FitCenter(), new CenterInside()));
+    Bitmap toTransform = Bitmap.createBitmap(200, 100, Bitmap.Config.ARGB_8888);
+
+    Bitmap result = fused.transform(pool, toTransform, 100, 100);
+
+    assertThat(result.getWidth()).isEqualTo(100);
+    assertThat(result.getHeight()).isEqualTo(50);
+  }
+
+  @Test
+  public void transform_withNoOpSteps_returnsInput() {
+    FusedBitmapTransformation fused = (FusedBitmapTransformation) FusedBitmapTransformation.fuse(
+        new MultiTransformation<>(new CenterInside(), new FitCenter()));
+    Bitmap toTransform = Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888);
+
+    assertThat(fused.transform(pool, toTransform, 100, 100)).isSameAs(toTransform);
+    verify(pool, never()).get(anyInt(), anyInt(), any(Bitmap.Config.class));
+  }
+}
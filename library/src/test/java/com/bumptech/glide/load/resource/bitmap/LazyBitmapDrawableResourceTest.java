@@ -0,0 +1,91 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.graphics.PorterDuff;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 18)
+public class LazyBitmapDrawableResourceTest {
+  private Bitmap bitmap;
+  private LazyBitmapDrawableResource resource;
+
+  @Before
+  public void setUp() {
+    bitmap = Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888);
+    resource = LazyBitmapDrawableResource.obtain(
+        RuntimeEnvironment.application.getResources(), mock(BitmapPool.class), bitmap);
+  }
+
+  @Test
+  public void get_returnsDrawableForBitmap() {
+    assertThat(resource.get().getBitmap()).isSameAs(bitmap);
+  }
+
+  @Test
+  public void get_returnsDifferentDrawableEachTime() {
+    // Drawables are mutable and targets that don't set callbacks can't be told apart from targets
+    // that no longer show the drawable, so drawables are only shared between loads that opt in.
+    assertThat(resource.get()).isNotSameAs(resource.get());
+  }
+
+  @Test
+  public void get_withReuseDrawable_andPreviousDrawablesNotShown_allocatesOneDrawable() {
+    resource.reuseDrawable();
+    Set<BitmapDrawable> allocated =
+        Collections.newSetFromMap(new IdentityHashMap<BitmapDrawable, Boolean>());
+
+    for (int i = 0; i < 100; i++) {
+      BitmapDrawable drawable = resource.get();
+      // Show and then stop showing the drawable, as a view bound to the image would.
+      drawable.setCallback(mock(Drawable.Callback.class));
+      drawable.setCallback(null);
+      allocated.add(drawable);
+    }
+
+    assertThat(allocated).hasSize(1);
+  }
+
+  @Test
+  public void get_withReuseDrawable_andPreviousDrawableShown_returnsNewDrawable() {
+    resource.reuseDrawable();
+    BitmapDrawable first = resource.get();
+    first.setCallback(mock(Drawable.Callback.class));
+
+    BitmapDrawable second = resource.get();
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.getBitmap()).isSameAs(bitmap);
+  }
+
+  @Test
+  public void get_withReuseDrawable_andPreviousDrawableNoLongerShown_resetsState() {
+    resource.reuseDrawable();
+    BitmapDrawable first = resource.get();
+    first.setCallback(mock(Drawable.Callback.class));
+    first.setAlpha(10);
+    first.setColorFilter(Color.RED, PorterDuff.Mode.SRC_ATOP);
+    first.setCallback(null);
+
+    BitmapDrawable second = resource.get();
+
+    assertThat(second).isSameAs(first);
+    assertThat(second.getPaint().getAlpha()).isEqualTo(255);
+    assertThat(second.getPaint().getColorFilter()).isNull();
+  }
+}
@@ -1,6 +1,7 @@
 package com.bumptech.glide.load.resource.gif;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.anyInt;
@@ -15,9 +16,12 @@ import com.bumptech.glide.gifdecoder.GifHeaderParser;
 import com.bumptech.glide.load.ImageHeaderParser;
 import com.bumptech.glide.load.Options;
 import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPoolAdapter;
 import com.bumptech.glide.load.engine.bitmap_recycle.LruArrayPool;
 import com.bumptech.glide.load.resource.bitmap.DefaultImageHeaderParser;
+import com.bumptech.glide.load.resource.bitmap.ExifThumbnailDecoder;
 import com.bumptech.glide.tests.GlideShadowLooper;
+import com.bumptech.glide.testutil.TestUtil;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
@@ -41,6 +45,7 @@ public class ByteBufferGifDecoderTest {
   private ByteBufferGifDecoder decoder;
   private GifHeader gifHeader;
   private Options options;
+  private List<ImageHeaderParser> parsers;
 
   @Mock BitmapPool bitmapPool;
   @Mock GifHeaderParser parser;
@@ -60,7 +65,7 @@ public class ByteBufferGifDecoderTest {
         eq(gifHeader), isA(ByteBuffer.class), anyInt()))
         .thenReturn(gifDecoder);
 
-    List<ImageHeaderParser> parsers = new ArrayList<ImageHeaderParser>();
+    parsers = new ArrayList<ImageHeaderParser>();
     parsers.add(new DefaultImageHeaderParser());
 
     options = new Options();
@@ -90,6 +95,12 @@ public class ByteBufferGifDecoderTest {
     assertThat(decoder.handles(ByteBuffer.wrap(GIF_HEADER), options)).isTrue();
   }
 
+  @Test
+  public void testDoesNotHandleStreamIfExifThumbnailIsRequested() throws IOException {
+    options.set(ExifThumbnailDecoder.EXIF_THUMBNAIL, true);
+    assertThat(decoder.handles(ByteBuffer.wrap(GIF_HEADER), options)).isFalse();
+  }
+
   @Test
   public void testDoesNotHandleStreamIfDisabled() throws IOException {
     options.set(ByteBufferGifDecoder.DISABLE_ANIMATION, true);
@@ -144,4 +155,40 @@ public class ByteBufferGifDecoderTest {
 
     assertNull(decoder.decode(ByteBuffer.allocate(10), 100, 100, options));
   }
+
+  @Test
+  public void testRecyclesHeaderIfParsedHeaderHasZeroFrames() {
+    when(gifHeader.getNumFrames()).thenReturn(0);
+
+    decoder.decode(ByteBuffer.allocate(10), 100, 100, options);
+    verify(parser).recycle(eq(gifHeader));
+  }
+
+  @Test
+  public void testRecyclesHeaderIfGifDecoderFailsToDecodeFirstFrame() {
+    when(gifHeader.getNumFrames()).thenReturn(1);
+    when(gifHeader.getStatus()).thenReturn(GifDecoder.STATUS_OK);
+    when(gifDecoder.getNextFrame()).thenReturn(null);
+
+    decoder.decode(ByteBuffer.allocate(10), 100, 100, options);
+    verify(gifDecoder).clear();
+    verify(parser).recycle(eq(gifHeader));
+  }
+
+  @Test
+  public void testDecodesTransparentFrameWithOversizedColorTableFromArrayPool()
+      throws IOException {
+    LruArrayPool arrayPool = new LruArrayPool(ARRAY_POOL_SIZE_BYTES);
+    // The pool may return an array larger than the 256 entries requested for a color table.
+    arrayPool.put(new int[1024], int[].class);
+    decoder =
+        new ByteBufferGifDecoder(
+            RuntimeEnvironment.application, parsers, new BitmapPoolAdapter(), arrayPool);
+    byte[] data = TestUtil.resourceToBytes(getClass(), "transparent_disposal_none.gif");
+
+    GifDrawableResource resource = decoder.decode(ByteBuffer.wrap(data), 100, 100, options);
+
+    assertNotNull(resource);
+    resource.recycle();
+  }
 }
@@ -3,10 +3,14 @@ package com.bumptech.glide.load.resource.gif;
 import static com.google.common.truth.Truth.assertThat;
 
 import com.bumptech.glide.load.ImageHeaderParser;
+import com.bumptech.glide.load.ImageHeaderParser.ImageType;
+import com.bumptech.glide.load.ImageMetadataCache;
 import com.bumptech.glide.load.Options;
 import com.bumptech.glide.load.ResourceDecoder;
 import com.bumptech.glide.load.engine.bitmap_recycle.LruArrayPool;
 import com.bumptech.glide.load.resource.bitmap.DefaultImageHeaderParser;
+import com.bumptech.glide.load.resource.bitmap.ExifThumbnailDecoder;
+import com.bumptech.glide.signature.ObjectKey;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -29,6 +33,7 @@ public class StreamGifDecoderTest {
   ResourceDecoder<ByteBuffer, GifDrawable> byteBufferDecoder;
   private StreamGifDecoder decoder;
   private Options options;
+  private ImageMetadataCache metadataCache;
 
   @Before
   public void setUp() {
@@ -37,7 +42,9 @@ public class StreamGifDecoderTest {
     List<ImageHeaderParser> parsers = new ArrayList<ImageHeaderParser>();
     parsers.add(new DefaultImageHeaderParser());
 
-    decoder = new StreamGifDecoder(parsers, byteBufferDecoder, new LruArrayPool());
+    metadataCache = new ImageMetadataCache();
+    decoder =
+        new StreamGifDecoder(parsers, byteBufferDecoder, new LruArrayPool(), metadataCache);
     options = new Options();
   }
 
@@ -57,9 +64,31 @@ public class StreamGifDecoderTest {
     assertThat(decoder.handles(new ByteArrayInputStream(GIF_HEADER), options)).isTrue();
   }
 
+  @Test
+  public void testDoesNotHandleStreamIfExifThumbnailIsRequested() throws IOException {
+    options.set(ExifThumbnailDecoder.EXIF_THUMBNAIL, true);
+    assertThat(decoder.handles(new ByteArrayInputStream(GIF_HEADER), options)).isFalse();
+  }
+
   @Test
   public void testDoesNotHandleStreamIfDisabled() throws IOException {
     options.set(StreamGifDecoder.DISABLE_ANIMATION, true);
     assertThat(decoder.handles(new ByteArrayInputStream(GIF_HEADER), options)).isFalse();
   }
+
+  @Test
+  public void handles_withMetadataKey_cachesType() throws IOException {
+    options.set(ImageMetadataCache.METADATA_KEY, new ObjectKey("gif"));
+    decoder.handles(new ByteArrayInputStream(GIF_HEADER), options);
+
+    assertThat(metadataCache.getType(options)).isEqualTo(ImageType.GIF);
+  }
+
+  @Test
+  public void handles_withCachedType_usesCachedType() throws IOException {
+    options.set(ImageMetadataCache.METADATA_KEY, new ObjectKey("gif"));
+    metadataCache.putType(options, ImageType.GIF);
+
+    assertThat(decoder.handles(new ByteArrayInputStream(new byte[0]), options)).isTrue();
+  }
 }
@@ -0,0 +1,92 @@
+package com.bumptech.glide.provider;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.bumptech.glide.load.engine.LoadPath;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class LoadPathCacheTest {
+  private static final int THREAD_COUNT = 8;
+  private static final int ITERATIONS = 10000;
+
+  private LoadPathCache cache;
+
+  @Before
+  public void setUp() {
+    cache = new LoadPathCache();
+  }
+
+  @Test
+  public void testGet_withMissingPath_returnsNull() {
+    assertThat(cache.get(String.class, Object.class, Integer.class)).isNull();
+    assertThat(cache.contains(String.class, Object.class, Integer.class)).isFalse();
+  }
+
+  @Test
+  public void testGet_withPutPath_returnsPath() {
+    LoadPath<?, ?, ?> loadPath = mock(LoadPath.class);
+    cache.put(String.class, Object.class, Integer.class, loadPath);
+
+    assertThat(cache.get(String.class, Object.class, Integer.class)).isSameAs(loadPath);
+    assertThat(cache.contains(String.class, Object.class, Integer.class)).isTrue();
+  }
+
+  @Test
+  public void testContains_withPutNullPath_returnsTrue() {
+    cache.put(String.class, Object.class, Integer.class, null);
+
+    assertThat(cache.get(String.class, Object.class, Integer.class)).isNull();
+    assertThat(cache.contains(String.class, Object.class, Integer.class)).isTrue();
+  }
+
+  @Test
+  public void testGet_fromManyThreadsWhileWriting_returnsPutPaths() throws Exception {
+    final LoadPath<?, ?, ?> first = mock(LoadPath.class);
+    final LoadPath<?, ?, ?> second = mock(LoadPath.class);
+    cache.put(String.class, Object.class, Integer.class, first);
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+    final CountDownLatch start = new CountDownLatch(1);
+    List<Future<Boolean>> results = new ArrayList<>();
+    try {
+      for (int i = 0; i < THREAD_COUNT; i++) {
+        final boolean isWriter = i == 0;
+        results.add(executor.submit(new Callable<Boolean>() {
+          @Override
+          public Boolean call() throws Exception {
+            start.await();
+            for (int j = 0; j < ITERATIONS; j++) {
+              if (isWriter) {
+                cache.put(Long.class, Object.class, Integer.class, second);
+              }
+              if (cache.get(String.class, Object.class, Integer.class) != first) {
+                return false;
+              }
+            }
+            return true;
+          }
+        }));
+      }
+      start.countDown();
+      for (Future<Boolean> result : results) {
+        assertThat(result.get(10, TimeUnit.SECONDS)).isTrue();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(cache.get(Long.class, Object.class, Integer.class)).isSameAs(second);
+  }
+}
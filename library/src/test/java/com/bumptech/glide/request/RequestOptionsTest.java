@@ -3,7 +3,10 @@ package com.bumptech.glide.request;
 import static com.google.common.truth.Truth.assertThat;
 
 import android.graphics.Bitmap;
+import com.bumptech.glide.Priority;
+import com.bumptech.glide.load.Option;
 import com.bumptech.glide.load.Transformation;
+import com.bumptech.glide.load.resource.bitmap.CenterCropRegionDecoder;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -132,4 +135,74 @@ public class RequestOptionsTest {
     assertThat(options.isTransformationRequired()).isTrue();
     assertThat(options.getTransformations()).containsEntry(Bitmap.class, transformation);
   }
+
+  @Test
+  public void lock_withEqualOptionsAndTransformations_sharesInstances() {
+    RequestOptions first = new RequestOptions()
+        .transform(Bitmap.class, transformation)
+        .set(Option.memory("key"), "value")
+        .lock();
+    RequestOptions second = new RequestOptions()
+        .transform(Bitmap.class, transformation)
+        .set(Option.memory("key"), "value")
+        .lock();
+
+    assertThat(second.getOptions()).isSameAs(first.getOptions());
+    assertThat(second.getTransformations()).isSameAs(first.getTransformations());
+  }
+
+  @Test
+  public void clone_afterLock_doesNotModifySharedInstances() {
+    RequestOptions first = new RequestOptions().set(Option.memory("key"), "value").lock();
+    RequestOptions second = new RequestOptions().set(Option.memory("key"), "value").lock();
+
+    first.clone().set(Option.memory("key"), "other").transform(Bitmap.class, transformation);
+
+    assertThat(second.getOptions().get(Option.<String>memory("key"))).isEqualTo("value");
+    assertThat(second.getTransformations()).isEmpty();
+  }
+
+  @Test
+  public void clone_afterLock_withoutChangingOptions_sharesInstancesOnceLocked() {
+    RequestOptions first = new RequestOptions()
+        .transform(Bitmap.class, transformation)
+        .set(Option.memory("key"), "value")
+        .lock();
+
+    RequestOptions second = first.clone().priority(Priority.HIGH).lock();
+
+    assertThat(second.getOptions()).isSameAs(first.getOptions());
+    assertThat(second.getTransformations()).isSameAs(first.getTransformations());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void getOptions_afterLock_cannotBeModified() {
+    RequestOptions locked = new RequestOptions().set(Option.memory("key"), "value").lock();
+
+    locked.getOptions().set(Option.memory("key"), "other");
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void getTransformations_afterLock_cannotBeModified() {
+    RequestOptions locked = new RequestOptions().lock();
+
+    locked.getTransformations().put(Bitmap.class, transformation);
+  }
+
+  @Test
+  public void lock_withCenterCrop_enablesCenterCropRegionDecoding() {
+    RequestOptions locked = new RequestOptions().centerCrop().lock();
+    assertThat(locked.getOptions().get(CenterCropRegionDecoder.DECODE_CENTER_CROP_REGION))
+        .isTrue();
+  }
+
+  @Test
+  public void lock_afterReplacingCenterCrop_disablesCenterCropRegionDecoding() {
+    RequestOptions locked = new RequestOptions()
+        .apply(new RequestOptions().centerCrop().lock())
+        .fitCenter()
+        .lock();
+    assertThat(locked.getOptions().get(CenterCropRegionDecoder.DECODE_CENTER_CROP_REGION))
+        .isFalse();
+  }
 }
@@ -12,20 +12,25 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import android.graphics.drawable.Drawable;
+import android.os.Binder;
 import android.os.Build;
+import android.os.IBinder;
 import android.view.View;
 import android.view.ViewTreeObserver;
 import com.bumptech.glide.request.Request;
 import com.bumptech.glide.request.transition.Transition;
 import com.bumptech.glide.tests.Util;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -363,6 +368,123 @@ public class ViewTargetTest {
     verify(cb).onSizeReady(eq(width), eq(height));
   }
 
+  @Test
+  public void getSize_withViewsSharingViewTreeObserver_addsSinglePreDrawListener() {
+    View other = mockViewSharingViewTreeObserver();
+    target.getSize(cb);
+    new TestViewTarget(other).getSize(mock(SizeReadyCallback.class));
+
+    assertThat(shadowObserver.getPreDrawListeners()).hasSize(1);
+  }
+
+  @Test
+  public void onPreDraw_withViewsSharingViewTreeObserver_notifiesAllReadyViews() {
+    View other = mockViewSharingViewTreeObserver();
+    SizeReadyCallback otherCb = mock(SizeReadyCallback.class);
+    target.getSize(cb);
+    new TestViewTarget(other).getSize(otherCb);
+
+    view.setLayoutParams(new LayoutParams(100, 200));
+    shadowView.setIsLaidOut(true);
+    when(other.getLayoutParams()).thenReturn(new LayoutParams(300, 400));
+    when(other.isLaidOut()).thenReturn(true);
+    shadowObserver.fireOnPreDrawListeners();
+
+    verify(cb).onSizeReady(100, 200);
+    verify(otherCb).onSizeReady(300, 400);
+    assertThat(shadowObserver.getPreDrawListeners()).isEmpty();
+  }
+
+  @Test
+  public void onPreDraw_withViewsSharingViewTreeObserver_keepsListenerForPendingViews() {
+    View other = mockViewSharingViewTreeObserver();
+    SizeReadyCallback otherCb = mock(SizeReadyCallback.class);
+    target.getSize(cb);
+    new TestViewTarget(other).getSize(otherCb);
+
+    view.setLayoutParams(new LayoutParams(100, 200));
+    shadowView.setIsLaidOut(true);
+    shadowObserver.fireOnPreDrawListeners();
+
+    verify(cb).onSizeReady(100, 200);
+    verify(otherCb, never()).onSizeReady(anyInt(), anyInt());
+    assertThat(shadowObserver.getPreDrawListeners()).hasSize(1);
+
+    when(other.getLayoutParams()).thenReturn(new LayoutParams(300, 400));
+    when(other.isLaidOut()).thenReturn(true);
+    shadowObserver.fireOnPreDrawListeners();
+
+    verify(otherCb).onSizeReady(300, 400);
+    assertThat(shadowObserver.getPreDrawListeners()).isEmpty();
+  }
+
+  @Test
+  public void onLoadCleared_withViewsSharingViewTreeObserver_removesListenerAfterLastView() {
+    TestViewTarget other = new TestViewTarget(mockViewSharingViewTreeObserver());
+    target.getSize(cb);
+    other.getSize(mock(SizeReadyCallback.class));
+
+    target.onLoadCleared(null /*placeholder*/);
+    assertThat(shadowObserver.getPreDrawListeners()).hasSize(1);
+
+    other.onLoadCleared(null /*placeholder*/);
+    assertThat(shadowObserver.getPreDrawListeners()).isEmpty();
+  }
+
+  @Test
+  public void getSize_withUnattachedViews_addsSinglePreDrawListenerOnceAttached() {
+    View other = mockViewSharingViewTreeObserver();
+    when(other.isAttachedToWindow()).thenReturn(false);
+    SizeReadyCallback otherCb = mock(SizeReadyCallback.class);
+    shadowView.setIsAttachedToWindow(false);
+    target.getSize(cb);
+    new TestViewTarget(other).getSize(otherCb);
+
+    assertThat(shadowObserver.getPreDrawListeners()).isEmpty();
+
+    shadowView.setIsAttachedToWindow(true);
+    ArgumentCaptor<View.OnAttachStateChangeListener> captor =
+        ArgumentCaptor.forClass(View.OnAttachStateChangeListener.class);
+    verify(other).addOnAttachStateChangeListener(captor.capture());
+    when(other.isAttachedToWindow()).thenReturn(true);
+    captor.getValue().onViewAttachedToWindow(other);
+    assertThat(shadowObserver.getPreDrawListeners()).hasSize(1);
+
+    view.setLayoutParams(new LayoutParams(100, 200));
+    shadowView.setIsLaidOut(true);
+    when(other.getLayoutParams()).thenReturn(new LayoutParams(300, 400));
+    when(other.isLaidOut()).thenReturn(true);
+    shadowObserver.fireOnPreDrawListeners();
+
+    verify(cb).onSizeReady(100, 200);
+    verify(otherCb).onSizeReady(300, 400);
+    assertThat(shadowObserver.getPreDrawListeners()).isEmpty();
+  }
+
+  @Test
+  public void onLoadCleared_withUnattachedView_stopsWaitingForAttach() {
+    shadowView.setIsAttachedToWindow(false);
+    target.getSize(cb);
+
+    target.onLoadCleared(null /*placeholder*/);
+    shadowView.setIsAttachedToWindow(true);
+
+    assertThat(shadowView.getOnAttachStateChangeListeners()).isEmpty();
+    assertThat(shadowObserver.getPreDrawListeners()).isEmpty();
+  }
+
+  @Test
+  public void getSize_withUnattachedView_preV19_waitsForAttach() {
+    Util.setSdkVersionInt(18);
+    shadowView.setIsAttachedToWindow(false);
+    target.getSize(cb);
+
+    assertThat(shadowObserver.getPreDrawListeners()).isEmpty();
+
+    shadowView.setIsAttachedToWindow(true);
+    assertThat(shadowObserver.getPreDrawListeners()).hasSize(1);
+  }
+
   @Test(expected = NullPointerException.class)
   public void testThrowsIfGivenNullView() {
     new TestViewTarget(null);
@@ -441,6 +563,13 @@ public class ViewTargetTest {
     verify(cb, never()).onSizeReady(anyInt(), anyInt());
   }
 
+  private View mockViewSharingViewTreeObserver() {
+    View other = mock(View.class);
+    when(other.getViewTreeObserver()).thenReturn(view.getViewTreeObserver());
+    when(other.isAttachedToWindow()).thenReturn(true);
+    return other;
+  }
+
   @Implements(ViewTreeObserver.class)
   public static class PreDrawShadowViewTreeObserver {
     private CopyOnWriteArrayList<OnPreDrawListener> preDrawListeners = new CopyOnWriteArrayList<>();
@@ -488,11 +617,14 @@ public class ViewTargetTest {
 
   @Implements(View.class)
   public static class SizedShadowView extends ShadowView {
+    private static final IBinder WINDOW_TOKEN = new Binder();
+    private final List<View.OnAttachStateChangeListener> attachStateListeners = new ArrayList<>();
     private int width;
     private int height;
     private LayoutParams layoutParams;
     private boolean isLaidOut;
     private boolean isLayoutRequested;
+    private boolean isAttachedToWindow = true;
 
     public SizedShadowView setWidth(int width) {
       this.width = width;
@@ -514,6 +646,41 @@ public class ViewTargetTest {
       return this;
     }
 
+    public SizedShadowView setIsAttachedToWindow(boolean isAttachedToWindow) {
+      boolean wasAttachedToWindow = this.isAttachedToWindow;
+      this.isAttachedToWindow = isAttachedToWindow;
+      if (isAttachedToWindow && !wasAttachedToWindow) {
+        for (View.OnAttachStateChangeListener listener : new ArrayList<>(attachStateListeners)) {
+          listener.onViewAttachedToWindow(realView);
+        }
+      }
+      return this;
+    }
+
+    public List<View.OnAttachStateChangeListener> getOnAttachStateChangeListeners() {
+      return attachStateListeners;
+    }
+
+    @Implementation
+    public void addOnAttachStateChangeListener(View.OnAttachStateChangeListener listener) {
+      attachStateListeners.add(listener);
+    }
+
+    @Implementation
+    public void removeOnAttachStateChangeListener(View.OnAttachStateChangeListener listener) {
+      attachStateListeners.remove(listener);
+    }
+
+    @Implementation
+    public boolean isAttachedToWindow() {
+      return isAttachedToWindow;
+    }
+
+    @Implementation
+    public IBinder getWindowToken() {
+      return isAttachedToWindow ? WINDOW_TOKEN : null;
+    }
+
     @Implementation
     public void requestLayout() {
       isLayoutRequested = true;
@@ -568,7 +735,7 @@ public class ViewTargetTest {
 
     @Override
     public void onLoadCleared(Drawable placeholder) {
-
+      super.onLoadCleared(placeholder);
     }
   }
 }
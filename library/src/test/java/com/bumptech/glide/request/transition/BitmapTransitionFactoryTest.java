@@ -0,0 +1,36 @@
+package com.bumptech.glide.request.transition;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import android.graphics.Bitmap;
+import com.bumptech.glide.load.DataSource;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 18)
+public class BitmapTransitionFactoryTest {
+
+  private BitmapTransitionFactory factory;
+
+  @Before
+  public void setUp() {
+    factory = new BitmapTransitionFactory(new DrawableCrossFadeFactory.Builder().build());
+  }
+
+  @Test
+  public void testReturnsNoAnimationIfFromMemoryCache() {
+    assertEquals(NoTransition.<Bitmap>get(),
+        factory.build(DataSource.MEMORY_CACHE, true /*isFirstResource*/));
+  }
+
+  @Test
+  public void testReturnsAnimationIfNotFromMemoryCache() {
+    assertNotEquals(NoTransition.<Bitmap>get(),
+        factory.build(DataSource.DATA_DISK_CACHE, true /*isFirstResource*/));
+  }
+}
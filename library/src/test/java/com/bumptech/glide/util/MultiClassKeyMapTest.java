@@ -0,0 +1,102 @@
+package com.bumptech.glide.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class MultiClassKeyMapTest {
+  private static final Class<?>[] CLASSES = new Class<?>[] {
+      Object.class, String.class, Integer.class, Long.class, Float.class, Double.class,
+  };
+
+  private MultiClassKeyMap<String> map;
+
+  @Before
+  public void setUp() {
+    map = new MultiClassKeyMap<>();
+  }
+
+  @Test
+  public void testGet_withMissingKey_returnsNull() {
+    assertThat(map.get(String.class, Integer.class)).isNull();
+    assertThat(map.containsKey(String.class, Integer.class, null)).isFalse();
+  }
+
+  @Test
+  public void testGet_withPutKey_returnsValue() {
+    map.put(String.class, Integer.class, Long.class, "value");
+
+    assertThat(map.get(String.class, Integer.class, Long.class)).isEqualTo("value");
+    assertThat(map.containsKey(String.class, Integer.class, Long.class)).isTrue();
+  }
+
+  @Test
+  public void testGet_withTwoClassKey_doesNotMatchThreeClassKey() {
+    map.put(String.class, Integer.class, "two");
+    map.put(String.class, Integer.class, Long.class, "three");
+
+    assertThat(map.get(String.class, Integer.class)).isEqualTo("two");
+    assertThat(map.get(String.class, Integer.class, Long.class)).isEqualTo("three");
+  }
+
+  @Test
+  public void testGet_withKeyInDifferentOrder_returnsNull() {
+    map.put(String.class, Integer.class, Long.class, "value");
+
+    assertThat(map.get(Long.class, Integer.class, String.class)).isNull();
+  }
+
+  @Test
+  public void testContainsKey_withNullValue_returnsTrue() {
+    map.put(String.class, Integer.class, Long.class, null);
+
+    assertThat(map.get(String.class, Integer.class, Long.class)).isNull();
+    assertThat(map.containsKey(String.class, Integer.class, Long.class)).isTrue();
+  }
+
+  @Test
+  public void testPut_withExistingKey_replacesValue() {
+    map.put(String.class, Integer.class, "first");
+    map.put(String.class, Integer.class, "second");
+
+    assertThat(map.get(String.class, Integer.class)).isEqualTo("second");
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void testPut_withManyKeys_retainsAllValues() {
+    for (Class<?> first : CLASSES) {
+      for (Class<?> second : CLASSES) {
+        for (Class<?> third : CLASSES) {
+          map.put(first, second, third, getValue(first, second, third));
+        }
+      }
+    }
+
+    assertThat(map.size()).isEqualTo(CLASSES.length * CLASSES.length * CLASSES.length);
+    for (Class<?> first : CLASSES) {
+      for (Class<?> second : CLASSES) {
+        for (Class<?> third : CLASSES) {
+          assertThat(map.get(first, second, third)).isEqualTo(getValue(first, second, third));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testClear_removesAllValues() {
+    map.put(String.class, Integer.class, "value");
+    map.clear();
+
+    assertThat(map.containsKey(String.class, Integer.class, null)).isFalse();
+    assertThat(map.size()).isEqualTo(0);
+  }
+
+  private static String getValue(Class<?> first, Class<?> second, Class<?> third) {
+    return first.getSimpleName() + second.getSimpleName() + third.getSimpleName();
+  }
+}
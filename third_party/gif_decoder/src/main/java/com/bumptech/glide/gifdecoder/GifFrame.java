@@ -83,4 +83,22 @@ class GifFrame {
    */
   @ColorInt
   int[] lct;
+
+  /**
+   * Restores this frame to its newly constructed state so that it can be reused by
+   * {@link GifHeaderParser}.
+   */
+  void reset() {
+    ix = 0;
+    iy = 0;
+    iw = 0;
+    ih = 0;
+    interlace = false;
+    transparency = false;
+    dispose = DISPOSAL_UNSPECIFIED;
+    transIndex = 0;
+    delay = 0;
+    bufferFrameStart = 0;
+    lct = null;
+  }
 }
@@ -1,6 +1,7 @@
 package com.bumptech.glide.gifdecoder;
 
 import android.support.annotation.ColorInt;
+import android.support.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -49,6 +50,8 @@ public class GifHeader {
   @ColorInt
   int bgColor;
   int loopCount = NETSCAPE_LOOP_COUNT_DOES_NOT_EXIST;
+  /** The provider the color tables were obtained from, or {@code null} if they were allocated. */
+  @Nullable GifDecoder.BitmapProvider colorTableProvider;
 
   public int getHeight() {
     return height;
@@ -69,4 +72,55 @@ public class GifHeader {
   public int getStatus() {
     return status;
   }
+
+  /**
+   * Restores this header to its newly constructed state so that it can be reused by
+   * {@link GifHeaderParser}, retaining the capacity of the frame list.
+   */
+  void reset() {
+    gct = null;
+    status = GifDecoder.STATUS_OK;
+    frameCount = 0;
+    currentFrame = null;
+    frames.clear();
+    width = 0;
+    height = 0;
+    gctFlag = false;
+    gctSize = 0;
+    bgIndex = 0;
+    pixelAspect = 0;
+    bgColor = 0;
+    loopCount = NETSCAPE_LOOP_COUNT_DOES_NOT_EXIST;
+    colorTableProvider = null;
+  }
+
+  /**
+   * Returns the color tables of this header and its frames to the provider they were obtained
+   * from, if any.
+   *
+   * <p>Safe to call more than once, the tables are only released the first time.
+   */
+  void releaseColorTables() {
+    if (colorTableProvider == null) {
+      return;
+    }
+    if (gct != null) {
+      colorTableProvider.release(gct);
+      gct = null;
+    }
+    for (int i = 0, size = frames.size(); i < size; i++) {
+      releaseColorTable(frames.get(i));
+    }
+    if (currentFrame != null && !frames.contains(currentFrame)) {
+      releaseColorTable(currentFrame);
+    }
+    colorTableProvider = null;
+  }
+
+  private void releaseColorTable(GifFrame frame) {
+    if (frame.lct != null) {
+      colorTableProvider.release(frame.lct);
+      frame.lct = null;
+    }
+  }
 }
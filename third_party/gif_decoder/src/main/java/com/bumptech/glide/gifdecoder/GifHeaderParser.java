@@ -4,16 +4,25 @@ import static com.bumptech.glide.gifdecoder.GifDecoder.STATUS_FORMAT_ERROR;
 import static com.bumptech.glide.gifdecoder.GifFrame.DISPOSAL_NONE;
 import static com.bumptech.glide.gifdecoder.GifFrame.DISPOSAL_UNSPECIFIED;
 
+import android.support.annotation.Nullable;
 import android.util.Log;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Queue;
 
 /**
  * A class responsible for creating {@link com.bumptech.glide.gifdecoder.GifHeader}s from data
  * representing animated GIFs.
  *
+ * <p>Parsers may optionally be given a {@link GifDecoder.BitmapProvider} via
+ * {@link #setArrayProvider(GifDecoder.BitmapProvider)}, in which case color tables are obtained
+ * from, and returned to, the provider rather than allocated. Headers that are no longer needed can
+ * be returned with {@link #recycle(GifHeader)} so that the header, its frames and its color tables
+ * are reused by subsequent calls to {@link #parseHeader()}.
+ *
  * @see <a href="https://www.w3.org/Graphics/GIF/spec-gif89a.txt">GIF 89a Specification</a>
  */
 public class GifHeaderParser {
@@ -121,12 +130,28 @@ public class GifHeaderParser {
   static final int DEFAULT_FRAME_DELAY = 10;
 
   private static final int MAX_BLOCK_SIZE = 256;
+  /** The number of bytes in the identifier of an application extension block. */
+  private static final int APPLICATION_IDENTIFIER_LENGTH = 11;
+  private static final byte[] NETSCAPE_APPLICATION_IDENTIFIER = new byte[] {
+      'N', 'E', 'T', 'S', 'C', 'A', 'P', 'E', '2', '.', '0'
+  };
+  /**
+   * The maximum number of recycled {@link GifFrame}s retained by a single parser, chosen to cover
+   * the majority of short animated stickers without retaining unbounded memory for long GIFs.
+   */
+  private static final int MAX_POOLED_FRAMES = 64;
+
   // Raw data read working array.
   private final byte[] block = new byte[MAX_BLOCK_SIZE];
+  private final Queue<GifFrame> framePool = new ArrayDeque<>();
 
   private ByteBuffer rawData;
   private GifHeader header;
   private int blockSize = 0;
+  @Nullable private GifDecoder.BitmapProvider arrayProvider;
+  @Nullable private GifHeader recycledHeader;
+  // If true, frames and color tables are skipped rather than read into the header.
+  private boolean headerInfoOnly;
 
   public GifHeaderParser setData(ByteBuffer data) {
     reset();
@@ -146,16 +171,75 @@ public class GifHeaderParser {
     return this;
   }
 
+  /**
+   * Sets the provider used to obtain and release color table arrays, or {@code null} to always
+   * allocate new arrays.
+   *
+   * <p>Color tables obtained from the provider are returned to it when the header that owns them
+   * is passed to {@link #recycle(GifHeader)} or when a {@link StandardGifDecoder} using the header
+   * is cleared. Headers parsed with a provider must therefore only be used by a single decoder.
+   *
+   * <p>Arrays from the provider may be larger than the 256 entries a color table needs.
+   */
+  public GifHeaderParser setArrayProvider(@Nullable GifDecoder.BitmapProvider arrayProvider) {
+    this.arrayProvider = arrayProvider;
+    return this;
+  }
+
   public void clear() {
     rawData = null;
     header = null;
+    arrayProvider = null;
+  }
+
+  /**
+   * Returns the given header, its frames and its color tables to this parser so that they can be
+   * reused by subsequent parses.
+   *
+   * <p>The header must not be used, including by any {@link GifDecoder}, after it has been
+   * recycled.
+   */
+  public void recycle(GifHeader header) {
+    if (header == null || header == recycledHeader) {
+      return;
+    }
+    header.releaseColorTables();
+    for (int i = 0, size = header.frames.size(); i < size; i++) {
+      recycleFrame(header.frames.get(i));
+    }
+    if (header.currentFrame != null && !header.frames.contains(header.currentFrame)) {
+      recycleFrame(header.currentFrame);
+    }
+    header.reset();
+    recycledHeader = header;
+  }
+
+  private void recycleFrame(GifFrame frame) {
+    if (framePool.size() < MAX_POOLED_FRAMES) {
+      frame.reset();
+      framePool.offer(frame);
+    }
+  }
+
+  private GifFrame obtainFrame() {
+    GifFrame result = framePool.poll();
+    if (result == null) {
+      result = new GifFrame();
+    }
+    return result;
   }
 
   private void reset() {
     rawData = null;
     Arrays.fill(block, (byte) 0);
-    header = new GifHeader();
+    if (recycledHeader != null) {
+      header = recycledHeader;
+      recycledHeader = null;
+    } else {
+      header = new GifHeader();
+    }
     blockSize = 0;
+    headerInfoOnly = false;
   }
 
   public GifHeader parseHeader() {
@@ -166,6 +250,7 @@ public class GifHeaderParser {
       return header;
     }
 
+    headerInfoOnly = false;
     readHeader();
     if (!err()) {
       readContents();
@@ -177,16 +262,47 @@ public class GifHeaderParser {
     return header;
   }
 
+  /**
+   * Parses only the dimensions, loop count and frame count of the GIF, up to the given number of
+   * frames, without creating {@link GifFrame}s or reading any color tables.
+   *
+   * <p>The returned header can be used to query {@link GifHeader#getWidth()},
+   * {@link GifHeader#getHeight()}, {@link GifHeader#getNumFrames()} and
+   * {@link GifHeader#getStatus()}, but can't be used to decode frames. If {@code maxFrames} is
+   * {@code 0}, only the logical screen descriptor is read and no image descriptors are walked.
+   *
+   * @param maxFrames The maximum number of frames to count before returning.
+   */
+  public GifHeader parseHeaderInfo(int maxFrames) {
+    if (rawData == null) {
+      throw new IllegalStateException("You must call setData() before parseHeaderInfo()");
+    }
+    if (err()) {
+      return header;
+    }
+
+    headerInfoOnly = true;
+    try {
+      readHeader();
+      if (!err() && maxFrames > 0) {
+        readContents(maxFrames);
+        if (header.frameCount < 0) {
+          header.status = STATUS_FORMAT_ERROR;
+        }
+      }
+    } finally {
+      headerInfoOnly = false;
+    }
+    return header;
+  }
+
   /**
    * Determines if the GIF is animated by trying to read in the first 2 frames
    * This method re-parses the data even if the header has already been read.
    */
   public boolean isAnimated() {
-    readHeader();
-    if (!err()) {
-      readContents(2 /* maxFrames */);
-    }
-    return header.frameCount > 1;
+    rawData.position(0);
+    return parseHeaderInfo(2 /* maxFrames */).frameCount > 1;
   }
 
   /**
@@ -202,7 +318,7 @@ public class GifHeaderParser {
   private void readContents(int maxFrames) {
     // Read GIF file content blocks.
     boolean done = false;
-    while (!(done || err() || header.frameCount > maxFrames)) {
+    while (!(done || err() || header.frameCount >= maxFrames)) {
       int code = read();
       switch (code) {
         case IMAGE_SEPARATOR:
@@ -210,8 +326,12 @@ public class GifHeaderParser {
           // If one did exist, there will be a non-null current frame which we should use.
           // However if one did not exist, the current frame will be null
           // and we must create it here. See issue #134.
+          if (headerInfoOnly) {
+            skipBitmap();
+            break;
+          }
           if (header.currentFrame == null) {
-            header.currentFrame = new GifFrame();
+            header.currentFrame = obtainFrame();
           }
           readBitmap();
           break;
@@ -219,17 +339,17 @@ public class GifHeaderParser {
           int extensionLabel = read();
           switch (extensionLabel) {
             case LABEL_GRAPHIC_CONTROL_EXTENSION:
+              if (headerInfoOnly) {
+                skip();
+                break;
+              }
               // Start a new frame.
-              header.currentFrame = new GifFrame();
+              header.currentFrame = obtainFrame();
               readGraphicControlExt();
               break;
             case LABEL_APPLICATION_EXTENSION:
               readBlock();
-              String app = "";
-              for (int i = 0; i < 11; i++) {
-                app += (char) block[i];
-              }
-              if (app.equals("NETSCAPE2.0")) {
+              if (isNetscapeApplicationExtension()) {
                 readNetscapeExt();
               } else {
                 // Don't care.
@@ -322,7 +442,7 @@ public class GifHeaderParser {
      */
     int packed = read();
     boolean lctFlag = (packed & DESCRIPTOR_MASK_LCT_FLAG) != 0;
-    int lctSize = (int) Math.pow(2, (packed & DESCRIPTOR_MASK_LCT_SIZE) + 1);
+    int lctSize = 1 << ((packed & DESCRIPTOR_MASK_LCT_SIZE) + 1);
     header.currentFrame.interlace = (packed & DESCRIPTOR_MASK_INTERLACE_FLAG) != 0;
     if (lctFlag) {
       header.currentFrame.lct = readColorTable(lctSize);
@@ -346,6 +466,42 @@ public class GifHeaderParser {
     header.frames.add(header.currentFrame);
   }
 
+  /**
+   * Skips the next frame image, counting it without reading its local color table or storing its
+   * metadata.
+   */
+  private void skipBitmap() {
+    // (sub)image position & size.
+    rawData.position(Math.min(rawData.position() + 8, rawData.limit()));
+    int packed = read();
+    boolean lctFlag = (packed & DESCRIPTOR_MASK_LCT_FLAG) != 0;
+    if (lctFlag) {
+      int lctSize = 1 << ((packed & DESCRIPTOR_MASK_LCT_SIZE) + 1);
+      skipColorTable(lctSize);
+    }
+    skipImageData();
+    if (err()) {
+      return;
+    }
+    header.frameCount++;
+  }
+
+  /**
+   * Returns {@code true} if the most recently read block identifies the Netscape application
+   * extension, without allocating a {@link String} for the identifier.
+   */
+  private boolean isNetscapeApplicationExtension() {
+    if (blockSize < APPLICATION_IDENTIFIER_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < APPLICATION_IDENTIFIER_LENGTH; i++) {
+      if (block[i] != NETSCAPE_APPLICATION_IDENTIFIER[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Reads Netscape extension to obtain iteration count.
    */
@@ -366,18 +522,27 @@ public class GifHeaderParser {
    * Reads GIF file header information.
    */
   private void readHeader() {
-    String id = "";
-    for (int i = 0; i < 6; i++) {
-      id += (char) read();
+    // "GIF" followed by a three byte version, which we ignore.
+    int g = read();
+    int i = read();
+    int f = read();
+    for (int version = 0; version < 3; version++) {
+      read();
     }
-    if (!id.startsWith("GIF")) {
+    if (g != 'G' || i != 'I' || f != 'F') {
       header.status = STATUS_FORMAT_ERROR;
       return;
     }
     readLSD();
     if (header.gctFlag && !err()) {
-      header.gct = readColorTable(header.gctSize);
-      header.bgColor = header.gct[header.bgIndex];
+      if (headerInfoOnly) {
+        skipColorTable(header.gctSize);
+      } else {
+        header.gct = readColorTable(header.gctSize);
+        if (header.gct != null) {
+          header.bgColor = header.gct[header.bgIndex];
+        }
+      }
     }
   }
 
@@ -401,7 +566,7 @@ public class GifHeaderParser {
      */
     int packed = read();
     header.gctFlag = (packed & LSD_MASK_GCT_FLAG) != 0;
-    header.gctSize = (int) Math.pow(2, (packed & LSD_MASK_GCT_SIZE) + 1);
+    header.gctSize = 1 << ((packed & LSD_MASK_GCT_SIZE) + 1);
     // Background color index.
     header.bgIndex = read();
     // Pixel aspect ratio
@@ -412,37 +577,57 @@ public class GifHeaderParser {
    * Reads color table as 256 RGB integer values.
    *
    * @param nColors int number of colors to read.
-   * @return int array containing 256 colors (packed ARGB with full alpha).
+   * @return int array containing at least 256 colors (packed ARGB with full alpha).
    */
   private int[] readColorTable(int nColors) {
     int nBytes = 3 * nColors;
-    int[] tab = null;
-    byte[] c = new byte[nBytes];
-
-    try {
-      rawData.get(c);
-
-      // TODO: what bounds checks are we avoiding if we know the number of colors?
-      // Max size to avoid bounds checks.
-      tab = new int[MAX_BLOCK_SIZE];
-      int i = 0;
-      int j = 0;
-      while (i < nColors) {
-        int r = ((int) c[j++]) & MASK_INT_LOWEST_BYTE;
-        int g = ((int) c[j++]) & MASK_INT_LOWEST_BYTE;
-        int b = ((int) c[j++]) & MASK_INT_LOWEST_BYTE;
-        tab[i++] = 0xFF000000 | (r << 16) | (g << 8) | b;
-      }
-    } catch (BufferUnderflowException e) {
+    if (rawData.remaining() < nBytes) {
       if (Log.isLoggable(TAG, Log.DEBUG)) {
-        Log.d(TAG, "Format Error Reading Color Table", e);
+        Log.d(TAG, "Format Error Reading Color Table", new BufferUnderflowException());
       }
+      rawData.position(rawData.limit());
       header.status = STATUS_FORMAT_ERROR;
+      return null;
+    }
+
+    // TODO: what bounds checks are we avoiding if we know the number of colors?
+    // Max size to avoid bounds checks.
+    int[] tab = obtainColorTable();
+    // The color table is at most 256 * 3 bytes, so read it in block sized chunks rather than
+    // allocating a temporary array for the whole table.
+    int i = 0;
+    while (i < nColors) {
+      int colorsInChunk = Math.min(nColors - i, MAX_BLOCK_SIZE / 3);
+      rawData.get(block, 0, colorsInChunk * 3);
+      int j = 0;
+      for (int end = i + colorsInChunk; i < end; i++) {
+        int r = ((int) block[j++]) & MASK_INT_LOWEST_BYTE;
+        int g = ((int) block[j++]) & MASK_INT_LOWEST_BYTE;
+        int b = ((int) block[j++]) & MASK_INT_LOWEST_BYTE;
+        tab[i] = 0xFF000000 | (r << 16) | (g << 8) | b;
+      }
     }
 
     return tab;
   }
 
+  private void skipColorTable(int nColors) {
+    int newPosition = Math.min(rawData.position() + 3 * nColors, rawData.limit());
+    rawData.position(newPosition);
+  }
+
+  private int[] obtainColorTable() {
+    if (arrayProvider == null) {
+      return new int[MAX_BLOCK_SIZE];
+    }
+    int[] result = arrayProvider.obtainIntArray(MAX_BLOCK_SIZE);
+    header.colorTableProvider = arrayProvider;
+    // Arrays from the provider may contain colors from previous images and may be larger than
+    // requested.
+    Arrays.fill(result, 0);
+    return result;
+  }
+
   /**
    * Skips LZW image data for a single frame to advance buffer.
    */
@@ -77,7 +77,8 @@ public class StandardGifDecoder implements GifDecoder {
   // Global File Header values and parsing flags.
   /**
    * Active color table.
-   * Maximum size is 256, see GifHeaderParser.readColorTable
+   * Only the first 256 entries are used, but tables obtained from a
+   * {@link GifDecoder.BitmapProvider} may be larger, see GifHeaderParser.readColorTable
    */
   @ColorInt
   private int[] act;
@@ -267,7 +268,7 @@ public class StandardGifDecoder implements GifDecoder {
     // Reset the transparent pixel in the color table
     if (currentFrame.transparency) {
       // Prepare local copy of color table ("pct = act"), see #1068
-      System.arraycopy(act, 0, pct, 0, act.length);
+      System.arraycopy(act, 0, pct, 0, Math.min(act.length, pct.length));
       // Forget about act reference from shared header object, use copied version
       act = pct;
       // Set transparent color if specified.
@@ -312,6 +313,9 @@ public class StandardGifDecoder implements GifDecoder {
 
   @Override
   public void clear() {
+    if (header != null) {
+      header.releaseColorTables();
+    }
     header = null;
     if (mainPixels != null) {
       bitmapProvider.release(mainPixels);
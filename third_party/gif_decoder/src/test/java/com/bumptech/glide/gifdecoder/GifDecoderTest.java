@@ -3,6 +3,11 @@ package com.bumptech.glide.gifdecoder;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.robolectric.Shadows.shadowOf;
 
 import android.graphics.Bitmap;
@@ -166,6 +171,25 @@ public class GifDecoderTest {
         (((CustomShadowBitmap) shadowOf(firstFrameTwice))).getPixels()));
   }
 
+  @Test
+  public void testClearReturnsPooledColorTablesToArrayProviderOnce() throws IOException {
+    byte[] data = TestUtil.resourceToBytes(getClass(), "transparent_disposal_none.gif");
+    GifDecoder.BitmapProvider arrayProvider = mock(GifDecoder.BitmapProvider.class);
+    int[] colorTable = new int[256];
+    when(arrayProvider.obtainIntArray(anyInt())).thenReturn(colorTable);
+    GifHeaderParser headerParser = new GifHeaderParser();
+    headerParser.setData(data);
+    headerParser.setArrayProvider(arrayProvider);
+    GifHeader header = headerParser.parseHeader();
+    GifDecoder decoder = new StandardGifDecoder(provider);
+    decoder.setData(header, data);
+
+    decoder.clear();
+    headerParser.recycle(header);
+
+    verify(arrayProvider, times(1)).release(colorTable);
+  }
+
   /**
    * Preserve generated bitmap data for checking.
    */
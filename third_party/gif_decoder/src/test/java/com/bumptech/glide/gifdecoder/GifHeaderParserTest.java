@@ -4,7 +4,12 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.bumptech.glide.gifdecoder.test.GifBytesTestUtil;
 import com.bumptech.glide.testutil.TestUtil;
@@ -307,6 +312,106 @@ public class GifHeaderParserTest {
     assertFalse(parser.isAnimated());
   }
 
+  @Test
+  public void testParseHeaderInfoReadsDimensionsAndFrameCountWithoutFrames() {
+    final int lzwMinCodeSize = 2;
+    final int numColors = 4;
+    final int expectedFrames = 3;
+
+    final int frameSize = GifBytesTestUtil.IMAGE_DESCRIPTOR_LENGTH
+        + GifBytesTestUtil.getColorTableLength(numColors)
+        + GifBytesTestUtil.getImageDataSize(lzwMinCodeSize);
+    ByteBuffer buffer = ByteBuffer.allocate(GifBytesTestUtil.HEADER_LENGTH
+        + GifBytesTestUtil.getColorTableLength(numColors) + expectedFrames * frameSize)
+        .order(ByteOrder.LITTLE_ENDIAN);
+
+    // 2^(1 + 1) == 4 colors.
+    GifBytesTestUtil.writeHeaderAndLsd(buffer, 10, 20, true /*hasGct*/, 1 /*gctSize*/);
+    GifBytesTestUtil.writeColorTable(buffer, numColors);
+    for (int i = 0; i < expectedFrames; i++) {
+      GifBytesTestUtil.writeImageDescriptor(buffer, 0, 0, 1, 1, true /*hasLct*/, numColors);
+      GifBytesTestUtil.writeColorTable(buffer, numColors);
+      GifBytesTestUtil.writeFakeImageData(buffer, lzwMinCodeSize);
+    }
+
+    parser.setData(buffer.array());
+    GifHeader header = parser.parseHeaderInfo(Integer.MAX_VALUE);
+    assertEquals(10, header.width);
+    assertEquals(20, header.height);
+    assertEquals(expectedFrames, header.frameCount);
+    assertTrue(header.frames.isEmpty());
+    assertNull(header.gct);
+  }
+
+  @Test
+  public void testParseHeaderInfoWithZeroMaxFramesReadsOnlyDimensions() {
+    final int lzwMinCodeSize = 2;
+    ByteBuffer buffer = ByteBuffer.allocate(
+        GifBytesTestUtil.HEADER_LENGTH + GifBytesTestUtil.IMAGE_DESCRIPTOR_LENGTH + GifBytesTestUtil
+            .getImageDataSize(lzwMinCodeSize)).order(ByteOrder.LITTLE_ENDIAN);
+    GifBytesTestUtil.writeHeaderAndLsd(buffer, 5, 7, false, 0);
+    GifBytesTestUtil.writeImageDescriptor(buffer, 0, 0, 1, 1, false /*hasLct*/, 0);
+    GifBytesTestUtil.writeFakeImageData(buffer, lzwMinCodeSize);
+
+    parser.setData(buffer.array());
+    GifHeader header = parser.parseHeaderInfo(0 /*maxFrames*/);
+    assertEquals(5, header.width);
+    assertEquals(7, header.height);
+    assertEquals(0, header.frameCount);
+    assertEquals(GifDecoder.STATUS_OK, header.status);
+  }
+
+  @Test
+  public void testRecycledHeaderAndFramesAreReusedByNextParse() {
+    final int lzwMinCodeSize = 2;
+    final int numColors = 4;
+    ByteBuffer buffer = ByteBuffer.allocate(
+        GifBytesTestUtil.HEADER_LENGTH + GifBytesTestUtil.IMAGE_DESCRIPTOR_LENGTH + GifBytesTestUtil
+            .getImageDataSize(lzwMinCodeSize) + GifBytesTestUtil.getColorTableLength(numColors))
+        .order(ByteOrder.LITTLE_ENDIAN);
+    GifBytesTestUtil.writeHeaderAndLsd(buffer, 1, 1, false, 0);
+    GifBytesTestUtil.writeImageDescriptor(buffer, 0, 0, 1, 1, true /*hasLct*/, numColors);
+    GifBytesTestUtil.writeColorTable(buffer, numColors);
+    GifBytesTestUtil.writeFakeImageData(buffer, lzwMinCodeSize);
+
+    parser.setData(buffer.array());
+    GifHeader first = parser.parseHeader();
+    GifFrame firstFrame = first.frames.get(0);
+    parser.recycle(first);
+
+    parser.setData(buffer.array());
+    GifHeader second = parser.parseHeader();
+    assertSame(first, second);
+    assertEquals(1, second.frameCount);
+    assertSame(firstFrame, second.frames.get(0));
+    assertNotNull(second.frames.get(0).lct);
+  }
+
+  @Test
+  public void testRecycleReturnsColorTablesToArrayProvider() {
+    final int lzwMinCodeSize = 2;
+    final int numColors = 4;
+    ByteBuffer buffer = ByteBuffer.allocate(
+        GifBytesTestUtil.HEADER_LENGTH + GifBytesTestUtil.IMAGE_DESCRIPTOR_LENGTH + GifBytesTestUtil
+            .getImageDataSize(lzwMinCodeSize) + GifBytesTestUtil.getColorTableLength(numColors))
+        .order(ByteOrder.LITTLE_ENDIAN);
+    GifBytesTestUtil.writeHeaderAndLsd(buffer, 1, 1, false, 0);
+    GifBytesTestUtil.writeImageDescriptor(buffer, 0, 0, 1, 1, true /*hasLct*/, numColors);
+    GifBytesTestUtil.writeColorTable(buffer, numColors);
+    GifBytesTestUtil.writeFakeImageData(buffer, lzwMinCodeSize);
+
+    GifDecoder.BitmapProvider provider = mock(GifDecoder.BitmapProvider.class);
+    int[] colorTable = new int[256];
+    when(provider.obtainIntArray(anyInt())).thenReturn(colorTable);
+
+    parser.setData(buffer.array());
+    parser.setArrayProvider(provider);
+    GifHeader header = parser.parseHeader();
+    assertSame(colorTable, header.frames.get(0).lct);
+
+    parser.recycle(header);
+    verify(provider).release(colorTable);
+  }
 
   @Test(expected = IllegalStateException.class)
   public void testThrowsIfParseHeaderCalledBeforeSetData() {